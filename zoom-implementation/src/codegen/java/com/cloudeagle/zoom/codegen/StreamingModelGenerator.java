@@ -0,0 +1,611 @@
+package com.cloudeagle.zoom.codegen;
+
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.util.InternedStringDeserializer;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates reflection-free streaming readers and immutable primitive-field variants for the
+ * hot-path models into {@code com.cloudeagle.zoom.model.generated}.
+ *
+ * Fields are taken from the models' {@code @JsonProperty} annotations in declaration order, and
+ * {@code @JsonDeserialize(using = InternedStringDeserializer.class)} fields are interned, so the
+ * generated code reads exactly what Jackson's bean deserializers read. The output is checked in;
+ * regenerate it after changing a model with {@code mvn -P codegen process-classes}.
+ *
+ * Usage: {@code StreamingModelGenerator <source root> [--check]}. With {@code --check} nothing is
+ * written and the exit status is 1 if any generated file is out of date.
+ */
+public final class StreamingModelGenerator {
+    
+    static final String PACKAGE = "com.cloudeagle.zoom.model.generated";
+    
+    static final List<Class<?>> MODELS = Arrays.asList(OAuth2TokenResponse.class, ZoomAccount.class,
+            ZoomAccount.AccountOptions.class, ZoomUserList.class, ZoomUserList.ZoomUser.class);
+    
+    private enum Kind {
+        STRING, INTERNED_STRING, INT, LONG, BOOLEAN, MODEL, MODEL_LIST
+    }
+    
+    private static final class Property {
+        final String json;
+        final String name;
+        final Kind kind;
+        final Class<?> model;
+        final int bit;
+        
+        Property(String json, String name, Kind kind, Class<?> model, int bit) {
+            this.json = json;
+            this.name = name;
+            this.kind = kind;
+            this.model = model;
+            this.bit = bit;
+        }
+        
+        boolean primitive() {
+            return kind == Kind.INT || kind == Kind.LONG || kind == Kind.BOOLEAN;
+        }
+        
+        String capitalized() {
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+    
+    private StreamingModelGenerator() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: StreamingModelGenerator <source root> [--check]");
+            System.exit(2);
+        }
+        boolean check = args.length > 1 && "--check".equals(args[1]);
+        Path directory = Paths.get(args[0]).resolve(PACKAGE.replace('.', '/'));
+        int stale = 0;
+        for (Class<?> model : MODELS) {
+            List<Property> properties = properties(model);
+            stale += emit(directory.resolve(readerName(model) + ".java"), reader(model, properties), check);
+            stale += emit(directory.resolve(immutableName(model) + ".java"), immutable(model, properties), check);
+        }
+        if (check && stale > 0) {
+            System.err.println(stale + " generated model files are out of date; run mvn -P codegen process-classes");
+            System.exit(1);
+        }
+    }
+    
+    private static int emit(Path file, String source, boolean check) throws IOException {
+        byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+        if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), bytes)) {
+            return 0;
+        }
+        if (check) {
+            System.err.println("Out of date: " + file);
+        } else {
+            Files.createDirectories(file.getParent());
+            Files.write(file, bytes);
+            System.out.println("Generated " + file);
+        }
+        return 1;
+    }
+    
+    private static List<Property> properties(Class<?> model) {
+        List<Property> properties = new ArrayList<>();
+        int bits = 0;
+        for (Field field : model.getDeclaredFields()) {
+            JsonProperty json = field.getAnnotation(JsonProperty.class);
+            if (json == null || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Class<?> type = field.getType();
+            Kind kind;
+            Class<?> nested = null;
+            if (type == String.class) {
+                JsonDeserialize custom = field.getAnnotation(JsonDeserialize.class);
+                kind = custom != null && custom.using() == InternedStringDeserializer.class 
+                        ? Kind.INTERNED_STRING : Kind.STRING;
+            } else if (type == Integer.class) {
+                kind = Kind.INT;
+            } else if (type == Long.class) {
+                kind = Kind.LONG;
+            } else if (type == Boolean.class) {
+                kind = Kind.BOOLEAN;
+            } else if (MODELS.contains(type)) {
+                kind = Kind.MODEL;
+                nested = type;
+            } else if (type == List.class && field.getGenericType() instanceof ParameterizedType
+                    && MODELS.contains(((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0])) {
+                kind = Kind.MODEL_LIST;
+                nested = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            } else {
+                throw new IllegalStateException("Unsupported field type " + field);
+            }
+            Property property = new Property(json.value(), field.getName(), kind, nested, 0);
+            if (property.primitive()) {
+                property = new Property(json.value(), field.getName(), kind, nested, bits++);
+            }
+            properties.add(property);
+        }
+        if (bits > 31) {
+            throw new IllegalStateException("Too many primitive fields in " + model);
+        }
+        return properties;
+    }
+    
+    static String readerName(Class<?> model) {
+        return model.getSimpleName() + "Reader";
+    }
+    
+    static String immutableName(Class<?> model) {
+        return "Immutable" + model.getSimpleName();
+    }
+    
+    private static String modelType(Class<?> model) {
+        Class<?> outer = model.getDeclaringClass();
+        return outer != null ? outer.getSimpleName() + "." + model.getSimpleName() : model.getSimpleName();
+    }
+    
+    private static String modelImport(Class<?> model) {
+        Class<?> outer = model.getDeclaringClass();
+        return "import " + (outer != null ? outer : model).getName() + ";\n";
+    }
+    
+    private static String boxedType(Property property) {
+        switch (property.kind) {
+            case INT: return "Integer";
+            case LONG: return "Long";
+            case BOOLEAN: return "Boolean";
+            case MODEL: return modelType(property.model);
+            case MODEL_LIST: return "List<" + modelType(property.model) + ">";
+            default: return "String";
+        }
+    }
+    
+    private static String immutableType(Property property) {
+        switch (property.kind) {
+            case INT: return "int";
+            case LONG: return "long";
+            case BOOLEAN: return "boolean";
+            case MODEL: return immutableName(property.model);
+            case MODEL_LIST: return "List<" + immutableName(property.model) + ">";
+            default: return "String";
+        }
+    }
+    
+    private static boolean hasList(List<Property> properties) {
+        for (Property property : properties) {
+            if (property.kind == Kind.MODEL_LIST) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String header(Class<?> model, List<Property> properties, boolean immutable) {
+        StringBuilder out = new StringBuilder();
+        out.append("// Generated by StreamingModelGenerator from ").append(modelType(model)).append(". Do not edit.\n");
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        out.append(modelImport(model));
+        out.append("import com.cloudeagle.zoom.util.StreamingJson;\n");
+        out.append("import com.fasterxml.jackson.core.JsonParser;\n");
+        out.append("import com.fasterxml.jackson.core.JsonToken;\n\n");
+        out.append("import java.io.IOException;\n");
+        if (hasList(properties)) {
+            out.append("import java.util.ArrayList;\n");
+            if (immutable) {
+                out.append("import java.util.Collections;\n");
+            }
+            out.append("import java.util.List;\n");
+        }
+        if (immutable) {
+            out.append("import java.util.Objects;\n");
+        }
+        out.append("\n");
+        return out.toString();
+    }
+    
+    private static String reader(Class<?> model, List<Property> properties) {
+        String type = modelType(model);
+        String name = readerName(model);
+        StringBuilder out = new StringBuilder(header(model, properties, false));
+        out.append("/**\n");
+        out.append(" * Streaming, reflection-free deserializer for {@link ").append(type).append("}\n");
+        out.append(" */\n");
+        out.append("public final class ").append(name).append(" {\n");
+        out.append("    \n");
+        out.append("    private ").append(name).append("() {\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    /**\n");
+        out.append("     * @param parser Parser positioned at, or just before, the object\n");
+        out.append("     * @return The model, or null for a JSON null\n");
+        out.append("     * @throws IOException If the JSON is malformed or a value has the wrong type\n");
+        out.append("     */\n");
+        out.append("    public static ").append(type).append(" read(JsonParser parser) throws IOException {\n");
+        out.append("        if (!StreamingJson.startObject(parser)) {\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        out.append("        ").append(type).append(" value = new ").append(type).append("();\n");
+        out.append("        while (parser.nextToken() == JsonToken.FIELD_NAME) {\n");
+        out.append("            String field = parser.currentName();\n");
+        out.append("            parser.nextToken();\n");
+        out.append("            switch (field) {\n");
+        for (Property property : properties) {
+            String setter = "value.set" + property.capitalized();
+            out.append("                case \"").append(property.json).append("\":\n");
+            switch (property.kind) {
+                case MODEL_LIST:
+                    String element = modelType(property.model);
+                    out.append("                    if (StreamingJson.startArray(parser)) {\n");
+                    out.append("                        List<").append(element).append("> ").append(property.name)
+                            .append(" = new ArrayList<>();\n");
+                    out.append("                        while (StreamingJson.nextElement(parser)) {\n");
+                    out.append("                            ").append(property.name).append(".add(")
+                            .append(readerName(property.model)).append(".read(parser));\n");
+                    out.append("                        }\n");
+                    out.append("                        ").append(setter).append("(").append(property.name).append(");\n");
+                    out.append("                    } else {\n");
+                    out.append("                        ").append(setter).append("(null);\n");
+                    out.append("                    }\n");
+                    break;
+                default:
+                    out.append("                    ").append(setter).append("(").append(boxedRead(property)).append(");\n");
+            }
+            out.append("                    break;\n");
+        }
+        out.append("                default:\n");
+        out.append("                    parser.skipChildren();\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        StreamingJson.endObject(parser);\n");
+        out.append("        return value;\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+    
+    private static String boxedRead(Property property) {
+        switch (property.kind) {
+            case INT: return "StreamingJson.integer(parser)";
+            case LONG: return "StreamingJson.longObject(parser)";
+            case BOOLEAN: return "StreamingJson.booleanObject(parser)";
+            case MODEL: return readerName(property.model) + ".read(parser)";
+            case INTERNED_STRING: return "StreamingJson.internedString(parser)";
+            default: return "StreamingJson.string(parser)";
+        }
+    }
+    
+    private static String primitiveRead(Property property) {
+        switch (property.kind) {
+            case INT: return "StreamingJson.intValue(parser)";
+            case LONG: return "StreamingJson.longValue(parser)";
+            default: return "StreamingJson.booleanValue(parser)";
+        }
+    }
+    
+    private static String immutable(Class<?> model, List<Property> properties) {
+        String type = modelType(model);
+        String name = immutableName(model);
+        boolean anyPrimitive = false;
+        for (Property property : properties) {
+            anyPrimitive |= property.primitive();
+        }
+        StringBuilder out = new StringBuilder(header(model, properties, true));
+        out.append("/**\n");
+        if (anyPrimitive) {
+            out.append(" * Immutable variant of {@link ").append(type).append("} with primitive number and boolean fields.\n");
+            out.append(" * A missing or null primitive reads as 0 or false; {@code has...()} tells them apart.\n");
+        } else {
+            out.append(" * Immutable variant of {@link ").append(type).append("}\n");
+        }
+        out.append(" */\n");
+        out.append("public final class ").append(name).append(" {\n");
+        out.append("    \n");
+        for (Property property : properties) {
+            out.append("    private final ").append(immutableType(property)).append(" ").append(property.name).append(";\n");
+        }
+        if (anyPrimitive) {
+            out.append("    private final int present;\n");
+        }
+        out.append("    \n");
+        
+        // Constructor
+        out.append("    private ").append(name).append("(");
+        appendParameters(out, properties, anyPrimitive);
+        out.append(") {\n");
+        for (Property property : properties) {
+            out.append("        this.").append(property.name).append(" = ");
+            if (property.kind == Kind.MODEL_LIST) {
+                out.append(property.name).append(" != null ? Collections.unmodifiableList(").append(property.name)
+                        .append(") : null;\n");
+            } else {
+                out.append(property.name).append(";\n");
+            }
+        }
+        if (anyPrimitive) {
+            out.append("        this.present = present;\n");
+        }
+        out.append("    }\n");
+        out.append("    \n");
+        
+        // Streaming read
+        out.append("    /**\n");
+        out.append("     * @param parser Parser positioned at, or just before, the object\n");
+        out.append("     * @return The value, or null for a JSON null\n");
+        out.append("     * @throws IOException If the JSON is malformed or a value has the wrong type\n");
+        out.append("     */\n");
+        out.append("    public static ").append(name).append(" read(JsonParser parser) throws IOException {\n");
+        out.append("        if (!StreamingJson.startObject(parser)) {\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        for (Property property : properties) {
+            out.append("        ").append(immutableType(property)).append(" ").append(property.name).append(" = ")
+                    .append(defaultValue(property)).append(";\n");
+        }
+        if (anyPrimitive) {
+            out.append("        int present = 0;\n");
+        }
+        out.append("        while (parser.nextToken() == JsonToken.FIELD_NAME) {\n");
+        out.append("            String field = parser.currentName();\n");
+        out.append("            parser.nextToken();\n");
+        out.append("            switch (field) {\n");
+        for (Property property : properties) {
+            out.append("                case \"").append(property.json).append("\":\n");
+            switch (property.kind) {
+                case INT:
+                case LONG:
+                case BOOLEAN:
+                    out.append("                    if (!StreamingJson.isNull(parser)) {\n");
+                    out.append("                        ").append(property.name).append(" = ").append(primitiveRead(property))
+                            .append(";\n");
+                    out.append("                        present |= ").append(bit(property)).append(";\n");
+                    out.append("                    }\n");
+                    break;
+                case MODEL_LIST:
+                    out.append("                    if (StreamingJson.startArray(parser)) {\n");
+                    out.append("                        ").append(property.name).append(" = new ArrayList<>();\n");
+                    out.append("                        while (StreamingJson.nextElement(parser)) {\n");
+                    out.append("                            ").append(property.name).append(".add(")
+                            .append(immutableName(property.model)).append(".read(parser));\n");
+                    out.append("                        }\n");
+                    out.append("                    } else {\n");
+                    out.append("                        ").append(property.name).append(" = null;\n");
+                    out.append("                    }\n");
+                    break;
+                case MODEL:
+                    out.append("                    ").append(property.name).append(" = ")
+                            .append(immutableName(property.model)).append(".read(parser);\n");
+                    break;
+                default:
+                    out.append("                    ").append(property.name).append(" = ").append(boxedRead(property))
+                            .append(";\n");
+            }
+            out.append("                    break;\n");
+        }
+        out.append("                default:\n");
+        out.append("                    parser.skipChildren();\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        StreamingJson.endObject(parser);\n");
+        out.append("        return new ").append(name).append("(");
+        appendArguments(out, properties, anyPrimitive);
+        out.append(");\n");
+        out.append("    }\n");
+        out.append("    \n");
+        
+        // From the mutable model
+        out.append("    /**\n");
+        out.append("     * @return An immutable copy of the model, or null for null\n");
+        out.append("     */\n");
+        out.append("    public static ").append(name).append(" of(").append(type).append(" model) {\n");
+        out.append("        if (model == null) {\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        if (anyPrimitive) {
+            out.append("        int present = 0;\n");
+            for (Property property : properties) {
+                if (property.primitive()) {
+                    out.append("        if (model.get").append(property.capitalized()).append("() != null) {\n");
+                    out.append("            present |= ").append(bit(property)).append(";\n");
+                    out.append("        }\n");
+                }
+            }
+        }
+        for (Property property : properties) {
+            if (property.kind == Kind.MODEL_LIST) {
+                String element = immutableName(property.model);
+                out.append("        List<").append(element).append("> ").append(property.name).append(" = null;\n");
+                out.append("        if (model.get").append(property.capitalized()).append("() != null) {\n");
+                out.append("            ").append(property.name).append(" = new ArrayList<>(model.get")
+                        .append(property.capitalized()).append("().size());\n");
+                out.append("            for (").append(modelType(property.model)).append(" element : model.get")
+                        .append(property.capitalized()).append("()) {\n");
+                out.append("                ").append(property.name).append(".add(").append(element).append(".of(element));\n");
+                out.append("            }\n");
+                out.append("        }\n");
+            }
+        }
+        out.append("        return new ").append(name).append("(");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            out.append(i == 0 ? "" : ",").append("\n                ");
+            String getter = "model.get" + property.capitalized() + "()";
+            switch (property.kind) {
+                case INT:
+                case LONG:
+                    out.append(getter).append(" != null ? ").append(getter).append(" : 0");
+                    break;
+                case BOOLEAN:
+                    out.append("Boolean.TRUE.equals(").append(getter).append(")");
+                    break;
+                case MODEL:
+                    out.append(immutableName(property.model)).append(".of(").append(getter).append(")");
+                    break;
+                case MODEL_LIST:
+                    out.append(property.name);
+                    break;
+                default:
+                    out.append(getter);
+            }
+        }
+        if (anyPrimitive) {
+            out.append(",\n                present");
+        }
+        out.append(");\n");
+        out.append("    }\n");
+        out.append("    \n");
+        
+        // Getters
+        for (Property property : properties) {
+            out.append("    public ").append(immutableType(property)).append(" get").append(property.capitalized())
+                    .append("() {\n");
+            out.append("        return ").append(property.name).append(";\n");
+            out.append("    }\n");
+            out.append("    \n");
+            if (property.primitive()) {
+                out.append("    public boolean has").append(property.capitalized()).append("() {\n");
+                out.append("        return (present & ").append(bit(property)).append(") != 0;\n");
+                out.append("    }\n");
+                out.append("    \n");
+            }
+        }
+        
+        // To the mutable model
+        out.append("    /**\n");
+        out.append("     * @return A mutable copy for code that takes the Jackson model\n");
+        out.append("     */\n");
+        out.append("    public ").append(type).append(" toModel() {\n");
+        out.append("        ").append(type).append(" model = new ").append(type).append("();\n");
+        for (Property property : properties) {
+            String setter = "model.set" + property.capitalized();
+            switch (property.kind) {
+                case INT:
+                case LONG:
+                case BOOLEAN:
+                    out.append("        if (has").append(property.capitalized()).append("()) {\n");
+                    out.append("            ").append(setter).append("(").append(property.name).append(");\n");
+                    out.append("        }\n");
+                    break;
+                case MODEL:
+                    out.append("        ").append(setter).append("(").append(property.name).append(" != null ? ")
+                            .append(property.name).append(".toModel() : null);\n");
+                    break;
+                case MODEL_LIST:
+                    out.append("        if (").append(property.name).append(" != null) {\n");
+                    out.append("            List<").append(modelType(property.model)).append("> copy = new ArrayList<>(")
+                            .append(property.name).append(".size());\n");
+                    out.append("            for (").append(immutableName(property.model)).append(" element : ")
+                            .append(property.name).append(") {\n");
+                    out.append("                copy.add(element.toModel());\n");
+                    out.append("            }\n");
+                    out.append("            ").append(setter).append("(copy);\n");
+                    out.append("        }\n");
+                    break;
+                default:
+                    out.append("        ").append(setter).append("(").append(property.name).append(");\n");
+            }
+        }
+        out.append("        return model;\n");
+        out.append("    }\n");
+        out.append("    \n");
+        
+        // equals, hashCode, toString
+        out.append("    @Override\n");
+        out.append("    public boolean equals(Object o) {\n");
+        out.append("        if (this == o) {\n");
+        out.append("            return true;\n");
+        out.append("        }\n");
+        out.append("        if (!(o instanceof ").append(name).append(")) {\n");
+        out.append("            return false;\n");
+        out.append("        }\n");
+        out.append("        ").append(name).append(" other = (").append(name).append(") o;\n");
+        out.append("        return ");
+        List<String> comparisons = new ArrayList<>();
+        for (Property property : properties) {
+            comparisons.add(property.primitive() ? property.name + " == other." + property.name
+                    : "Objects.equals(" + property.name + ", other." + property.name + ")");
+        }
+        if (anyPrimitive) {
+            comparisons.add("present == other.present");
+        }
+        out.append(String.join("\n                && ", comparisons)).append(";\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    @Override\n");
+        out.append("    public int hashCode() {\n");
+        out.append("        return Objects.hash(");
+        List<String> names = new ArrayList<>();
+        for (Property property : properties) {
+            names.add(property.name);
+        }
+        out.append(String.join(", ", names)).append(");\n");
+        out.append("    }\n");
+        out.append("    \n");
+        out.append("    @Override\n");
+        out.append("    public String toString() {\n");
+        out.append("        return \"").append(name).append("{\" +\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            out.append("                \"").append(i == 0 ? "" : ", ").append(property.name).append("=");
+            if (property.kind == Kind.STRING || property.kind == Kind.INTERNED_STRING) {
+                out.append("'\" + ").append(property.name).append(" + '\\'' +\n");
+            } else {
+                out.append("\" + ").append(property.name).append(" +\n");
+            }
+        }
+        out.append("                '}';\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+    
+    private static String bit(Property property) {
+        return String.format("0x%x", 1 << property.bit);
+    }
+    
+    private static String defaultValue(Property property) {
+        switch (property.kind) {
+            case INT:
+            case LONG:
+                return "0";
+            case BOOLEAN:
+                return "false";
+            default:
+                return "null";
+        }
+    }
+    
+    private static void appendParameters(StringBuilder out, List<Property> properties, boolean present) {
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            out.append(i == 0 ? "" : ",").append("\n            ").append(immutableType(property)).append(" ")
+                    .append(property.name);
+        }
+        if (present) {
+            out.append(",\n            int present");
+        }
+    }
+    
+    private static void appendArguments(StringBuilder out, List<Property> properties, boolean present) {
+        for (int i = 0; i < properties.size(); i++) {
+            out.append(i == 0 ? "" : ",").append("\n                ").append(properties.get(i).name);
+        }
+        if (present) {
+            out.append(",\n                present");
+        }
+    }
+}
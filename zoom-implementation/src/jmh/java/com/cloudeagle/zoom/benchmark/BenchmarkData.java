@@ -0,0 +1,74 @@
+package com.cloudeagle.zoom.benchmark;
+
+import com.cloudeagle.zoom.mock.SyntheticTenant;
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Production-shaped JSON payloads for the benchmarks
+ */
+public final class BenchmarkData {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private BenchmarkData() {}
+    
+    /**
+     * A users list page as returned by {@code GET /users}
+     */
+    public static byte[] usersPage(int users, long seed) {
+        ZoomUserList page = new SyntheticTenant("bench", users * 10, 0.3, seed).usersPage(0, users);
+        page.setNextPageToken("Tva2CuIdTgsv8wAnhyAdU3m06Y2HuLQtlh3");
+        return write(page);
+    }
+    
+    /**
+     * Account details as returned by {@code GET /accounts/me}
+     */
+    public static byte[] account() {
+        ZoomAccount account = new ZoomAccount();
+        account.setId("Q3FFgEKTQPWbvbMDrAC5-Q");
+        account.setAccountName("CloudEagle Benchmark Tenant");
+        account.setAccountAlias("cloudeagle-bench");
+        account.setAccountSupportName("Support Team");
+        account.setAccountSupportEmail("support@example.com");
+        account.setStatus("active");
+        account.setCreatedAt("2019-05-01T08:00:00Z");
+        ZoomAccount.AccountOptions options = new ZoomAccount.AccountOptions();
+        options.setShareRc(Boolean.TRUE);
+        options.setRoomConnectorToken("rc-token-0123456789");
+        options.setShareMc(Boolean.FALSE);
+        options.setMeetingConnectorToken("mc-token-0123456789");
+        options.setPayMode("master");
+        account.setOptions(options);
+        return write(account);
+    }
+    
+    /**
+     * Token exchange response as returned by {@code POST /oauth/token}
+     */
+    public static byte[] token() {
+        OAuth2TokenResponse token = new OAuth2TokenResponse();
+        StringBuilder jwt = new StringBuilder("eyJzdiI6IjAwMDAwMSIsImFsZyI6IkhTNTEyIiwidiI6IjIuMCIsImtpZCI6I");
+        while (jwt.length() < 700) {
+            jwt.append("aBcDeFgHiJkLmNoPqRsTuVwXyZ0123456789");
+        }
+        token.setAccessToken(jwt.toString());
+        token.setTokenType("bearer");
+        token.setExpiresIn(3599);
+        token.setRefreshToken(jwt.reverse().toString());
+        token.setScope("user:read:admin account:read:admin report:read:admin");
+        return write(token);
+    }
+    
+    private static byte[] write(Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.cloudeagle.zoom.benchmark;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.mock.LatencyDistribution;
+import com.cloudeagle.zoom.mock.MockServerConfig;
+import com.cloudeagle.zoom.mock.MockZoomServer;
+import com.cloudeagle.zoom.mock.SyntheticTenant;
+import com.cloudeagle.zoom.model.ZoomActivityReport;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end multi-tenant sync benchmark against {@link MockZoomServer}.
+ *
+ * For every tenant: token exchange, account info, a full users crawl and an activity pull over the
+ * last N days, with tenants synced concurrently. Reports records/sec, p50/p99/p999 per endpoint, peak
+ * heap and client-thread allocation per record, writes the result as a JSON baseline, and optionally
+ * compares it with a previous baseline.
+ *
+ * Run after {@code mvn -P benchmarks package}:
+ * <pre>
+ * java -Xmx1g -cp target/benchmarks.jar com.cloudeagle.zoom.benchmark.FullSyncBenchmark \
+ *     --tenants=100 --users=10000 --days=30 --baseline=baselines/full-sync.json
+ * </pre>
+ * Options: tenants, users, days, pageSize, concurrency, medianLatencyMs, p99LatencyMs, rateLimit,
+ * output (file or directory), baseline, threshold (percent regression that fails the run).
+ */
+public class FullSyncBenchmark {
+
+    private static final String[] ENDPOINTS = {"oauth_token", "accounts_me", "users", "report_activities"};
+
+    private final Map<String, String> options;
+    private final Map<String, LatencyRecorder> latencies = new LinkedHashMap<>();
+    private final AtomicLong userRecords = new AtomicLong();
+    private final AtomicLong activityRecords = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong failedTenants = new AtomicLong();
+
+    public FullSyncBenchmark(Map<String, String> options) {
+        this.options = options;
+        for (String endpoint : ENDPOINTS) {
+            latencies.put(endpoint, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Per-page INFO logging from the client would dominate the run
+        if (System.getProperty("org.slf4j.simpleLogger.defaultLogLevel") == null) {
+            System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "warn");
+        }
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+        }
+        FullSyncBenchmark benchmark = new FullSyncBenchmark(options);
+        ObjectNode result = benchmark.run();
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(mapper.writeValueAsString(result));
+        Path output = benchmark.outputPath();
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        mapper.writeValue(output.toFile(), result);
+        System.out.println("Results written to " + output);
+
+        String baseline = options.get("baseline");
+        if (baseline != null && Files.exists(Paths.get(baseline))) {
+            double threshold = Double.parseDouble(options.getOrDefault("threshold", "10"));
+            boolean regressed = compare(mapper.readTree(Paths.get(baseline).toFile()), result, threshold);
+            if (regressed) {
+                System.exit(2);
+            }
+        }
+    }
+
+    public ObjectNode run() throws Exception {
+        int tenants = intOption("tenants", 100);
+        int users = intOption("users", 10_000);
+        int days = intOption("days", 30);
+        int pageSize = intOption("pageSize", 300);
+        int concurrency = intOption("concurrency", 16);
+
+        MockServerConfig config = new MockServerConfig();
+        double median = Double.parseDouble(options.getOrDefault("medianLatencyMs", "0"));
+        if (median > 0) {
+            double p99 = Double.parseDouble(options.getOrDefault("p99LatencyMs", String.valueOf(median * 5)));
+            config.setLatency(LatencyDistribution.logNormal(median, p99));
+        }
+        config.setRateLimitProbability(Double.parseDouble(options.getOrDefault("rateLimit", "0")));
+        config.setThreads(Math.max(concurrency * 2, 16));
+
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(days - 1L);
+        String fromDate = from.toString();
+        String toDate = to.toString();
+
+        try (MockZoomServer server = new MockZoomServer(config)) {
+            List<SyntheticTenant> tenantList = new ArrayList<>(tenants);
+            for (int i = 0; i < tenants; i++) {
+                SyntheticTenant tenant = new SyntheticTenant(String.format("tenant%04d", i), users, 0.3, i);
+                server.addTenant(tenant);
+                tenantList.add(tenant);
+            }
+            server.start(0);
+
+            resetPeakHeap();
+            ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+            long elapsedNanos;
+            try {
+                long start = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>(tenants);
+                for (SyntheticTenant tenant : tenantList) {
+                    futures.add(executor.submit(() -> syncTenant(server, tenant, pageSize, fromDate, toDate)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                elapsedNanos = System.nanoTime() - start;
+            } finally {
+                // A failed or interrupted run must not leave sync threads running against the closed server
+                executor.shutdownNow();
+            }
+
+            return report(tenants, users, days, pageSize, concurrency, elapsedNanos, server.getRateLimitedCount());
+        }
+    }
+
+    private void syncTenant(MockZoomServer server, SyntheticTenant tenant, int pageSize,
+            String fromDate, String toDate) {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadAllocatedBytes(threadId);
+        try {
+            ZoomApiClient client = new ZoomApiClient("bench-client", "bench-secret",
+                    server.getOAuthBaseUrl(), server.getApiBaseUrl());
+
+            long t0 = System.nanoTime();
+            client.exchangeCodeForToken(tenant.getAccountId(), "http://localhost/callback");
+            latencies.get("oauth_token").record(System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            client.getAccountInfo();
+            latencies.get("accounts_me").record(System.nanoTime() - t0);
+
+            String token = null;
+            do {
+                t0 = System.nanoTime();
+                ZoomUserList page = client.getUsers("active", pageSize, token);
+                latencies.get("users").record(System.nanoTime() - t0);
+                userRecords.addAndGet(page.getUsers() != null ? page.getUsers().size() : 0);
+                token = page.getNextPageToken();
+            } while (token != null && !token.isEmpty());
+
+            token = null;
+            do {
+                t0 = System.nanoTime();
+                ZoomActivityReport page = client.getActivityReportPage(fromDate, toDate, pageSize, token);
+                latencies.get("report_activities").record(System.nanoTime() - t0);
+                activityRecords.addAndGet(page.getActivityLogs() != null ? page.getActivityLogs().size() : 0);
+                token = page.getNextPageToken();
+            } while (token != null && !token.isEmpty());
+        } catch (IOException e) {
+            failedTenants.incrementAndGet();
+            System.err.println("Tenant " + tenant.getAccountId() + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedTenants.incrementAndGet();
+        } finally {
+            long allocatedAfter = threadAllocatedBytes(threadId);
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                allocatedBytes.addAndGet(allocatedAfter - allocatedBefore);
+            }
+        }
+    }
+
+    private ObjectNode report(int tenants, int users, int days, int pageSize, int concurrency,
+            long elapsedNanos, long rateLimited) {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = mapper.createObjectNode();
+        root.put("benchmark", "full-sync");
+        root.put("timestamp", LocalDateTime.now().toString());
+        root.put("java_version", System.getProperty("java.version"));
+
+        ObjectNode config = root.putObject("config");
+        config.put("tenants", tenants);
+        config.put("users_per_tenant", users);
+        config.put("activity_days", days);
+        config.put("page_size", pageSize);
+        config.put("concurrency", concurrency);
+        config.put("median_latency_ms", options.getOrDefault("medianLatencyMs", "0"));
+        config.put("rate_limit_probability", options.getOrDefault("rateLimit", "0"));
+
+        long records = userRecords.get() + activityRecords.get();
+        double seconds = elapsedNanos / 1e9;
+        ObjectNode summary = root.putObject("summary");
+        summary.put("elapsed_seconds", round(seconds));
+        summary.put("user_records", userRecords.get());
+        summary.put("activity_records", activityRecords.get());
+        summary.put("records_per_second", round(records / seconds));
+        summary.put("failed_tenants", failedTenants.get());
+        summary.put("rate_limited_responses", rateLimited);
+        // Sum of per-pool peaks, so an upper bound on the true peak
+        summary.put("peak_heap_mb", round(peakHeapBytes() / (1024.0 * 1024.0)));
+        summary.put("allocated_bytes_per_record", records > 0 ? round((double) allocatedBytes.get() / records) : 0);
+
+        ObjectNode endpoints = root.putObject("endpoints");
+        latencies.forEach((endpoint, recorder) -> {
+            long[] samples = recorder.sorted();
+            ObjectNode node = endpoints.putObject(endpoint);
+            node.put("requests", samples.length);
+            node.put("p50_ms", round(percentile(samples, 0.50) / 1e6));
+            node.put("p99_ms", round(percentile(samples, 0.99) / 1e6));
+            node.put("p999_ms", round(percentile(samples, 0.999) / 1e6));
+            node.put("max_ms", round((samples.length > 0 ? samples[samples.length - 1] : 0) / 1e6));
+        });
+        return root;
+    }
+
+    /**
+     * Print per-metric deltas against a baseline
+     *
+     * @return true if throughput dropped or a p99 rose by more than the threshold percentage
+     */
+    static boolean compare(JsonNode baseline, JsonNode current, double thresholdPercent) {
+        boolean regressed = false;
+        System.out.println("\n=== Comparison with baseline " + baseline.path("timestamp").asText() + " ===");
+        double baseRate = baseline.path("summary").path("records_per_second").asDouble();
+        double rate = current.path("summary").path("records_per_second").asDouble();
+        regressed |= printDelta("records_per_second", baseRate, rate, thresholdPercent, false);
+        double baseAlloc = baseline.path("summary").path("allocated_bytes_per_record").asDouble();
+        double alloc = current.path("summary").path("allocated_bytes_per_record").asDouble();
+        regressed |= printDelta("allocated_bytes_per_record", baseAlloc, alloc, thresholdPercent, true);
+        for (String endpoint : ENDPOINTS) {
+            double base = baseline.path("endpoints").path(endpoint).path("p99_ms").asDouble();
+            double now = current.path("endpoints").path(endpoint).path("p99_ms").asDouble();
+            regressed |= printDelta(endpoint + ".p99_ms", base, now, thresholdPercent, true);
+        }
+        System.out.println(regressed ? "REGRESSION beyond " + thresholdPercent + "%" : "No regression");
+        return regressed;
+    }
+
+    private static boolean printDelta(String name, double base, double now, double threshold, boolean lowerIsBetter) {
+        if (base <= 0) {
+            System.out.printf("%-36s %12s -> %12.2f%n", name, "n/a", now);
+            return false;
+        }
+        double change = (now - base) / base * 100.0;
+        boolean worse = lowerIsBetter ? change > threshold : change < -threshold;
+        System.out.printf("%-36s %12.2f -> %12.2f (%+.1f%%)%s%n", name, base, now, change, worse ? "  <-- regression" : "");
+        return worse;
+    }
+
+    private Path outputPath() {
+        String output = options.getOrDefault("output", "target/benchmark-results");
+        Path path = Paths.get(output);
+        if (output.endsWith(".json")) {
+            return path;
+        }
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return path.resolve("full-sync-" + stamp + ".json");
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long threadAllocatedBytes(long threadId) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+
+    /**
+     * Thread-safe append-only store of raw latency samples, for exact percentiles
+     */
+    private static class LatencyRecorder {
+
+        private long[] samples = new long[1024];
+        private int size;
+
+        synchronized void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.cloudeagle.zoom.benchmark;
+
+import com.cloudeagle.zoom.model.LazyZoomUserList;
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.generated.ImmutableZoomUserList;
+import com.cloudeagle.zoom.model.generated.OAuth2TokenResponseReader;
+import com.cloudeagle.zoom.model.generated.ZoomAccountReader;
+import com.cloudeagle.zoom.model.generated.ZoomUserListReader;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization cost of the Zoom model classes.
+ *
+ * {@code usersPageFromBytes} is the default {@code ZoomApiClient} path (byte[] body straight into
+ * {@code ObjectMapper.readValue}) and {@code usersPageGenerated} the path with generated deserializers
+ * enabled; {@code usersPageFromString} is the older String-body path, kept as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ModelDeserializationBenchmark {
+    
+    @Param({"300"})
+    public int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private ObjectReader userListReader;
+    private JsonFactory jsonFactory;
+    private byte[] usersPage;
+    private String usersPageString;
+    private byte[] account;
+    private byte[] token;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        userListReader = objectMapper.readerFor(ZoomUserList.class);
+        jsonFactory = objectMapper.getFactory();
+        usersPage = BenchmarkData.usersPage(pageSize, 42);
+        usersPageString = new String(usersPage, StandardCharsets.UTF_8);
+        account = BenchmarkData.account();
+        token = BenchmarkData.token();
+    }
+    
+    @Benchmark
+    public ZoomUserList usersPageFromString() throws IOException {
+        return objectMapper.readValue(usersPageString, ZoomUserList.class);
+    }
+    
+    @Benchmark
+    public ZoomUserList usersPageFromBytes() throws IOException {
+        return objectMapper.readValue(usersPage, ZoomUserList.class);
+    }
+    
+    @Benchmark
+    public ZoomUserList usersPageObjectReader() throws IOException {
+        return userListReader.readValue(usersPage);
+    }
+    
+    @Benchmark
+    public JsonNode usersPageTree() throws IOException {
+        return objectMapper.readTree(usersPage);
+    }
+    
+    /**
+     * Token-level streaming that only materializes the fields most passes actually read
+     */
+    @Benchmark
+    public int usersPageStreaming(Blackhole blackhole) throws IOException {
+        int users = 0;
+        try (JsonParser parser = jsonFactory.createParser(usersPage)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (!"users".equals(name)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        JsonToken value = parser.nextToken();
+                        switch (field) {
+                            case "id":
+                            case "email":
+                            case "last_login_time":
+                                blackhole.consume(parser.getText());
+                                break;
+                            case "type":
+                                blackhole.consume(parser.getIntValue());
+                                break;
+                            default:
+                                if (value.isStructStart()) {
+                                    parser.skipChildren();
+                                }
+                        }
+                    }
+                    users++;
+                }
+            }
+        }
+        return users;
+    }
+    
+    /**
+     * Same four fields as {@code usersPageStreaming}, read through the lazy projected view
+     */
+    @Benchmark
+    public int usersPageLazySummary(Blackhole blackhole) throws IOException {
+        LazyZoomUserList page = LazyZoomUserList.parse(usersPage, LazyZoomUserList.SUMMARY_FIELDS);
+        for (int i = 0; i < page.size(); i++) {
+            LazyZoomUserList.LazyUser user = page.get(i);
+            blackhole.consume(user.getId());
+            blackhole.consume(user.getEmail());
+            blackhole.consume(user.getType());
+            blackhole.consume(user.getLastLoginTime());
+        }
+        return page.size();
+    }
+    
+    /**
+     * Generated streaming reader, the path {@code ZoomApiClient.setGeneratedDeserializers(true)} takes
+     */
+    @Benchmark
+    public ZoomUserList usersPageGenerated() throws IOException {
+        return StreamingJson.parse(jsonFactory, usersPage, ZoomUserListReader::read);
+    }
+    
+    @Benchmark
+    public ImmutableZoomUserList usersPageGeneratedImmutable() throws IOException {
+        return StreamingJson.parse(jsonFactory, usersPage, ImmutableZoomUserList::read);
+    }
+    
+    @Benchmark
+    public ZoomAccount account() throws IOException {
+        return objectMapper.readValue(account, ZoomAccount.class);
+    }
+    
+    @Benchmark
+    public OAuth2TokenResponse tokenResponse() throws IOException {
+        return objectMapper.readValue(token, OAuth2TokenResponse.class);
+    }
+    
+    @Benchmark
+    public ZoomAccount accountGenerated() throws IOException {
+        return StreamingJson.parse(jsonFactory, account, ZoomAccountReader::read);
+    }
+    
+    @Benchmark
+    public OAuth2TokenResponse tokenResponseGenerated() throws IOException {
+        return StreamingJson.parse(jsonFactory, token, OAuth2TokenResponseReader::read);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cloudeagle.zoom.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of building URLs, headers and {@link HttpRequest}s in {@link ZoomApiClient}.
+ * Lives in the client package to reach the package-private request builders.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestBuildingBenchmark {
+    
+    private static final String PAGE_TOKEN = "Tva2CuIdTgsv8wAnhyAdU3m06Y2HuLQtlh3+/=";
+    
+    private ZoomApiClient client;
+    
+    @Setup
+    public void setUp() {
+        client = new ZoomApiClient("aBcDeFgHiJkLmNoPqRsT", "0123456789abcdefghijklmnopqrstuv");
+        client.setAccessToken("eyJzdiI6IjAwMDAwMSIsImFsZyI6IkhTNTEyIiwidiI6IjIuMCIsImtpZCI6IjBlYjY");
+    }
+    
+    @Benchmark
+    public String basicAuthHeader() {
+        return client.basicAuthHeader();
+    }
+    
+    @Benchmark
+    public String authorizationUrl() {
+        return client.getAuthorizationUrl("https://oauth.pstmn.io/v1/callback", "cloudeagle-1700000000000");
+    }
+    
+    @Benchmark
+    public String usersUrl() {
+        return client.buildUsersUrl("active", 300, PAGE_TOKEN);
+    }
+    
+    @Benchmark
+    public HttpRequest usersRequest() {
+        return client.newApiRequest(client.buildUsersUrl("active", 300, PAGE_TOKEN));
+    }
+    
+    @Benchmark
+    public HttpRequest activitiesRequest() {
+        return client.newApiRequest(client.buildActivitiesUrl("2024-01-01", "2024-01-31", 300, PAGE_TOKEN));
+    }
+}
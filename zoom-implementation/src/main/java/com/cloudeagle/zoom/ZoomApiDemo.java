@@ -1,8 +1,11 @@
 package com.cloudeagle.zoom;
 
+import com.cloudeagle.zoom.auth.StoredToken;
+import com.cloudeagle.zoom.auth.TokenStore;
 import com.cloudeagle.zoom.client.ZoomApiClient;
 import com.cloudeagle.zoom.model.OAuth2TokenResponse;
 import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.model.ZoomAccountPlans;
 import com.cloudeagle.zoom.model.ZoomUserList;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,8 +13,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -56,16 +63,37 @@ public class ZoomApiDemo {
         String accessToken = System.getenv("ZOOM_ACCESS_TOKEN");
         
         try {
-            ZoomApiClient client = new ZoomApiClient(clientId, clientSecret);
+            // Optional endpoint overrides, e.g. to run against MockZoomServer
+            String oauthBaseUrl = System.getenv().getOrDefault("ZOOM_OAUTH_BASE_URL", ZoomApiClient.DEFAULT_OAUTH_BASE_URL);
+            String apiBaseUrl = System.getenv().getOrDefault("ZOOM_API_BASE_URL", ZoomApiClient.DEFAULT_API_BASE_URL);
+            ZoomApiClient client = new ZoomApiClient(clientId, clientSecret, oauthBaseUrl, apiBaseUrl);
+            
+            // Open connections and build deserializers while the token is loaded or the user authorizes
+            Thread warmUp = new Thread(() -> {
+                try {
+                    client.warmUp();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "zoom-warm-up");
+            warmUp.setDaemon(true);
+            warmUp.start();
+            
+            // Optional encrypted token store, so restarts skip the interactive flow
+            TokenStore tokenStore = openTokenStore();
+            String tenantId = System.getenv().getOrDefault("ZOOM_TENANT_ID", "default");
             
             if (accessToken != null && !accessToken.isEmpty()) {
                 // Use provided access token directly
                 logger.info("Using provided access token");
                 client.setAccessToken(accessToken);
                 demonstrateZoomApis(client);
+            } else if (tokenStore != null && tokenStore.authenticate(client, tenantId, Duration.ofMinutes(5))) {
+                logger.info("Using stored token for tenant {}", tenantId);
+                demonstrateZoomApis(client);
             } else {
                 // Perform OAuth2 flow
-                performOAuth2Flow(client);
+                performOAuth2Flow(client, tokenStore, tenantId);
             }
             
         } catch (Exception e) {
@@ -77,7 +105,7 @@ public class ZoomApiDemo {
     /**
      * Perform the complete OAuth2 authorization flow
      */
-    private static void performOAuth2Flow(ZoomApiClient client) {
+    private static void performOAuth2Flow(ZoomApiClient client, TokenStore tokenStore, String tenantId) {
         try (Scanner scanner = new Scanner(System.in)) {
             // Step 1: Generate authorization URL
             String state = "cloudeagle-" + System.currentTimeMillis();
@@ -106,6 +134,10 @@ public class ZoomApiDemo {
             System.out.println("Token Type: " + tokenResponse.getTokenType());
             System.out.println("Expires In: " + tokenResponse.getExpiresIn() + " seconds");
             System.out.println("Scope: " + tokenResponse.getScope());
+            
+            if (tokenStore != null) {
+                tokenStore.put(StoredToken.from(tenantId, tokenResponse, Instant.now()));
+            }
 
             demonstrateZoomApis(client);
             
@@ -115,6 +147,24 @@ public class ZoomApiDemo {
         }
     }
     
+    /**
+     * Open the token store named by ZOOM_TOKEN_STORE, encrypted with ZOOM_TOKEN_STORE_PASSPHRASE
+     * 
+     * @return The store, or null if not configured
+     */
+    private static TokenStore openTokenStore() throws IOException {
+        String storePath = System.getenv("ZOOM_TOKEN_STORE");
+        String passphrase = System.getenv("ZOOM_TOKEN_STORE_PASSPHRASE");
+        if (storePath == null || storePath.isEmpty()) {
+            return null;
+        }
+        if (passphrase == null || passphrase.isEmpty()) {
+            logger.warn("ZOOM_TOKEN_STORE is set without ZOOM_TOKEN_STORE_PASSPHRASE; not using the token store");
+            return null;
+        }
+        return TokenStore.open(Paths.get(storePath), passphrase.toCharArray());
+    }
+    
     /**
      * Demonstrate all Zoom APIs
      */
@@ -176,38 +226,31 @@ public class ZoomApiDemo {
     private static void demonstrateAccountPlans(ZoomApiClient client) {
         try {
             System.out.println("\n=== 2. Fetching Account Plans ===");
-            String plansJson = client.getAccountPlans();
-            
-            // Parse and display plan information
-            JsonNode plansNode = objectMapper.readTree(plansJson);
+            ZoomAccountPlans plans = client.getAccountPlanDetails();
             
             System.out.println("\n--- Plan Details ---");
             
-            if (plansNode.has("plan_base")) {
-                JsonNode planBase = plansNode.get("plan_base");
-                System.out.println("Base Plan: " + planBase.get("plan_name").asText());
-                System.out.println("Plan Type: " + planBase.get("type").asText());
+            if (plans.getPlanBase() != null) {
+                ZoomAccountPlans.Plan planBase = plans.getPlanBase();
+                System.out.println("Base Plan: " + planBase.getPlanName());
+                System.out.println("Plan Type: " + planBase.getType());
             }
             
-            if (plansNode.has("plan_zoom_rooms")) {
-                JsonNode planRooms = plansNode.get("plan_zoom_rooms");
-                if (!planRooms.isNull() && planRooms.has("plan_name")) {
-                    System.out.println("Zoom Rooms Plan: " + planRooms.get("plan_name").asText());
-                }
+            if (plans.getPlanZoomRooms() != null && plans.getPlanZoomRooms().getPlanName() != null) {
+                System.out.println("Zoom Rooms Plan: " + plans.getPlanZoomRooms().getPlanName());
             }
             
-            if (plansNode.has("plan_recording")) {
-                String recording = plansNode.get("plan_recording").asText();
-                if (!recording.isEmpty()) {
-                    System.out.println("Recording Plan: " + recording);
-                }
+            if (plans.getPlanRecording() != null && !plans.getPlanRecording().isEmpty()) {
+                System.out.println("Recording Plan: " + plans.getPlanRecording());
             }
             
-            if (plansNode.has("plan_audio")) {
-                JsonNode planAudio = plansNode.get("plan_audio");
-                if (!planAudio.isNull() && planAudio.has("plan_name")) {
-                    System.out.println("Audio Plan: " + planAudio.get("plan_name").asText());
-                }
+            if (plans.getPlanAudio() != null && plans.getPlanAudio().getPlanName() != null) {
+                System.out.println("Audio Plan: " + plans.getPlanAudio().getPlanName());
+            }
+            
+            for (Map.Entry<String, ZoomAccountPlans.Plan> entry : plans.seatPlans().entrySet()) {
+                System.out.println("Seats (" + entry.getKey() + "): " + entry.getValue().getUsage() 
+                        + " used of " + entry.getValue().getHosts());
             }
             
         } catch (IOException | InterruptedException e) {
@@ -0,0 +1,280 @@
+package com.cloudeagle.zoom.analytics;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport;
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+import com.cloudeagle.zoom.util.AtomicFiles;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Day-by-day index of which users were active, built from sign-in activity.
+ *
+ * Each user (by lower-cased email) gets a dense int id in order of first appearance, and each day
+ * keeps a {@link CompressedBitmap} of the ids active that day, so DAU is a cardinality, "active in
+ * the last N days" is a union and a user's last active day is a few bit tests. A year of history
+ * for 100k users takes a few megabytes. Days are UTC calendar days, taken from the activity time.
+ *
+ * Feed it with {@code client.forEachActivityPage(from, to, 300, index::addPage)}. Not thread-safe.
+ */
+public class ActiveUserIndex {
+    
+    private static final int FILE_MAGIC = 0x5A415549; // "ZAUI"
+    private static final int FILE_VERSION = 1;
+    
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> users = new ArrayList<>();
+    private final NavigableMap<Integer, CompressedBitmap> days = new TreeMap<>();
+    private String lastDayText;
+    private LocalDate lastDay;
+    
+    /**
+     * Record every activity on a report page
+     * 
+     * @param page Page returned by the activity report API
+     */
+    public void addPage(ZoomActivityReport page) {
+        if (page.getActivityLogs() != null) {
+            for (ActivityLog log : page.getActivityLogs()) {
+                add(log);
+            }
+        }
+    }
+    
+    /**
+     * Record a single activity; entries without an email or a parseable time are skipped
+     * 
+     * @param log Sign-in or sign-out activity
+     * @return Whether the entry was recorded
+     */
+    public boolean add(ActivityLog log) {
+        String time = log.getTime();
+        if (log.getEmail() == null || time == null || time.length() < 10) {
+            return false;
+        }
+        try {
+            // Reports come grouped by day; skip re-parsing the same date
+            if (lastDayText == null || !time.regionMatches(0, lastDayText, 0, 10)) {
+                lastDay = LocalDate.parse(time.substring(0, 10));
+                lastDayText = time;
+            }
+            add(log.getEmail(), lastDay);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Mark a user active on a day
+     * 
+     * @param email User email
+     * @param day Day of activity
+     */
+    public void add(String email, LocalDate day) {
+        int id = idFor(email);
+        days.computeIfAbsent(Math.toIntExact(day.toEpochDay()), key -> new CompressedBitmap()).add(id);
+    }
+    
+    /**
+     * @return Distinct users active on the day
+     */
+    public int dailyActive(LocalDate day) {
+        CompressedBitmap bitmap = days.get(Math.toIntExact(day.toEpochDay()));
+        return bitmap == null ? 0 : bitmap.cardinality();
+    }
+    
+    /**
+     * @return Ids of users active on any day in the range, inclusive
+     */
+    public CompressedBitmap activeBetween(LocalDate from, LocalDate to) {
+        CompressedBitmap union = new CompressedBitmap();
+        for (CompressedBitmap day : range(from, to).values()) {
+            union = union.or(day);
+        }
+        return union;
+    }
+    
+    /**
+     * @return Distinct users active on any day in the range, inclusive
+     */
+    public int countActive(LocalDate from, LocalDate to) {
+        return activeBetween(from, to).cardinality();
+    }
+    
+    /**
+     * Rolling-window active users, e.g. {@code activeInLastDays(today, 30)} for MAU
+     * 
+     * @param asOf Last day of the window
+     * @param windowDays Window length in days, including {@code asOf}
+     * @return Distinct users active in the window
+     */
+    public int activeInLastDays(LocalDate asOf, int windowDays) {
+        return countActive(asOf.minusDays(windowDays - 1L), asOf);
+    }
+    
+    /**
+     * @return Ids of users active on every day in the range that has data, inclusive
+     */
+    public CompressedBitmap activeEveryDay(LocalDate from, LocalDate to) {
+        CompressedBitmap common = null;
+        for (CompressedBitmap day : range(from, to).values()) {
+            // Copy the first day so callers never hold the index's own bitmap
+            common = common == null ? new CompressedBitmap().or(day) : common.and(day);
+        }
+        return common == null ? new CompressedBitmap() : common;
+    }
+    
+    /**
+     * @param email User email
+     * @return Most recent day the user was active, or null if never
+     */
+    public LocalDate lastActive(String email) {
+        Integer id = ids.get(normalize(email));
+        if (id == null) {
+            return null;
+        }
+        for (Map.Entry<Integer, CompressedBitmap> day : days.descendingMap().entrySet()) {
+            if (day.getValue().contains(id)) {
+                return LocalDate.ofEpochDay(day.getKey());
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * @return Emails of the users in a bitmap returned by this index
+     */
+    public List<String> emails(CompressedBitmap userIds) {
+        List<String> emails = new ArrayList<>(userIds.cardinality());
+        userIds.forEach(id -> emails.add(users.get(id)));
+        return emails;
+    }
+    
+    /**
+     * @return Dense id of a user, or -1 if the user was never seen
+     */
+    public int userId(String email) {
+        Integer id = ids.get(normalize(email));
+        return id == null ? -1 : id;
+    }
+    
+    /**
+     * @return Number of distinct users seen
+     */
+    public int userCount() {
+        return users.size();
+    }
+    
+    /**
+     * @return Number of days with activity
+     */
+    public int dayCount() {
+        return days.size();
+    }
+    
+    public LocalDate firstDay() {
+        return days.isEmpty() ? null : LocalDate.ofEpochDay(days.firstKey());
+    }
+    
+    public LocalDate lastDay() {
+        return days.isEmpty() ? null : LocalDate.ofEpochDay(days.lastKey());
+    }
+    
+    /**
+     * @return Approximate size of the day bitmaps in bytes, excluding the email dictionary
+     */
+    public long bitmapSizeInBytes() {
+        long bytes = 0;
+        for (CompressedBitmap day : days.values()) {
+            bytes += day.sizeInBytes();
+        }
+        return bytes;
+    }
+    
+    /**
+     * Persist the index
+     * 
+     * @param file Target file, replaced atomically
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(users.size());
+            for (String email : users) {
+                out.writeUTF(email);
+            }
+            out.writeInt(days.size());
+            for (Map.Entry<Integer, CompressedBitmap> day : days.entrySet()) {
+                out.writeInt(day.getKey());
+                day.getValue().write(out);
+            }
+        }
+        AtomicFiles.write(file, bytes.toByteArray());
+    }
+    
+    /**
+     * Read an index written by {@link #save(Path)}
+     * 
+     * @param file Index file
+     * @return The index
+     * @throws IOException If the file is unreadable or not an index
+     */
+    public static ActiveUserIndex load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not an active user index: " + file);
+            }
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                throw new IOException("Unsupported active user index version " + version);
+            }
+            ActiveUserIndex index = new ActiveUserIndex();
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                index.idFor(in.readUTF());
+            }
+            int dayCount = in.readInt();
+            for (int i = 0; i < dayCount; i++) {
+                index.days.put(in.readInt(), CompressedBitmap.read(in));
+            }
+            return index;
+        }
+    }
+    
+    private NavigableMap<Integer, CompressedBitmap> range(LocalDate from, LocalDate to) {
+        return days.subMap(Math.toIntExact(from.toEpochDay()), true, Math.toIntExact(to.toEpochDay()), true);
+    }
+    
+    private int idFor(String email) {
+        String key = normalize(email);
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = users.size();
+            ids.put(key, id);
+            users.add(key);
+        }
+        return id;
+    }
+    
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cloudeagle.zoom.analytics;
+
+/**
+ * Activity of one user of one type (e.g. {@code Sign in}) over the aggregated period
+ */
+public class ActivityAggregate {
+    
+    private final String email;
+    private final String type;
+    private long count;
+    private String firstTime;
+    private String lastTime;
+    
+    public ActivityAggregate(String email, String type, long count, String firstTime, String lastTime) {
+        this.email = email;
+        this.type = type;
+        this.count = count;
+        this.firstTime = firstTime;
+        this.lastTime = lastTime;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * @return Earliest activity time (ISO-8601, as reported by Zoom), or null
+     */
+    public String getFirstTime() {
+        return firstTime;
+    }
+    
+    /**
+     * @return Latest activity time (ISO-8601, as reported by Zoom), or null
+     */
+    public String getLastTime() {
+        return lastTime;
+    }
+    
+    /**
+     * Fold another aggregate for the same user and type into this one
+     */
+    void merge(long otherCount, String otherFirst, String otherLast) {
+        count += otherCount;
+        if (otherFirst != null && (firstTime == null || otherFirst.compareTo(firstTime) < 0)) {
+            firstTime = otherFirst;
+        }
+        if (otherLast != null && (lastTime == null || otherLast.compareTo(lastTime) > 0)) {
+            lastTime = otherLast;
+        }
+    }
+    
+    /**
+     * Order by email, then type
+     */
+    static int compare(ActivityAggregate a, ActivityAggregate b) {
+        int byEmail = a.email.compareTo(b.email);
+        return byEmail != 0 ? byEmail : a.type.compareTo(b.type);
+    }
+    
+    @Override
+    public String toString() {
+        return "ActivityAggregate{" +
+                "email='" + email + '\'' +
+                ", type='" + type + '\'' +
+                ", count=" + count +
+                ", firstTime='" + firstTime + '\'' +
+                ", lastTime='" + lastTime + '\'' +
+                '}';
+    }
+}
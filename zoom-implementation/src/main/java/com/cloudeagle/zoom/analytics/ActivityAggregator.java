@@ -0,0 +1,366 @@
+package com.cloudeagle.zoom.analytics;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport;
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Groups activity logs by user and type with a fixed heap budget.
+ *
+ * Aggregates accumulate in memory until their estimated size reaches the budget; they are then
+ * sorted and spilled to a run file in a temp directory. {@link #finish} merges all runs (at most
+ * {@value #MERGE_FACTOR} at a time, in several passes if needed) and emits one aggregate per user
+ * and type, ordered by email and then type. With no spills nothing touches the disk.
+ *
+ * Feed it with {@code client.forEachActivityPage(from, to, 300, aggregator::addPage)}. Not thread-safe.
+ */
+public class ActivityAggregator implements Closeable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ActivityAggregator.class);
+    
+    static final int MERGE_FACTOR = 64;
+    
+    /**
+     * Rough heap cost of a new user entry (map node, key string header, list, aggregate) and of
+     * another type under an existing user
+     */
+    private static final int USER_ENTRY_BYTES = 200;
+    private static final int TYPE_ENTRY_BYTES = 80;
+    
+    private final long memoryBudgetBytes;
+    private final Path tempParent;
+    private final Map<String, List<ActivityAggregate>> byEmail = new HashMap<>();
+    private final Map<String, String> types = new HashMap<>();
+    private final Deque<Path> runs = new ArrayDeque<>();
+    private long estimatedBytes;
+    private long eventCount;
+    private int spillCount;
+    private Path tempDirectory;
+    private boolean finished;
+    
+    /**
+     * @param memoryBudgetBytes Approximate heap to use for in-memory aggregates before spilling
+     */
+    public ActivityAggregator(long memoryBudgetBytes) {
+        this(memoryBudgetBytes, null);
+    }
+    
+    /**
+     * @param memoryBudgetBytes Approximate heap to use for in-memory aggregates before spilling
+     * @param tempParent Directory for run files, or null for the system temp directory
+     */
+    public ActivityAggregator(long memoryBudgetBytes, Path tempParent) {
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("memoryBudgetBytes must be positive");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.tempParent = tempParent;
+    }
+    
+    /**
+     * Add every activity on a report page
+     * 
+     * @param page Page returned by the activity report API
+     * @throws IOException If a spill fails
+     */
+    public void addPage(ZoomActivityReport page) throws IOException {
+        if (page.getActivityLogs() != null) {
+            for (ActivityLog log : page.getActivityLogs()) {
+                add(log);
+            }
+        }
+    }
+    
+    /**
+     * Add a single activity; entries without an email are skipped
+     * 
+     * @param log The activity
+     * @throws IOException If a spill fails
+     */
+    public void add(ActivityLog log) throws IOException {
+        if (log.getEmail() != null) {
+            add(log.getEmail(), log.getType(), log.getTime());
+        }
+    }
+    
+    /**
+     * Add a single activity
+     * 
+     * @param email User email; case and surrounding whitespace are ignored
+     * @param type Activity type, e.g. {@code Sign in}
+     * @param time Activity time as reported, or null
+     * @throws IOException If a spill fails
+     */
+    public void add(String email, String type, String time) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Aggregator already finished");
+        }
+        eventCount++;
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        // Few distinct types: share one instance instead of retaining each log's copy
+        String sharedType = types.computeIfAbsent(type == null ? "" : type, t -> t);
+        List<ActivityAggregate> aggregates = byEmail.get(key);
+        if (aggregates == null) {
+            aggregates = new ArrayList<>(2);
+            byEmail.put(key, aggregates);
+            estimatedBytes += USER_ENTRY_BYTES + 2L * key.length();
+        }
+        for (ActivityAggregate aggregate : aggregates) {
+            if (aggregate.getType() == sharedType) {
+                aggregate.merge(1, time, time);
+                return;
+            }
+        }
+        aggregates.add(new ActivityAggregate(key, sharedType, 1, time, time));
+        estimatedBytes += TYPE_ENTRY_BYTES;
+        if (estimatedBytes >= memoryBudgetBytes) {
+            spill();
+        }
+    }
+    
+    /**
+     * Merge everything added so far and emit the aggregates in email, type order. Can only be called once.
+     * 
+     * @param handler Receives each aggregate
+     * @return Number of aggregates emitted
+     * @throws IOException If reading a run or the handler fails
+     */
+    public long finish(Handler handler) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Aggregator already finished");
+        }
+        finished = true;
+        if (runs.isEmpty()) {
+            long emitted = 0;
+            for (ActivityAggregate aggregate : sortedInMemory()) {
+                handler.onAggregate(aggregate);
+                emitted++;
+            }
+            byEmail.clear();
+            return emitted;
+        }
+        spill();
+        while (runs.size() > MERGE_FACTOR) {
+            List<Path> batch = new ArrayList<>(MERGE_FACTOR);
+            for (int i = 0; i < MERGE_FACTOR; i++) {
+                batch.add(runs.pollFirst());
+            }
+            Path merged = newRunFile();
+            try (RunWriter writer = new RunWriter(merged)) {
+                merge(batch, writer::write);
+            }
+            for (Path run : batch) {
+                Files.deleteIfExists(run);
+            }
+            runs.addLast(merged);
+        }
+        long[] emitted = new long[1];
+        merge(new ArrayList<>(runs), aggregate -> {
+            handler.onAggregate(aggregate);
+            emitted[0]++;
+        });
+        logger.info("Aggregated {} activities into {} groups using {} spills", eventCount, emitted[0], spillCount);
+        return emitted[0];
+    }
+    
+    /**
+     * @return Activities added so far
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+    
+    /**
+     * @return Number of sorted runs written to disk
+     */
+    public int getSpillCount() {
+        return spillCount;
+    }
+    
+    /**
+     * Delete all run files
+     */
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+        if (tempDirectory != null) {
+            Files.deleteIfExists(tempDirectory);
+            tempDirectory = null;
+        }
+        byEmail.clear();
+    }
+    
+    private void spill() throws IOException {
+        if (byEmail.isEmpty()) {
+            return;
+        }
+        Path run = newRunFile();
+        try (RunWriter writer = new RunWriter(run)) {
+            for (ActivityAggregate aggregate : sortedInMemory()) {
+                writer.write(aggregate);
+            }
+        }
+        runs.addLast(run);
+        spillCount++;
+        logger.debug("Spilled {} users ({} bytes estimated) to {}", byEmail.size(), estimatedBytes, run);
+        byEmail.clear();
+        estimatedBytes = 0;
+    }
+    
+    private List<ActivityAggregate> sortedInMemory() {
+        String[] emails = byEmail.keySet().toArray(new String[0]);
+        Arrays.sort(emails);
+        List<ActivityAggregate> sorted = new ArrayList<>(emails.length);
+        for (String email : emails) {
+            List<ActivityAggregate> aggregates = byEmail.get(email);
+            aggregates.sort(ActivityAggregate::compare);
+            sorted.addAll(aggregates);
+        }
+        return sorted;
+    }
+    
+    private Path newRunFile() throws IOException {
+        if (tempDirectory == null) {
+            tempDirectory = tempParent != null
+                    ? Files.createTempDirectory(tempParent, "zoom-activity-agg")
+                    : Files.createTempDirectory("zoom-activity-agg");
+        }
+        return Files.createTempFile(tempDirectory, "run-", ".bin");
+    }
+    
+    /**
+     * K-way merge of sorted runs, combining equal keys
+     */
+    private static void merge(List<Path> files, Handler out) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(
+                (a, b) -> ActivityAggregate.compare(a.current, b.current));
+        List<RunReader> readers = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                RunReader reader = new RunReader(file);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            ActivityAggregate pending = null;
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                ActivityAggregate next = reader.current;
+                if (pending != null && ActivityAggregate.compare(pending, next) == 0) {
+                    pending.merge(next.getCount(), next.getFirstTime(), next.getLastTime());
+                } else {
+                    if (pending != null) {
+                        out.onAggregate(pending);
+                    }
+                    pending = next;
+                }
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            if (pending != null) {
+                out.onAggregate(pending);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+    
+    /**
+     * Receives merged aggregates from {@link #finish}
+     */
+    @FunctionalInterface
+    public interface Handler {
+        
+        /**
+         * @param aggregate Activity of one user and type
+         * @throws IOException If the downstream write fails
+         */
+        void onAggregate(ActivityAggregate aggregate) throws IOException;
+    }
+    
+    private static final class RunWriter implements Closeable {
+        
+        private final DataOutputStream out;
+        
+        RunWriter(Path file) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        }
+        
+        void write(ActivityAggregate aggregate) throws IOException {
+            out.writeBoolean(true);
+            out.writeUTF(aggregate.getEmail());
+            out.writeUTF(aggregate.getType());
+            out.writeLong(aggregate.getCount());
+            writeNullable(aggregate.getFirstTime());
+            writeNullable(aggregate.getLastTime());
+        }
+        
+        private void writeNullable(String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            out.writeBoolean(false);
+            out.close();
+        }
+    }
+    
+    private static final class RunReader implements Closeable {
+        
+        private final DataInputStream in;
+        private ActivityAggregate current;
+        
+        RunReader(Path file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        }
+        
+        boolean advance() throws IOException {
+            if (!in.readBoolean()) {
+                current = null;
+                return false;
+            }
+            String email = in.readUTF();
+            String type = in.readUTF();
+            long count = in.readLong();
+            String first = in.readBoolean() ? in.readUTF() : null;
+            String last = in.readBoolean() ? in.readUTF() : null;
+            current = new ActivityAggregate(email, type, count, first, last);
+            return true;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
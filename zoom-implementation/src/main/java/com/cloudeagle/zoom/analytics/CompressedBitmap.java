@@ -0,0 +1,501 @@
+package com.cloudeagle.zoom.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints, in the style of Roaring bitmaps.
+ *
+ * Values are split by their high 16 bits into containers of up to 65536 values. A sparse container
+ * is a sorted {@code char[]} (2 bytes per value); once it passes 4096 values it becomes a plain
+ * 8 KB bitmap, which is smaller from then on. Unions and intersections work container by container,
+ * mostly as word-wise bit operations.
+ *
+ * Not thread-safe. {@link #or} and {@link #and} return new bitmaps and leave their inputs unchanged.
+ */
+public final class CompressedBitmap {
+    
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+    
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+    
+    public CompressedBitmap() {
+        this(4);
+    }
+    
+    private CompressedBitmap(int capacity) {
+        keys = new char[capacity];
+        containers = new Container[capacity];
+    }
+    
+    /**
+     * @param value Value to add; must not be negative
+     */
+    public void add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        char high = (char) (value >>> 16);
+        int i = indexOf(high);
+        if (i < 0) {
+            i = -i - 1;
+            insert(i, high, new ArrayContainer(new char[4], 0));
+        }
+        containers[i] = containers[i].add((char) value);
+    }
+    
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+    
+    /**
+     * @return Number of values in the set
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * @return Union of this and another bitmap
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(size + other.size);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || other.keys[j] < keys[i]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * @return Intersection of this and another bitmap
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(Math.min(size, other.size) + 1);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (other.keys[j] < keys[i]) {
+                j++;
+            } else {
+                Container both = containers[i].and(other.containers[j]);
+                if (both.cardinality() > 0) {
+                    result.append(keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Visit every value in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+    
+    /**
+     * @return Approximate heap footprint of the value data in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = size * 6L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+    
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeChar(keys[i]);
+            containers[i].write(out);
+        }
+    }
+    
+    public static CompressedBitmap read(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > 1 << 16) {
+            throw new IOException("Corrupt bitmap: " + count + " containers");
+        }
+        CompressedBitmap bitmap = new CompressedBitmap(Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            char key = in.readChar();
+            bitmap.append(key, Container.read(in));
+        }
+        return bitmap;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompressedBitmap)) {
+            return false;
+        }
+        CompressedBitmap other = (CompressedBitmap) o;
+        if (size != other.size || cardinality() != other.cardinality()) {
+            return false;
+        }
+        return and(other).cardinality() == cardinality();
+    }
+    
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        forEach(value -> hash[0] = 31 * hash[0] + value);
+        return hash[0];
+    }
+    
+    private int indexOf(char high) {
+        // Appends are in key order, so the common case is the last container
+        if (size > 0 && keys[size - 1] == high) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+    
+    private void insert(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+    
+    private void append(char key, Container container) {
+        insert(size, key, container);
+    }
+    
+    private abstract static class Container {
+        
+        /**
+         * @return This container, or a replacement if the representation changed
+         */
+        abstract Container add(char low);
+        
+        abstract boolean contains(char low);
+        
+        abstract int cardinality();
+        
+        abstract Container or(Container other);
+        
+        abstract Container and(Container other);
+        
+        abstract Container copy();
+        
+        abstract void forEach(int base, IntConsumer action);
+        
+        abstract long sizeInBytes();
+        
+        abstract void write(DataOutput out) throws IOException;
+        
+        static Container read(DataInput in) throws IOException {
+            byte type = in.readByte();
+            int cardinality = in.readInt();
+            if (type == ARRAY) {
+                if (cardinality < 0 || cardinality > ARRAY_MAX) {
+                    throw new IOException("Corrupt bitmap: array container of " + cardinality);
+                }
+                char[] values = new char[Math.max(cardinality, 4)];
+                for (int i = 0; i < cardinality; i++) {
+                    values[i] = in.readChar();
+                }
+                return new ArrayContainer(values, cardinality);
+            }
+            if (type == BITMAP) {
+                long[] words = new long[BITMAP_WORDS];
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    words[i] = in.readLong();
+                }
+                return new BitmapContainer(words, cardinality);
+            }
+            throw new IOException("Corrupt bitmap: unknown container type " + type);
+        }
+    }
+    
+    private static final class ArrayContainer extends Container {
+        
+        private char[] values;
+        private int cardinality;
+        
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        Container add(char low) {
+            // Activity is mostly indexed in ascending id order: try the append fast path first
+            if (cardinality > 0 && values[cardinality - 1] < low) {
+                return appendValue(cardinality, low);
+            }
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                return this;
+            }
+            return appendValue(-i - 1, low);
+        }
+        
+        private Container appendValue(int index, char low) {
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return this;
+        }
+        
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            if (cardinality + that.cardinality > ARRAY_MAX) {
+                BitmapContainer bitmap = toBitmap();
+                for (int i = 0; i < that.cardinality; i++) {
+                    bitmap.add(that.values[i]);
+                }
+                return bitmap;
+            }
+            char[] merged = new char[Math.max(cardinality + that.cardinality, 4)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < cardinality && j < that.cardinality) {
+                char a = values[i];
+                char b = that.values[j];
+                if (a < b) {
+                    merged[k++] = a;
+                    i++;
+                } else if (b < a) {
+                    merged[k++] = b;
+                    j++;
+                } else {
+                    merged[k++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < cardinality) {
+                merged[k++] = values[i++];
+            }
+            while (j < that.cardinality) {
+                merged[k++] = that.values[j++];
+            }
+            return new ArrayContainer(merged, k);
+        }
+        
+        @Override
+        Container copy() {
+            return new ArrayContainer(values.clone(), cardinality);
+        }
+        
+        @Override
+        Container and(Container other) {
+            char[] common = new char[Math.max(cardinality, 4)];
+            int k = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    common[k++] = values[i];
+                }
+            }
+            return new ArrayContainer(common, k);
+        }
+        
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+        
+        @Override
+        long sizeInBytes() {
+            return 16 + values.length * 2L;
+        }
+        
+        @Override
+        void write(DataOutput out) throws IOException {
+            out.writeByte(ARRAY);
+            out.writeInt(cardinality);
+            for (int i = 0; i < cardinality; i++) {
+                out.writeChar(values[i]);
+            }
+        }
+        
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+    
+    private static final class BitmapContainer extends Container {
+        
+        private final long[] words;
+        private int cardinality;
+        
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        Container add(char low) {
+            long bit = 1L << low;
+            int word = low >>> 6;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+        
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        Container or(Container other) {
+            long[] union = words.clone();
+            if (other instanceof BitmapContainer) {
+                long[] those = ((BitmapContainer) other).words;
+                int count = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    union[i] |= those[i];
+                    count += Long.bitCount(union[i]);
+                }
+                return new BitmapContainer(union, count);
+            }
+            BitmapContainer result = new BitmapContainer(union, cardinality);
+            ArrayContainer that = (ArrayContainer) other;
+            for (int i = 0; i < that.cardinality; i++) {
+                result.add(that.values[i]);
+            }
+            return result;
+        }
+        
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+        
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] those = ((BitmapContainer) other).words;
+            long[] common = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                common[i] = words[i] & those[i];
+                count += Long.bitCount(common[i]);
+            }
+            if (count > ARRAY_MAX) {
+                return new BitmapContainer(common, count);
+            }
+            char[] values = new char[Math.max(count, 4)];
+            new BitmapContainer(common, count).forEach(0, new IntConsumer() {
+                int k;
+                
+                @Override
+                public void accept(int value) {
+                    values[k++] = (char) value;
+                }
+            });
+            return new ArrayContainer(values, count);
+        }
+        
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+        
+        @Override
+        long sizeInBytes() {
+            return 16 + BITMAP_WORDS * 8L;
+        }
+        
+        @Override
+        void write(DataOutput out) throws IOException {
+            out.writeByte(BITMAP);
+            out.writeInt(cardinality);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.cloudeagle.zoom.auth;
+
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A tenant's OAuth tokens as kept in the {@link TokenStore}, with an absolute expiry
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StoredToken {
+
+    @JsonProperty("tenant_id")
+    private String tenantId;
+
+    @JsonProperty("access_token")
+    private String accessToken;
+
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    @JsonProperty("scope")
+    private String scope;
+
+    @JsonProperty("expires_at")
+    private long expiresAt;
+
+    public StoredToken() {}
+
+    /**
+     * @param tenantId Tenant the token belongs to
+     * @param response Token response from Zoom
+     * @param obtainedAt When the response was received
+     */
+    public static StoredToken from(String tenantId, OAuth2TokenResponse response, Instant obtainedAt) {
+        StoredToken token = new StoredToken();
+        token.setTenantId(tenantId);
+        token.setAccessToken(response.getAccessToken());
+        token.setRefreshToken(response.getRefreshToken());
+        token.setTokenType(response.getTokenType());
+        token.setScope(response.getScope());
+        int expiresIn = response.getExpiresIn() != null ? response.getExpiresIn() : 0;
+        token.setExpiresAt(obtainedAt.getEpochSecond() + expiresIn);
+        return token;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * @return Access token expiry in epoch seconds
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @param now Current time
+     * @param margin How long the token must still be valid for
+     * @return Whether the access token expires within the margin
+     */
+    @JsonIgnore
+    public boolean isExpiring(Instant now, Duration margin) {
+        return now.plus(margin).getEpochSecond() >= expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredToken{" +
+                "tenantId='" + tenantId + '\'' +
+                ", accessToken='" + (accessToken != null ? "***" : null) + '\'' +
+                ", refreshToken='" + (refreshToken != null ? "***" : null) + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,302 @@
+package com.cloudeagle.zoom.auth;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.util.AtomicFiles;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encrypted file holding the OAuth tokens of every tenant a worker serves.
+ *
+ * The whole store is read and decrypted once on open, so thousands of tenants load in a single
+ * read. Every update re-encrypts the full store under a fresh IV with AES-256-GCM and atomically
+ * replaces the file, so a crash leaves either the old or the new contents. Batch updates with
+ * {@link #putAll} when saving many tenants. One process should own a store file at a time.
+ *
+ * File layout: magic, version, iteration count and salt (both unused for raw keys), IV, then the
+ * GCM ciphertext of a JSON array of {@link StoredToken}s. The header is authenticated as AAD.
+ */
+public class TokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenStore.class);
+
+    private static final int MAGIC = 0x5A544B53; // "ZTKS"
+    private static final int VERSION = 1;
+    private static final int SALT_LENGTH = 16;
+    private static final int IV_LENGTH = 12;
+    private static final int HEADER_LENGTH = 4 + 4 + 4 + SALT_LENGTH;
+    private static final int TAG_BITS = 128;
+    private static final int PBKDF2_ITERATIONS = 210_000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+
+    private final Path path;
+    private final SecretKey key;
+    private final byte[] header;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StoredToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Object> refreshLocks = new ConcurrentHashMap<>();
+
+    private TokenStore(Path path, SecretKey key, byte[] header) {
+        this.path = path;
+        this.key = key;
+        this.header = header;
+    }
+
+    /**
+     * Open or create a store encrypted with a key derived from a passphrase (PBKDF2-HMAC-SHA256).
+     * Key derivation is deliberately slow and runs once per open.
+     *
+     * @param path Store file; created on first write
+     * @param passphrase Passphrase
+     * @return The store with all tokens loaded
+     * @throws IOException If the file cannot be read or decrypted
+     */
+    public static TokenStore open(Path path, char[] passphrase) throws IOException {
+        byte[] existing = Files.exists(path) ? Files.readAllBytes(path) : null;
+        byte[] salt;
+        int iterations;
+        if (existing != null) {
+            ByteBuffer buffer = readHeader(existing);
+            iterations = buffer.getInt();
+            salt = new byte[SALT_LENGTH];
+            buffer.get(salt);
+        } else {
+            iterations = PBKDF2_ITERATIONS;
+            salt = new byte[SALT_LENGTH];
+            RANDOM.nextBytes(salt);
+        }
+        SecretKey key = deriveKey(passphrase, salt, iterations);
+        return open(path, key, header(iterations, salt), existing);
+    }
+
+    /**
+     * Open or create a store encrypted with a raw AES key
+     *
+     * @param path Store file; created on first write
+     * @param key 128, 192 or 256-bit AES key
+     * @return The store with all tokens loaded
+     * @throws IOException If the file cannot be read or decrypted
+     */
+    public static TokenStore open(Path path, SecretKey key) throws IOException {
+        byte[] existing = Files.exists(path) ? Files.readAllBytes(path) : null;
+        return open(path, key, header(0, new byte[SALT_LENGTH]), existing);
+    }
+
+    /**
+     * @param keyBytes Raw AES key bytes
+     * @return Key usable with {@link #open(Path, SecretKey)}
+     */
+    public static SecretKey aesKey(byte[] keyBytes) {
+        return new SecretKeySpec(keyBytes, "AES");
+    }
+
+    private static TokenStore open(Path path, SecretKey key, byte[] header, byte[] existing) throws IOException {
+        TokenStore store = new TokenStore(path, key, header);
+        if (existing != null) {
+            store.load(existing);
+        }
+        return store;
+    }
+
+    public StoredToken get(String tenantId) {
+        return tokens.get(tenantId);
+    }
+
+    /**
+     * @return Snapshot of all stored tokens
+     */
+    public List<StoredToken> getAll() {
+        return new ArrayList<>(tokens.values());
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Store or replace one tenant's token and persist the store
+     */
+    public void put(StoredToken token) throws IOException {
+        putAll(Collections.singletonList(token));
+    }
+
+    /**
+     * Store or replace several tokens with a single write
+     */
+    public synchronized void putAll(Collection<StoredToken> updates) throws IOException {
+        for (StoredToken token : updates) {
+            if (token.getTenantId() == null) {
+                throw new IllegalArgumentException("Stored token must have a tenant id");
+            }
+            tokens.put(token.getTenantId(), token);
+        }
+        persist();
+    }
+
+    /**
+     * Remove a tenant's token and persist the store
+     *
+     * @return Whether a token was removed
+     */
+    public synchronized boolean remove(String tenantId) throws IOException {
+        if (tokens.remove(tenantId) == null) {
+            return false;
+        }
+        persist();
+        return true;
+    }
+
+    /**
+     * Give the client a usable access token for the tenant, refreshing and persisting it first if it
+     * expires within the margin. Refreshes are serialized per tenant: Zoom rotates the refresh token
+     * on every use, so a concurrent caller waits and adopts the token the first one obtained instead
+     * of spending the same refresh token again.
+     *
+     * @param client Client to authenticate
+     * @param tenantId Tenant
+     * @param margin Minimum remaining validity
+     * @return False if no token is stored for the tenant
+     * @throws IOException If the refresh or the write fails
+     * @throws InterruptedException If the refresh is interrupted
+     */
+    public boolean authenticate(ZoomApiClient client, String tenantId, Duration margin)
+            throws IOException, InterruptedException {
+        StoredToken token = tokens.get(tenantId);
+        if (token == null) {
+            return false;
+        }
+        if (token.isExpiring(Instant.now(), margin)) {
+            synchronized (refreshLocks.computeIfAbsent(tenantId, k -> new Object())) {
+                // Another thread may have refreshed while this one waited
+                token = tokens.get(tenantId);
+                if (token == null) {
+                    return false;
+                }
+                if (token.isExpiring(Instant.now(), margin)) {
+                    if (token.getRefreshToken() == null) {
+                        return false;
+                    }
+                    OAuth2TokenResponse response = client.refreshAccessToken(token.getRefreshToken());
+                    put(StoredToken.from(tenantId, response, Instant.now()));
+                    logger.info("Refreshed stored token for tenant {}", tenantId);
+                    return true;
+                }
+            }
+        }
+        client.setAccessToken(token.getAccessToken());
+        return true;
+    }
+
+    private void load(byte[] data) throws IOException {
+        ByteBuffer buffer = readHeader(data);
+        buffer.position(HEADER_LENGTH);
+        byte[] iv = new byte[IV_LENGTH];
+        buffer.get(iv);
+        byte[] plaintext;
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(data, 0, HEADER_LENGTH);
+            plaintext = cipher.doFinal(data, buffer.position(), buffer.remaining());
+        } catch (AEADBadTagException e) {
+            throw new IOException("Token store " + path + " could not be decrypted: wrong key or corrupted file", e);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to decrypt token store " + path, e);
+        }
+        try {
+            List<StoredToken> loaded = objectMapper.readValue(plaintext, new TypeReference<List<StoredToken>>() {});
+            for (StoredToken token : loaded) {
+                tokens.put(token.getTenantId(), token);
+            }
+        } finally {
+            Arrays.fill(plaintext, (byte) 0);
+        }
+        logger.info("Loaded {} tokens from {}", tokens.size(), path);
+    }
+
+    private void persist() throws IOException {
+        byte[] plaintext = objectMapper.writeValueAsBytes(tokens.values());
+        byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        byte[] ciphertext;
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(header);
+            ciphertext = cipher.doFinal(plaintext);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to encrypt token store", e);
+        } finally {
+            Arrays.fill(plaintext, (byte) 0);
+        }
+        byte[] file = ByteBuffer.allocate(header.length + IV_LENGTH + ciphertext.length)
+                .put(header).put(iv).put(ciphertext).array();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // Owner-only from creation; on non-POSIX file systems this relies on the directory's permissions
+        AtomicFiles.write(path, file, OWNER_ONLY);
+    }
+
+    private static ByteBuffer readHeader(byte[] data) throws IOException {
+        if (data.length < HEADER_LENGTH + IV_LENGTH) {
+            throw new IOException("Token store file is truncated");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a token store file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported token store version: " + version);
+        }
+        return buffer;
+    }
+
+    private static byte[] header(int iterations, byte[] salt) {
+        return ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).putInt(iterations).put(salt).array();
+    }
+
+    private static SecretKey deriveKey(char[] passphrase, byte[] salt, int iterations) throws IOException {
+        PBEKeySpec spec = new PBEKeySpec(passphrase, salt, iterations, 256);
+        try {
+            byte[] keyBytes = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            return aesKey(keyBytes);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to derive token store key", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
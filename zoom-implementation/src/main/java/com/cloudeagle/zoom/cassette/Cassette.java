@@ -0,0 +1,163 @@
+package com.cloudeagle.zoom.cassette;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact on-disk format for recorded traffic: a gzip stream of length-prefixed binary records.
+ *
+ * Each record is preceded by a {@code true} marker and the stream ends with {@code false}, so a
+ * recording cut short by a crash still loads every complete interaction. Version 2 adds the
+ * received body length and truncation flag after each body; version 1 cassettes still load.
+ */
+public final class Cassette {
+    
+    private static final int MAGIC = 0x5A434153; // "ZCAS"
+    private static final int VERSION = 2;
+    
+    private Cassette() {
+    }
+    
+    /**
+     * Sequential cassette writer
+     */
+    public static final class Writer implements AutoCloseable {
+        
+        private final DataOutputStream out;
+        private boolean closed;
+        
+        Writer(OutputStream stream) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream, true), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+        }
+        
+        public synchronized void write(Interaction interaction) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("Cassette writer is closed");
+            }
+            out.writeBoolean(true);
+            out.writeUTF(nullToEmpty(interaction.getEndpoint()));
+            out.writeUTF(interaction.getMethod());
+            out.writeUTF(interaction.getTarget());
+            out.writeLong(interaction.getOffsetNanos());
+            out.writeLong(interaction.getLatencyNanos());
+            out.writeShort(interaction.getStatusCode());
+            Map<String, List<String>> headers = interaction.getHeaders();
+            out.writeShort(headers.size());
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            byte[] body = interaction.getBody();
+            out.writeInt(body.length);
+            out.write(body);
+            out.writeLong(interaction.getBodyLength());
+            out.writeBoolean(interaction.isBodyTruncated());
+        }
+        
+        public synchronized void flush() throws IOException {
+            out.flush();
+        }
+        
+        @Override
+        public synchronized void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                out.writeBoolean(false);
+                out.close();
+            }
+        }
+    }
+    
+    /**
+     * Open a writer, replacing any existing cassette at the path
+     */
+    public static Writer create(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new Writer(Files.newOutputStream(path));
+    }
+    
+    /**
+     * Load every complete interaction from a cassette, in recording order
+     */
+    public static List<Interaction> read(Path path) throws IOException {
+        try (InputStream stream = Files.newInputStream(path)) {
+            return read(stream);
+        }
+    }
+    
+    public static List<Interaction> read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream), 64 * 1024));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a cassette file");
+        }
+        int version = in.readInt();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported cassette version: " + version);
+        }
+        List<Interaction> interactions = new ArrayList<>();
+        try {
+            while (in.readBoolean()) {
+                interactions.add(readInteraction(in, version));
+            }
+        } catch (EOFException e) {
+            // Truncated recording; keep what was complete
+        }
+        return interactions;
+    }
+    
+    private static Interaction readInteraction(DataInputStream in, int version) throws IOException {
+        String endpoint = in.readUTF();
+        String method = in.readUTF();
+        String target = in.readUTF();
+        long offsetNanos = in.readLong();
+        long latencyNanos = in.readLong();
+        int statusCode = in.readUnsignedShort();
+        int headerCount = in.readUnsignedShort();
+        Map<String, List<String>> headers = new LinkedHashMap<>(headerCount * 2);
+        for (int i = 0; i < headerCount; i++) {
+            String name = in.readUTF();
+            int valueCount = in.readUnsignedShort();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(in.readUTF());
+            }
+            headers.put(name, values);
+        }
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        long bodyLength = body.length;
+        boolean bodyTruncated = false;
+        if (version >= 2) {
+            bodyLength = in.readLong();
+            bodyTruncated = in.readBoolean();
+        }
+        return new Interaction(endpoint.isEmpty() ? null : endpoint, method, target, offsetNanos, latencyNanos,
+                statusCode, headers, body, bodyLength, bodyTruncated);
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
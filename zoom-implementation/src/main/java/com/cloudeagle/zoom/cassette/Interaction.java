@@ -0,0 +1,104 @@
+package com.cloudeagle.zoom.cassette;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One recorded request/response pair
+ */
+public class Interaction {
+    
+    private final String endpoint;
+    private final String method;
+    private final String target;
+    private final long offsetNanos;
+    private final long latencyNanos;
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final long bodyLength;
+    private final boolean bodyTruncated;
+    
+    /**
+     * @param endpoint Endpoint name
+     * @param method HTTP method
+     * @param target Request path and query, see {@link #targetOf(URI)}
+     * @param offsetNanos Time the request was sent, relative to the start of the recording
+     * @param latencyNanos Time taken to receive the full response
+     * @param statusCode Response status
+     * @param headers Response headers
+     * @param body Response body
+     */
+    public Interaction(String endpoint, String method, String target, long offsetNanos, long latencyNanos,
+            int statusCode, Map<String, List<String>> headers, byte[] body) {
+        this(endpoint, method, target, offsetNanos, latencyNanos, statusCode, headers, body, body.length, false);
+    }
+    
+    /**
+     * @param bodyLength Bytes received for the body, see {@link com.cloudeagle.zoom.client.ApiResponse#bodyLength()}
+     * @param bodyTruncated Whether the transport kept only a prefix of the body
+     */
+    public Interaction(String endpoint, String method, String target, long offsetNanos, long latencyNanos,
+            int statusCode, Map<String, List<String>> headers, byte[] body, long bodyLength, boolean bodyTruncated) {
+        this.endpoint = endpoint;
+        this.method = method;
+        this.target = target;
+        this.offsetNanos = offsetNanos;
+        this.latencyNanos = latencyNanos;
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+        this.bodyLength = bodyLength;
+        this.bodyTruncated = bodyTruncated;
+    }
+    
+    /**
+     * Requests are matched on path and query only, so a cassette recorded against Zoom can be
+     * replayed by a client configured with any base URL
+     */
+    public static String targetOf(URI uri) {
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        return uri.getRawQuery() != null ? path + "?" + uri.getRawQuery() : path;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public String getTarget() {
+        return target;
+    }
+    
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+    
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+    
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+    
+    public byte[] getBody() {
+        return body;
+    }
+    
+    public long getBodyLength() {
+        return bodyLength;
+    }
+    
+    public boolean isBodyTruncated() {
+        return bodyTruncated;
+    }
+}
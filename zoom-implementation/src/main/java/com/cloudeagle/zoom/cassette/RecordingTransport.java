@@ -0,0 +1,80 @@
+package com.cloudeagle.zoom.cassette;
+
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.HttpTransport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Passes requests through to another transport and appends each response to a cassette.
+ *
+ * Only response data is recorded, never request headers or bodies, so Authorization headers and
+ * client secrets stay out of the file. The OAuth token response body is recorded as-is; treat a
+ * cassette containing a token exchange as a credential.
+ */
+public class RecordingTransport implements HttpTransport, Closeable {
+    
+    // Per-connection headers that are meaningless on replay
+    private static final Set<String> SKIPPED_HEADERS = Set.of(":status", "connection", "content-length",
+            "date", "keep-alive", "set-cookie", "transfer-encoding");
+    
+    private final HttpTransport delegate;
+    private final Cassette.Writer writer;
+    private final long startNanos;
+    private volatile int recorded;
+    
+    /**
+     * @param delegate Transport that performs the real requests
+     * @param cassette Cassette file to create; an existing file is replaced
+     */
+    public RecordingTransport(HttpTransport delegate, Path cassette) throws IOException {
+        this.delegate = delegate;
+        this.writer = Cassette.create(cassette);
+        this.startNanos = System.nanoTime();
+    }
+    
+    @Override
+    public ApiResponse send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long sent = System.nanoTime();
+        ApiResponse response = delegate.send(endpoint, request);
+        long latency = System.nanoTime() - sent;
+        writer.write(new Interaction(endpoint, request.method(), Interaction.targetOf(request.uri()),
+                sent - startNanos, latency, response.statusCode(), recordedHeaders(response), response.bodyBytes(),
+                response.bodyLength(), response.isBodyTruncated()));
+        recorded++;
+        return response;
+    }
+    
+    /**
+     * @return Number of interactions recorded so far
+     */
+    public int getRecordedCount() {
+        return recorded;
+    }
+    
+    /**
+     * Finish the cassette. Requests sent after closing fail.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+    
+    private static Map<String, List<String>> recordedHeaders(ApiResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                headers.put(header.getKey(), header.getValue());
+            }
+        }
+        return headers;
+    }
+}
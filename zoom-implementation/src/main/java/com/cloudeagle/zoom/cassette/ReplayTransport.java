@@ -0,0 +1,92 @@
+package com.cloudeagle.zoom.cassette;
+
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.HttpTransport;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves responses from a cassette without touching the network.
+ *
+ * Requests are matched on method, path and query. Identical requests (e.g. repeated token
+ * exchanges) are answered in the order they were recorded, so concurrent replays of independent
+ * crawls work as long as each request was recorded. Each response is delayed by its recorded
+ * latency multiplied by the time scale: 1.0 reproduces the original timing, 0 replays as fast as
+ * possible.
+ */
+public class ReplayTransport implements HttpTransport {
+    
+    private final Map<String, Deque<Interaction>> interactions = new HashMap<>();
+    private final double timeScale;
+    private final boolean loop;
+    private int remaining;
+    
+    /**
+     * @param interactions Recorded interactions
+     * @param timeScale Multiplier applied to recorded latencies; 0 disables delays
+     * @param loop Whether a match may be replayed again once all of its recordings are used
+     */
+    public ReplayTransport(List<Interaction> interactions, double timeScale, boolean loop) {
+        if (timeScale < 0 || Double.isNaN(timeScale)) {
+            throw new IllegalArgumentException("timeScale must be non-negative");
+        }
+        for (Interaction interaction : interactions) {
+            this.interactions.computeIfAbsent(key(interaction.getMethod(), interaction.getTarget()),
+                    k -> new ArrayDeque<>()).addLast(interaction);
+        }
+        this.timeScale = timeScale;
+        this.loop = loop;
+        this.remaining = interactions.size();
+    }
+    
+    /**
+     * Load a cassette for replay with the given time scale, each recording used once
+     */
+    public static ReplayTransport load(Path cassette, double timeScale) throws IOException {
+        return new ReplayTransport(Cassette.read(cassette), timeScale, false);
+    }
+    
+    @Override
+    public ApiResponse send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        Interaction interaction = next(request.method(), Interaction.targetOf(request.uri()));
+        long delay = (long) (interaction.getLatencyNanos() * timeScale);
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+        return new ApiResponse(interaction.getStatusCode(), interaction.getHeaders(), interaction.getBody(),
+                interaction.getBodyLength(), interaction.isBodyTruncated());
+    }
+    
+    /**
+     * @return Number of recorded interactions not yet replayed
+     */
+    public synchronized int getRemaining() {
+        return remaining;
+    }
+    
+    private synchronized Interaction next(String method, String target) throws IOException {
+        Deque<Interaction> queue = interactions.get(key(method, target));
+        if (queue == null || queue.isEmpty()) {
+            throw new IOException("No recorded interaction for " + method + " " + target);
+        }
+        Interaction interaction = queue.pollFirst();
+        if (loop) {
+            queue.addLast(interaction);
+        } else {
+            remaining--;
+        }
+        return interaction;
+    }
+    
+    private static String key(String method, String target) {
+        return method + " " + target;
+    }
+}
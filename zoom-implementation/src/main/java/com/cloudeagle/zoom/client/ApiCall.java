@@ -0,0 +1,118 @@
+package com.cloudeagle.zoom.client;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable description of one API request as it travels through the interceptor pipeline.
+ * Interceptors derive modified copies with {@link #withHeader}; the JDK request is built only at the
+ * transport.
+ */
+public final class ApiCall {
+    
+    private final String endpoint;
+    private final String method;
+    private final URI uri;
+    private final Map<String, String> headers;
+    private final String body;
+    private final boolean authenticated;
+    
+    private ApiCall(String endpoint, String method, URI uri, Map<String, String> headers, String body,
+            boolean authenticated) {
+        this.endpoint = endpoint;
+        this.method = method;
+        this.uri = uri;
+        this.headers = headers;
+        this.body = body;
+        this.authenticated = authenticated;
+    }
+    
+    /**
+     * A GET against the REST API that needs the bearer token
+     * 
+     * @param endpoint Endpoint name, e.g. {@link ZoomApiClient#ENDPOINT_USERS}
+     * @param url Full URL including query
+     */
+    public static ApiCall get(String endpoint, String url) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        return new ApiCall(endpoint, "GET", URI.create(url), headers, null, true);
+    }
+    
+    /**
+     * A form POST that carries its own credentials, e.g. to the OAuth token endpoint
+     */
+    public static ApiCall postForm(String endpoint, String url, String formBody) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/x-www-form-urlencoded");
+        return new ApiCall(endpoint, "POST", URI.create(url), headers, formBody, false);
+    }
+    
+    /**
+     * @return A copy with the header set, replacing any previous value
+     */
+    public ApiCall withHeader(String name, String value) {
+        Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.put(name, value);
+        return new ApiCall(endpoint, method, uri, copy, body, authenticated);
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public URI getUri() {
+        return uri;
+    }
+    
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+    
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    /**
+     * @return Whether the client adds its bearer token to this call
+     */
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+    
+    /**
+     * @return Whether repeating the call cannot change server state
+     */
+    public boolean isIdempotent() {
+        return "GET".equals(method);
+    }
+    
+    public HttpRequest toHttpRequest() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(uri);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        if (body != null) {
+            builder.method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+    
+    @Override
+    public String toString() {
+        return method + " " + uri;
+    }
+}
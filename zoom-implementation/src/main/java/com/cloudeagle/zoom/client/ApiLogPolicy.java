@@ -0,0 +1,185 @@
+package com.cloudeagle.zoom.client;
+
+import org.slf4j.Logger;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How {@link ZoomApiClient} logs calls and failures.
+ *
+ * {@link #classic()} keeps the human-readable per-call info lines and logs every failure with a
+ * short body snippet. {@link #structured()} replaces them with key-value events: successful calls
+ * are sampled per endpoint, and failures are rate limited per endpoint, with the number of
+ * suppressed failures reported on the next one that gets through.
+ */
+public class ApiLogPolicy {
+    
+    private final boolean structured;
+    private final Map<String, Double> sampleRates = new ConcurrentHashMap<>();
+    private final Map<String, ErrorBudget> errorBudgets = new ConcurrentHashMap<>();
+    private volatile double defaultSampleRate;
+    private volatile int errorLogsPerMinute;
+    private volatile boolean logBodySnippet = true;
+    
+    private ApiLogPolicy(boolean structured, double defaultSampleRate, int errorLogsPerMinute) {
+        this.structured = structured;
+        this.defaultSampleRate = defaultSampleRate;
+        this.errorLogsPerMinute = errorLogsPerMinute;
+    }
+    
+    /**
+     * @return Per-call info lines and every failure, as the client has always logged
+     */
+    public static ApiLogPolicy classic() {
+        return new ApiLogPolicy(false, 1.0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * @return Key-value events; 1% of successful calls and at most 10 failures per endpoint per minute
+     */
+    public static ApiLogPolicy structured() {
+        return new ApiLogPolicy(true, 0.01, 10);
+    }
+    
+    public boolean isStructured() {
+        return structured;
+    }
+    
+    /**
+     * @param sampleRate Fraction of successful calls to log, between 0 and 1
+     */
+    public void setSampleRate(double sampleRate) {
+        this.defaultSampleRate = checkRate(sampleRate);
+    }
+    
+    /**
+     * @param endpoint Endpoint name, e.g. {@link ZoomApiClient#ENDPOINT_USERS}
+     * @param sampleRate Fraction of this endpoint's successful calls to log
+     */
+    public void setSampleRate(String endpoint, double sampleRate) {
+        sampleRates.put(endpoint, checkRate(sampleRate));
+    }
+    
+    /**
+     * @param errorLogsPerMinute Failures logged per endpoint per minute; later ones are counted only
+     */
+    public void setErrorLogsPerMinute(int errorLogsPerMinute) {
+        if (errorLogsPerMinute < 1) {
+            throw new IllegalArgumentException("errorLogsPerMinute must be at least 1");
+        }
+        this.errorLogsPerMinute = errorLogsPerMinute;
+    }
+    
+    /**
+     * @param logBodySnippet Whether failure logs include the start of the response body
+     */
+    public void setLogBodySnippet(boolean logBodySnippet) {
+        this.logBodySnippet = logBodySnippet;
+    }
+    
+    /**
+     * Log a completed call; a no-op in classic mode, where the endpoint methods log instead
+     */
+    void logCall(Logger logger, ApiCall call, ApiResponse response, long nanos) {
+        if (!structured || !logger.isInfoEnabled()) {
+            return;
+        }
+        double rate = sampleRates.getOrDefault(call.getEndpoint(), defaultSampleRate);
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return;
+        }
+        logger.atInfo()
+                .addKeyValue("event", "api_call")
+                .addKeyValue("endpoint", call.getEndpoint())
+                .addKeyValue("status", response.statusCode())
+                .addKeyValue("bytes", response.bodyLength())
+                .addKeyValue("ms", nanos / 1_000_000)
+                .addKeyValue("sample_rate", rate)
+                .log("Zoom API call");
+    }
+    
+    /**
+     * Log a failed call, unless the endpoint's error budget is spent
+     */
+    void logFailure(Logger logger, String action, ZoomApiException failure) {
+        if (!structured) {
+            if (logBodySnippet) {
+                logger.error("Failed to {}. Status: {}, Response: {}", action, failure.getStatusCode(), 
+                        failure.getBodySnippet());
+            } else {
+                logger.error("Failed to {}. Status: {}", action, failure.getStatusCode());
+            }
+            return;
+        }
+        long suppressed = errorBudgets.computeIfAbsent(failure.getEndpoint(), endpoint -> new ErrorBudget())
+                .tryAcquire(errorLogsPerMinute);
+        if (suppressed < 0) {
+            return;
+        }
+        LoggingEventBuilder event = logger.atError()
+                .addKeyValue("event", "api_error")
+                .addKeyValue("endpoint", failure.getEndpoint())
+                .addKeyValue("status", failure.getStatusCode());
+        if (failure.getErrorCode() != null) {
+            event = event.addKeyValue("code", failure.getErrorCode());
+        }
+        if (failure.getRetryAfterMillis() != null) {
+            event = event.addKeyValue("retry_after_ms", failure.getRetryAfterMillis());
+        }
+        if (failure.getRateLimitType() != null) {
+            event = event.addKeyValue("rate_limit_type", failure.getRateLimitType());
+        }
+        if (failure.getRateLimitRemaining() != null) {
+            event = event.addKeyValue("rate_limit_remaining", failure.getRateLimitRemaining());
+        }
+        event = event.addKeyValue("body_bytes", failure.getBodyLength());
+        if (suppressed > 0) {
+            event = event.addKeyValue("suppressed", suppressed);
+        }
+        if (logBodySnippet) {
+            event = event.addKeyValue("body", failure.getBodySnippet());
+        }
+        event.log(failure.getMessage());
+    }
+    
+    private static double checkRate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        return rate;
+    }
+    
+    /**
+     * Token bucket refilled at the per-minute rate, counting what it turns away
+     */
+    private static final class ErrorBudget {
+        
+        private double tokens = -1;
+        private long refilledAt;
+        private long suppressed;
+        
+        /**
+         * @return Failures suppressed since the last logged one, or -1 if this one is suppressed
+         */
+        synchronized long tryAcquire(int perMinute) {
+            long now = System.nanoTime();
+            if (tokens < 0) {
+                tokens = perMinute;
+            } else {
+                tokens = Math.min(perMinute, tokens + (now - refilledAt) * perMinute / 60e9);
+            }
+            refilledAt = now;
+            if (tokens < 1) {
+                suppressed++;
+                return -1;
+            }
+            tokens--;
+            long count = suppressed;
+            suppressed = 0;
+            return count;
+        }
+    }
+}
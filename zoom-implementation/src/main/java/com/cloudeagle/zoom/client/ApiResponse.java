@@ -0,0 +1,114 @@
+package com.cloudeagle.zoom.client;
+
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A fully read HTTP response as seen by {@link ZoomApiClient}
+ */
+public class ApiResponse {
+    
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long bodyLength;
+    private final boolean bodyTruncated;
+    private String bodyString;
+    
+    public ApiResponse(int statusCode, HttpHeaders headers, byte[] body) {
+        this(statusCode, headers, body, body != null ? body.length : 0, false);
+    }
+    
+    /**
+     * @param bodyLength Bytes received for the body, which may differ from {@code body.length}
+     *                   when the transport dropped a tail or an interceptor decoded it
+     * @param bodyTruncated Whether {@code body} holds only a prefix of the body
+     */
+    public ApiResponse(int statusCode, HttpHeaders headers, byte[] body, long bodyLength, boolean bodyTruncated) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body != null ? body : new byte[0];
+        this.bodyLength = bodyLength;
+        this.bodyTruncated = bodyTruncated;
+    }
+    
+    public ApiResponse(int statusCode, Map<String, List<String>> headers, byte[] body) {
+        this(statusCode, headers, body, body != null ? body.length : 0, false);
+    }
+    
+    public ApiResponse(int statusCode, Map<String, List<String>> headers, byte[] body, long bodyLength,
+            boolean bodyTruncated) {
+        this(statusCode, HttpHeaders.of(headers != null ? headers : Collections.emptyMap(), (name, value) -> true), 
+                body, bodyLength, bodyTruncated);
+    }
+    
+    public int statusCode() {
+        return statusCode;
+    }
+    
+    public HttpHeaders headers() {
+        return headers;
+    }
+    
+    /**
+     * @return Raw body bytes, possibly only a prefix (see {@link #isBodyTruncated()}); do not modify
+     */
+    public byte[] bodyBytes() {
+        return body;
+    }
+    
+    /**
+     * @return Bytes received for the body, including any the transport dropped
+     */
+    public long bodyLength() {
+        return bodyLength;
+    }
+    
+    /**
+     * @return Whether only a prefix of the body was kept, e.g. for a large error page
+     */
+    public boolean isBodyTruncated() {
+        return bodyTruncated;
+    }
+    
+    /**
+     * @return Body decoded as UTF-8, cached after the first call
+     */
+    public String body() {
+        if (bodyString == null) {
+            bodyString = new String(body, StandardCharsets.UTF_8);
+        }
+        return bodyString;
+    }
+    
+    /**
+     * Parse Retry-After as delta-seconds or an HTTP date
+     * 
+     * @return Milliseconds to wait, or empty if the header is missing or malformed
+     */
+    public Optional<Long> retryAfterMillis() {
+        Optional<String> header = headers.firstValue("Retry-After");
+        if (!header.isPresent()) {
+            return Optional.empty();
+        }
+        String value = header.get().trim();
+        try {
+            return Optional.of(Math.max(0, Long.parseLong(value)) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Optional.of(Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis()));
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+}
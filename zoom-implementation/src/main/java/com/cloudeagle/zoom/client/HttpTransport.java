@@ -0,0 +1,23 @@
+package com.cloudeagle.zoom.client;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+
+/**
+ * Sends requests for {@link ZoomApiClient}. The default sends over the network with the JDK
+ * {@link java.net.http.HttpClient}; other implementations record or replay traffic.
+ */
+@FunctionalInterface
+public interface HttpTransport {
+    
+    /**
+     * Send a request and read the whole response
+     * 
+     * @param endpoint Endpoint name, e.g. {@link ZoomApiClient#ENDPOINT_USERS}
+     * @param request The request
+     * @return The response
+     * @throws IOException If no response could be obtained
+     * @throws InterruptedException If the call is interrupted
+     */
+    ApiResponse send(String endpoint, HttpRequest request) throws IOException, InterruptedException;
+}
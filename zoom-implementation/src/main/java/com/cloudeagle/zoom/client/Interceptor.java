@@ -0,0 +1,54 @@
+package com.cloudeagle.zoom.client;
+
+import com.cloudeagle.zoom.metrics.ClientMetrics;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A step in the request pipeline of {@link ZoomApiClient}. Interceptors run in the order they were
+ * added, outermost first, after the bearer token is attached and before per-attempt metrics and
+ * the transport. An interceptor may change the call, answer it without proceeding (caching),
+ * proceed several times (retries), or transform the response (decoding).
+ */
+@FunctionalInterface
+public interface Interceptor {
+    
+    /**
+     * @param call The call as seen by this interceptor
+     * @param chain The rest of the pipeline
+     * @return The response to hand back to the previous interceptor
+     */
+    ApiResponse intercept(ApiCall call, Chain chain) throws IOException, InterruptedException;
+    
+    /**
+     * The remainder of the pipeline after the current interceptor
+     */
+    interface Chain {
+        
+        /**
+         * Pass the call to the next interceptor, or to the transport after the last one. May be
+         * called more than once.
+         */
+        ApiResponse proceed(ApiCall call) throws IOException, InterruptedException;
+        
+        /**
+         * @return The client's metrics sink
+         */
+        ClientMetrics metrics();
+    }
+    
+    /**
+     * Apply an interceptor only to some endpoints; other calls pass straight through
+     * 
+     * @param interceptor The interceptor
+     * @param endpoints Endpoint names, e.g. {@link ZoomApiClient#ENDPOINT_ACCOUNT}
+     */
+    static Interceptor forEndpoints(Interceptor interceptor, String... endpoints) {
+        Set<String> names = new HashSet<>(Arrays.asList(endpoints));
+        return (call, chain) -> names.contains(call.getEndpoint())
+                ? interceptor.intercept(call, chain) : chain.proceed(call);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cloudeagle.zoom.client;
+
+import com.cloudeagle.zoom.metrics.ClientMetrics;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Runs the interceptors from a given index onward, ending with a metered transport send
+ */
+final class InterceptorChain implements Interceptor.Chain {
+    
+    private final List<Interceptor> interceptors;
+    private final int index;
+    private final HttpTransport transport;
+    private final ClientMetrics metrics;
+    
+    InterceptorChain(List<Interceptor> interceptors, int index, HttpTransport transport, ClientMetrics metrics) {
+        this.interceptors = interceptors;
+        this.index = index;
+        this.transport = transport;
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public ApiResponse proceed(ApiCall call) throws IOException, InterruptedException {
+        if (index < interceptors.size()) {
+            InterceptorChain next = new InterceptorChain(interceptors, index + 1, transport, metrics);
+            return interceptors.get(index).intercept(call, next);
+        }
+        return send(call);
+    }
+    
+    @Override
+    public ClientMetrics metrics() {
+        return metrics;
+    }
+    
+    /**
+     * Send through the transport, recording latency, status and body size for the endpoint
+     */
+    private ApiResponse send(ApiCall call) throws IOException, InterruptedException {
+        String endpoint = call.getEndpoint();
+        long start = System.nanoTime();
+        try {
+            ApiResponse response = transport.send(endpoint, call.toHttpRequest());
+            metrics.recordRequest(endpoint, response.statusCode(), System.nanoTime() - start);
+            metrics.recordBytesReceived(endpoint, response.bodyLength());
+            return response;
+        } catch (IOException e) {
+            metrics.recordRequest(endpoint, 0, System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.cloudeagle.zoom.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Network transport backed by the JDK {@link HttpClient}.
+ *
+ * Successful bodies are read whole. Error bodies (status 400 and up) are streamed and only their
+ * first {@link #setMaxErrorBodyBytes maxErrorBodyBytes} are kept, so a storm of large HTML error
+ * pages costs a bounded amount of memory; the discarded length is still reported.
+ */
+public class JdkHttpTransport implements HttpTransport {
+    
+    public static final int DEFAULT_MAX_ERROR_BODY_BYTES = 8192;
+    
+    private final HttpClient httpClient;
+    private volatile int maxErrorBodyBytes = DEFAULT_MAX_ERROR_BODY_BYTES;
+    
+    public JdkHttpTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+    
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+    
+    /**
+     * @param maxErrorBodyBytes Bytes of an error body to keep; the rest is read and dropped
+     */
+    public void setMaxErrorBodyBytes(int maxErrorBodyBytes) {
+        if (maxErrorBodyBytes < 0) {
+            throw new IllegalArgumentException("maxErrorBodyBytes must not be negative");
+        }
+        this.maxErrorBodyBytes = maxErrorBodyBytes;
+    }
+    
+    public int getMaxErrorBodyBytes() {
+        return maxErrorBodyBytes;
+    }
+    
+    @Override
+    public ApiResponse send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        int cap = maxErrorBodyBytes;
+        HttpResponse<Body> response = httpClient.send(request, info -> info.statusCode() < 400
+                ? HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                        bytes -> new Body(bytes, bytes.length))
+                : HttpResponse.BodySubscribers.fromSubscriber(new CappedSubscriber(cap), CappedSubscriber::body));
+        Body body = response.body();
+        return new ApiResponse(response.statusCode(), response.headers(), body.bytes, body.length, 
+                body.length > body.bytes.length);
+    }
+    
+    private static final class Body {
+        final byte[] bytes;
+        final long length;
+        
+        Body(byte[] bytes, long length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+    
+    /**
+     * Keeps the first bytes of a body and counts the rest
+     */
+    private static final class CappedSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+        
+        private final int cap;
+        private final ByteArrayOutputStream kept = new ByteArrayOutputStream();
+        private long length;
+        
+        CappedSubscriber(int cap) {
+            this.cap = cap;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                int remaining = buffer.remaining();
+                int keep = (int) Math.min(remaining, Math.max(0, cap - kept.size()));
+                if (keep > 0) {
+                    byte[] chunk = new byte[keep];
+                    buffer.get(chunk);
+                    kept.write(chunk, 0, keep);
+                }
+                length += remaining;
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            // Surfaced by HttpClient.send
+        }
+        
+        @Override
+        public void onComplete() {
+        }
+        
+        Body body() {
+            return new Body(kept.toByteArray(), length);
+        }
+    }
+}
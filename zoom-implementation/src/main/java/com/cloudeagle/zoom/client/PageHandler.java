@@ -0,0 +1,20 @@
+package com.cloudeagle.zoom.client;
+
+import java.io.IOException;
+
+/**
+ * Callback for consuming paginated Zoom API responses one page at a time
+ *
+ * @param <T> Page type
+ */
+@FunctionalInterface
+public interface PageHandler<T> {
+    
+    /**
+     * Handle a single page
+     * 
+     * @param page The page returned by the API
+     * @throws IOException If the page cannot be processed
+     */
+    void onPage(T page) throws IOException;
+}
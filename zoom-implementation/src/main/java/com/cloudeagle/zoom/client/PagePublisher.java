@@ -0,0 +1,178 @@
+package com.cloudeagle.zoom.client;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publishes the records of a paginated endpoint one at a time, fetching the next page only once the
+ * subscriber has requested more records than are left from the current one.
+ *
+ * Each subscription starts a fresh crawl from the first page. Pages are fetched and records
+ * delivered on the given executor, never on the thread calling {@code request}, so a slow subscriber
+ * holds back the crawl instead of buffering more than one page.
+ *
+ * @param <P> Page type
+ * @param <T> Record type
+ */
+public class PagePublisher<P, T> implements Flow.Publisher<T> {
+    
+    /**
+     * Fetches one page
+     */
+    @FunctionalInterface
+    public interface PageFetcher<P> {
+        
+        /**
+         * @param nextPageToken Token from the previous page, or null for the first page
+         */
+        P fetch(String nextPageToken) throws IOException, InterruptedException;
+    }
+    
+    private final PageFetcher<P> fetcher;
+    private final Function<P, List<T>> records;
+    private final Function<P, String> nextPageToken;
+    private final Executor executor;
+    
+    /**
+     * @param fetcher Fetches a page by token
+     * @param records Records on a page; may return null
+     * @param nextPageToken Token of the page after the given one; null or empty on the last page
+     * @param executor Runs page fetches and subscriber callbacks
+     */
+    public PagePublisher(PageFetcher<P> fetcher, Function<P, List<T>> records, Function<P, String> nextPageToken,
+            Executor executor) {
+        this.fetcher = fetcher;
+        this.records = records;
+        this.nextPageToken = nextPageToken;
+        this.executor = executor;
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+    
+    private final class PageSubscription implements Flow.Subscription {
+        
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ArrayDeque<T> buffer = new ArrayDeque<>();
+        
+        // Only touched from drain(), which never runs concurrently with itself
+        private String token;
+        private boolean started;
+        private boolean exhausted;
+        
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        
+        PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+        
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                long current;
+                long next;
+                do {
+                    current = demand.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!demand.compareAndSet(current, next));
+            }
+            schedule();
+        }
+        
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+        
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!drainOnce()) {
+                    cancelled = true;
+                    buffer.clear();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+        
+        /**
+         * @return False once the subscription is terminated
+         */
+        private boolean drainOnce() {
+            while (!cancelled) {
+                Throwable invalid = invalidRequest;
+                if (invalid != null) {
+                    subscriber.onError(invalid);
+                    return false;
+                }
+                long requested = demand.get();
+                long emitted = 0;
+                T record;
+                while (emitted != requested && !cancelled && (record = buffer.poll()) != null) {
+                    subscriber.onNext(record);
+                    emitted++;
+                }
+                if (emitted > 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+                if (cancelled) {
+                    return false;
+                }
+                if (buffer.isEmpty() && exhausted) {
+                    // Complete without waiting for further demand (Reactive Streams rule 1.5)
+                    subscriber.onComplete();
+                    return false;
+                }
+                if (!buffer.isEmpty() || demand.get() == 0) {
+                    return true;
+                }
+                try {
+                    fetchPage();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    subscriber.onError(e);
+                    return false;
+                } catch (IOException | RuntimeException e) {
+                    subscriber.onError(e);
+                    return false;
+                }
+            }
+            return false;
+        }
+        
+        private void fetchPage() throws IOException, InterruptedException {
+            P page = fetcher.fetch(started ? token : null);
+            started = true;
+            List<T> pageRecords = records.apply(page);
+            if (pageRecords != null) {
+                buffer.addAll(pageRecords);
+            }
+            token = nextPageToken.apply(page);
+            exhausted = token == null || token.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.cloudeagle.zoom.client;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shares a concurrency limit and an optional request rate between callers, handing free slots to
+ * the highest priority waiter first.
+ *
+ * Priority comes from the calling thread if set with {@link #setCurrentThreadPriority}, otherwise
+ * from the endpoint: current user, account and token calls are interactive, user and activity
+ * crawls are bulk. A waiter queued longer than the starvation threshold is served ahead of
+ * everything else, oldest first, so bulk work keeps moving under constant interactive load.
+ *
+ * The thread priority does not follow work handed to other threads, such as the page fetches of
+ * {@link PagePublisher}; wrap such executors with {@link #withCurrentThreadPriority}.
+ */
+public class PriorityDispatcher implements HttpTransport {
+    
+    private static final ThreadLocal<RequestPriority> THREAD_PRIORITY = new ThreadLocal<>();
+    
+    private final HttpTransport delegate;
+    private final int maxConcurrent;
+    private final Map<String, RequestPriority> endpointPriorities = new ConcurrentHashMap<>();
+    private final EnumMap<RequestPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(RequestPriority.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    private volatile long starvationThresholdNanos = TimeUnit.SECONDS.toNanos(5);
+    private long permitIntervalNanos;
+    private long nextPermitNanos;
+    private int inFlight;
+    
+    /**
+     * @param delegate Transport that performs the requests
+     * @param maxConcurrent Maximum requests in flight at once
+     */
+    public PriorityDispatcher(HttpTransport delegate, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxConcurrent = maxConcurrent;
+        this.nextPermitNanos = System.nanoTime();
+        for (RequestPriority priority : RequestPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+        endpointPriorities.put(ZoomApiClient.ENDPOINT_OAUTH_TOKEN, RequestPriority.INTERACTIVE);
+        endpointPriorities.put(ZoomApiClient.ENDPOINT_ACCOUNT, RequestPriority.INTERACTIVE);
+        endpointPriorities.put(ZoomApiClient.ENDPOINT_USER_ME, RequestPriority.INTERACTIVE);
+        endpointPriorities.put(ZoomApiClient.ENDPOINT_USERS, RequestPriority.BULK);
+        endpointPriorities.put(ZoomApiClient.ENDPOINT_ACTIVITIES, RequestPriority.BULK);
+    }
+    
+    /**
+     * Override the priority of every request sent from the current thread
+     * 
+     * @param priority The priority, or null to fall back to the endpoint default
+     */
+    public static void setCurrentThreadPriority(RequestPriority priority) {
+        if (priority == null) {
+            THREAD_PRIORITY.remove();
+        } else {
+            THREAD_PRIORITY.set(priority);
+        }
+    }
+    
+    /**
+     * Carry the current thread's priority over to tasks run by an executor
+     * 
+     * @param executor Executor whose tasks send requests
+     * @return An executor running each task with the priority this thread has now, or the executor
+     *         itself if none is set
+     */
+    public static Executor withCurrentThreadPriority(Executor executor) {
+        RequestPriority priority = THREAD_PRIORITY.get();
+        if (priority == null) {
+            return executor;
+        }
+        return task -> executor.execute(() -> {
+            RequestPriority previous = THREAD_PRIORITY.get();
+            THREAD_PRIORITY.set(priority);
+            try {
+                task.run();
+            } finally {
+                setCurrentThreadPriority(previous);
+            }
+        });
+    }
+    
+    /**
+     * @param endpoint Endpoint name, e.g. {@link ZoomApiClient#ENDPOINT_ACCOUNT_PLANS}
+     * @param priority Default priority for that endpoint
+     */
+    public void setPriority(String endpoint, RequestPriority priority) {
+        endpointPriorities.put(endpoint, priority);
+    }
+    
+    /**
+     * @param requestsPerSecond Maximum request starts per second across all priorities; 0 for no limit
+     */
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        if (requestsPerSecond < 0) {
+            throw new IllegalArgumentException("requestsPerSecond must not be negative");
+        }
+        lock.lock();
+        try {
+            permitIntervalNanos = requestsPerSecond == 0 ? 0 : (long) (1_000_000_000L / requestsPerSecond);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * @param millis How long a request may wait before it is served regardless of priority
+     */
+    public void setStarvationThresholdMillis(long millis) {
+        this.starvationThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+    
+    /**
+     * @return Requests currently waiting for a slot at the given priority
+     */
+    public int getQueuedCount(RequestPriority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getInFlightCount() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public ApiResponse send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        acquire(priorityOf(endpoint));
+        try {
+            return delegate.send(endpoint, request);
+        } finally {
+            release();
+        }
+    }
+    
+    /**
+     * Only sees a priority set on the thread that sends; see {@link #withCurrentThreadPriority}
+     */
+    RequestPriority priorityOf(String endpoint) {
+        RequestPriority priority = THREAD_PRIORITY.get();
+        if (priority == null) {
+            priority = endpointPriorities.getOrDefault(endpoint, RequestPriority.NORMAL);
+        }
+        return priority;
+    }
+    
+    private void acquire(RequestPriority priority) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Waiter waiter = new Waiter(lock.newCondition(), System.nanoTime());
+            queues.get(priority).addLast(waiter);
+            try {
+                while (true) {
+                    long delay = dispatch();
+                    if (waiter.granted) {
+                        return;
+                    }
+                    if (delay > 0) {
+                        waiter.condition.awaitNanos(delay);
+                    } else {
+                        waiter.condition.await();
+                    }
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    releaseLocked();
+                } else {
+                    queues.get(priority).remove(waiter);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void releaseLocked() {
+        inFlight--;
+        dispatch();
+    }
+    
+    /**
+     * Grant free slots to waiters. Must hold the lock.
+     * 
+     * @return Nanoseconds until the next rate permit if waiters are held back by the rate, else 0
+     */
+    private long dispatch() {
+        while (inFlight < maxConcurrent) {
+            ArrayDeque<Waiter> queue = select(System.nanoTime());
+            if (queue == null) {
+                return 0;
+            }
+            if (permitIntervalNanos > 0) {
+                long now = System.nanoTime();
+                if (now - nextPermitNanos < 0) {
+                    // Make sure someone wakes up when the permit is due
+                    queue.peekFirst().condition.signal();
+                    return nextPermitNanos - now;
+                }
+                // Don't bank permits while idle beyond one interval
+                nextPermitNanos = Math.max(nextPermitNanos, now - permitIntervalNanos) + permitIntervalNanos;
+            }
+            Waiter waiter = queue.pollFirst();
+            waiter.granted = true;
+            inFlight++;
+            waiter.condition.signal();
+        }
+        return 0;
+    }
+    
+    private ArrayDeque<Waiter> select(long now) {
+        ArrayDeque<Waiter> starving = null;
+        long oldest = 0;
+        ArrayDeque<Waiter> highest = null;
+        for (ArrayDeque<Waiter> queue : queues.values()) {
+            Waiter head = queue.peekFirst();
+            if (head == null) {
+                continue;
+            }
+            if (highest == null) {
+                highest = queue;
+            }
+            long waited = now - head.enqueuedNanos;
+            if (waited >= starvationThresholdNanos && (starving == null || waited > oldest)) {
+                starving = queue;
+                oldest = waited;
+            }
+        }
+        return starving != null ? starving : highest;
+    }
+    
+    private static final class Waiter {
+        
+        final Condition condition;
+        final long enqueuedNanos;
+        boolean granted;
+        
+        Waiter(Condition condition, long enqueuedNanos) {
+            this.condition = condition;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.cloudeagle.zoom.client;
+
+/**
+ * Scheduling class of a request, highest first
+ */
+public enum RequestPriority {
+    
+    /** User-facing lookups that someone is waiting on */
+    INTERACTIVE,
+    
+    /** Default for anything not classified */
+    NORMAL,
+    
+    /** Background crawls that can absorb delay */
+    BULK
+}
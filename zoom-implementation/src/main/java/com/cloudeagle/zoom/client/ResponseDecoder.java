@@ -0,0 +1,12 @@
+package com.cloudeagle.zoom.client;
+
+import java.io.IOException;
+
+/**
+ * Turns a successful response into the value an endpoint method returns
+ */
+@FunctionalInterface
+public interface ResponseDecoder<T> {
+    
+    T decode(ApiResponse response) throws IOException;
+}
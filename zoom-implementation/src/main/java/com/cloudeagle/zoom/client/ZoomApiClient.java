@@ -1,8 +1,19 @@
 package com.cloudeagle.zoom.client;
 
+import com.cloudeagle.zoom.metrics.ClientMetrics;
+import com.cloudeagle.zoom.model.LazyZoomUserList;
 import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.model.ZoomActivityReport;
 import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.model.ZoomAccountPlans;
+import com.cloudeagle.zoom.model.ZoomMeetingList;
 import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.cloudeagle.zoom.model.generated.ImmutableZoomUserList;
+import com.cloudeagle.zoom.model.generated.OAuth2TokenResponseReader;
+import com.cloudeagle.zoom.model.generated.ZoomAccountReader;
+import com.cloudeagle.zoom.model.generated.ZoomUserListReader;
+import com.cloudeagle.zoom.util.StreamingJson;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,7 +26,13 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
 /**
  * Client for interacting with Zoom APIs
@@ -24,29 +41,69 @@ public class ZoomApiClient {
     
     private static final Logger logger = LoggerFactory.getLogger(ZoomApiClient.class);
     
+    // Default Zoom endpoints
+    public static final String DEFAULT_OAUTH_BASE_URL = "https://zoom.us";
+    public static final String DEFAULT_API_BASE_URL = "https://api.zoom.us/v2";
+    
+    // Endpoint names used for metrics
+    public static final String ENDPOINT_OAUTH_TOKEN = "oauth_token";
+    public static final String ENDPOINT_ACCOUNT = "accounts_me";
+    public static final String ENDPOINT_ACCOUNT_PLANS = "accounts_me_plans";
+    public static final String ENDPOINT_USERS = "users";
+    public static final String ENDPOINT_USER_ME = "users_me";
+    public static final String ENDPOINT_ACTIVITIES = "report_activities";
+    public static final String ENDPOINT_MEETINGS = "users_meetings";
+    
+    // Response types whose deserializers warmUp() builds ahead of time
+    private static final List<Class<?>> MODEL_TYPES = Arrays.asList(OAuth2TokenResponse.class, ZoomAccount.class,
+            ZoomAccountPlans.class, ZoomUserList.class, ZoomActivityReport.class, ZoomMeetingList.class);
+    
     // Zoom API endpoints
-    private static final String OAUTH_AUTHORIZE_URL = "https://zoom.us/oauth/authorize";
-    private static final String OAUTH_TOKEN_URL = "https://zoom.us/oauth/token";
-    private static final String API_BASE_URL = "https://api.zoom.us/v2";
-    private static final String ACCOUNT_INFO_URL = API_BASE_URL + "/accounts/me";
-    private static final String USERS_LIST_URL = API_BASE_URL + "/users";
-    private static final String USER_ME_URL = API_BASE_URL + "/users/me";
-    private static final String ACCOUNT_PLANS_URL = API_BASE_URL + "/accounts/me/plans";
-    private static final String ACTIVITIES_URL = API_BASE_URL + "/report/activities";
-    private static final String MEETINGS_URL = API_BASE_URL + "/users/me/meetings";
-    
-    private final HttpClient httpClient;
+    private final String oauthAuthorizeUrl;
+    private final String oauthTokenUrl;
+    private final String accountInfoUrl;
+    private final String usersListUrl;
+    private final String userMeUrl;
+    private final String accountPlansUrl;
+    private final String activitiesUrl;
+    
+    private volatile HttpTransport transport;
     private final ObjectMapper objectMapper;
     private final String clientId;
     private final String clientSecret;
     private String accessToken;
+    private volatile ClientMetrics metrics = ClientMetrics.NOOP;
+    private final List<Interceptor> interceptors = new CopyOnWriteArrayList<>();
+    private volatile boolean generatedDeserializers;
+    private volatile ApiLogPolicy logPolicy = ApiLogPolicy.classic();
     
     public ZoomApiClient(String clientId, String clientSecret) {
+        this(clientId, clientSecret, DEFAULT_OAUTH_BASE_URL, DEFAULT_API_BASE_URL);
+    }
+    
+    /**
+     * Create a client against non-default endpoints, e.g. a local mock server
+     * 
+     * @param clientId OAuth client ID
+     * @param clientSecret OAuth client secret
+     * @param oauthBaseUrl Base URL of the OAuth endpoints (default https://zoom.us)
+     * @param apiBaseUrl Base URL of the REST API including the version (default https://api.zoom.us/v2)
+     */
+    public ZoomApiClient(String clientId, String clientSecret, String oauthBaseUrl, String apiBaseUrl) {
         this.clientId = clientId;
         this.clientSecret = clientSecret;
-        this.httpClient = HttpClient.newBuilder()
+        String oauthBase = stripTrailingSlash(oauthBaseUrl);
+        String apiBase = stripTrailingSlash(apiBaseUrl);
+        this.oauthAuthorizeUrl = oauthBase + "/oauth/authorize";
+        this.oauthTokenUrl = oauthBase + "/oauth/token";
+        this.accountInfoUrl = apiBase + "/accounts/me";
+        this.usersListUrl = apiBase + "/users";
+        this.userMeUrl = apiBase + "/users/me";
+        this.accountPlansUrl = apiBase + "/accounts/me/plans";
+        this.activitiesUrl = apiBase + "/report/activities";
+        this.transport = new JdkHttpTransport(HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(30))
-                .build();
+                .build());
         this.objectMapper = new ObjectMapper();
     }
     
@@ -58,7 +115,7 @@ public class ZoomApiClient {
      * @return Authorization URL
      */
     public String getAuthorizationUrl(String redirectUri, String state) {
-        StringBuilder url = new StringBuilder(OAUTH_AUTHORIZE_URL);
+        StringBuilder url = new StringBuilder(oauthAuthorizeUrl);
         url.append("?response_type=code");
         url.append("&client_id=").append(URLEncoder.encode(clientId, StandardCharsets.UTF_8));
         url.append("&redirect_uri=").append(URLEncoder.encode(redirectUri, StandardCharsets.UTF_8));
@@ -86,30 +143,114 @@ public class ZoomApiClient {
                 "&code=" + URLEncoder.encode(authorizationCode, StandardCharsets.UTF_8) +
                 "&redirect_uri=" + URLEncoder.encode(redirectUri, StandardCharsets.UTF_8);
         
-        // Create Basic Auth header
-        String auth = clientId + ":" + clientSecret;
-        String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
-        
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(OAUTH_TOKEN_URL))
-                .header("Content-Type", "application/x-www-form-urlencoded")
-                .header("Authorization", "Basic " + encodedAuth)
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                .build();
+        logInfo("Exchanging authorization code for access token");
+        return requestToken(requestBody);
+    }
+    
+    /**
+     * Obtain a new access token with a refresh token. Zoom rotates refresh tokens, so persist the
+     * refresh token of the response in place of the one passed in.
+     * 
+     * @param refreshToken Refresh token from an earlier token response
+     * @return OAuth2TokenResponse containing the new access and refresh tokens
+     * @throws IOException If the HTTP request fails
+     * @throws InterruptedException If the request is interrupted
+     */
+    public OAuth2TokenResponse refreshAccessToken(String refreshToken) 
+            throws IOException, InterruptedException {
         
-        logger.info("Exchanging authorization code for access token");
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        String requestBody = "grant_type=refresh_token" +
+                "&refresh_token=" + URLEncoder.encode(refreshToken, StandardCharsets.UTF_8);
         
-        if (response.statusCode() == 200) {
-            OAuth2TokenResponse tokenResponse = objectMapper.readValue(response.body(), OAuth2TokenResponse.class);
-            this.accessToken = tokenResponse.getAccessToken();
-            logger.info("Successfully obtained access token");
-            return tokenResponse;
-        } else {
-            logger.error("Failed to obtain access token. Status: {}, Response: {}", 
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to obtain access token: " + response.body());
+        logInfo("Refreshing access token");
+        return requestToken(requestBody);
+    }
+    
+    /**
+     * POST a grant to the token endpoint and adopt the returned access token
+     */
+    private OAuth2TokenResponse requestToken(String requestBody) throws IOException, InterruptedException {
+        ApiCall call = ApiCall.postForm(ENDPOINT_OAUTH_TOKEN, oauthTokenUrl, requestBody)
+                .withHeader("Authorization", basicAuthHeader());
+        OAuth2TokenResponse tokenResponse = execute(call, "obtain access token", decoder(OAuth2TokenResponse.class, OAuth2TokenResponseReader::read));
+        this.accessToken = tokenResponse.getAccessToken();
+        logInfo("Successfully obtained access token");
+        return tokenResponse;
+    }
+    
+    /**
+     * Install a metrics sink, e.g. {@link com.cloudeagle.zoom.metrics.ZoomClientMetrics}
+     * 
+     * @param metrics Metrics implementation, or null to disable metrics
+     */
+    public void setMetrics(ClientMetrics metrics) {
+        this.metrics = metrics != null ? metrics : ClientMetrics.NOOP;
+    }
+    
+    /**
+     * Parse token, account and users responses with the generated streaming readers in
+     * {@code com.cloudeagle.zoom.model.generated} instead of Jackson data binding. They produce the
+     * same models without reflection or a deserializer warm-up. Off by default.
+     * 
+     * @param generatedDeserializers Whether to use the generated readers
+     */
+    public void setGeneratedDeserializers(boolean generatedDeserializers) {
+        this.generatedDeserializers = generatedDeserializers;
+    }
+    
+    public boolean isGeneratedDeserializers() {
+        return generatedDeserializers;
+    }
+    
+    /**
+     * Choose how calls and failures are logged, e.g. {@link ApiLogPolicy#structured()} for
+     * sampled key-value events with rate-limited error logging
+     * 
+     * @param logPolicy Log policy, or null for {@link ApiLogPolicy#classic()}
+     */
+    public void setLogPolicy(ApiLogPolicy logPolicy) {
+        this.logPolicy = logPolicy != null ? logPolicy : ApiLogPolicy.classic();
+    }
+    
+    public ApiLogPolicy getLogPolicy() {
+        return logPolicy;
+    }
+    
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Replace how requests are sent, e.g. with a recording or replaying transport
+     * 
+     * @param transport The transport
+     */
+    public void setTransport(HttpTransport transport) {
+        if (transport == null) {
+            throw new IllegalArgumentException("transport must not be null");
+        }
+        this.transport = transport;
+    }
+    
+    public HttpTransport getTransport() {
+        return transport;
+    }
+    
+    /**
+     * Append an interceptor to the request pipeline. Interceptors run in the order added, outermost
+     * first; use {@link Interceptor#forEndpoints} to limit one to some endpoints.
+     * 
+     * @param interceptor The interceptor
+     */
+    public void addInterceptor(Interceptor interceptor) {
+        if (interceptor == null) {
+            throw new IllegalArgumentException("interceptor must not be null");
         }
+        interceptors.add(interceptor);
+    }
+    
+    public boolean removeInterceptor(Interceptor interceptor) {
+        return interceptors.remove(interceptor);
     }
     
     /**
@@ -130,29 +271,11 @@ public class ZoomApiClient {
      * @throws IllegalStateException If access token is not set
      */
     public ZoomAccount getAccountInfo() throws IOException, InterruptedException {
-        if (accessToken == null || accessToken.isEmpty()) {
-            throw new IllegalStateException("Access token not set. Please authenticate first.");
-        }
-        
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(ACCOUNT_INFO_URL))
-                .header("Authorization", "Bearer " + accessToken)
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
-        
-        logger.info("Fetching account information");
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        if (response.statusCode() == 200) {
-            ZoomAccount account = objectMapper.readValue(response.body(), ZoomAccount.class);
-            logger.info("Successfully retrieved account information for: {}", account.getAccountName());
-            return account;
-        } else {
-            logger.error("Failed to fetch account info. Status: {}, Response: {}", 
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to fetch account info: " + response.body());
-        }
+        logInfo("Fetching account information");
+        ZoomAccount account = execute(ApiCall.get(ENDPOINT_ACCOUNT, accountInfoUrl), 
+                "fetch account info", decoder(ZoomAccount.class, ZoomAccountReader::read));
+        logInfo("Successfully retrieved account information for: {}", account.getAccountName());
+        return account;
     }
     
     /**
@@ -166,35 +289,93 @@ public class ZoomApiClient {
      * @throws IllegalStateException If access token is not set
      */
     public ZoomUserList getUsers(String status, Integer pageSize) throws IOException, InterruptedException {
-        if (accessToken == null || accessToken.isEmpty()) {
-            throw new IllegalStateException("Access token not set. Please authenticate first.");
-        }
-        
-        StringBuilder url = new StringBuilder(USERS_LIST_URL);
-        url.append("?status=").append(status != null ? status : "active");
-        if (pageSize != null) {
-            url.append("&page_size=").append(pageSize);
-        }
-        
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url.toString()))
-                .header("Authorization", "Bearer " + accessToken)
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
-        
-        logger.info("Fetching users list");
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        if (response.statusCode() == 200) {
-            ZoomUserList userList = objectMapper.readValue(response.body(), ZoomUserList.class);
-            logger.info("Successfully retrieved {} users", userList.getTotalRecords());
-            return userList;
-        } else {
-            logger.error("Failed to fetch users list. Status: {}, Response: {}", 
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to fetch users list: " + response.body());
-        }
+        return getUsers(status, pageSize, null);
+    }
+    
+    /**
+     * Get a single page of users in the organization
+     * 
+     * @param status Filter by user status (active, inactive, pending)
+     * @param pageSize Number of records per page (max 300)
+     * @param nextPageToken Token from the previous page, or null for the first page
+     * @return ZoomUserList object containing user details
+     * @throws IOException If the HTTP request fails
+     * @throws InterruptedException If the request is interrupted
+     * @throws IllegalStateException If access token is not set
+     */
+    public ZoomUserList getUsers(String status, Integer pageSize, String nextPageToken) 
+            throws IOException, InterruptedException {
+        logInfo("Fetching users list");
+        ZoomUserList userList = execute(ApiCall.get(ENDPOINT_USERS, buildUsersUrl(status, pageSize, nextPageToken)), 
+                "fetch users list", decoder(ZoomUserList.class, ZoomUserListReader::read));
+        logInfo("Successfully retrieved {} users", userList.getTotalRecords());
+        return userList;
+    }
+    
+    /**
+     * Get a single page of users as immutable values with primitive fields, parsed by the
+     * generated streaming reader regardless of {@link #setGeneratedDeserializers}
+     * 
+     * @param status Filter by user status (active, inactive, pending)
+     * @param pageSize Number of records per page (max 300)
+     * @param nextPageToken Token from the previous page, or null for the first page
+     * @return Immutable page
+     * @throws IOException If the HTTP request fails
+     * @throws InterruptedException If the request is interrupted
+     * @throws IllegalStateException If access token is not set
+     */
+    public ImmutableZoomUserList getUsersImmutable(String status, Integer pageSize, String nextPageToken)
+            throws IOException, InterruptedException {
+        logInfo("Fetching users list");
+        ImmutableZoomUserList userList = execute(ApiCall.get(ENDPOINT_USERS, buildUsersUrl(status, pageSize, nextPageToken)), 
+                "fetch users list", streaming(ImmutableZoomUserList::read));
+        logInfo("Successfully retrieved {} users", userList.getTotalRecords());
+        return userList;
+    }
+    
+    /**
+     * Get a single page of users without materializing them. Only the projected fields can be read
+     * from the returned users, and each is decoded from the response bytes when accessed.
+     * 
+     * @param status Filter by user status (active, inactive, pending)
+     * @param pageSize Number of records per page (max 300)
+     * @param nextPageToken Token from the previous page, or null for the first page
+     * @param projection Fields to index, e.g. {@link LazyZoomUserList#SUMMARY_FIELDS}
+     * @return Lazily decoded page
+     * @throws IOException If the HTTP request fails
+     * @throws InterruptedException If the request is interrupted
+     * @throws IllegalStateException If access token is not set
+     */
+    public LazyZoomUserList getUsersLazy(String status, Integer pageSize, String nextPageToken,
+            Set<LazyZoomUserList.Field> projection) throws IOException, InterruptedException {
+        logInfo("Fetching users list");
+        LazyZoomUserList userList = execute(ApiCall.get(ENDPOINT_USERS, buildUsersUrl(status, pageSize, nextPageToken)), 
+                "fetch users list", response -> LazyZoomUserList.parse(response.bodyBytes(), projection));
+        logInfo("Successfully retrieved {} users", userList.getTotalRecords());
+        return userList;
+    }
+    
+    /**
+     * Walk every page of the users list, handing each page to the handler as soon as it arrives
+     * 
+     * @param status Filter by user status (active, inactive, pending)
+     * @param pageSize Number of records per page (max 300)
+     * @param handler Callback invoked once per page
+     * @return Number of pages fetched
+     * @throws IOException If an HTTP request or the handler fails
+     * @throws InterruptedException If the request is interrupted
+     */
+    public int forEachUserPage(String status, Integer pageSize, PageHandler<ZoomUserList> handler) 
+            throws IOException, InterruptedException {
+        String nextPageToken = null;
+        int pages = 0;
+        do {
+            ZoomUserList page = getUsers(status, pageSize, nextPageToken);
+            handler.onPage(page);
+            pages++;
+            nextPageToken = page.getNextPageToken();
+        } while (nextPageToken != null && !nextPageToken.isEmpty());
+        return pages;
     }
     
     /**
@@ -206,28 +387,27 @@ public class ZoomApiClient {
      * @throws IllegalStateException If access token is not set
      */
     public String getAccountPlans() throws IOException, InterruptedException {
-        if (accessToken == null || accessToken.isEmpty()) {
-            throw new IllegalStateException("Access token not set. Please authenticate first.");
-        }
-        
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(ACCOUNT_PLANS_URL))
-                .header("Authorization", "Bearer " + accessToken)
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
-        
-        logger.info("Fetching account plans");
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        if (response.statusCode() == 200) {
-            logger.info("Successfully retrieved account plans");
-            return response.body();
-        } else {
-            logger.error("Failed to fetch account plans. Status: {}, Response: {}", 
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to fetch account plans: " + response.body());
-        }
+        logInfo("Fetching account plans");
+        String plans = execute(ApiCall.get(ENDPOINT_ACCOUNT_PLANS, accountPlansUrl), 
+                "fetch account plans", ApiResponse::body);
+        logInfo("Successfully retrieved account plans");
+        return plans;
+    }
+    
+    /**
+     * Get account plans as a typed model
+     * 
+     * @return Base plan, add-ons and their seat counts
+     * @throws IOException If the HTTP request fails
+     * @throws InterruptedException If the request is interrupted
+     * @throws IllegalStateException If access token is not set
+     */
+    public ZoomAccountPlans getAccountPlanDetails() throws IOException, InterruptedException {
+        logInfo("Fetching account plans");
+        ZoomAccountPlans plans = execute(ApiCall.get(ENDPOINT_ACCOUNT_PLANS, accountPlansUrl), 
+                "fetch account plans", json(ZoomAccountPlans.class));
+        logInfo("Successfully retrieved account plans");
+        return plans;
     }
     
     /**
@@ -241,33 +421,182 @@ public class ZoomApiClient {
      * @throws IllegalStateException If access token is not set
      */
     public String getActivityReports(String fromDate, String toDate) throws IOException, InterruptedException {
-        if (accessToken == null || accessToken.isEmpty()) {
-            throw new IllegalStateException("Access token not set. Please authenticate first.");
+        logInfo("Fetching activity reports from {} to {}", fromDate, toDate);
+        String reports = execute(ApiCall.get(ENDPOINT_ACTIVITIES, buildActivitiesUrl(fromDate, toDate, 100, null)), 
+                "fetch activity reports", ApiResponse::body);
+        logInfo("Successfully retrieved activity reports");
+        return reports;
+    }
+    
+    /**
+     * Get a single page of activity reports (sign-in events)
+     * 
+     * @param fromDate Start date (YYYY-MM-DD format)
+     * @param toDate End date (YYYY-MM-DD format)
+     * @param pageSize Number of records per page (max 300)
+     * @param nextPageToken Token from the previous page, or null for the first page
+     * @return ZoomActivityReport containing the page of activity logs
+     * @throws IOException If the HTTP request fails
+     * @throws InterruptedException If the request is interrupted
+     * @throws IllegalStateException If access token is not set
+     */
+    public ZoomActivityReport getActivityReportPage(String fromDate, String toDate, Integer pageSize, 
+            String nextPageToken) throws IOException, InterruptedException {
+        logInfo("Fetching activity report page from {} to {}", fromDate, toDate);
+        return execute(ApiCall.get(ENDPOINT_ACTIVITIES, buildActivitiesUrl(fromDate, toDate, pageSize, nextPageToken)), 
+                "fetch activity reports", json(ZoomActivityReport.class));
+    }
+    
+    /**
+     * Walk every page of the activity report, handing each page to the handler as soon as it arrives
+     * 
+     * @param fromDate Start date (YYYY-MM-DD format)
+     * @param toDate End date (YYYY-MM-DD format)
+     * @param pageSize Number of records per page (max 300)
+     * @param handler Callback invoked once per page
+     * @return Number of pages fetched
+     * @throws IOException If an HTTP request or the handler fails
+     * @throws InterruptedException If the request is interrupted
+     */
+    public int forEachActivityPage(String fromDate, String toDate, Integer pageSize, 
+            PageHandler<ZoomActivityReport> handler) throws IOException, InterruptedException {
+        String nextPageToken = null;
+        int pages = 0;
+        do {
+            ZoomActivityReport page = getActivityReportPage(fromDate, toDate, pageSize, nextPageToken);
+            handler.onPage(page);
+            pages++;
+            nextPageToken = page.getNextPageToken();
+        } while (nextPageToken != null && !nextPageToken.isEmpty());
+        return pages;
+    }
+    
+    /**
+     * Get a single page of a user's meetings
+     * 
+     * @param userId User ID, email, or "me"
+     * @param type Meeting type filter (scheduled, live, upcoming), or null for scheduled
+     * @param pageSize Number of records per page (max 300)
+     * @param nextPageToken Token from the previous page, or null for the first page
+     * @return ZoomMeetingList object containing the page
+     * @throws IOException If the HTTP request fails
+     * @throws InterruptedException If the request is interrupted
+     * @throws IllegalStateException If access token is not set
+     */
+    public ZoomMeetingList getMeetings(String userId, String type, Integer pageSize, String nextPageToken) 
+            throws IOException, InterruptedException {
+        logInfo("Fetching meetings for user {}", userId);
+        return execute(ApiCall.get(ENDPOINT_MEETINGS, buildMeetingsUrl(userId, type, pageSize, nextPageToken)), 
+                "fetch meetings", json(ZoomMeetingList.class));
+    }
+    
+    /**
+     * Publish every user, fetching the next page only when the subscriber has demand for it
+     * 
+     * @param status Filter by user status (active, inactive, pending)
+     * @param pageSize Number of records per page (max 300)
+     * @param executor Runs page fetches and subscriber callbacks; fetches block and keep the calling
+     *        thread's {@link PriorityDispatcher} priority
+     * @return Cold publisher; each subscription crawls from the first page
+     */
+    public Flow.Publisher<ZoomUser> publishUsers(String status, Integer pageSize, Executor executor) {
+        return new PagePublisher<>(token -> getUsers(status, pageSize, token),
+                ZoomUserList::getUsers, ZoomUserList::getNextPageToken,
+                PriorityDispatcher.withCurrentThreadPriority(executor));
+    }
+    
+    /**
+     * Publish every sign-in/sign-out event in a date range, fetching pages on demand
+     * 
+     * @param fromDate Start date (YYYY-MM-DD format)
+     * @param toDate End date (YYYY-MM-DD format)
+     * @param pageSize Number of records per page (max 300)
+     * @param executor Runs page fetches and subscriber callbacks; fetches block and keep the calling
+     *        thread's {@link PriorityDispatcher} priority
+     * @return Cold publisher; each subscription crawls from the first page
+     */
+    public Flow.Publisher<ZoomActivityReport.ActivityLog> publishActivities(String fromDate, String toDate, 
+            Integer pageSize, Executor executor) {
+        return new PagePublisher<>(token -> getActivityReportPage(fromDate, toDate, pageSize, token),
+                ZoomActivityReport::getActivityLogs, ZoomActivityReport::getNextPageToken,
+                PriorityDispatcher.withCurrentThreadPriority(executor));
+    }
+    
+    /**
+     * Publish every meeting of a user, fetching pages on demand
+     * 
+     * @param userId User ID, email, or "me"
+     * @param type Meeting type filter, or null for scheduled
+     * @param pageSize Number of records per page (max 300)
+     * @param executor Runs page fetches and subscriber callbacks; fetches block and keep the calling
+     *        thread's {@link PriorityDispatcher} priority
+     * @return Cold publisher; each subscription crawls from the first page
+     */
+    public Flow.Publisher<ZoomMeetingList.Meeting> publishMeetings(String userId, String type, Integer pageSize, 
+            Executor executor) {
+        return new PagePublisher<>(token -> getMeetings(userId, type, pageSize, token),
+                ZoomMeetingList::getMeetings, ZoomMeetingList::getNextPageToken,
+                PriorityDispatcher.withCurrentThreadPriority(executor));
+    }
+    
+    /**
+     * Pay the one-off costs of a cold client before the first real call: open connections to the
+     * OAuth and API hosts (DNS, TCP, TLS and HTTP/2 setup) and build the Jackson deserializers of
+     * every model class. The warm-up requests are unauthenticated, so any HTTP status counts as
+     * success, and they are not reported to metrics. Hosts follow the base URLs the client was
+     * created with, so a local override warms the local endpoint instead.
+     * 
+     * Warm-up traffic goes straight to the JDK {@link HttpClient}, bypassing interceptors, so it never
+     * reaches a cassette. With any transport other than {@link JdkHttpTransport} only the
+     * deserializers are built.
+     * 
+     * @return Number of hosts that answered
+     * @throws InterruptedException If interrupted while connecting
+     */
+    public int warmUp() throws InterruptedException {
+        return warmUp(Arrays.asList(oauthTokenUrl, userMeUrl));
+    }
+    
+    /**
+     * Warm up against explicit URLs, one per host to connect to
+     * 
+     * @param urls URLs to send an unauthenticated GET to
+     * @return Number of URLs that answered; 0 if the transport is not a {@link JdkHttpTransport}
+     * @throws InterruptedException If interrupted while connecting
+     */
+    public int warmUp(List<String> urls) throws InterruptedException {
+        long start = System.nanoTime();
+        for (Class<?> type : MODEL_TYPES) {
+            try {
+                objectMapper.readValue("{}", type);
+            } catch (IOException e) {
+                logger.warn("Could not pre-build deserializer for {}", type.getSimpleName(), e);
+            }
         }
-        
-        StringBuilder url = new StringBuilder(ACTIVITIES_URL);
-        url.append("?from=").append(fromDate);
-        url.append("&to=").append(toDate);
-        url.append("&page_size=100");
-        
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url.toString()))
-                .header("Authorization", "Bearer " + accessToken)
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
-        
-        logger.info("Fetching activity reports from {} to {}", fromDate, toDate);
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        if (response.statusCode() == 200) {
-            logger.info("Successfully retrieved activity reports");
-            return response.body();
-        } else {
-            logger.error("Failed to fetch activity reports. Status: {}, Response: {}", 
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to fetch activity reports: " + response.body());
+        HttpTransport current = transport;
+        if (!(current instanceof JdkHttpTransport)) {
+            logger.info("Warm-up built deserializers in {} ms; skipped connections for {}", 
+                    (System.nanoTime() - start) / 1_000_000, current.getClass().getSimpleName());
+            return 0;
         }
+        HttpClient httpClient = ((JdkHttpTransport) current).getHttpClient();
+        int reached = 0;
+        for (String url : urls) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            try {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                reached++;
+            } catch (IOException e) {
+                logger.warn("Warm-up connection to {} failed: {}", url, e.getMessage());
+            }
+        }
+        logger.info("Warm-up reached {}/{} hosts in {} ms", reached, urls.size(), 
+                (System.nanoTime() - start) / 1_000_000);
+        return reached;
     }
     
     /**
@@ -288,28 +617,140 @@ public class ZoomApiClient {
      * @throws IllegalStateException If access token is not set
      */
     public String getCurrentUser() throws IOException, InterruptedException {
+        logInfo("Fetching current user information");
+        String user = execute(ApiCall.get(ENDPOINT_USER_ME, userMeUrl), 
+                "fetch current user info", ApiResponse::body);
+        logInfo("Successfully retrieved current user information");
+        return user;
+    }
+    
+    /**
+     * Run a call through the interceptor pipeline and decode a 200 response
+     * 
+     * @param call The call
+     * @param action What the call does, for log and exception messages
+     * @param decoder Turns the response body into the result
+     * @throws ZoomApiException If the response is not 200
+     * @throws IOException If the request fails
+     * @throws IllegalStateException If the call needs the access token and it is not set
+     */
+    private <T> T execute(ApiCall call, String action, ResponseDecoder<T> decoder) 
+            throws IOException, InterruptedException {
+        ClientMetrics metrics = this.metrics;
+        ApiLogPolicy logPolicy = this.logPolicy;
+        long sent = System.nanoTime();
+        ApiResponse response = new InterceptorChain(interceptors, 0, transport, metrics).proceed(authorize(call));
+        logPolicy.logCall(logger, call, response, System.nanoTime() - sent);
+        
+        if (response.statusCode() != 200) {
+            ZoomApiException failure = ZoomApiException.from(call.getEndpoint(), action, response);
+            logPolicy.logFailure(logger, action, failure);
+            throw failure;
+        }
+        long start = System.nanoTime();
+        T value = decoder.decode(response);
+        metrics.recordDeserialization(call.getEndpoint(), System.nanoTime() - start);
+        return value;
+    }
+    
+    /**
+     * Per-call info lines, which the structured log policy replaces with sampled events
+     */
+    private void logInfo(String format, Object... arguments) {
+        if (!logPolicy.isStructured()) {
+            logger.info(format, arguments);
+        }
+    }
+    
+    /**
+     * Attach the bearer token to calls that need it
+     */
+    private ApiCall authorize(ApiCall call) {
+        if (!call.isAuthenticated()) {
+            return call;
+        }
         if (accessToken == null || accessToken.isEmpty()) {
             throw new IllegalStateException("Access token not set. Please authenticate first.");
         }
-        
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(USER_ME_URL))
-                .header("Authorization", "Bearer " + accessToken)
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
-        
-        logger.info("Fetching current user information");
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        if (response.statusCode() == 200) {
-            logger.info("Successfully retrieved current user information");
-            return response.body();
-        } else {
-            logger.error("Failed to fetch current user info. Status: {}, Response: {}", 
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to fetch current user info: " + response.body());
+        return call.withHeader("Authorization", "Bearer " + accessToken);
+    }
+    
+    private <T> ResponseDecoder<T> json(Class<T> type) {
+        return response -> objectMapper.readValue(response.bodyBytes(), type);
+    }
+    
+    private <T> ResponseDecoder<T> streaming(StreamingJson.Reader<T> reader) {
+        return response -> StreamingJson.parse(objectMapper.getFactory(), response.bodyBytes(), reader);
+    }
+    
+    /**
+     * Decode with the generated reader when enabled, else through Jackson data binding
+     */
+    private <T> ResponseDecoder<T> decoder(Class<T> type, StreamingJson.Reader<T> reader) {
+        return generatedDeserializers ? streaming(reader) : json(type);
+    }
+    
+    /**
+     * Build the users list URL for one page
+     */
+    String buildUsersUrl(String status, Integer pageSize, String nextPageToken) {
+        StringBuilder url = new StringBuilder(usersListUrl);
+        url.append("?status=").append(status != null ? status : "active");
+        if (pageSize != null) {
+            url.append("&page_size=").append(pageSize);
+        }
+        if (nextPageToken != null && !nextPageToken.isEmpty()) {
+            url.append("&next_page_token=").append(URLEncoder.encode(nextPageToken, StandardCharsets.UTF_8));
         }
+        return url.toString();
+    }
+    
+    /**
+     * Build the activity report URL for one page
+     */
+    String buildActivitiesUrl(String fromDate, String toDate, Integer pageSize, String nextPageToken) {
+        StringBuilder url = new StringBuilder(activitiesUrl);
+        url.append("?from=").append(fromDate);
+        url.append("&to=").append(toDate);
+        url.append("&page_size=").append(pageSize != null ? pageSize : 100);
+        if (nextPageToken != null && !nextPageToken.isEmpty()) {
+            url.append("&next_page_token=").append(URLEncoder.encode(nextPageToken, StandardCharsets.UTF_8));
+        }
+        return url.toString();
+    }
+    
+    /**
+     * Build the meetings list URL for one page
+     */
+    String buildMeetingsUrl(String userId, String type, Integer pageSize, String nextPageToken) {
+        StringBuilder url = new StringBuilder(usersListUrl);
+        url.append('/').append(URLEncoder.encode(userId, StandardCharsets.UTF_8)).append("/meetings");
+        url.append("?type=").append(type != null ? type : "scheduled");
+        url.append("&page_size=").append(pageSize != null ? pageSize : 30);
+        if (nextPageToken != null && !nextPageToken.isEmpty()) {
+            url.append("&next_page_token=").append(URLEncoder.encode(nextPageToken, StandardCharsets.UTF_8));
+        }
+        return url.toString();
+    }
+    
+    /**
+     * Build an authenticated GET request against the REST API, exactly as the pipeline sends it
+     * without interceptors
+     */
+    HttpRequest newApiRequest(String url) {
+        return authorize(ApiCall.get(null, url)).toHttpRequest();
+    }
+    
+    /**
+     * Build the HTTP Basic header used by the OAuth token endpoint
+     */
+    String basicAuthHeader() {
+        String auth = clientId + ":" + clientSecret;
+        return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
     }
     
     /**
@@ -0,0 +1,201 @@
+package com.cloudeagle.zoom.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * A non-200 response from the Zoom API.
+ *
+ * Carries the status, Zoom's error code and message when the body is a JSON error, the rate-limit
+ * headers, and a short prefix of the body instead of the whole body, so failure storms with large
+ * HTML error pages neither flood logs nor allocate on the failure path.
+ */
+public class ZoomApiException extends IOException {
+    
+    /**
+     * Characters of the body kept in {@link #getBodySnippet()}
+     */
+    public static final int SNIPPET_CHARS = 256;
+    
+    private static final JsonFactory JSON = new JsonFactory();
+    
+    private final String endpoint;
+    private final int statusCode;
+    private final Integer errorCode;
+    private final String errorMessage;
+    private final Long retryAfterMillis;
+    private final String rateLimitType;
+    private final String rateLimitCategory;
+    private final Long rateLimitRemaining;
+    private final String bodySnippet;
+    private final long bodyLength;
+    
+    protected ZoomApiException(String message, String endpoint, int statusCode, Integer errorCode, String errorMessage,
+                               ApiResponse response, String bodySnippet) {
+        super(message);
+        this.endpoint = endpoint;
+        this.statusCode = statusCode;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.retryAfterMillis = response.retryAfterMillis().orElse(null);
+        this.rateLimitType = response.headers().firstValue("X-RateLimit-Type").orElse(null);
+        this.rateLimitCategory = response.headers().firstValue("X-RateLimit-Category").orElse(null);
+        this.rateLimitRemaining = parseLong(response.headers().firstValue("X-RateLimit-Remaining"));
+        this.bodySnippet = bodySnippet;
+        this.bodyLength = response.bodyLength();
+    }
+    
+    /**
+     * Build the exception for a failed call
+     * 
+     * @param endpoint Endpoint name, e.g. {@link ZoomApiClient#ENDPOINT_USERS}
+     * @param action What the call did, e.g. "fetch users list"
+     * @param response The non-200 response
+     * @return A {@link ZoomRateLimitException} for 429, else a ZoomApiException
+     */
+    public static ZoomApiException from(String endpoint, String action, ApiResponse response) {
+        int status = response.statusCode();
+        Integer code = null;
+        String zoomMessage = null;
+        byte[] body = response.bodyBytes();
+        if (!response.isBodyTruncated() && body.length > 0 && body[0] == '{') {
+            try (JsonParser parser = JSON.createParser(body)) {
+                parser.nextToken();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken token = parser.nextToken();
+                    if ("code".equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                        code = parser.getIntValue();
+                    } else if ("message".equals(field) && token == JsonToken.VALUE_STRING) {
+                        zoomMessage = truncate(parser.getText());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } catch (IOException ignored) {
+                // Not a JSON error body; the snippet still shows what came back
+            }
+        }
+        StringBuilder message = new StringBuilder("Failed to ").append(action).append(": HTTP ").append(status);
+        if (code != null) {
+            message.append(", code ").append(code);
+        }
+        if (zoomMessage != null) {
+            message.append(": ").append(zoomMessage);
+        }
+        String snippet = snippet(body);
+        return status == 429
+                ? new ZoomRateLimitException(message.toString(), endpoint, status, code, zoomMessage, response, snippet)
+                : new ZoomApiException(message.toString(), endpoint, status, code, zoomMessage, response, snippet);
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    /**
+     * @return Zoom's error code from a JSON error body, e.g. 124 for an invalid token, or null
+     */
+    public Integer getErrorCode() {
+        return errorCode;
+    }
+    
+    /**
+     * @return Zoom's error message from a JSON error body, or null
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    /**
+     * @return Server-requested wait from Retry-After, or null if absent
+     */
+    public Long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+    
+    /**
+     * @return X-RateLimit-Type, e.g. {@code QPS} or {@code Daily-limit}, or null
+     */
+    public String getRateLimitType() {
+        return rateLimitType;
+    }
+    
+    /**
+     * @return X-RateLimit-Category, e.g. {@code Light} or {@code Heavy}, or null
+     */
+    public String getRateLimitCategory() {
+        return rateLimitCategory;
+    }
+    
+    /**
+     * @return X-RateLimit-Remaining, or null
+     */
+    public Long getRateLimitRemaining() {
+        return rateLimitRemaining;
+    }
+    
+    /**
+     * @return First {@value #SNIPPET_CHARS} characters of the body with control characters replaced
+     */
+    public String getBodySnippet() {
+        return bodySnippet;
+    }
+    
+    /**
+     * @return Bytes received for the body, including any not kept
+     */
+    public long getBodyLength() {
+        return bodyLength;
+    }
+    
+    public boolean isServerError() {
+        return statusCode >= 500;
+    }
+    
+    private static String snippet(byte[] body) {
+        // Decode at most a few bytes per char and drop a split trailing character
+        int length = Math.min(body.length, SNIPPET_CHARS * 4);
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(SNIPPET_CHARS);
+        decoder.decode(ByteBuffer.wrap(body, 0, length), chars, true);
+        chars.flip();
+        return clean(chars);
+    }
+    
+    private static String truncate(String value) {
+        return clean(value.length() > SNIPPET_CHARS ? value.subSequence(0, SNIPPET_CHARS) : value);
+    }
+    
+    private static String clean(CharSequence value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.append(Character.isISOControl(c) ? ' ' : c);
+        }
+        return out.toString();
+    }
+    
+    private static Long parseLong(Optional<String> value) {
+        try {
+            return value.isPresent() ? Long.parseLong(value.get().trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.cloudeagle.zoom.client;
+
+/**
+ * A 429 response that was not retried, or still failed after retries. See
+ * {@link #getRetryAfterMillis()} and {@link #getRateLimitType()} for when to try again.
+ */
+public class ZoomRateLimitException extends ZoomApiException {
+    
+    ZoomRateLimitException(String message, String endpoint, int statusCode, Integer errorCode, String errorMessage,
+                           ApiResponse response, String bodySnippet) {
+        super(message, endpoint, statusCode, errorCode, errorMessage, response, bodySnippet);
+    }
+}
@@ -0,0 +1,77 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import com.cloudeagle.zoom.client.ApiCall;
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.Interceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves repeated GETs from memory for a fixed time. Only 200 responses are cached, keyed by URL
+ * and credentials so tenants never see each other's data. Meant for slow-changing endpoints such
+ * as account info and plans; limit it with {@link Interceptor#forEndpoints}.
+ */
+public class CachingInterceptor implements Interceptor {
+    
+    private final long ttlNanos;
+    private final Map<String, Entry> cache;
+    
+    /**
+     * @param ttl How long a response stays fresh
+     * @param maxEntries Responses kept; the least recently used are evicted first
+     */
+    public CachingInterceptor(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    @Override
+    public ApiResponse intercept(ApiCall call, Chain chain) throws IOException, InterruptedException {
+        if (!"GET".equals(call.getMethod())) {
+            return chain.proceed(call);
+        }
+        String key = call.getUri() + "\n" + call.getHeader("Authorization");
+        long now = System.nanoTime();
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null && now - entry.storedNanos < ttlNanos) {
+                return entry.response;
+            }
+        }
+        ApiResponse response = chain.proceed(call);
+        if (response.statusCode() == 200) {
+            synchronized (cache) {
+                cache.put(key, new Entry(response, System.nanoTime()));
+            }
+        }
+        return response;
+    }
+    
+    /**
+     * Drop every cached response
+     */
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+    
+    private static final class Entry {
+        
+        final ApiResponse response;
+        final long storedNanos;
+        
+        Entry(ApiResponse response, long storedNanos) {
+            this.response = response;
+            this.storedNanos = storedNanos;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import com.cloudeagle.zoom.client.ApiCall;
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.Interceptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks for gzip-compressed responses and inflates them. The JDK HTTP client does neither on its
+ * own; large user and activity pages compress several-fold, which matters on slow links. Byte
+ * metrics still see the compressed size. An error body the transport truncated is inflated only as
+ * far as its kept prefix goes. The decoded response drops {@code Content-Encoding} and
+ * {@code Content-Length}, which described the compressed body.
+ */
+public class GzipDecodingInterceptor implements Interceptor {
+    
+    private static final int MAX_INFLATED_PREFIX = 64 * 1024;
+    
+    @Override
+    public ApiResponse intercept(ApiCall call, Chain chain) throws IOException, InterruptedException {
+        ApiResponse response = chain.proceed(call.withHeader("Accept-Encoding", "gzip"));
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if (!"gzip".equalsIgnoreCase(encoding.trim())) {
+            return response;
+        }
+        HttpHeaders headers = decodedHeaders(response.headers());
+        if (response.isBodyTruncated()) {
+            return new ApiResponse(response.statusCode(), headers, inflatePrefix(response.bodyBytes()),
+                    response.bodyLength(), true);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.bodyBytes()))) {
+            return new ApiResponse(response.statusCode(), headers, in.readAllBytes(), 
+                    response.bodyLength(), false);
+        }
+    }
+    
+    private static HttpHeaders decodedHeaders(HttpHeaders headers) {
+        return HttpHeaders.of(headers.map(), (name, value) -> !"Content-Encoding".equalsIgnoreCase(name)
+                && !"Content-Length".equalsIgnoreCase(name));
+    }
+    
+    /**
+     * Inflate as much of a cut-off gzip body as its bytes allow, for error snippets
+     */
+    private static byte[] inflatePrefix(byte[] gzip) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            int n;
+            while (out.size() < MAX_INFLATED_PREFIX && (n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            // Expected at the cut
+        }
+        return out.toByteArray();
+    }
+}
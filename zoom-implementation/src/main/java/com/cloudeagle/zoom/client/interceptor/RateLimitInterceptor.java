@@ -0,0 +1,59 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import com.cloudeagle.zoom.client.ApiCall;
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.Interceptor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side token bucket that keeps a client under Zoom's per-second limits instead of running
+ * into 429s. Calls block until a token is available; the wait is reported with
+ * {@code recordRateLimitWait}. Use one instance per limit, wrapped in
+ * {@link Interceptor#forEndpoints} for endpoint-specific limits.
+ */
+public class RateLimitInterceptor implements Interceptor {
+    
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos;
+    
+    /**
+     * @param requestsPerSecond Sustained rate
+     * @param burst Requests allowed back to back after an idle period
+     */
+    public RateLimitInterceptor(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive and burst at least 1");
+        }
+        this.tokensPerNano = requestsPerSecond / 1_000_000_000.0;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    @Override
+    public ApiResponse intercept(ApiCall call, Chain chain) throws IOException, InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            chain.metrics().recordRateLimitWait(call.getEndpoint(), waitNanos);
+        }
+        return chain.proceed(call);
+    }
+    
+    /**
+     * Take a token, going into debt if none is left
+     * 
+     * @return How long the caller must wait before using it
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+}
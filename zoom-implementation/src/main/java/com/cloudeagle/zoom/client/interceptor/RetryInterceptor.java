@@ -0,0 +1,90 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import com.cloudeagle.zoom.client.ApiCall;
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.Interceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries rate-limited (429) responses after the server's {@code Retry-After}, and retries
+ * server errors (5xx) and I/O failures of idempotent calls with jittered exponential backoff.
+ * Each retry is reported with {@code recordRetry}; time spent waiting out a 429 with
+ * {@code recordRateLimitWait}.
+ */
+public class RetryInterceptor implements Interceptor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RetryInterceptor.class);
+    
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    
+    /**
+     * Three attempts, backing off from 500 ms up to 30 s
+     */
+    public RetryInterceptor() {
+        this(3, 500, 30_000);
+    }
+    
+    /**
+     * @param maxAttempts Total attempts including the first
+     * @param baseBackoffMillis Backoff before the first retry; doubles each retry
+     * @param maxBackoffMillis Upper bound on any single wait, including Retry-After
+     */
+    public RetryInterceptor(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+    
+    @Override
+    public ApiResponse intercept(ApiCall call, Chain chain) throws IOException, InterruptedException {
+        String endpoint = call.getEndpoint();
+        for (int attempt = 1; ; attempt++) {
+            ApiResponse response;
+            try {
+                response = chain.proceed(call);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || !call.isIdempotent()) {
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                logger.warn("{} failed ({}), retrying in {} ms", call, e.getMessage(), backoff);
+                chain.metrics().recordRetry(endpoint);
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                continue;
+            }
+            int status = response.statusCode();
+            boolean rateLimited = status == 429;
+            boolean serverError = status >= 500 && call.isIdempotent();
+            if (attempt >= maxAttempts || !(rateLimited || serverError)) {
+                return response;
+            }
+            long wait = rateLimited
+                    ? response.retryAfterMillis().orElse(backoffMillis(attempt))
+                    : backoffMillis(attempt);
+            wait = Math.min(wait, maxBackoffMillis);
+            logger.warn("{} returned {}, retrying in {} ms", call, status, wait);
+            chain.metrics().recordRetry(endpoint);
+            long start = System.nanoTime();
+            TimeUnit.MILLISECONDS.sleep(wait);
+            if (rateLimited) {
+                chain.metrics().recordRateLimitWait(endpoint, System.nanoTime() - start);
+            }
+        }
+    }
+    
+    private long backoffMillis(int attempt) {
+        long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        // Full jitter over the upper half keeps concurrent crawls from retrying in lockstep
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.cloudeagle.zoom.export;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A named column extracted from a record when exporting to CSV or a database
+ *
+ * @param <T> Record type
+ */
+public class ExportColumn<T> {
+    
+    /** Columns for {@link ZoomUser} records, in API field order */
+    public static final List<ExportColumn<ZoomUser>> USER_COLUMNS = Collections.unmodifiableList(Arrays.asList(
+            new ExportColumn<>("id", ZoomUser::getId),
+            new ExportColumn<>("first_name", ZoomUser::getFirstName),
+            new ExportColumn<>("last_name", ZoomUser::getLastName),
+            new ExportColumn<>("email", ZoomUser::getEmail),
+            new ExportColumn<>("type", Types.INTEGER, ZoomUser::getType),
+            new ExportColumn<>("role_name", ZoomUser::getRoleName),
+            new ExportColumn<>("pmi", Types.BIGINT, ZoomUser::getPmi),
+            new ExportColumn<>("use_pmi", Types.BOOLEAN, ZoomUser::getUsePmi),
+            new ExportColumn<>("personal_meeting_url", ZoomUser::getPersonalMeetingUrl),
+            new ExportColumn<>("timezone", ZoomUser::getTimezone),
+            new ExportColumn<>("verified", Types.INTEGER, ZoomUser::getVerified),
+            new ExportColumn<>("dept", ZoomUser::getDept),
+            new ExportColumn<>("created_at", ZoomUser::getCreatedAt),
+            new ExportColumn<>("last_login_time", ZoomUser::getLastLoginTime),
+            new ExportColumn<>("last_client_version", ZoomUser::getLastClientVersion),
+            new ExportColumn<>("language", ZoomUser::getLanguage),
+            new ExportColumn<>("status", ZoomUser::getStatus),
+            new ExportColumn<>("role_id", ZoomUser::getRoleId)));
+    
+    /** Columns for {@link ActivityLog} records */
+    public static final List<ExportColumn<ActivityLog>> ACTIVITY_COLUMNS = Collections.unmodifiableList(Arrays.asList(
+            new ExportColumn<>("email", ActivityLog::getEmail),
+            new ExportColumn<>("time", ActivityLog::getTime),
+            new ExportColumn<>("type", ActivityLog::getType),
+            new ExportColumn<>("ip_address", ActivityLog::getIpAddress),
+            new ExportColumn<>("client_type", ActivityLog::getClientType),
+            new ExportColumn<>("version", ActivityLog::getVersion)));
+    
+    private final String name;
+    private final int sqlType;
+    private final Function<T, Object> accessor;
+    
+    /**
+     * A text column
+     */
+    public ExportColumn(String name, Function<T, Object> accessor) {
+        this(name, Types.VARCHAR, accessor);
+    }
+    
+    /**
+     * @param name Column name
+     * @param sqlType {@link Types} constant of the database column, used when binding nulls
+     * @param accessor Extracts the value from a record
+     */
+    public ExportColumn(String name, int sqlType, Function<T, Object> accessor) {
+        this.name = name;
+        this.sqlType = sqlType;
+        this.accessor = accessor;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getSqlType() {
+        return sqlType;
+    }
+    
+    /**
+     * @param record The record
+     * @return Column value, may be null
+     */
+    public Object get(T record) {
+        return accessor.apply(record);
+    }
+}
@@ -0,0 +1,23 @@
+package com.cloudeagle.zoom.export;
+
+/**
+ * Output file formats supported by {@link StreamingExporter}
+ */
+public enum ExportFormat {
+    
+    /** One JSON object per line */
+    NDJSON(".ndjson"),
+    
+    /** RFC 4180 comma-separated values with a header row in every file */
+    CSV(".csv");
+    
+    private final String extension;
+    
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
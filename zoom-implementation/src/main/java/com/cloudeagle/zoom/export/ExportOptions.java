@@ -0,0 +1,78 @@
+package com.cloudeagle.zoom.export;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for a {@link StreamingExporter}
+ */
+public class ExportOptions {
+    
+    private Path directory;
+    private String baseName = "export";
+    private ExportFormat format = ExportFormat.NDJSON;
+    private boolean gzip;
+    private long maxBytesPerFile;
+    private int bufferSize = 256 * 1024;
+    
+    public ExportOptions() {}
+    
+    public ExportOptions(Path directory, String baseName, ExportFormat format) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.format = format;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+    
+    public String getBaseName() {
+        return baseName;
+    }
+    
+    public void setBaseName(String baseName) {
+        this.baseName = baseName;
+    }
+    
+    public ExportFormat getFormat() {
+        return format;
+    }
+    
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+    
+    public boolean isGzip() {
+        return gzip;
+    }
+    
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+    
+    /**
+     * @return Uncompressed bytes after which a new part file is started; 0 disables rotation
+     */
+    public long getMaxBytesPerFile() {
+        return maxBytesPerFile;
+    }
+    
+    public void setMaxBytesPerFile(long maxBytesPerFile) {
+        this.maxBytesPerFile = maxBytesPerFile;
+    }
+    
+    /**
+     * @return Size of the direct buffer between the encoder and the file channel
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+    
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+}
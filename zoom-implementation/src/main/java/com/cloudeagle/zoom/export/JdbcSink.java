@@ -0,0 +1,256 @@
+package com.cloudeagle.zoom.export;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads user and activity pages into any JDBC database.
+ *
+ * Each page is written in its own transaction through a reused prepared statement, flushed with
+ * {@link PreparedStatement#executeBatch()} every {@code batchSize} rows. Users are upserted on
+ * {@code id} using the dialect's native syntax, so re-running a sync updates rows in place.
+ * Activity events have no natural key and are appended.
+ *
+ * The sink takes over transaction control of the connection it is given; close the sink before
+ * reusing the connection elsewhere.
+ */
+public class JdbcSink implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcSink.class);
+
+    public static final String USERS_TABLE = "zoom_users";
+    public static final String ACTIVITY_TABLE = "zoom_activity_logs";
+
+    private static final String USERS_DDL = "CREATE TABLE IF NOT EXISTS " + USERS_TABLE + " ("
+            + "id VARCHAR(64) PRIMARY KEY, first_name VARCHAR(255), last_name VARCHAR(255), email VARCHAR(320), "
+            + "type INTEGER, role_name VARCHAR(128), pmi BIGINT, use_pmi BOOLEAN, personal_meeting_url VARCHAR(512), "
+            + "timezone VARCHAR(64), verified INTEGER, dept VARCHAR(255), created_at VARCHAR(32), "
+            + "last_login_time VARCHAR(32), last_client_version VARCHAR(64), language VARCHAR(32), "
+            + "status VARCHAR(32), role_id VARCHAR(64))";
+
+    private static final String ACTIVITY_DDL = "CREATE TABLE IF NOT EXISTS " + ACTIVITY_TABLE + " ("
+            + "email VARCHAR(320), time VARCHAR(32), type VARCHAR(32), ip_address VARCHAR(64), "
+            + "client_type VARCHAR(32), version VARCHAR(64))";
+
+    private final Connection connection;
+    private final SqlDialect dialect;
+    private final boolean originalAutoCommit;
+    private int batchSize = 500;
+    private PreparedStatement userStatement;
+    private PreparedStatement activityStatement;
+
+    /**
+     * @param connection Open connection; the dialect is detected from its metadata
+     * @throws IOException If the connection cannot be inspected
+     */
+    public JdbcSink(Connection connection) throws IOException {
+        this(connection, detectDialect(connection));
+    }
+
+    public JdbcSink(Connection connection, SqlDialect dialect) throws IOException {
+        this.connection = connection;
+        this.dialect = dialect;
+        try {
+            this.originalAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new IOException("Failed to configure JDBC connection", e);
+        }
+    }
+
+    /**
+     * @param batchSize Rows per {@code executeBatch()} round trip within a page
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Create the user and activity tables if they don't exist
+     *
+     * @throws IOException If the DDL fails
+     */
+    public void createTables() throws IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(USERS_DDL);
+            statement.execute(ACTIVITY_DDL);
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new IOException("Failed to create tables", e);
+        }
+    }
+
+    /**
+     * Upsert one page of users in a single transaction
+     *
+     * @param users The page; may be null
+     * @return Number of rows written
+     * @throws IOException If the write fails; the page is rolled back
+     */
+    public int writeUsers(List<ZoomUser> users) throws IOException {
+        if (users == null || users.isEmpty()) {
+            return 0;
+        }
+        try {
+            if (userStatement == null) {
+                userStatement = connection.prepareStatement(
+                        dialect.upsert(USERS_TABLE, columnNames(ExportColumn.USER_COLUMNS), "id"));
+            }
+            int written = writeBatched(userStatement, users, ExportColumn.USER_COLUMNS);
+            connection.commit();
+            return written;
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new IOException("Failed to write users page", e);
+        }
+    }
+
+    /**
+     * Append one page of activity events in a single transaction
+     *
+     * @param logs The page; may be null
+     * @return Number of rows written
+     * @throws IOException If the write fails; the page is rolled back
+     */
+    public int writeActivities(List<ActivityLog> logs) throws IOException {
+        if (logs == null || logs.isEmpty()) {
+            return 0;
+        }
+        try {
+            if (activityStatement == null) {
+                activityStatement = connection.prepareStatement(
+                        dialect.insert(ACTIVITY_TABLE, columnNames(ExportColumn.ACTIVITY_COLUMNS)));
+            }
+            int written = writeBatched(activityStatement, logs, ExportColumn.ACTIVITY_COLUMNS);
+            connection.commit();
+            return written;
+        } catch (SQLException e) {
+            rollbackQuietly();
+            throw new IOException("Failed to write activity page", e);
+        }
+    }
+
+    /**
+     * Crawl all users from the API and upsert them page by page
+     *
+     * @param client Authenticated API client
+     * @param status User status filter
+     * @param pageSize Page size (max 300)
+     * @return Number of rows written
+     * @throws IOException If a request or write fails; committed pages stay committed
+     * @throws InterruptedException If the crawl is interrupted
+     */
+    public long syncUsers(ZoomApiClient client, String status, Integer pageSize)
+            throws IOException, InterruptedException {
+        long[] total = new long[1];
+        int pages = client.forEachUserPage(status, pageSize, page -> total[0] += writeUsers(page.getUsers()));
+        logger.info("Loaded {} users from {} pages into {}", total[0], pages, USERS_TABLE);
+        return total[0];
+    }
+
+    /**
+     * Crawl the activity report for a date range and append it page by page
+     *
+     * @param client Authenticated API client
+     * @param fromDate Start date (YYYY-MM-DD format)
+     * @param toDate End date (YYYY-MM-DD format)
+     * @param pageSize Page size (max 300)
+     * @return Number of rows written
+     * @throws IOException If a request or write fails; committed pages stay committed
+     * @throws InterruptedException If the crawl is interrupted
+     */
+    public long syncActivities(ZoomApiClient client, String fromDate, String toDate, Integer pageSize)
+            throws IOException, InterruptedException {
+        long[] total = new long[1];
+        int pages = client.forEachActivityPage(fromDate, toDate, pageSize,
+                page -> total[0] += writeActivities(page.getActivityLogs()));
+        logger.info("Loaded {} activity records from {} pages into {}", total[0], pages, ACTIVITY_TABLE);
+        return total[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (userStatement != null) {
+                userStatement.close();
+            }
+            if (activityStatement != null) {
+                activityStatement.close();
+            }
+            connection.setAutoCommit(originalAutoCommit);
+        } catch (SQLException e) {
+            throw new IOException("Failed to close JDBC sink", e);
+        }
+    }
+
+    private <T> int writeBatched(PreparedStatement statement, List<T> records, List<ExportColumn<T>> columns)
+            throws SQLException {
+        int pending = 0;
+        int written = 0;
+        for (T record : records) {
+            for (int i = 0; i < columns.size(); i++) {
+                ExportColumn<T> column = columns.get(i);
+                Object value = column.get(record);
+                if (value == null) {
+                    statement.setNull(i + 1, column.getSqlType());
+                } else {
+                    statement.setObject(i + 1, value);
+                }
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                statement.executeBatch();
+                written += pending;
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            statement.executeBatch();
+            written += pending;
+        }
+        return written;
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.warn("Rollback failed", e);
+        }
+    }
+
+    private static <T> List<String> columnNames(List<ExportColumn<T>> columns) {
+        List<String> names = new ArrayList<>(columns.size());
+        for (ExportColumn<T> column : columns) {
+            names.add(column.getName());
+        }
+        return names;
+    }
+
+    private static SqlDialect detectDialect(Connection connection) throws IOException {
+        try {
+            return SqlDialect.fromProductName(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IOException("Failed to read database metadata", e);
+        }
+    }
+}
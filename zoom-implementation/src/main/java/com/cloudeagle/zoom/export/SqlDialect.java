@@ -0,0 +1,94 @@
+package com.cloudeagle.zoom.export;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Upsert syntax for the databases supported by {@link JdbcSink}
+ */
+public enum SqlDialect {
+    
+    /** H2: {@code MERGE INTO ... KEY (...)} */
+    H2 {
+        @Override
+        String upsert(String table, List<String> columns, String key) {
+            return "MERGE INTO " + table + " (" + String.join(", ", columns) + ") KEY (" + key + ") VALUES ("
+                    + placeholders(columns.size()) + ")";
+        }
+    },
+    
+    /** PostgreSQL and SQLite: {@code INSERT ... ON CONFLICT DO UPDATE} */
+    POSTGRESQL {
+        @Override
+        String upsert(String table, List<String> columns, String key) {
+            StringBuilder sql = new StringBuilder(insert(table, columns));
+            sql.append(" ON CONFLICT (").append(key).append(") DO UPDATE SET ");
+            appendAssignments(sql, columns, key, "excluded.%s");
+            return sql.toString();
+        }
+    },
+    
+    /** MySQL and MariaDB: {@code INSERT ... ON DUPLICATE KEY UPDATE} */
+    MYSQL {
+        @Override
+        String upsert(String table, List<String> columns, String key) {
+            StringBuilder sql = new StringBuilder(insert(table, columns));
+            sql.append(" ON DUPLICATE KEY UPDATE ");
+            appendAssignments(sql, columns, key, "VALUES(%s)");
+            return sql.toString();
+        }
+    };
+    
+    /**
+     * Build a single-row upsert statement with one placeholder per column
+     */
+    abstract String upsert(String table, List<String> columns, String key);
+    
+    String insert(String table, List<String> columns) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + placeholders(columns.size()) + ")";
+    }
+    
+    /**
+     * Pick a dialect from {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+     * 
+     * @param productName Database product name reported by the driver
+     * @return Matching dialect
+     * @throws IllegalArgumentException If the database is not supported
+     */
+    public static SqlDialect fromProductName(String productName) {
+        String name = productName.toLowerCase(Locale.ROOT);
+        if (name.contains("h2")) {
+            return H2;
+        }
+        if (name.contains("postgres") || name.contains("sqlite")) {
+            return POSTGRESQL;
+        }
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return MYSQL;
+        }
+        throw new IllegalArgumentException("Unsupported database for upserts: " + productName);
+    }
+    
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sb.append(i > 0 ? ", ?" : "?");
+        }
+        return sb.toString();
+    }
+    
+    private static void appendAssignments(StringBuilder sql, List<String> columns, String key, String valueFormat) {
+        boolean first = true;
+        for (String column : columns) {
+            if (column.equals(key)) {
+                continue;
+            }
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(column).append(" = ").append(String.format(valueFormat, column));
+            first = false;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.cloudeagle.zoom.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes records to NDJSON or CSV files one at a time with constant memory.
+ *
+ * Records are encoded straight into a reusable direct buffer that is drained to a
+ * {@link FileChannel}, optionally through gzip. When {@link ExportOptions#getMaxBytesPerFile()}
+ * is set, output rolls over to numbered part files at record boundaries.
+ *
+ * @param <T> Record type
+ */
+public class StreamingExporter<T> implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExporter.class);
+
+    private final ExportOptions options;
+    private final List<ExportColumn<T>> columns;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter recordWriter;
+    private final ByteBuffer buffer;
+    private final List<Path> files = new ArrayList<>();
+    private final StringBuilder line = new StringBuilder(512);
+
+    private CountingOutputStream out;
+    private JsonGenerator generator;
+    private long recordsWritten;
+    private boolean closed;
+
+    /**
+     * @param options Output location and format
+     * @param columns Columns written in CSV mode; ignored for NDJSON, which serializes the whole record
+     */
+    public StreamingExporter(ExportOptions options, List<ExportColumn<T>> columns) {
+        this(options, columns, new ObjectMapper());
+    }
+
+    public StreamingExporter(ExportOptions options, List<ExportColumn<T>> columns, ObjectMapper objectMapper) {
+        if (options.getDirectory() == null) {
+            throw new IllegalArgumentException("Export directory is required");
+        }
+        this.options = options;
+        this.columns = columns;
+        this.objectMapper = objectMapper;
+        // Flushing per record would drain the buffer to the channel on every line
+        this.recordWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.buffer = ByteBuffer.allocateDirect(options.getBufferSize());
+    }
+
+    /**
+     * Append one record, rolling over to a new part file if the current one is full
+     *
+     * @param record The record
+     * @throws IOException If the write fails
+     */
+    public void write(T record) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Exporter is closed");
+        }
+        if (out == null) {
+            openPart();
+        }
+        if (options.getFormat() == ExportFormat.NDJSON) {
+            recordWriter.writeValue(generator, record);
+            generator.writeRaw('\n');
+        } else {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendCsvValue(columns.get(i).get(record));
+            }
+            line.append("\r\n");
+            writeLine();
+        }
+        recordsWritten++;
+
+        long maxBytes = options.getMaxBytesPerFile();
+        if (maxBytes > 0 && bytesInPart() >= maxBytes) {
+            closePart();
+        }
+    }
+
+    /**
+     * Append a batch of records
+     *
+     * @param records The records; may be null
+     * @throws IOException If a write fails
+     */
+    public void writeAll(Iterable<? extends T> records) throws IOException {
+        if (records == null) {
+            return;
+        }
+        for (T record : records) {
+            write(record);
+        }
+    }
+
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    /**
+     * @return Files written so far, in order
+     */
+    public List<Path> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        // Always leave at least one file behind, so an empty export still has a CSV header
+        if (files.isEmpty()) {
+            openPart();
+        }
+        closePart();
+        closed = true;
+        logger.info("Exported {} records to {} file(s)", recordsWritten, files.size());
+    }
+
+    private void openPart() throws IOException {
+        Files.createDirectories(options.getDirectory());
+        StringBuilder name = new StringBuilder(options.getBaseName());
+        if (options.getMaxBytesPerFile() > 0) {
+            name.append(String.format("-%05d", files.size() + 1));
+        }
+        name.append(options.getFormat().getExtension());
+        if (options.isGzip()) {
+            name.append(".gz");
+        }
+        Path file = options.getDirectory().resolve(name.toString());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream sink = new ChannelOutputStream(channel, buffer);
+        if (options.isGzip()) {
+            sink = new GZIPOutputStream(sink, 64 * 1024);
+        }
+        out = new CountingOutputStream(sink);
+        files.add(file);
+
+        if (options.getFormat() == ExportFormat.NDJSON) {
+            generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        } else {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendCsvValue(columns.get(i).getName());
+            }
+            line.append("\r\n");
+            writeLine();
+        }
+        logger.debug("Opened export file {}", file);
+    }
+
+    private void closePart() throws IOException {
+        if (out == null) {
+            return;
+        }
+        try {
+            if (generator != null) {
+                generator.close();
+            }
+        } finally {
+            generator = null;
+            out.close();
+            out = null;
+        }
+    }
+
+    private long bytesInPart() {
+        long count = out.getCount();
+        if (generator != null) {
+            count += Math.max(0, generator.getOutputBuffered());
+        }
+        return count;
+    }
+
+    private void writeLine() throws IOException {
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appendCsvValue(Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Counts uncompressed bytes so rotation is independent of gzip
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
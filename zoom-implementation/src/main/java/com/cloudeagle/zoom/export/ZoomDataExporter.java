@@ -0,0 +1,68 @@
+package com.cloudeagle.zoom.export;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Streams paginated user and activity data from the Zoom API straight into export files.
+ * Only the page currently being written is held in memory.
+ */
+public class ZoomDataExporter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ZoomDataExporter.class);
+    
+    private final ZoomApiClient client;
+    
+    public ZoomDataExporter(ZoomApiClient client) {
+        this.client = client;
+    }
+    
+    /**
+     * Export every user matching the status filter
+     * 
+     * @param status User status filter
+     * @param pageSize Page size (max 300)
+     * @param options Output location and format
+     * @return Files written
+     * @throws IOException If a request or write fails
+     * @throws InterruptedException If the export is interrupted
+     */
+    public List<Path> exportUsers(String status, Integer pageSize, ExportOptions options) 
+            throws IOException, InterruptedException {
+        try (StreamingExporter<ZoomUser> exporter = new StreamingExporter<>(options, ExportColumn.USER_COLUMNS)) {
+            int pages = client.forEachUserPage(status, pageSize, page -> exporter.writeAll(page.getUsers()));
+            exporter.close();
+            logger.info("Exported {} users from {} pages", exporter.getRecordsWritten(), pages);
+            return exporter.getFiles();
+        }
+    }
+    
+    /**
+     * Export every sign-in/sign-out event in the date range
+     * 
+     * @param fromDate Start date (YYYY-MM-DD format)
+     * @param toDate End date (YYYY-MM-DD format)
+     * @param pageSize Page size (max 300)
+     * @param options Output location and format
+     * @return Files written
+     * @throws IOException If a request or write fails
+     * @throws InterruptedException If the export is interrupted
+     */
+    public List<Path> exportActivities(String fromDate, String toDate, Integer pageSize, ExportOptions options) 
+            throws IOException, InterruptedException {
+        try (StreamingExporter<ActivityLog> exporter = new StreamingExporter<>(options, ExportColumn.ACTIVITY_COLUMNS)) {
+            int pages = client.forEachActivityPage(fromDate, toDate, pageSize, 
+                    page -> exporter.writeAll(page.getActivityLogs()));
+            exporter.close();
+            logger.info("Exported {} activity records from {} pages", exporter.getRecordsWritten(), pages);
+            return exporter.getFiles();
+        }
+    }
+}
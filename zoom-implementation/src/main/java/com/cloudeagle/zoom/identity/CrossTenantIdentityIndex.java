@@ -0,0 +1,177 @@
+package com.cloudeagle.zoom.identity;
+
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps people to their users across all managed tenants, keyed by normalized email (trimmed,
+ * lower-cased), for "same person, multiple licenses" reports.
+ *
+ * Each person costs one map entry whose value packs tenant and user type into ints, and tenant ids
+ * are stored once. A Bloom filter in front of the map answers the common "never seen" lookup
+ * without touching it.
+ *
+ * Not thread-safe.
+ */
+public class CrossTenantIdentityIndex {
+    
+    /**
+     * Zoom user type of a paid (licensed) user
+     */
+    public static final int LICENSED = 2;
+    
+    private static final int NO_TYPE = 0xFF;
+    
+    private final BloomFilter seen;
+    private final Map<String, int[]> memberships;
+    private final Map<String, Integer> tenantIndexes = new HashMap<>();
+    private final List<String> tenants = new ArrayList<>();
+    private int sharedCount;
+    
+    /**
+     * @param expectedIdentities Distinct people expected across all tenants
+     */
+    public CrossTenantIdentityIndex(int expectedIdentities) {
+        this.seen = new BloomFilter(Math.max(expectedIdentities, 1), 0.01);
+        this.memberships = new HashMap<>((int) (expectedIdentities / 0.75f) + 1);
+    }
+    
+    /**
+     * Index every user on a page
+     */
+    public void addPage(String tenantId, ZoomUserList page) {
+        if (page.getUsers() != null) {
+            for (ZoomUser user : page.getUsers()) {
+                add(tenantId, user);
+            }
+        }
+    }
+    
+    /**
+     * Index one user; users without an email are skipped. Adding the same person for the same
+     * tenant again updates the recorded user type.
+     */
+    public void add(String tenantId, ZoomUser user) {
+        if (user.getEmail() == null) {
+            return;
+        }
+        String email = normalize(user.getEmail());
+        int membership = tenantIndex(tenantId) << 8 | (user.getType() == null ? NO_TYPE : user.getType() & 0xFF);
+        if (!seen.mightContain(email)) {
+            seen.put(email);
+            memberships.put(email, new int[] {membership});
+            return;
+        }
+        int[] current = memberships.get(email);
+        if (current == null) {
+            memberships.put(email, new int[] {membership});
+            return;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] >>> 8 == membership >>> 8) {
+                current[i] = membership;
+                return;
+            }
+        }
+        int[] grown = new int[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = membership;
+        memberships.put(email, grown);
+        if (current.length == 1) {
+            sharedCount++;
+        }
+    }
+    
+    /**
+     * @param email Any form of the email
+     * @return Tenant ids where the person has a user, empty if none
+     */
+    public List<String> tenantsOf(String email) {
+        String key = normalize(email);
+        if (!seen.mightContain(key)) {
+            return Collections.emptyList();
+        }
+        int[] current = memberships.get(key);
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(current.length);
+        for (int membership : current) {
+            result.add(tenants.get(membership >>> 8));
+        }
+        return result;
+    }
+    
+    /**
+     * People with users in at least the given number of tenants
+     * 
+     * @param minTenants Minimum number of tenants, at least 2
+     * @param minLicenses Minimum number of those users that are licensed; 0 for any
+     * @return Matching identities, ordered by email
+     */
+    public List<SharedIdentity> sharedIdentities(int minTenants, int minLicenses) {
+        List<SharedIdentity> result = new ArrayList<>();
+        for (Map.Entry<String, int[]> entry : memberships.entrySet()) {
+            int[] current = entry.getValue();
+            if (current.length < Math.max(2, minTenants)) {
+                continue;
+            }
+            int licensed = 0;
+            for (int membership : current) {
+                if ((membership & 0xFF) == LICENSED) {
+                    licensed++;
+                }
+            }
+            if (licensed < minLicenses) {
+                continue;
+            }
+            Map<String, Integer> types = new TreeMap<>();
+            for (int membership : current) {
+                int type = membership & 0xFF;
+                types.put(tenants.get(membership >>> 8), type == NO_TYPE ? null : type);
+            }
+            result.add(new SharedIdentity(entry.getKey(), types));
+        }
+        result.sort((a, b) -> a.getEmail().compareTo(b.getEmail()));
+        return result;
+    }
+    
+    /**
+     * @return Distinct people indexed
+     */
+    public int getIdentityCount() {
+        return memberships.size();
+    }
+    
+    /**
+     * @return People with users in more than one tenant
+     */
+    public int getSharedCount() {
+        return sharedCount;
+    }
+    
+    private int tenantIndex(String tenantId) {
+        Integer index = tenantIndexes.get(tenantId);
+        if (index == null) {
+            if (tenants.size() == 1 << 23) {
+                throw new IllegalStateException("Too many tenants");
+            }
+            index = tenants.size();
+            tenantIndexes.put(tenantId, index);
+            tenants.add(tenantId);
+        }
+        return index;
+    }
+    
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,50 @@
+package com.cloudeagle.zoom.identity;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One person (by normalized email) who has a user in more than one tenant
+ */
+public class SharedIdentity {
+    
+    private final String email;
+    private final Map<String, Integer> userTypes;
+    
+    public SharedIdentity(String email, Map<String, Integer> userTypes) {
+        this.email = email;
+        this.userTypes = Collections.unmodifiableMap(userTypes);
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    /**
+     * @return Zoom user type (1 basic, 2 licensed, ...) per tenant id
+     */
+    public Map<String, Integer> getUserTypes() {
+        return userTypes;
+    }
+    
+    /**
+     * @return Number of tenants where this person holds a paid license
+     */
+    public int getLicenseCount() {
+        int licensed = 0;
+        for (Integer type : userTypes.values()) {
+            if (type != null && type == CrossTenantIdentityIndex.LICENSED) {
+                licensed++;
+            }
+        }
+        return licensed;
+    }
+    
+    @Override
+    public String toString() {
+        return "SharedIdentity{" +
+                "email='" + email + '\'' +
+                ", userTypes=" + userTypes +
+                '}';
+    }
+}
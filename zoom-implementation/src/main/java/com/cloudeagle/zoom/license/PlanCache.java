@@ -0,0 +1,113 @@
+package com.cloudeagle.zoom.license;
+
+import com.cloudeagle.zoom.model.ZoomAccountPlans;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tenant cache of account plans with a fixed time to live.
+ *
+ * Plans change only when seats are bought or cancelled, so the default TTL is an hour. Concurrent
+ * lookups of an expired tenant wait for a single fetch. If a refresh fails while an expired copy
+ * is still held, the stale copy is served and the refresh is retried on the next lookup.
+ */
+public class PlanCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PlanCache.class);
+    
+    private final PlanSource source;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    public PlanCache(PlanSource source) {
+        this(source, Duration.ofHours(1), Clock.systemUTC());
+    }
+    
+    /**
+     * @param source Fetches a tenant's plans, e.g. {@code id -> clients.get(id).getAccountPlanDetails()}
+     * @param ttl How long fetched plans are served before they are fetched again
+     * @param clock Time source
+     */
+    public PlanCache(PlanSource source, Duration ttl, Clock clock) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        this.source = source;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+    
+    /**
+     * @param tenantId Tenant
+     * @return The tenant's plans, fetched if missing or expired
+     * @throws IOException If the fetch fails and no earlier copy is cached
+     * @throws InterruptedException If the fetch is interrupted
+     */
+    public ZoomAccountPlans get(String tenantId) throws IOException, InterruptedException {
+        Entry entry = entries.computeIfAbsent(tenantId, id -> new Entry());
+        synchronized (entry) {
+            long now = clock.millis();
+            if (entry.plans != null && now < entry.expiresAt) {
+                return entry.plans;
+            }
+            try {
+                entry.plans = source.fetch(tenantId);
+                entry.fetchedAt = now;
+                entry.expiresAt = now + ttlMillis;
+            } catch (IOException e) {
+                if (entry.plans == null) {
+                    throw e;
+                }
+                logger.warn("Refreshing plans of tenant {} failed, serving copy from {} ms ago", 
+                        tenantId, now - entry.fetchedAt, e);
+            }
+            return entry.plans;
+        }
+    }
+    
+    /**
+     * @return When the tenant's cached plans were fetched in epoch milliseconds, or -1 if none are cached
+     */
+    public long getFetchedAt(String tenantId) {
+        Entry entry = entries.get(tenantId);
+        if (entry == null) {
+            return -1;
+        }
+        synchronized (entry) {
+            return entry.plans != null ? entry.fetchedAt : -1;
+        }
+    }
+    
+    /**
+     * Drop a tenant's plans, e.g. after a subscription webhook, so the next lookup fetches them
+     */
+    public void invalidate(String tenantId) {
+        entries.remove(tenantId);
+    }
+    
+    public void invalidateAll() {
+        entries.clear();
+    }
+    
+    /**
+     * Fetches the current plans of a tenant
+     */
+    @FunctionalInterface
+    public interface PlanSource {
+        
+        ZoomAccountPlans fetch(String tenantId) throws IOException, InterruptedException;
+    }
+    
+    private static final class Entry {
+        ZoomAccountPlans plans;
+        long fetchedAt;
+        long expiresAt;
+    }
+}
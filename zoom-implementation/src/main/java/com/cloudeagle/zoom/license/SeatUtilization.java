@@ -0,0 +1,171 @@
+package com.cloudeagle.zoom.license;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seats purchased versus used versus idle for one tenant at one point in time
+ */
+public class SeatUtilization {
+    
+    private final String tenantId;
+    private final List<PlanSeats> plans;
+    private final Map<Integer, Integer> usersByType;
+    private final int licensedUsers;
+    private final int idleLicensedUsers;
+    private final long plansFetchedAt;
+    
+    SeatUtilization(String tenantId, List<PlanSeats> plans, Map<Integer, Integer> usersByType,
+                    int licensedUsers, int idleLicensedUsers, long plansFetchedAt) {
+        this.tenantId = tenantId;
+        this.plans = Collections.unmodifiableList(plans);
+        this.usersByType = Collections.unmodifiableMap(usersByType);
+        this.licensedUsers = licensedUsers;
+        this.idleLicensedUsers = idleLicensedUsers;
+        this.plansFetchedAt = plansFetchedAt;
+    }
+    
+    public String getTenantId() {
+        return tenantId;
+    }
+    
+    /**
+     * @return Seats of every plan that sells host seats, base plan first
+     */
+    public List<PlanSeats> getPlans() {
+        return plans;
+    }
+    
+    /**
+     * @return Number of known users per Zoom user type (1 basic, 2 licensed, 4 unassigned, 99 none)
+     */
+    public Map<Integer, Integer> getUsersByType() {
+        return usersByType;
+    }
+    
+    /**
+     * @return Users holding a base plan seat
+     */
+    public int getLicensedUsers() {
+        return licensedUsers;
+    }
+    
+    /**
+     * @return Licensed users who have not signed in within the idle window
+     */
+    public int getIdleLicensedUsers() {
+        return idleLicensedUsers;
+    }
+    
+    /**
+     * @return Base plan seats purchased, or 0 if the tenant has no base plan
+     */
+    public int getPurchasedSeats() {
+        return plans.isEmpty() || !SeatUtilizationEngine.BASE_PLAN.equals(plans.get(0).getKey()) 
+                ? 0 : plans.get(0).getPurchased();
+    }
+    
+    /**
+     * @return Base plan seats nobody holds
+     */
+    public int getUnassignedSeats() {
+        return Math.max(0, getPurchasedSeats() - licensedUsers);
+    }
+    
+    /**
+     * @return Base plan seats that could be reclaimed: unassigned plus held by idle users
+     */
+    public int getReclaimableSeats() {
+        return getUnassignedSeats() + idleLicensedUsers;
+    }
+    
+    /**
+     * @return When the plans behind this report were fetched in epoch milliseconds
+     */
+    public long getPlansFetchedAt() {
+        return plansFetchedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "SeatUtilization{" +
+                "tenantId='" + tenantId + '\'' +
+                ", purchased=" + getPurchasedSeats() +
+                ", licensed=" + licensedUsers +
+                ", idle=" + idleLicensedUsers +
+                ", unassigned=" + getUnassignedSeats() +
+                ", usersByType=" + usersByType +
+                ", plans=" + plans +
+                '}';
+    }
+    
+    /**
+     * Seats of a single plan
+     */
+    public static class PlanSeats {
+        
+        private final String key;
+        private final String planName;
+        private final String type;
+        private final int purchased;
+        private final int used;
+        private final Integer reportedUsage;
+        
+        PlanSeats(String key, String planName, String type, int purchased, int used, Integer reportedUsage) {
+            this.key = key;
+            this.planName = planName;
+            this.type = type;
+            this.purchased = purchased;
+            this.used = used;
+            this.reportedUsage = reportedUsage;
+        }
+        
+        /**
+         * @return Plan key from {@link com.cloudeagle.zoom.model.ZoomAccountPlans#seatPlans()}
+         */
+        public String getKey() {
+            return key;
+        }
+        
+        public String getPlanName() {
+            return planName;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public int getPurchased() {
+            return purchased;
+        }
+        
+        /**
+         * @return Seats in use: counted from streamed users for the base plan, as reported by Zoom for add-ons
+         */
+        public int getUsed() {
+            return used;
+        }
+        
+        /**
+         * @return Seats in use as reported by Zoom at fetch time, or null if not reported
+         */
+        public Integer getReportedUsage() {
+            return reportedUsage;
+        }
+        
+        public int getAvailable() {
+            return Math.max(0, purchased - used);
+        }
+        
+        @Override
+        public String toString() {
+            return "PlanSeats{" +
+                    "key='" + key + '\'' +
+                    ", purchased=" + purchased +
+                    ", used=" + used +
+                    ", reportedUsage=" + reportedUsage +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.cloudeagle.zoom.license;
+
+import com.cloudeagle.zoom.model.ZoomAccountPlans;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.cloudeagle.zoom.sync.UserChangeEvent;
+import com.cloudeagle.zoom.sync.UserChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per-tenant seat usage counters up to date as users stream in, and joins them with
+ * cached plans to answer "seats purchased vs. used vs. idle" without re-crawling.
+ *
+ * Each tenant holds one packed entry per user (type and last sign-in day), counters per user
+ * type, and a histogram of licensed users by last sign-in day, so an upsert or removal is O(log days)
+ * and idle counts for any window are a histogram prefix sum. Feed it from a crawl via
+ * {@link #addPage}, or subscribe {@link #listener} to a {@link com.cloudeagle.zoom.sync.UserChangeTracker}
+ * sync or webhook handler so removals are applied too.
+ */
+public class SeatUtilizationEngine {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SeatUtilizationEngine.class);
+    
+    /**
+     * Zoom user type that holds a base plan seat
+     */
+    public static final int LICENSED = 2;
+    
+    static final String BASE_PLAN = "plan_base";
+    
+    private static final int NEVER = Integer.MIN_VALUE;
+    
+    private final PlanCache plans;
+    private final Clock clock;
+    private final Map<String, TenantSeats> tenants = new ConcurrentHashMap<>();
+    private volatile int idleAfterDays = 30;
+    
+    public SeatUtilizationEngine(PlanCache plans) {
+        this(plans, Clock.systemUTC());
+    }
+    
+    public SeatUtilizationEngine(PlanCache plans, Clock clock) {
+        this.plans = plans;
+        this.clock = clock;
+    }
+    
+    /**
+     * @param idleAfter Licensed users without a sign-in for this long count as idle; whole days
+     */
+    public void setIdleAfter(Duration idleAfter) {
+        if (idleAfter.toDays() < 1) {
+            throw new IllegalArgumentException("idleAfter must be at least one day");
+        }
+        this.idleAfterDays = (int) idleAfter.toDays();
+    }
+    
+    /**
+     * Insert or update every user of a page
+     */
+    public void addPage(String tenantId, ZoomUserList page) {
+        if (page.getUsers() == null) {
+            return;
+        }
+        TenantSeats seats = seats(tenantId);
+        synchronized (seats) {
+            for (ZoomUser user : page.getUsers()) {
+                seats.put(user);
+            }
+        }
+    }
+    
+    /**
+     * Insert or update a single user
+     */
+    public void add(String tenantId, ZoomUser user) {
+        TenantSeats seats = seats(tenantId);
+        synchronized (seats) {
+            seats.put(user);
+        }
+    }
+    
+    /**
+     * @return Whether the user was known
+     */
+    public boolean remove(String tenantId, String userId) {
+        TenantSeats seats = tenants.get(tenantId);
+        if (seats == null) {
+            return false;
+        }
+        synchronized (seats) {
+            return seats.remove(userId);
+        }
+    }
+    
+    /**
+     * Forget a tenant's users, e.g. before re-seeding it from a full crawl
+     */
+    public void clear(String tenantId) {
+        tenants.remove(tenantId);
+    }
+    
+    /**
+     * @return Listener applying a tenant's change events to its counters
+     */
+    public UserChangeListener listener(String tenantId) {
+        return event -> {
+            if (event.getType() == UserChangeEvent.Type.REMOVED) {
+                remove(tenantId, event.getUserId());
+            } else {
+                add(tenantId, event.getUser());
+            }
+        };
+    }
+    
+    /**
+     * @return Number of known users in the tenant
+     */
+    public int getUserCount(String tenantId) {
+        TenantSeats seats = tenants.get(tenantId);
+        if (seats == null) {
+            return 0;
+        }
+        synchronized (seats) {
+            return seats.users.size();
+        }
+    }
+    
+    public Set<String> getTenantIds() {
+        return tenants.keySet();
+    }
+    
+    /**
+     * @param tenantId Tenant
+     * @return Seat utilization from the current counters and the tenant's cached plans
+     * @throws IOException If the plans are not cached and fetching them fails
+     * @throws InterruptedException If the fetch is interrupted
+     */
+    public SeatUtilization utilization(String tenantId) throws IOException, InterruptedException {
+        ZoomAccountPlans accountPlans = plans.get(tenantId);
+        int cutoffDay = (int) LocalDate.now(clock.withZone(ZoneOffset.UTC)).toEpochDay() - idleAfterDays;
+        
+        Map<Integer, Integer> usersByType;
+        int licensed;
+        int idle = 0;
+        TenantSeats seats = tenants.get(tenantId);
+        if (seats == null) {
+            usersByType = new TreeMap<>();
+            licensed = 0;
+        } else {
+            synchronized (seats) {
+                usersByType = new TreeMap<>(seats.usersByType);
+                licensed = seats.usersByType.getOrDefault(LICENSED, 0);
+                for (int count : seats.licensedByLastDay.headMap(cutoffDay).values()) {
+                    idle += count;
+                }
+            }
+        }
+        
+        List<SeatUtilization.PlanSeats> planSeats = new ArrayList<>();
+        for (Map.Entry<String, ZoomAccountPlans.Plan> entry : accountPlans.seatPlans().entrySet()) {
+            ZoomAccountPlans.Plan plan = entry.getValue();
+            Integer reported = plan.getUsage();
+            int used = BASE_PLAN.equals(entry.getKey()) ? licensed : reported != null ? reported : 0;
+            planSeats.add(new SeatUtilization.PlanSeats(entry.getKey(), plan.getPlanName(), plan.getType(),
+                    plan.getHosts(), used, reported));
+        }
+        return new SeatUtilization(tenantId, planSeats, usersByType, licensed, idle, plans.getFetchedAt(tenantId));
+    }
+    
+    /**
+     * @return Utilization of every tenant with known users, skipping tenants whose plans cannot be fetched
+     * @throws InterruptedException If a fetch is interrupted
+     */
+    public List<SeatUtilization> utilizationOfAll() throws InterruptedException {
+        List<SeatUtilization> result = new ArrayList<>();
+        for (String tenantId : tenants.keySet()) {
+            try {
+                result.add(utilization(tenantId));
+            } catch (IOException e) {
+                logger.warn("No plans for tenant {}, skipping", tenantId, e);
+            }
+        }
+        return result;
+    }
+    
+    private TenantSeats seats(String tenantId) {
+        return tenants.computeIfAbsent(tenantId, id -> new TenantSeats());
+    }
+    
+    static int lastLoginDay(String lastLoginTime) {
+        if (lastLoginTime == null || lastLoginTime.length() < 10) {
+            return NEVER;
+        }
+        try {
+            return (int) LocalDate.parse(lastLoginTime.substring(0, 10)).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NEVER;
+        }
+    }
+    
+    /**
+     * Counters of one tenant; guarded by its own monitor
+     */
+    private static final class TenantSeats {
+        
+        // userId -> type << 32 | last sign-in epoch day
+        final Map<String, Long> users = new HashMap<>();
+        final Map<Integer, Integer> usersByType = new HashMap<>();
+        final TreeMap<Integer, Integer> licensedByLastDay = new TreeMap<>();
+        
+        void put(ZoomUser user) {
+            int type = user.getType() != null ? user.getType() : 0;
+            int day = lastLoginDay(user.getLastLoginTime());
+            Long previous = users.put(user.getId(), (long) type << 32 | (day & 0xFFFFFFFFL));
+            if (previous != null) {
+                unCount(previous);
+            }
+            usersByType.merge(type, 1, Integer::sum);
+            if (type == LICENSED) {
+                licensedByLastDay.merge(day, 1, Integer::sum);
+            }
+        }
+        
+        boolean remove(String userId) {
+            Long previous = users.remove(userId);
+            if (previous == null) {
+                return false;
+            }
+            unCount(previous);
+            return true;
+        }
+        
+        private void unCount(long packed) {
+            int type = (int) (packed >>> 32);
+            decrement(usersByType, type);
+            if (type == LICENSED) {
+                decrement(licensedByLastDay, (int) packed);
+            }
+        }
+        
+        private static void decrement(Map<Integer, Integer> counts, int key) {
+            counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cloudeagle.zoom.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Metrics SPI for {@link com.cloudeagle.zoom.client.ZoomApiClient}.
+ *
+ * Implementations are called on the request thread for every call, so they must be thread-safe and cheap.
+ * Endpoint names are short identifiers such as {@code users} or {@code report_activities}.
+ */
+public interface ClientMetrics {
+    
+    /** Discards everything */
+    ClientMetrics NOOP = new ClientMetrics() {};
+    
+    /**
+     * A request completed or failed
+     * 
+     * @param endpoint Endpoint name
+     * @param statusCode HTTP status, or 0 if no response was received
+     * @param latencyNanos Time from send until the full body was read
+     */
+    default void recordRequest(String endpoint, int statusCode, long latencyNanos) {}
+    
+    /**
+     * @param endpoint Endpoint name
+     * @param bytes Size of the response body
+     */
+    default void recordBytesReceived(String endpoint, long bytes) {}
+    
+    /**
+     * @param endpoint Endpoint name
+     * @param nanos Time spent turning the response body into model objects
+     */
+    default void recordDeserialization(String endpoint, long nanos) {}
+    
+    /**
+     * A request is about to be retried
+     * 
+     * @param endpoint Endpoint name
+     */
+    default void recordRetry(String endpoint) {}
+    
+    /**
+     * The client waited before sending because of a rate limit
+     * 
+     * @param endpoint Endpoint name
+     * @param waitNanos Time spent waiting
+     */
+    default void recordRateLimitWait(String endpoint, long waitNanos) {}
+    
+    /**
+     * Fan out to several implementations
+     * 
+     * @param delegates Metrics to forward to
+     * @return Combined metrics
+     */
+    static ClientMetrics composite(ClientMetrics... delegates) {
+        List<ClientMetrics> list = Arrays.asList(delegates.clone());
+        return new ClientMetrics() {
+            @Override
+            public void recordRequest(String endpoint, int statusCode, long latencyNanos) {
+                for (ClientMetrics metrics : list) {
+                    metrics.recordRequest(endpoint, statusCode, latencyNanos);
+                }
+            }
+            
+            @Override
+            public void recordBytesReceived(String endpoint, long bytes) {
+                for (ClientMetrics metrics : list) {
+                    metrics.recordBytesReceived(endpoint, bytes);
+                }
+            }
+            
+            @Override
+            public void recordDeserialization(String endpoint, long nanos) {
+                for (ClientMetrics metrics : list) {
+                    metrics.recordDeserialization(endpoint, nanos);
+                }
+            }
+            
+            @Override
+            public void recordRetry(String endpoint) {
+                for (ClientMetrics metrics : list) {
+                    metrics.recordRetry(endpoint);
+                }
+            }
+            
+            @Override
+            public void recordRateLimitWait(String endpoint, long waitNanos) {
+                for (ClientMetrics metrics : list) {
+                    metrics.recordRateLimitWait(endpoint, waitNanos);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.cloudeagle.zoom.metrics;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms for a single API endpoint
+ */
+public class EndpointMetrics implements EndpointMetricsMBean {
+    
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LatencyHistogram deserialization = new LatencyHistogram();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rateLimitWaits = new LongAdder();
+    private final LongAdder rateLimitWaitNanos = new LongAdder();
+    
+    public EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    void recordRequest(int statusCode, long latencyNanos) {
+        requests.increment();
+        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        latency.record(latencyNanos);
+    }
+    
+    void recordBytesReceived(long bytes) {
+        bytesReceived.add(bytes);
+    }
+    
+    void recordDeserialization(long nanos) {
+        deserialization.record(nanos);
+    }
+    
+    void recordRetry() {
+        retries.increment();
+    }
+    
+    void recordRateLimitWait(long waitNanos) {
+        rateLimitWaits.increment();
+        rateLimitWaitNanos.add(waitNanos);
+    }
+    
+    public LatencyHistogram getLatencyHistogram() {
+        return latency;
+    }
+    
+    public LatencyHistogram getDeserializationHistogram() {
+        return deserialization;
+    }
+    
+    /**
+     * @return Request count per HTTP status; 0 means no response was received
+     */
+    public Map<Integer, Long> getStatusCodeCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+    
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+    
+    @Override
+    public long getSuccessCount() {
+        return countStatus(200, 299);
+    }
+    
+    @Override
+    public long getClientErrorCount() {
+        return countStatus(400, 499);
+    }
+    
+    @Override
+    public long getRateLimitedCount() {
+        return countStatus(429, 429);
+    }
+    
+    @Override
+    public long getServerErrorCount() {
+        return countStatus(500, 599);
+    }
+    
+    @Override
+    public long getTransportErrorCount() {
+        return countStatus(0, 0);
+    }
+    
+    @Override
+    public String getStatusCodes() {
+        StringJoiner joiner = new StringJoiner(", ");
+        getStatusCodeCounts().forEach((code, count) -> joiner.add(code + "=" + count));
+        return joiner.toString();
+    }
+    
+    @Override
+    public double getLatencyMeanMillis() {
+        return latency.getMean() / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getLatencyP50Millis() {
+        return latency.getValueAtQuantile(0.50) / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getLatencyP99Millis() {
+        return latency.getValueAtQuantile(0.99) / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getLatencyP999Millis() {
+        return latency.getValueAtQuantile(0.999) / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getLatencyMaxMillis() {
+        return latency.getMax() / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+    
+    @Override
+    public double getDeserializationMeanMillis() {
+        return deserialization.getMean() / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getDeserializationP99Millis() {
+        return deserialization.getValueAtQuantile(0.99) / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public long getRetryCount() {
+        return retries.sum();
+    }
+    
+    @Override
+    public long getRateLimitWaitCount() {
+        return rateLimitWaits.sum();
+    }
+    
+    @Override
+    public double getRateLimitWaitTotalMillis() {
+        return rateLimitWaitNanos.sum() / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public void reset() {
+        requests.reset();
+        statusCounts.clear();
+        latency.reset();
+        bytesReceived.reset();
+        deserialization.reset();
+        retries.reset();
+        rateLimitWaits.reset();
+        rateLimitWaitNanos.reset();
+    }
+    
+    private long countStatus(int from, int to) {
+        long total = 0;
+        for (Map.Entry<Integer, LongAdder> entry : statusCounts.entrySet()) {
+            if (entry.getKey() >= from && entry.getKey() <= to) {
+                total += entry.getValue().sum();
+            }
+        }
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: requests=%d [%s] p50=%.1fms p99=%.1fms p999=%.1fms bytes=%d deser.mean=%.2fms retries=%d rateLimitWaits=%d",
+                endpoint, getRequestCount(), getStatusCodes(), getLatencyP50Millis(), getLatencyP99Millis(),
+                getLatencyP999Millis(), getBytesReceived(), getDeserializationMeanMillis(), getRetryCount(),
+                getRateLimitWaitCount());
+    }
+}
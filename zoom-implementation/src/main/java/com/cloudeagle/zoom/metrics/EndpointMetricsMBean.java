@@ -0,0 +1,48 @@
+package com.cloudeagle.zoom.metrics;
+
+/**
+ * JMX view of one API endpoint's metrics
+ */
+public interface EndpointMetricsMBean {
+    
+    long getRequestCount();
+    
+    long getSuccessCount();
+    
+    long getClientErrorCount();
+    
+    long getRateLimitedCount();
+    
+    long getServerErrorCount();
+    
+    long getTransportErrorCount();
+    
+    /**
+     * @return Status code breakdown, e.g. "200=1520, 429=3"
+     */
+    String getStatusCodes();
+    
+    double getLatencyMeanMillis();
+    
+    double getLatencyP50Millis();
+    
+    double getLatencyP99Millis();
+    
+    double getLatencyP999Millis();
+    
+    double getLatencyMaxMillis();
+    
+    long getBytesReceived();
+    
+    double getDeserializationMeanMillis();
+    
+    double getDeserializationP99Millis();
+    
+    long getRetryCount();
+    
+    long getRateLimitWaitCount();
+    
+    double getRateLimitWaitTotalMillis();
+    
+    void reset();
+}
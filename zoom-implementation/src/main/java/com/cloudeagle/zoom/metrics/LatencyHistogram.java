@@ -0,0 +1,106 @@
+package com.cloudeagle.zoom.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram in the style of HdrHistogram.
+ *
+ * Values are bucketed by power of two with 32 linear sub-buckets each, giving about 3% relative error
+ * over the full long range in a fixed ~15 KB of counters. Recording is two atomic increments and
+ * allocates nothing.
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalSum = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+    
+    /**
+     * @param value Non-negative value, typically nanoseconds; negative values are clamped to 0
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(v);
+        long max = maxValue.get();
+        while (v > max && !maxValue.compareAndSet(max, v)) {
+            max = maxValue.get();
+        }
+    }
+    
+    public long getCount() {
+        return totalCount.get();
+    }
+    
+    public long getMax() {
+        return maxValue.get();
+    }
+    
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalSum.get() / count;
+    }
+    
+    /**
+     * @param quantile Quantile in [0, 1], e.g. 0.99
+     * @return Approximate value at that quantile (midpoint of its bucket), or 0 if empty
+     */
+    public long getValueAtQuantile(double quantile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                long low = lowerBound(i);
+                long high = lowerBound(i + 1) - 1;
+                return Math.min(low + (high - low) / 2, maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+    
+    /**
+     * Clear all recorded values. Not atomic with respect to concurrent recording.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalSum.set(0);
+        maxValue.set(0);
+    }
+    
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1));
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+    
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        if (index >= BUCKETS) {
+            return Long.MAX_VALUE;
+        }
+        int block = index / SUB_COUNT;
+        int sub = index % SUB_COUNT;
+        int exponent = block + SUB_BITS - 1;
+        return (long) (SUB_COUNT + sub) << (exponent - SUB_BITS);
+    }
+}
@@ -0,0 +1,129 @@
+package com.cloudeagle.zoom.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Built-in {@link ClientMetrics} implementation that keeps per-endpoint counters and histograms in memory
+ * and, once {@link #registerMBeans(String)} is called, exposes each endpoint as a JMX MBean named
+ * {@code com.cloudeagle.zoom:type=ZoomApiClient,client=<name>,endpoint=<endpoint>}.
+ */
+public class ZoomClientMetrics implements ClientMetrics {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ZoomClientMetrics.class);
+    
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private volatile String jmxClientName;
+    
+    /**
+     * Publish existing and future endpoints over JMX
+     * 
+     * @param clientName Distinguishes several clients in one JVM, e.g. the tenant id
+     */
+    public synchronized void registerMBeans(String clientName) {
+        this.jmxClientName = ObjectName.quote(clientName);
+        for (EndpointMetrics metrics : endpoints.values()) {
+            register(metrics);
+        }
+    }
+    
+    /**
+     * Remove this instance's MBeans from the platform MBean server
+     */
+    public synchronized void unregisterMBeans() {
+        if (jmxClientName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (EndpointMetrics metrics : endpoints.values()) {
+            try {
+                ObjectName name = objectName(metrics.getEndpoint());
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                logger.warn("Failed to unregister metrics MBean for {}", metrics.getEndpoint(), e);
+            }
+        }
+        jmxClientName = null;
+    }
+    
+    /**
+     * @param endpoint Endpoint name
+     * @return Metrics for the endpoint, or null if it has not been called
+     */
+    public EndpointMetrics getEndpoint(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+    
+    public Collection<EndpointMetrics> getEndpoints() {
+        return Collections.unmodifiableCollection(endpoints.values());
+    }
+    
+    @Override
+    public void recordRequest(String endpoint, int statusCode, long latencyNanos) {
+        endpoint(endpoint).recordRequest(statusCode, latencyNanos);
+    }
+    
+    @Override
+    public void recordBytesReceived(String endpoint, long bytes) {
+        endpoint(endpoint).recordBytesReceived(bytes);
+    }
+    
+    @Override
+    public void recordDeserialization(String endpoint, long nanos) {
+        endpoint(endpoint).recordDeserialization(nanos);
+    }
+    
+    @Override
+    public void recordRetry(String endpoint) {
+        endpoint(endpoint).recordRetry();
+    }
+    
+    @Override
+    public void recordRateLimitWait(String endpoint, long waitNanos) {
+        endpoint(endpoint).recordRateLimitWait(waitNanos);
+    }
+    
+    private EndpointMetrics endpoint(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        if (metrics == null) {
+            metrics = endpoints.computeIfAbsent(endpoint, this::create);
+        }
+        return metrics;
+    }
+    
+    private EndpointMetrics create(String endpoint) {
+        EndpointMetrics metrics = new EndpointMetrics(endpoint);
+        if (jmxClientName != null) {
+            register(metrics);
+        }
+        return metrics;
+    }
+    
+    private void register(EndpointMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName(metrics.getEndpoint());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            logger.warn("Failed to register metrics MBean for {}", metrics.getEndpoint(), e);
+        }
+    }
+    
+    private ObjectName objectName(String endpoint) throws JMException {
+        return new ObjectName("com.cloudeagle.zoom:type=ZoomApiClient,client=" + jmxClientName
+                + ",endpoint=" + endpoint);
+    }
+}
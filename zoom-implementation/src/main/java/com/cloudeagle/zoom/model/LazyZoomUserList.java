@@ -0,0 +1,622 @@
+package com.cloudeagle.zoom.model;
+
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.cloudeagle.zoom.util.StringInternPool;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Users page backed by the raw response bytes.
+ *
+ * Parsing only scans the page and records where each projected field's value starts; nothing is
+ * decoded until a getter is called, and fields outside the projection are skipped without being
+ * matched. Values are decoded again on every call, so callers reading a field repeatedly should keep
+ * the result. The page holds on to the response bytes for as long as it is reachable.
+ *
+ * Numbers and booleans are coerced like {@link StreamingJson} and Jackson's defaults; a value that
+ * cannot be coerced makes its getter throw {@link IllegalStateException}.
+ */
+public final class LazyZoomUserList {
+
+    /**
+     * User fields that can be projected
+     */
+    public enum Field {
+        ID("id"),
+        FIRST_NAME("first_name"),
+        LAST_NAME("last_name"),
+        EMAIL("email"),
+        TYPE("type"),
+        ROLE_NAME("role_name"),
+        PMI("pmi"),
+        USE_PMI("use_pmi"),
+        PERSONAL_MEETING_URL("personal_meeting_url"),
+        TIMEZONE("timezone"),
+        VERIFIED("verified"),
+        DEPT("dept"),
+        CREATED_AT("created_at"),
+        LAST_LOGIN_TIME("last_login_time"),
+        LAST_CLIENT_VERSION("last_client_version"),
+        LANGUAGE("language"),
+        STATUS("status"),
+        ROLE_ID("role_id");
+
+        private final String jsonName;
+        private final byte[] nameBytes;
+
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+            this.nameBytes = jsonName.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        public String getJsonName() {
+            return jsonName;
+        }
+    }
+
+    /**
+     * The fields most passes read: id, email, type and last login time
+     */
+    public static final Set<Field> SUMMARY_FIELDS = EnumSet.of(Field.ID, Field.EMAIL, Field.TYPE, Field.LAST_LOGIN_TIME);
+
+    private static final int FIELD_COUNT = Field.values().length;
+    private static final int ABSENT = -1;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final byte[] data;
+    private final Field[] projected;
+    private final long projectionMask;
+    private int[] offsets = new int[0];
+    private int size;
+    private Integer pageCount;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private Integer totalRecords;
+    private String nextPageToken;
+
+    private LazyZoomUserList(byte[] data, Set<Field> projection) {
+        this.data = data;
+        this.projected = projection.toArray(new Field[0]);
+        long mask = 0;
+        for (Field field : projected) {
+            mask |= 1L << field.ordinal();
+        }
+        this.projectionMask = mask;
+    }
+
+    /**
+     * Index a users page, keeping every field available
+     *
+     * @param json Raw response body; must not be modified afterwards
+     * @return The page
+     * @throws IOException If the body is not a JSON object
+     */
+    public static LazyZoomUserList parse(byte[] json) throws IOException {
+        return parse(json, EnumSet.allOf(Field.class));
+    }
+
+    /**
+     * Index a users page, keeping only the given fields available
+     *
+     * @param json Raw response body; must not be modified afterwards
+     * @param projection Fields that may be read from the users
+     * @return The page
+     * @throws IOException If the body is not a JSON object
+     */
+    public static LazyZoomUserList parse(byte[] json, Set<Field> projection) throws IOException {
+        LazyZoomUserList page = new LazyZoomUserList(json, projection);
+        try {
+            page.scanPage();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Truncated users page", e);
+        } catch (IllegalStateException e) {
+            throw new IOException("Malformed users page", e);
+        }
+        return page;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public Integer getPageNumber() {
+        return pageNumber;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public Integer getTotalRecords() {
+        return totalRecords;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasNextPage() {
+        return nextPageToken != null && !nextPageToken.isEmpty();
+    }
+
+    /**
+     * @return Number of users on the page
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index User index on the page
+     * @return A view of the user; cheap to create
+     */
+    public LazyUser get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("User index " + index + " out of range [0, " + size + ")");
+        }
+        return new LazyUser(index);
+    }
+
+    /**
+     * @return The users as a list of views
+     */
+    public List<LazyUser> getUsers() {
+        return new AbstractList<LazyUser>() {
+            @Override
+            public LazyUser get(int index) {
+                return LazyZoomUserList.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * View of one user on the page. Getters for fields outside the projection throw
+     * {@link IllegalStateException}; fields missing from the response return null.
+     */
+    public final class LazyUser {
+
+        private final int base;
+
+        private LazyUser(int index) {
+            this.base = index * FIELD_COUNT;
+        }
+
+        public String getId() {
+            return readString(Field.ID);
+        }
+
+        public String getFirstName() {
+            return readString(Field.FIRST_NAME);
+        }
+
+        public String getLastName() {
+            return readString(Field.LAST_NAME);
+        }
+
+        public String getEmail() {
+            return readString(Field.EMAIL);
+        }
+
+        public Integer getType() {
+            Long value = readLong(Field.TYPE);
+            return value != null ? value.intValue() : null;
+        }
+
+        public String getRoleName() {
+            return readInterned(Field.ROLE_NAME);
+        }
+
+        public Long getPmi() {
+            return readLong(Field.PMI);
+        }
+
+        public Boolean getUsePmi() {
+            int offset = offset(Field.USE_PMI);
+            return offset == ABSENT ? null : decodeBoolean(offset);
+        }
+
+        public String getPersonalMeetingUrl() {
+            return readString(Field.PERSONAL_MEETING_URL);
+        }
+
+        public String getTimezone() {
+            return readInterned(Field.TIMEZONE);
+        }
+
+        public Integer getVerified() {
+            Long value = readLong(Field.VERIFIED);
+            return value != null ? value.intValue() : null;
+        }
+
+        public String getDept() {
+            return readInterned(Field.DEPT);
+        }
+
+        public String getCreatedAt() {
+            return readString(Field.CREATED_AT);
+        }
+
+        public String getLastLoginTime() {
+            return readString(Field.LAST_LOGIN_TIME);
+        }
+
+        public String getLastClientVersion() {
+            return readInterned(Field.LAST_CLIENT_VERSION);
+        }
+
+        public String getLanguage() {
+            return readInterned(Field.LANGUAGE);
+        }
+
+        public String getStatus() {
+            return readInterned(Field.STATUS);
+        }
+
+        public String getRoleId() {
+            return readInterned(Field.ROLE_ID);
+        }
+
+        /**
+         * @return Whether the field is in the projection and present in the response
+         */
+        public boolean has(Field field) {
+            return (projectionMask & (1L << field.ordinal())) != 0 && offsets[base + field.ordinal()] != ABSENT;
+        }
+
+        /**
+         * Decode the projected fields into a regular user; the rest are left null
+         */
+        public ZoomUser toZoomUser() {
+            ZoomUser user = new ZoomUser();
+            for (Field field : projected) {
+                switch (field) {
+                    case ID: user.setId(getId()); break;
+                    case FIRST_NAME: user.setFirstName(getFirstName()); break;
+                    case LAST_NAME: user.setLastName(getLastName()); break;
+                    case EMAIL: user.setEmail(getEmail()); break;
+                    case TYPE: user.setType(getType()); break;
+                    case ROLE_NAME: user.setRoleName(getRoleName()); break;
+                    case PMI: user.setPmi(getPmi()); break;
+                    case USE_PMI: user.setUsePmi(getUsePmi()); break;
+                    case PERSONAL_MEETING_URL: user.setPersonalMeetingUrl(getPersonalMeetingUrl()); break;
+                    case TIMEZONE: user.setTimezone(getTimezone()); break;
+                    case VERIFIED: user.setVerified(getVerified()); break;
+                    case DEPT: user.setDept(getDept()); break;
+                    case CREATED_AT: user.setCreatedAt(getCreatedAt()); break;
+                    case LAST_LOGIN_TIME: user.setLastLoginTime(getLastLoginTime()); break;
+                    case LAST_CLIENT_VERSION: user.setLastClientVersion(getLastClientVersion()); break;
+                    case LANGUAGE: user.setLanguage(getLanguage()); break;
+                    case STATUS: user.setStatus(getStatus()); break;
+                    case ROLE_ID: user.setRoleId(getRoleId()); break;
+                    default: break;
+                }
+            }
+            return user;
+        }
+
+        private int offset(Field field) {
+            if ((projectionMask & (1L << field.ordinal())) == 0) {
+                throw new IllegalStateException("Field " + field + " is not in the projection");
+            }
+            return offsets[base + field.ordinal()];
+        }
+
+        private String readString(Field field) {
+            int offset = offset(field);
+            return offset == ABSENT ? null : decodeString(offset);
+        }
+
+        /**
+         * Read a low-cardinality field through the shared intern pool
+         */
+        private String readInterned(Field field) {
+            int offset = offset(field);
+            return offset == ABSENT ? null : decodeInterned(offset);
+        }
+
+        private Long readLong(Field field) {
+            int offset = offset(field);
+            return offset == ABSENT ? null : decodeLong(offset);
+        }
+    }
+
+    // Scanning. Positions are indexes into data; each method returns the position after what it consumed.
+
+    private void scanPage() throws IOException {
+        int pos = expect(skipWhitespace(0), '{');
+        pos = skipWhitespace(pos);
+        if (data[pos] == '}') {
+            return;
+        }
+        while (true) {
+            int keyStart = expect(pos, '"');
+            int keyEnd = skipString(pos) - 1;
+            pos = skipWhitespace(expect(skipWhitespace(keyEnd + 1), ':'));
+            if (keyIs(keyStart, keyEnd, "users") && data[pos] == '[') {
+                pos = scanUsers(pos);
+            } else {
+                if (keyIs(keyStart, keyEnd, "next_page_token")) {
+                    nextPageToken = decodeString(pos);
+                } else if (keyIs(keyStart, keyEnd, "page_count")) {
+                    pageCount = decodeInt(pos);
+                } else if (keyIs(keyStart, keyEnd, "page_number")) {
+                    pageNumber = decodeInt(pos);
+                } else if (keyIs(keyStart, keyEnd, "page_size")) {
+                    pageSize = decodeInt(pos);
+                } else if (keyIs(keyStart, keyEnd, "total_records")) {
+                    totalRecords = decodeInt(pos);
+                }
+                pos = skipValue(pos);
+            }
+            pos = skipWhitespace(pos);
+            if (data[pos] == '}') {
+                return;
+            }
+            pos = skipWhitespace(expect(pos, ','));
+        }
+    }
+
+    private int scanUsers(int pos) throws IOException {
+        pos = skipWhitespace(pos + 1);
+        if (data[pos] == ']') {
+            return pos + 1;
+        }
+        while (true) {
+            pos = scanUser(pos);
+            pos = skipWhitespace(pos);
+            if (data[pos] == ']') {
+                return pos + 1;
+            }
+            pos = skipWhitespace(expect(pos, ','));
+        }
+    }
+
+    private int scanUser(int pos) throws IOException {
+        int base = size * FIELD_COUNT;
+        if (base + FIELD_COUNT > offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(FIELD_COUNT * 32, offsets.length * 2));
+        }
+        Arrays.fill(offsets, base, base + FIELD_COUNT, ABSENT);
+        size++;
+        pos = skipWhitespace(expect(pos, '{'));
+        if (data[pos] == '}') {
+            return pos + 1;
+        }
+        while (true) {
+            int keyStart = expect(pos, '"');
+            int keyEnd = skipString(pos) - 1;
+            pos = skipWhitespace(expect(skipWhitespace(keyEnd + 1), ':'));
+            Field field = matchField(keyStart, keyEnd);
+            if (field != null) {
+                offsets[base + field.ordinal()] = pos;
+            }
+            pos = skipWhitespace(skipValue(pos));
+            if (data[pos] == '}') {
+                return pos + 1;
+            }
+            pos = skipWhitespace(expect(pos, ','));
+        }
+    }
+
+    private Field matchField(int keyStart, int keyEnd) {
+        int length = keyEnd - keyStart;
+        for (Field field : projected) {
+            byte[] name = field.nameBytes;
+            if (name.length == length && regionEquals(name, keyStart)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private boolean keyIs(int keyStart, int keyEnd, String key) {
+        if (keyEnd - keyStart != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (data[keyStart + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean regionEquals(byte[] name, int start) {
+        for (int i = 0; i < name.length; i++) {
+            if (data[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipValue(int pos) throws IOException {
+        byte b = data[pos];
+        if (b == '"') {
+            return skipString(pos);
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            do {
+                b = data[pos];
+                if (b == '"') {
+                    pos = skipString(pos);
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                }
+                pos++;
+            } while (depth > 0);
+            return pos;
+        }
+        int start = pos;
+        while (pos < data.length && !isDelimiter(data[pos])) {
+            pos++;
+        }
+        if (pos == start) {
+            throw new IOException("Malformed users page at offset " + pos);
+        }
+        return pos;
+    }
+
+    /**
+     * @param pos Position of the opening quote
+     * @return Position after the closing quote
+     */
+    private int skipString(int pos) {
+        pos++;
+        while (true) {
+            byte b = data[pos];
+            if (b == '"') {
+                return pos + 1;
+            }
+            pos += b == '\\' ? 2 : 1;
+        }
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < data.length) {
+            byte b = data[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private int expect(int pos, char c) throws IOException {
+        if (pos >= data.length || data[pos] != c) {
+            throw new IOException("Malformed users page: expected '" + c + "' at offset " + pos);
+        }
+        return pos + 1;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    // Decoding
+
+    private String decodeString(int pos) {
+        if (data[pos] != '"') {
+            return data[pos] == 'n' ? null : new String(data, pos, skipValueUnchecked(pos) - pos, StandardCharsets.UTF_8);
+        }
+        int end = pos + 1;
+        while (data[end] != '"') {
+            if (data[end] == '\\') {
+                return decodeEscaped(pos);
+            }
+            end++;
+        }
+        return new String(data, pos + 1, end - pos - 1, StandardCharsets.UTF_8);
+    }
+
+    private String decodeInterned(int pos) {
+        if (data[pos] == '"') {
+            int end = pos + 1;
+            while (data[end] != '"' && data[end] != '\\') {
+                end++;
+            }
+            if (data[end] == '"') {
+                return StringInternPool.shared().intern(data, pos + 1, end - pos - 1);
+            }
+        }
+        return StringInternPool.shared().intern(decodeString(pos));
+    }
+
+    private String decodeEscaped(int pos) {
+        try (JsonParser parser = JSON_FACTORY.createParser(data, pos, skipString(pos) - pos)) {
+            parser.nextToken();
+            return parser.getText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid string at offset " + pos, e);
+        }
+    }
+
+    private Integer decodeInt(int pos) {
+        Long value = decodeLong(pos);
+        return value != null ? value.intValue() : null;
+    }
+
+    private Long decodeLong(int pos) {
+        byte b = data[pos];
+        if (b == 'n') {
+            return null;
+        }
+        if (b == '"') {
+            String text = decodeString(pos);
+            try {
+                return StreamingJson.longFromText(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Not a number at offset " + pos + ": " + text, e);
+            }
+        }
+        boolean negative = b == '-';
+        int i = negative ? pos + 1 : pos;
+        long value = 0;
+        while (i < data.length && data[i] >= '0' && data[i] <= '9') {
+            value = value * 10 + (data[i] - '0');
+            i++;
+        }
+        if (i < data.length && !isDelimiter(data[i])) {
+            // Fraction or exponent; rare enough to take the slow path
+            String text = new String(data, pos, skipValueUnchecked(pos) - pos, StandardCharsets.US_ASCII);
+            try {
+                return (long) Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Not a number at offset " + pos + ": " + text, e);
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    private Boolean decodeBoolean(int pos) {
+        byte b = data[pos];
+        if (b == 'n') {
+            return null;
+        }
+        if (b == 't' || b == 'f') {
+            return b == 't';
+        }
+        if (b == '"') {
+            String text = decodeString(pos);
+            try {
+                return StreamingJson.booleanFromText(text);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Not a boolean at offset " + pos + ": " + text, e);
+            }
+        }
+        // Integral numbers stand in for booleans; fractions do not
+        String text = new String(data, pos, skipValueUnchecked(pos) - pos, StandardCharsets.US_ASCII);
+        try {
+            return Long.parseLong(text) != 0;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Not a boolean at offset " + pos + ": " + text, e);
+        }
+    }
+
+    private int skipValueUnchecked(int pos) {
+        while (pos < data.length && !isDelimiter(data[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,237 @@
+package com.cloudeagle.zoom.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model class representing the plans and add-ons of a Zoom account
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZoomAccountPlans {
+    
+    @JsonProperty("plan_base")
+    private Plan planBase;
+    
+    @JsonProperty("plan_zoom_rooms")
+    private Plan planZoomRooms;
+    
+    @JsonProperty("plan_room_connector")
+    private Plan planRoomConnector;
+    
+    @JsonProperty("plan_large_meeting")
+    private List<Plan> planLargeMeeting;
+    
+    @JsonProperty("plan_webinar")
+    private List<Plan> planWebinar;
+    
+    @JsonProperty("plan_zoom_events")
+    private List<Plan> planZoomEvents;
+    
+    @JsonProperty("plan_audio")
+    private Plan planAudio;
+    
+    @JsonProperty("plan_recording")
+    private String planRecording;
+    
+    // Default constructor
+    public ZoomAccountPlans() {}
+    
+    // Getters and Setters
+    public Plan getPlanBase() {
+        return planBase;
+    }
+    
+    public void setPlanBase(Plan planBase) {
+        this.planBase = planBase;
+    }
+    
+    public Plan getPlanZoomRooms() {
+        return planZoomRooms;
+    }
+    
+    public void setPlanZoomRooms(Plan planZoomRooms) {
+        this.planZoomRooms = planZoomRooms;
+    }
+    
+    public Plan getPlanRoomConnector() {
+        return planRoomConnector;
+    }
+    
+    public void setPlanRoomConnector(Plan planRoomConnector) {
+        this.planRoomConnector = planRoomConnector;
+    }
+    
+    public List<Plan> getPlanLargeMeeting() {
+        return planLargeMeeting;
+    }
+    
+    public void setPlanLargeMeeting(List<Plan> planLargeMeeting) {
+        this.planLargeMeeting = planLargeMeeting;
+    }
+    
+    public List<Plan> getPlanWebinar() {
+        return planWebinar;
+    }
+    
+    public void setPlanWebinar(List<Plan> planWebinar) {
+        this.planWebinar = planWebinar;
+    }
+    
+    public List<Plan> getPlanZoomEvents() {
+        return planZoomEvents;
+    }
+    
+    public void setPlanZoomEvents(List<Plan> planZoomEvents) {
+        this.planZoomEvents = planZoomEvents;
+    }
+    
+    public Plan getPlanAudio() {
+        return planAudio;
+    }
+    
+    public void setPlanAudio(Plan planAudio) {
+        this.planAudio = planAudio;
+    }
+    
+    public String getPlanRecording() {
+        return planRecording;
+    }
+    
+    public void setPlanRecording(String planRecording) {
+        this.planRecording = planRecording;
+    }
+    
+    /**
+     * Every plan that sells host seats, keyed by its JSON field name. Add-ons that can be bought
+     * more than once are keyed {@code field:type}, e.g. {@code plan_webinar:webinar500}.
+     * 
+     * @return Seat plans in a stable order, base plan first
+     */
+    public Map<String, Plan> seatPlans() {
+        Map<String, Plan> plans = new LinkedHashMap<>();
+        putPlan(plans, "plan_base", planBase);
+        putPlan(plans, "plan_zoom_rooms", planZoomRooms);
+        putPlan(plans, "plan_room_connector", planRoomConnector);
+        putPlans(plans, "plan_large_meeting", planLargeMeeting);
+        putPlans(plans, "plan_webinar", planWebinar);
+        putPlans(plans, "plan_zoom_events", planZoomEvents);
+        return plans;
+    }
+    
+    private static void putPlan(Map<String, Plan> plans, String key, Plan plan) {
+        if (plan != null && plan.getHosts() != null) {
+            plans.put(key, plan);
+        }
+    }
+    
+    private static void putPlans(Map<String, Plan> plans, String field, List<Plan> list) {
+        if (list == null) {
+            return;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            Plan plan = list.get(i);
+            putPlan(plans, field + ":" + (plan.getType() != null ? plan.getType() : String.valueOf(i)), plan);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "ZoomAccountPlans{" +
+                "planBase=" + planBase +
+                ", planZoomRooms=" + planZoomRooms +
+                ", planRoomConnector=" + planRoomConnector +
+                ", planLargeMeeting=" + planLargeMeeting +
+                ", planWebinar=" + planWebinar +
+                ", planZoomEvents=" + planZoomEvents +
+                ", planAudio=" + planAudio +
+                ", planRecording='" + planRecording + '\'' +
+                '}';
+    }
+    
+    /**
+     * Nested class representing a single plan or add-on subscription
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Plan {
+        
+        @JsonProperty("type")
+        private String type;
+        
+        @JsonProperty("plan_name")
+        private String planName;
+        
+        @JsonProperty("hosts")
+        private Integer hosts;
+        
+        @JsonProperty("usage")
+        private Integer usage;
+        
+        @JsonProperty("status")
+        private String status;
+        
+        // Default constructor
+        public Plan() {}
+        
+        // Getters and Setters
+        public String getType() {
+            return type;
+        }
+        
+        public void setType(String type) {
+            this.type = type;
+        }
+        
+        public String getPlanName() {
+            return planName;
+        }
+        
+        public void setPlanName(String planName) {
+            this.planName = planName;
+        }
+        
+        /**
+         * @return Seats purchased, or null for plans not sold per host
+         */
+        public Integer getHosts() {
+            return hosts;
+        }
+        
+        public void setHosts(Integer hosts) {
+            this.hosts = hosts;
+        }
+        
+        /**
+         * @return Seats in use as reported by Zoom
+         */
+        public Integer getUsage() {
+            return usage;
+        }
+        
+        public void setUsage(Integer usage) {
+            this.usage = usage;
+        }
+        
+        public String getStatus() {
+            return status;
+        }
+        
+        public void setStatus(String status) {
+            this.status = status;
+        }
+        
+        @Override
+        public String toString() {
+            return "Plan{" +
+                    "type='" + type + '\'' +
+                    ", planName='" + planName + '\'' +
+                    ", hosts=" + hosts +
+                    ", usage=" + usage +
+                    ", status='" + status + '\'' +
+                    '}';
+        }
+    }
+}
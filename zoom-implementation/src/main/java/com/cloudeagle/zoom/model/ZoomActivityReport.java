@@ -0,0 +1,180 @@
+package com.cloudeagle.zoom.model;
+
+import com.cloudeagle.zoom.util.InternedStringDeserializer;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.util.List;
+
+/**
+ * Model class representing one page of the Zoom Sign In / Sign Out Activity Report
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZoomActivityReport {
+
+    @JsonProperty("from")
+    private String from;
+
+    @JsonProperty("to")
+    private String to;
+
+    @JsonProperty("page_size")
+    private Integer pageSize;
+
+    @JsonProperty("next_page_token")
+    private String nextPageToken;
+
+    @JsonProperty("activity_logs")
+    private List<ActivityLog> activityLogs;
+
+    // Default constructor
+    public ZoomActivityReport() {}
+
+    // Getters and Setters
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
+    public boolean hasNextPage() {
+        return nextPageToken != null && !nextPageToken.isEmpty();
+    }
+
+    public List<ActivityLog> getActivityLogs() {
+        return activityLogs;
+    }
+
+    public void setActivityLogs(List<ActivityLog> activityLogs) {
+        this.activityLogs = activityLogs;
+    }
+
+    @Override
+    public String toString() {
+        return "ZoomActivityReport{" +
+                "from='" + from + '\'' +
+                ", to='" + to + '\'' +
+                ", pageSize=" + pageSize +
+                ", nextPageToken='" + nextPageToken + '\'' +
+                ", activityLogs=" + activityLogs +
+                '}';
+    }
+
+    /**
+     * Nested class representing a single sign-in or sign-out event
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ActivityLog {
+
+        @JsonProperty("email")
+        private String email;
+
+        @JsonProperty("time")
+        private String time;
+
+        @JsonProperty("type")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
+        private String type;
+
+        @JsonProperty("ip_address")
+        private String ipAddress;
+
+        @JsonProperty("client_type")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
+        private String clientType;
+
+        @JsonProperty("version")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
+        private String version;
+
+        // Default constructor
+        public ActivityLog() {}
+
+        // Getters and Setters
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getTime() {
+            return time;
+        }
+
+        public void setTime(String time) {
+            this.time = time;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getIpAddress() {
+            return ipAddress;
+        }
+
+        public void setIpAddress(String ipAddress) {
+            this.ipAddress = ipAddress;
+        }
+
+        public String getClientType() {
+            return clientType;
+        }
+
+        public void setClientType(String clientType) {
+            this.clientType = clientType;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(String version) {
+            this.version = version;
+        }
+
+        @Override
+        public String toString() {
+            return "ActivityLog{" +
+                    "email='" + email + '\'' +
+                    ", time='" + time + '\'' +
+                    ", type='" + type + '\'' +
+                    ", ipAddress='" + ipAddress + '\'' +
+                    ", clientType='" + clientType + '\'' +
+                    ", version='" + version + '\'' +
+                    '}';
+        }
+    }
+}
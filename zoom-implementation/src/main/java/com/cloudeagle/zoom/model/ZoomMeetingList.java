@@ -0,0 +1,211 @@
+package com.cloudeagle.zoom.model;
+
+import com.cloudeagle.zoom.util.InternedStringDeserializer;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.util.List;
+
+/**
+ * Model class representing one page of a user's scheduled meetings
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZoomMeetingList {
+
+    @JsonProperty("page_size")
+    private Integer pageSize;
+
+    @JsonProperty("total_records")
+    private Integer totalRecords;
+
+    @JsonProperty("next_page_token")
+    private String nextPageToken;
+
+    @JsonProperty("meetings")
+    private List<Meeting> meetings;
+
+    // Default constructor
+    public ZoomMeetingList() {}
+
+    // Getters and Setters
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Integer getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(Integer totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
+    public boolean hasNextPage() {
+        return nextPageToken != null && !nextPageToken.isEmpty();
+    }
+
+    public List<Meeting> getMeetings() {
+        return meetings;
+    }
+
+    public void setMeetings(List<Meeting> meetings) {
+        this.meetings = meetings;
+    }
+
+    @Override
+    public String toString() {
+        return "ZoomMeetingList{" +
+                "pageSize=" + pageSize +
+                ", totalRecords=" + totalRecords +
+                ", nextPageToken='" + nextPageToken + '\'' +
+                ", meetings=" + meetings +
+                '}';
+    }
+
+    /**
+     * A scheduled meeting
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Meeting {
+
+        @JsonProperty("uuid")
+        private String uuid;
+
+        @JsonProperty("id")
+        private Long id;
+
+        @JsonProperty("host_id")
+        private String hostId;
+
+        @JsonProperty("topic")
+        private String topic;
+
+        @JsonProperty("type")
+        private Integer type;
+
+        @JsonProperty("start_time")
+        private String startTime;
+
+        @JsonProperty("duration")
+        private Integer duration;
+
+        @JsonProperty("timezone")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
+        private String timezone;
+
+        @JsonProperty("created_at")
+        private String createdAt;
+
+        @JsonProperty("join_url")
+        private String joinUrl;
+
+        // Default constructor
+        public Meeting() {}
+
+        // Getters and Setters
+        public String getUuid() {
+            return uuid;
+        }
+
+        public void setUuid(String uuid) {
+            this.uuid = uuid;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getHostId() {
+            return hostId;
+        }
+
+        public void setHostId(String hostId) {
+            this.hostId = hostId;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public Integer getType() {
+            return type;
+        }
+
+        public void setType(Integer type) {
+            this.type = type;
+        }
+
+        public String getStartTime() {
+            return startTime;
+        }
+
+        public void setStartTime(String startTime) {
+            this.startTime = startTime;
+        }
+
+        public Integer getDuration() {
+            return duration;
+        }
+
+        public void setDuration(Integer duration) {
+            this.duration = duration;
+        }
+
+        public String getTimezone() {
+            return timezone;
+        }
+
+        public void setTimezone(String timezone) {
+            this.timezone = timezone;
+        }
+
+        public String getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(String createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public String getJoinUrl() {
+            return joinUrl;
+        }
+
+        public void setJoinUrl(String joinUrl) {
+            this.joinUrl = joinUrl;
+        }
+
+        @Override
+        public String toString() {
+            return "Meeting{" +
+                    "id=" + id +
+                    ", uuid='" + uuid + '\'' +
+                    ", hostId='" + hostId + '\'' +
+                    ", topic='" + topic + '\'' +
+                    ", type=" + type +
+                    ", startTime='" + startTime + '\'' +
+                    ", duration=" + duration +
+                    '}';
+        }
+    }
+}
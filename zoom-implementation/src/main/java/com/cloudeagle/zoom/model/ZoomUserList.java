@@ -1,7 +1,10 @@
 package com.cloudeagle.zoom.model;
 
+import com.cloudeagle.zoom.util.InternedStringDeserializer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.util.List;
 
 /**
@@ -22,6 +25,9 @@ public class ZoomUserList {
     @JsonProperty("total_records")
     private Integer totalRecords;
     
+    @JsonProperty("next_page_token")
+    private String nextPageToken;
+    
     @JsonProperty("users")
     private List<ZoomUser> users;
     
@@ -61,6 +67,18 @@ public class ZoomUserList {
         this.totalRecords = totalRecords;
     }
     
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+    
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+    
+    public boolean hasNextPage() {
+        return nextPageToken != null && !nextPageToken.isEmpty();
+    }
+    
     public List<ZoomUser> getUsers() {
         return users;
     }
@@ -76,6 +94,7 @@ public class ZoomUserList {
                 ", pageNumber=" + pageNumber +
                 ", pageSize=" + pageSize +
                 ", totalRecords=" + totalRecords +
+                ", nextPageToken='" + nextPageToken + '\'' +
                 ", users=" + users +
                 '}';
     }
@@ -102,6 +121,7 @@ public class ZoomUserList {
         private Integer type;
         
         @JsonProperty("role_name")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String roleName;
         
         @JsonProperty("pmi")
@@ -114,12 +134,14 @@ public class ZoomUserList {
         private String personalMeetingUrl;
         
         @JsonProperty("timezone")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String timezone;
         
         @JsonProperty("verified")
         private Integer verified;
         
         @JsonProperty("dept")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String dept;
         
         @JsonProperty("created_at")
@@ -129,15 +151,19 @@ public class ZoomUserList {
         private String lastLoginTime;
         
         @JsonProperty("last_client_version")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String lastClientVersion;
         
         @JsonProperty("language")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String language;
         
         @JsonProperty("status")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String status;
         
         @JsonProperty("role_id")
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String roleId;
         
         // Default constructor
@@ -288,10 +314,12 @@ public class ZoomUserList {
             this.roleId = roleId;
         }
         
+        @JsonIgnore
         public String getFullName() {
             return (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "");
         }
         
+        @JsonIgnore
         public String getUserTypeDescription() {
             if (type == null) return "Unknown";
             switch (type) {
@@ -0,0 +1,55 @@
+// Generated by StreamingModelGenerator from ZoomAccount.AccountOptions. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Streaming, reflection-free deserializer for {@link ZoomAccount.AccountOptions}
+ */
+public final class AccountOptionsReader {
+    
+    private AccountOptionsReader() {
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The model, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ZoomAccount.AccountOptions read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        ZoomAccount.AccountOptions value = new ZoomAccount.AccountOptions();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "share_rc":
+                    value.setShareRc(StreamingJson.booleanObject(parser));
+                    break;
+                case "room_connector_token":
+                    value.setRoomConnectorToken(StreamingJson.string(parser));
+                    break;
+                case "share_mc":
+                    value.setShareMc(StreamingJson.booleanObject(parser));
+                    break;
+                case "meeting_connector_token":
+                    value.setMeetingConnectorToken(StreamingJson.string(parser));
+                    break;
+                case "pay_mode":
+                    value.setPayMode(StreamingJson.string(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return value;
+    }
+}
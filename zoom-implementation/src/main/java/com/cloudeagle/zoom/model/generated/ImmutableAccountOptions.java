@@ -0,0 +1,194 @@
+// Generated by StreamingModelGenerator from ZoomAccount.AccountOptions. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Immutable variant of {@link ZoomAccount.AccountOptions} with primitive number and boolean fields.
+ * A missing or null primitive reads as 0 or false; {@code has...()} tells them apart.
+ */
+public final class ImmutableAccountOptions {
+    
+    private final boolean shareRc;
+    private final String roomConnectorToken;
+    private final boolean shareMc;
+    private final String meetingConnectorToken;
+    private final String payMode;
+    private final int present;
+    
+    private ImmutableAccountOptions(
+            boolean shareRc,
+            String roomConnectorToken,
+            boolean shareMc,
+            String meetingConnectorToken,
+            String payMode,
+            int present) {
+        this.shareRc = shareRc;
+        this.roomConnectorToken = roomConnectorToken;
+        this.shareMc = shareMc;
+        this.meetingConnectorToken = meetingConnectorToken;
+        this.payMode = payMode;
+        this.present = present;
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The value, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ImmutableAccountOptions read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        boolean shareRc = false;
+        String roomConnectorToken = null;
+        boolean shareMc = false;
+        String meetingConnectorToken = null;
+        String payMode = null;
+        int present = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "share_rc":
+                    if (!StreamingJson.isNull(parser)) {
+                        shareRc = StreamingJson.booleanValue(parser);
+                        present |= 0x1;
+                    }
+                    break;
+                case "room_connector_token":
+                    roomConnectorToken = StreamingJson.string(parser);
+                    break;
+                case "share_mc":
+                    if (!StreamingJson.isNull(parser)) {
+                        shareMc = StreamingJson.booleanValue(parser);
+                        present |= 0x2;
+                    }
+                    break;
+                case "meeting_connector_token":
+                    meetingConnectorToken = StreamingJson.string(parser);
+                    break;
+                case "pay_mode":
+                    payMode = StreamingJson.string(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return new ImmutableAccountOptions(
+                shareRc,
+                roomConnectorToken,
+                shareMc,
+                meetingConnectorToken,
+                payMode,
+                present);
+    }
+    
+    /**
+     * @return An immutable copy of the model, or null for null
+     */
+    public static ImmutableAccountOptions of(ZoomAccount.AccountOptions model) {
+        if (model == null) {
+            return null;
+        }
+        int present = 0;
+        if (model.getShareRc() != null) {
+            present |= 0x1;
+        }
+        if (model.getShareMc() != null) {
+            present |= 0x2;
+        }
+        return new ImmutableAccountOptions(
+                Boolean.TRUE.equals(model.getShareRc()),
+                model.getRoomConnectorToken(),
+                Boolean.TRUE.equals(model.getShareMc()),
+                model.getMeetingConnectorToken(),
+                model.getPayMode(),
+                present);
+    }
+    
+    public boolean getShareRc() {
+        return shareRc;
+    }
+    
+    public boolean hasShareRc() {
+        return (present & 0x1) != 0;
+    }
+    
+    public String getRoomConnectorToken() {
+        return roomConnectorToken;
+    }
+    
+    public boolean getShareMc() {
+        return shareMc;
+    }
+    
+    public boolean hasShareMc() {
+        return (present & 0x2) != 0;
+    }
+    
+    public String getMeetingConnectorToken() {
+        return meetingConnectorToken;
+    }
+    
+    public String getPayMode() {
+        return payMode;
+    }
+    
+    /**
+     * @return A mutable copy for code that takes the Jackson model
+     */
+    public ZoomAccount.AccountOptions toModel() {
+        ZoomAccount.AccountOptions model = new ZoomAccount.AccountOptions();
+        if (hasShareRc()) {
+            model.setShareRc(shareRc);
+        }
+        model.setRoomConnectorToken(roomConnectorToken);
+        if (hasShareMc()) {
+            model.setShareMc(shareMc);
+        }
+        model.setMeetingConnectorToken(meetingConnectorToken);
+        model.setPayMode(payMode);
+        return model;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImmutableAccountOptions)) {
+            return false;
+        }
+        ImmutableAccountOptions other = (ImmutableAccountOptions) o;
+        return shareRc == other.shareRc
+                && Objects.equals(roomConnectorToken, other.roomConnectorToken)
+                && shareMc == other.shareMc
+                && Objects.equals(meetingConnectorToken, other.meetingConnectorToken)
+                && Objects.equals(payMode, other.payMode)
+                && present == other.present;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(shareRc, roomConnectorToken, shareMc, meetingConnectorToken, payMode);
+    }
+    
+    @Override
+    public String toString() {
+        return "ImmutableAccountOptions{" +
+                "shareRc=" + shareRc +
+                ", roomConnectorToken='" + roomConnectorToken + '\'' +
+                ", shareMc=" + shareMc +
+                ", meetingConnectorToken='" + meetingConnectorToken + '\'' +
+                ", payMode='" + payMode + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,182 @@
+// Generated by StreamingModelGenerator from OAuth2TokenResponse. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Immutable variant of {@link OAuth2TokenResponse} with primitive number and boolean fields.
+ * A missing or null primitive reads as 0 or false; {@code has...()} tells them apart.
+ */
+public final class ImmutableOAuth2TokenResponse {
+    
+    private final String accessToken;
+    private final String tokenType;
+    private final int expiresIn;
+    private final String refreshToken;
+    private final String scope;
+    private final int present;
+    
+    private ImmutableOAuth2TokenResponse(
+            String accessToken,
+            String tokenType,
+            int expiresIn,
+            String refreshToken,
+            String scope,
+            int present) {
+        this.accessToken = accessToken;
+        this.tokenType = tokenType;
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+        this.scope = scope;
+        this.present = present;
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The value, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ImmutableOAuth2TokenResponse read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        String accessToken = null;
+        String tokenType = null;
+        int expiresIn = 0;
+        String refreshToken = null;
+        String scope = null;
+        int present = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "access_token":
+                    accessToken = StreamingJson.string(parser);
+                    break;
+                case "token_type":
+                    tokenType = StreamingJson.string(parser);
+                    break;
+                case "expires_in":
+                    if (!StreamingJson.isNull(parser)) {
+                        expiresIn = StreamingJson.intValue(parser);
+                        present |= 0x1;
+                    }
+                    break;
+                case "refresh_token":
+                    refreshToken = StreamingJson.string(parser);
+                    break;
+                case "scope":
+                    scope = StreamingJson.string(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return new ImmutableOAuth2TokenResponse(
+                accessToken,
+                tokenType,
+                expiresIn,
+                refreshToken,
+                scope,
+                present);
+    }
+    
+    /**
+     * @return An immutable copy of the model, or null for null
+     */
+    public static ImmutableOAuth2TokenResponse of(OAuth2TokenResponse model) {
+        if (model == null) {
+            return null;
+        }
+        int present = 0;
+        if (model.getExpiresIn() != null) {
+            present |= 0x1;
+        }
+        return new ImmutableOAuth2TokenResponse(
+                model.getAccessToken(),
+                model.getTokenType(),
+                model.getExpiresIn() != null ? model.getExpiresIn() : 0,
+                model.getRefreshToken(),
+                model.getScope(),
+                present);
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public String getTokenType() {
+        return tokenType;
+    }
+    
+    public int getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public boolean hasExpiresIn() {
+        return (present & 0x1) != 0;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public String getScope() {
+        return scope;
+    }
+    
+    /**
+     * @return A mutable copy for code that takes the Jackson model
+     */
+    public OAuth2TokenResponse toModel() {
+        OAuth2TokenResponse model = new OAuth2TokenResponse();
+        model.setAccessToken(accessToken);
+        model.setTokenType(tokenType);
+        if (hasExpiresIn()) {
+            model.setExpiresIn(expiresIn);
+        }
+        model.setRefreshToken(refreshToken);
+        model.setScope(scope);
+        return model;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImmutableOAuth2TokenResponse)) {
+            return false;
+        }
+        ImmutableOAuth2TokenResponse other = (ImmutableOAuth2TokenResponse) o;
+        return Objects.equals(accessToken, other.accessToken)
+                && Objects.equals(tokenType, other.tokenType)
+                && expiresIn == other.expiresIn
+                && Objects.equals(refreshToken, other.refreshToken)
+                && Objects.equals(scope, other.scope)
+                && present == other.present;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(accessToken, tokenType, expiresIn, refreshToken, scope);
+    }
+    
+    @Override
+    public String toString() {
+        return "ImmutableOAuth2TokenResponse{" +
+                "accessToken='" + accessToken + '\'' +
+                ", tokenType='" + tokenType + '\'' +
+                ", expiresIn=" + expiresIn +
+                ", refreshToken='" + refreshToken + '\'' +
+                ", scope='" + scope + '\'' +
+                '}';
+    }
+}
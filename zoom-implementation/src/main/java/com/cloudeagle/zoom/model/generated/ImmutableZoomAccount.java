@@ -0,0 +1,209 @@
+// Generated by StreamingModelGenerator from ZoomAccount. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Immutable variant of {@link ZoomAccount}
+ */
+public final class ImmutableZoomAccount {
+    
+    private final String id;
+    private final String accountName;
+    private final String accountAlias;
+    private final String accountSupportName;
+    private final String accountSupportEmail;
+    private final String status;
+    private final String createdAt;
+    private final ImmutableAccountOptions options;
+    
+    private ImmutableZoomAccount(
+            String id,
+            String accountName,
+            String accountAlias,
+            String accountSupportName,
+            String accountSupportEmail,
+            String status,
+            String createdAt,
+            ImmutableAccountOptions options) {
+        this.id = id;
+        this.accountName = accountName;
+        this.accountAlias = accountAlias;
+        this.accountSupportName = accountSupportName;
+        this.accountSupportEmail = accountSupportEmail;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.options = options;
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The value, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ImmutableZoomAccount read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        String id = null;
+        String accountName = null;
+        String accountAlias = null;
+        String accountSupportName = null;
+        String accountSupportEmail = null;
+        String status = null;
+        String createdAt = null;
+        ImmutableAccountOptions options = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = StreamingJson.string(parser);
+                    break;
+                case "account_name":
+                    accountName = StreamingJson.string(parser);
+                    break;
+                case "account_alias":
+                    accountAlias = StreamingJson.string(parser);
+                    break;
+                case "account_support_name":
+                    accountSupportName = StreamingJson.string(parser);
+                    break;
+                case "account_support_email":
+                    accountSupportEmail = StreamingJson.string(parser);
+                    break;
+                case "status":
+                    status = StreamingJson.string(parser);
+                    break;
+                case "created_at":
+                    createdAt = StreamingJson.string(parser);
+                    break;
+                case "options":
+                    options = ImmutableAccountOptions.read(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return new ImmutableZoomAccount(
+                id,
+                accountName,
+                accountAlias,
+                accountSupportName,
+                accountSupportEmail,
+                status,
+                createdAt,
+                options);
+    }
+    
+    /**
+     * @return An immutable copy of the model, or null for null
+     */
+    public static ImmutableZoomAccount of(ZoomAccount model) {
+        if (model == null) {
+            return null;
+        }
+        return new ImmutableZoomAccount(
+                model.getId(),
+                model.getAccountName(),
+                model.getAccountAlias(),
+                model.getAccountSupportName(),
+                model.getAccountSupportEmail(),
+                model.getStatus(),
+                model.getCreatedAt(),
+                ImmutableAccountOptions.of(model.getOptions()));
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getAccountName() {
+        return accountName;
+    }
+    
+    public String getAccountAlias() {
+        return accountAlias;
+    }
+    
+    public String getAccountSupportName() {
+        return accountSupportName;
+    }
+    
+    public String getAccountSupportEmail() {
+        return accountSupportEmail;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public String getCreatedAt() {
+        return createdAt;
+    }
+    
+    public ImmutableAccountOptions getOptions() {
+        return options;
+    }
+    
+    /**
+     * @return A mutable copy for code that takes the Jackson model
+     */
+    public ZoomAccount toModel() {
+        ZoomAccount model = new ZoomAccount();
+        model.setId(id);
+        model.setAccountName(accountName);
+        model.setAccountAlias(accountAlias);
+        model.setAccountSupportName(accountSupportName);
+        model.setAccountSupportEmail(accountSupportEmail);
+        model.setStatus(status);
+        model.setCreatedAt(createdAt);
+        model.setOptions(options != null ? options.toModel() : null);
+        return model;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImmutableZoomAccount)) {
+            return false;
+        }
+        ImmutableZoomAccount other = (ImmutableZoomAccount) o;
+        return Objects.equals(id, other.id)
+                && Objects.equals(accountName, other.accountName)
+                && Objects.equals(accountAlias, other.accountAlias)
+                && Objects.equals(accountSupportName, other.accountSupportName)
+                && Objects.equals(accountSupportEmail, other.accountSupportEmail)
+                && Objects.equals(status, other.status)
+                && Objects.equals(createdAt, other.createdAt)
+                && Objects.equals(options, other.options);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, accountName, accountAlias, accountSupportName, accountSupportEmail, status, createdAt, options);
+    }
+    
+    @Override
+    public String toString() {
+        return "ImmutableZoomAccount{" +
+                "id='" + id + '\'' +
+                ", accountName='" + accountName + '\'' +
+                ", accountAlias='" + accountAlias + '\'' +
+                ", accountSupportName='" + accountSupportName + '\'' +
+                ", accountSupportEmail='" + accountSupportEmail + '\'' +
+                ", status='" + status + '\'' +
+                ", createdAt='" + createdAt + '\'' +
+                ", options=" + options +
+                '}';
+    }
+}
@@ -0,0 +1,426 @@
+// Generated by StreamingModelGenerator from ZoomUserList.ZoomUser. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Immutable variant of {@link ZoomUserList.ZoomUser} with primitive number and boolean fields.
+ * A missing or null primitive reads as 0 or false; {@code has...()} tells them apart.
+ */
+public final class ImmutableZoomUser {
+    
+    private final String id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final int type;
+    private final String roleName;
+    private final long pmi;
+    private final boolean usePmi;
+    private final String personalMeetingUrl;
+    private final String timezone;
+    private final int verified;
+    private final String dept;
+    private final String createdAt;
+    private final String lastLoginTime;
+    private final String lastClientVersion;
+    private final String language;
+    private final String status;
+    private final String roleId;
+    private final int present;
+    
+    private ImmutableZoomUser(
+            String id,
+            String firstName,
+            String lastName,
+            String email,
+            int type,
+            String roleName,
+            long pmi,
+            boolean usePmi,
+            String personalMeetingUrl,
+            String timezone,
+            int verified,
+            String dept,
+            String createdAt,
+            String lastLoginTime,
+            String lastClientVersion,
+            String language,
+            String status,
+            String roleId,
+            int present) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.type = type;
+        this.roleName = roleName;
+        this.pmi = pmi;
+        this.usePmi = usePmi;
+        this.personalMeetingUrl = personalMeetingUrl;
+        this.timezone = timezone;
+        this.verified = verified;
+        this.dept = dept;
+        this.createdAt = createdAt;
+        this.lastLoginTime = lastLoginTime;
+        this.lastClientVersion = lastClientVersion;
+        this.language = language;
+        this.status = status;
+        this.roleId = roleId;
+        this.present = present;
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The value, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ImmutableZoomUser read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        String id = null;
+        String firstName = null;
+        String lastName = null;
+        String email = null;
+        int type = 0;
+        String roleName = null;
+        long pmi = 0;
+        boolean usePmi = false;
+        String personalMeetingUrl = null;
+        String timezone = null;
+        int verified = 0;
+        String dept = null;
+        String createdAt = null;
+        String lastLoginTime = null;
+        String lastClientVersion = null;
+        String language = null;
+        String status = null;
+        String roleId = null;
+        int present = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = StreamingJson.string(parser);
+                    break;
+                case "first_name":
+                    firstName = StreamingJson.string(parser);
+                    break;
+                case "last_name":
+                    lastName = StreamingJson.string(parser);
+                    break;
+                case "email":
+                    email = StreamingJson.string(parser);
+                    break;
+                case "type":
+                    if (!StreamingJson.isNull(parser)) {
+                        type = StreamingJson.intValue(parser);
+                        present |= 0x1;
+                    }
+                    break;
+                case "role_name":
+                    roleName = StreamingJson.internedString(parser);
+                    break;
+                case "pmi":
+                    if (!StreamingJson.isNull(parser)) {
+                        pmi = StreamingJson.longValue(parser);
+                        present |= 0x2;
+                    }
+                    break;
+                case "use_pmi":
+                    if (!StreamingJson.isNull(parser)) {
+                        usePmi = StreamingJson.booleanValue(parser);
+                        present |= 0x4;
+                    }
+                    break;
+                case "personal_meeting_url":
+                    personalMeetingUrl = StreamingJson.string(parser);
+                    break;
+                case "timezone":
+                    timezone = StreamingJson.internedString(parser);
+                    break;
+                case "verified":
+                    if (!StreamingJson.isNull(parser)) {
+                        verified = StreamingJson.intValue(parser);
+                        present |= 0x8;
+                    }
+                    break;
+                case "dept":
+                    dept = StreamingJson.internedString(parser);
+                    break;
+                case "created_at":
+                    createdAt = StreamingJson.string(parser);
+                    break;
+                case "last_login_time":
+                    lastLoginTime = StreamingJson.string(parser);
+                    break;
+                case "last_client_version":
+                    lastClientVersion = StreamingJson.internedString(parser);
+                    break;
+                case "language":
+                    language = StreamingJson.internedString(parser);
+                    break;
+                case "status":
+                    status = StreamingJson.internedString(parser);
+                    break;
+                case "role_id":
+                    roleId = StreamingJson.internedString(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return new ImmutableZoomUser(
+                id,
+                firstName,
+                lastName,
+                email,
+                type,
+                roleName,
+                pmi,
+                usePmi,
+                personalMeetingUrl,
+                timezone,
+                verified,
+                dept,
+                createdAt,
+                lastLoginTime,
+                lastClientVersion,
+                language,
+                status,
+                roleId,
+                present);
+    }
+    
+    /**
+     * @return An immutable copy of the model, or null for null
+     */
+    public static ImmutableZoomUser of(ZoomUserList.ZoomUser model) {
+        if (model == null) {
+            return null;
+        }
+        int present = 0;
+        if (model.getType() != null) {
+            present |= 0x1;
+        }
+        if (model.getPmi() != null) {
+            present |= 0x2;
+        }
+        if (model.getUsePmi() != null) {
+            present |= 0x4;
+        }
+        if (model.getVerified() != null) {
+            present |= 0x8;
+        }
+        return new ImmutableZoomUser(
+                model.getId(),
+                model.getFirstName(),
+                model.getLastName(),
+                model.getEmail(),
+                model.getType() != null ? model.getType() : 0,
+                model.getRoleName(),
+                model.getPmi() != null ? model.getPmi() : 0,
+                Boolean.TRUE.equals(model.getUsePmi()),
+                model.getPersonalMeetingUrl(),
+                model.getTimezone(),
+                model.getVerified() != null ? model.getVerified() : 0,
+                model.getDept(),
+                model.getCreatedAt(),
+                model.getLastLoginTime(),
+                model.getLastClientVersion(),
+                model.getLanguage(),
+                model.getStatus(),
+                model.getRoleId(),
+                present);
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public int getType() {
+        return type;
+    }
+    
+    public boolean hasType() {
+        return (present & 0x1) != 0;
+    }
+    
+    public String getRoleName() {
+        return roleName;
+    }
+    
+    public long getPmi() {
+        return pmi;
+    }
+    
+    public boolean hasPmi() {
+        return (present & 0x2) != 0;
+    }
+    
+    public boolean getUsePmi() {
+        return usePmi;
+    }
+    
+    public boolean hasUsePmi() {
+        return (present & 0x4) != 0;
+    }
+    
+    public String getPersonalMeetingUrl() {
+        return personalMeetingUrl;
+    }
+    
+    public String getTimezone() {
+        return timezone;
+    }
+    
+    public int getVerified() {
+        return verified;
+    }
+    
+    public boolean hasVerified() {
+        return (present & 0x8) != 0;
+    }
+    
+    public String getDept() {
+        return dept;
+    }
+    
+    public String getCreatedAt() {
+        return createdAt;
+    }
+    
+    public String getLastLoginTime() {
+        return lastLoginTime;
+    }
+    
+    public String getLastClientVersion() {
+        return lastClientVersion;
+    }
+    
+    public String getLanguage() {
+        return language;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public String getRoleId() {
+        return roleId;
+    }
+    
+    /**
+     * @return A mutable copy for code that takes the Jackson model
+     */
+    public ZoomUserList.ZoomUser toModel() {
+        ZoomUserList.ZoomUser model = new ZoomUserList.ZoomUser();
+        model.setId(id);
+        model.setFirstName(firstName);
+        model.setLastName(lastName);
+        model.setEmail(email);
+        if (hasType()) {
+            model.setType(type);
+        }
+        model.setRoleName(roleName);
+        if (hasPmi()) {
+            model.setPmi(pmi);
+        }
+        if (hasUsePmi()) {
+            model.setUsePmi(usePmi);
+        }
+        model.setPersonalMeetingUrl(personalMeetingUrl);
+        model.setTimezone(timezone);
+        if (hasVerified()) {
+            model.setVerified(verified);
+        }
+        model.setDept(dept);
+        model.setCreatedAt(createdAt);
+        model.setLastLoginTime(lastLoginTime);
+        model.setLastClientVersion(lastClientVersion);
+        model.setLanguage(language);
+        model.setStatus(status);
+        model.setRoleId(roleId);
+        return model;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImmutableZoomUser)) {
+            return false;
+        }
+        ImmutableZoomUser other = (ImmutableZoomUser) o;
+        return Objects.equals(id, other.id)
+                && Objects.equals(firstName, other.firstName)
+                && Objects.equals(lastName, other.lastName)
+                && Objects.equals(email, other.email)
+                && type == other.type
+                && Objects.equals(roleName, other.roleName)
+                && pmi == other.pmi
+                && usePmi == other.usePmi
+                && Objects.equals(personalMeetingUrl, other.personalMeetingUrl)
+                && Objects.equals(timezone, other.timezone)
+                && verified == other.verified
+                && Objects.equals(dept, other.dept)
+                && Objects.equals(createdAt, other.createdAt)
+                && Objects.equals(lastLoginTime, other.lastLoginTime)
+                && Objects.equals(lastClientVersion, other.lastClientVersion)
+                && Objects.equals(language, other.language)
+                && Objects.equals(status, other.status)
+                && Objects.equals(roleId, other.roleId)
+                && present == other.present;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, firstName, lastName, email, type, roleName, pmi, usePmi, personalMeetingUrl, timezone, verified, dept, createdAt, lastLoginTime, lastClientVersion, language, status, roleId);
+    }
+    
+    @Override
+    public String toString() {
+        return "ImmutableZoomUser{" +
+                "id='" + id + '\'' +
+                ", firstName='" + firstName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                ", email='" + email + '\'' +
+                ", type=" + type +
+                ", roleName='" + roleName + '\'' +
+                ", pmi=" + pmi +
+                ", usePmi=" + usePmi +
+                ", personalMeetingUrl='" + personalMeetingUrl + '\'' +
+                ", timezone='" + timezone + '\'' +
+                ", verified=" + verified +
+                ", dept='" + dept + '\'' +
+                ", createdAt='" + createdAt + '\'' +
+                ", lastLoginTime='" + lastLoginTime + '\'' +
+                ", lastClientVersion='" + lastClientVersion + '\'' +
+                ", language='" + language + '\'' +
+                ", status='" + status + '\'' +
+                ", roleId='" + roleId + '\'' +
+                '}';
+    }
+}
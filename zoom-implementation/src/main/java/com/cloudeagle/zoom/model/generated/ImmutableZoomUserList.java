@@ -0,0 +1,257 @@
+// Generated by StreamingModelGenerator from ZoomUserList. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable variant of {@link ZoomUserList} with primitive number and boolean fields.
+ * A missing or null primitive reads as 0 or false; {@code has...()} tells them apart.
+ */
+public final class ImmutableZoomUserList {
+    
+    private final int pageCount;
+    private final int pageNumber;
+    private final int pageSize;
+    private final int totalRecords;
+    private final String nextPageToken;
+    private final List<ImmutableZoomUser> users;
+    private final int present;
+    
+    private ImmutableZoomUserList(
+            int pageCount,
+            int pageNumber,
+            int pageSize,
+            int totalRecords,
+            String nextPageToken,
+            List<ImmutableZoomUser> users,
+            int present) {
+        this.pageCount = pageCount;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalRecords = totalRecords;
+        this.nextPageToken = nextPageToken;
+        this.users = users != null ? Collections.unmodifiableList(users) : null;
+        this.present = present;
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The value, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ImmutableZoomUserList read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        int pageCount = 0;
+        int pageNumber = 0;
+        int pageSize = 0;
+        int totalRecords = 0;
+        String nextPageToken = null;
+        List<ImmutableZoomUser> users = null;
+        int present = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "page_count":
+                    if (!StreamingJson.isNull(parser)) {
+                        pageCount = StreamingJson.intValue(parser);
+                        present |= 0x1;
+                    }
+                    break;
+                case "page_number":
+                    if (!StreamingJson.isNull(parser)) {
+                        pageNumber = StreamingJson.intValue(parser);
+                        present |= 0x2;
+                    }
+                    break;
+                case "page_size":
+                    if (!StreamingJson.isNull(parser)) {
+                        pageSize = StreamingJson.intValue(parser);
+                        present |= 0x4;
+                    }
+                    break;
+                case "total_records":
+                    if (!StreamingJson.isNull(parser)) {
+                        totalRecords = StreamingJson.intValue(parser);
+                        present |= 0x8;
+                    }
+                    break;
+                case "next_page_token":
+                    nextPageToken = StreamingJson.string(parser);
+                    break;
+                case "users":
+                    if (StreamingJson.startArray(parser)) {
+                        users = new ArrayList<>();
+                        while (StreamingJson.nextElement(parser)) {
+                            users.add(ImmutableZoomUser.read(parser));
+                        }
+                    } else {
+                        users = null;
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return new ImmutableZoomUserList(
+                pageCount,
+                pageNumber,
+                pageSize,
+                totalRecords,
+                nextPageToken,
+                users,
+                present);
+    }
+    
+    /**
+     * @return An immutable copy of the model, or null for null
+     */
+    public static ImmutableZoomUserList of(ZoomUserList model) {
+        if (model == null) {
+            return null;
+        }
+        int present = 0;
+        if (model.getPageCount() != null) {
+            present |= 0x1;
+        }
+        if (model.getPageNumber() != null) {
+            present |= 0x2;
+        }
+        if (model.getPageSize() != null) {
+            present |= 0x4;
+        }
+        if (model.getTotalRecords() != null) {
+            present |= 0x8;
+        }
+        List<ImmutableZoomUser> users = null;
+        if (model.getUsers() != null) {
+            users = new ArrayList<>(model.getUsers().size());
+            for (ZoomUserList.ZoomUser element : model.getUsers()) {
+                users.add(ImmutableZoomUser.of(element));
+            }
+        }
+        return new ImmutableZoomUserList(
+                model.getPageCount() != null ? model.getPageCount() : 0,
+                model.getPageNumber() != null ? model.getPageNumber() : 0,
+                model.getPageSize() != null ? model.getPageSize() : 0,
+                model.getTotalRecords() != null ? model.getTotalRecords() : 0,
+                model.getNextPageToken(),
+                users,
+                present);
+    }
+    
+    public int getPageCount() {
+        return pageCount;
+    }
+    
+    public boolean hasPageCount() {
+        return (present & 0x1) != 0;
+    }
+    
+    public int getPageNumber() {
+        return pageNumber;
+    }
+    
+    public boolean hasPageNumber() {
+        return (present & 0x2) != 0;
+    }
+    
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public boolean hasPageSize() {
+        return (present & 0x4) != 0;
+    }
+    
+    public int getTotalRecords() {
+        return totalRecords;
+    }
+    
+    public boolean hasTotalRecords() {
+        return (present & 0x8) != 0;
+    }
+    
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+    
+    public List<ImmutableZoomUser> getUsers() {
+        return users;
+    }
+    
+    /**
+     * @return A mutable copy for code that takes the Jackson model
+     */
+    public ZoomUserList toModel() {
+        ZoomUserList model = new ZoomUserList();
+        if (hasPageCount()) {
+            model.setPageCount(pageCount);
+        }
+        if (hasPageNumber()) {
+            model.setPageNumber(pageNumber);
+        }
+        if (hasPageSize()) {
+            model.setPageSize(pageSize);
+        }
+        if (hasTotalRecords()) {
+            model.setTotalRecords(totalRecords);
+        }
+        model.setNextPageToken(nextPageToken);
+        if (users != null) {
+            List<ZoomUserList.ZoomUser> copy = new ArrayList<>(users.size());
+            for (ImmutableZoomUser element : users) {
+                copy.add(element.toModel());
+            }
+            model.setUsers(copy);
+        }
+        return model;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImmutableZoomUserList)) {
+            return false;
+        }
+        ImmutableZoomUserList other = (ImmutableZoomUserList) o;
+        return pageCount == other.pageCount
+                && pageNumber == other.pageNumber
+                && pageSize == other.pageSize
+                && totalRecords == other.totalRecords
+                && Objects.equals(nextPageToken, other.nextPageToken)
+                && Objects.equals(users, other.users)
+                && present == other.present;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageCount, pageNumber, pageSize, totalRecords, nextPageToken, users);
+    }
+    
+    @Override
+    public String toString() {
+        return "ImmutableZoomUserList{" +
+                "pageCount=" + pageCount +
+                ", pageNumber=" + pageNumber +
+                ", pageSize=" + pageSize +
+                ", totalRecords=" + totalRecords +
+                ", nextPageToken='" + nextPageToken + '\'' +
+                ", users=" + users +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+// Generated by StreamingModelGenerator from OAuth2TokenResponse. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Streaming, reflection-free deserializer for {@link OAuth2TokenResponse}
+ */
+public final class OAuth2TokenResponseReader {
+    
+    private OAuth2TokenResponseReader() {
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The model, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static OAuth2TokenResponse read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        OAuth2TokenResponse value = new OAuth2TokenResponse();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "access_token":
+                    value.setAccessToken(StreamingJson.string(parser));
+                    break;
+                case "token_type":
+                    value.setTokenType(StreamingJson.string(parser));
+                    break;
+                case "expires_in":
+                    value.setExpiresIn(StreamingJson.integer(parser));
+                    break;
+                case "refresh_token":
+                    value.setRefreshToken(StreamingJson.string(parser));
+                    break;
+                case "scope":
+                    value.setScope(StreamingJson.string(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+// Generated by StreamingModelGenerator from ZoomAccount. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Streaming, reflection-free deserializer for {@link ZoomAccount}
+ */
+public final class ZoomAccountReader {
+    
+    private ZoomAccountReader() {
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The model, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ZoomAccount read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        ZoomAccount value = new ZoomAccount();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    value.setId(StreamingJson.string(parser));
+                    break;
+                case "account_name":
+                    value.setAccountName(StreamingJson.string(parser));
+                    break;
+                case "account_alias":
+                    value.setAccountAlias(StreamingJson.string(parser));
+                    break;
+                case "account_support_name":
+                    value.setAccountSupportName(StreamingJson.string(parser));
+                    break;
+                case "account_support_email":
+                    value.setAccountSupportEmail(StreamingJson.string(parser));
+                    break;
+                case "status":
+                    value.setStatus(StreamingJson.string(parser));
+                    break;
+                case "created_at":
+                    value.setCreatedAt(StreamingJson.string(parser));
+                    break;
+                case "options":
+                    value.setOptions(AccountOptionsReader.read(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return value;
+    }
+}
@@ -0,0 +1,68 @@
+// Generated by StreamingModelGenerator from ZoomUserList. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming, reflection-free deserializer for {@link ZoomUserList}
+ */
+public final class ZoomUserListReader {
+    
+    private ZoomUserListReader() {
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The model, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ZoomUserList read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        ZoomUserList value = new ZoomUserList();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "page_count":
+                    value.setPageCount(StreamingJson.integer(parser));
+                    break;
+                case "page_number":
+                    value.setPageNumber(StreamingJson.integer(parser));
+                    break;
+                case "page_size":
+                    value.setPageSize(StreamingJson.integer(parser));
+                    break;
+                case "total_records":
+                    value.setTotalRecords(StreamingJson.integer(parser));
+                    break;
+                case "next_page_token":
+                    value.setNextPageToken(StreamingJson.string(parser));
+                    break;
+                case "users":
+                    if (StreamingJson.startArray(parser)) {
+                        List<ZoomUserList.ZoomUser> users = new ArrayList<>();
+                        while (StreamingJson.nextElement(parser)) {
+                            users.add(ZoomUserReader.read(parser));
+                        }
+                        value.setUsers(users);
+                    } else {
+                        value.setUsers(null);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return value;
+    }
+}
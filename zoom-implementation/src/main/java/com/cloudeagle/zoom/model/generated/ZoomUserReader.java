@@ -0,0 +1,94 @@
+// Generated by StreamingModelGenerator from ZoomUserList.ZoomUser. Do not edit.
+package com.cloudeagle.zoom.model.generated;
+
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Streaming, reflection-free deserializer for {@link ZoomUserList.ZoomUser}
+ */
+public final class ZoomUserReader {
+    
+    private ZoomUserReader() {
+    }
+    
+    /**
+     * @param parser Parser positioned at, or just before, the object
+     * @return The model, or null for a JSON null
+     * @throws IOException If the JSON is malformed or a value has the wrong type
+     */
+    public static ZoomUserList.ZoomUser read(JsonParser parser) throws IOException {
+        if (!StreamingJson.startObject(parser)) {
+            return null;
+        }
+        ZoomUserList.ZoomUser value = new ZoomUserList.ZoomUser();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    value.setId(StreamingJson.string(parser));
+                    break;
+                case "first_name":
+                    value.setFirstName(StreamingJson.string(parser));
+                    break;
+                case "last_name":
+                    value.setLastName(StreamingJson.string(parser));
+                    break;
+                case "email":
+                    value.setEmail(StreamingJson.string(parser));
+                    break;
+                case "type":
+                    value.setType(StreamingJson.integer(parser));
+                    break;
+                case "role_name":
+                    value.setRoleName(StreamingJson.internedString(parser));
+                    break;
+                case "pmi":
+                    value.setPmi(StreamingJson.longObject(parser));
+                    break;
+                case "use_pmi":
+                    value.setUsePmi(StreamingJson.booleanObject(parser));
+                    break;
+                case "personal_meeting_url":
+                    value.setPersonalMeetingUrl(StreamingJson.string(parser));
+                    break;
+                case "timezone":
+                    value.setTimezone(StreamingJson.internedString(parser));
+                    break;
+                case "verified":
+                    value.setVerified(StreamingJson.integer(parser));
+                    break;
+                case "dept":
+                    value.setDept(StreamingJson.internedString(parser));
+                    break;
+                case "created_at":
+                    value.setCreatedAt(StreamingJson.string(parser));
+                    break;
+                case "last_login_time":
+                    value.setLastLoginTime(StreamingJson.string(parser));
+                    break;
+                case "last_client_version":
+                    value.setLastClientVersion(StreamingJson.internedString(parser));
+                    break;
+                case "language":
+                    value.setLanguage(StreamingJson.internedString(parser));
+                    break;
+                case "status":
+                    value.setStatus(StreamingJson.internedString(parser));
+                    break;
+                case "role_id":
+                    value.setRoleId(StreamingJson.internedString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        StreamingJson.endObject(parser);
+        return value;
+    }
+}
@@ -0,0 +1,230 @@
+package com.cloudeagle.zoom.shard;
+
+import com.cloudeagle.zoom.util.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Lease store in a directory shared by all workers (local disk for tests, or a network file system
+ * with working {@code fcntl} locks).
+ *
+ * Each shard has a {@code shard-N.lease} file holding owner, fencing token and expiry; it is read
+ * and rewritten under an exclusive {@link FileLock}. Heartbeats are {@code workers/ID.hb} files
+ * holding an expiry. Expiry uses wall-clock time, so worker clocks must agree to well within the
+ * lease duration.
+ */
+public class FileLeaseBackend implements LeaseBackend {
+    
+    private static final Pattern WORKER_ID = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final String HEARTBEAT_SUFFIX = ".hb";
+    
+    /**
+     * File locks are held per JVM, not per thread; serialize in-process access to each file first
+     */
+    private static final ConcurrentMap<Path, Object> LOCAL_LOCKS = new ConcurrentHashMap<>();
+    
+    private final Path directory;
+    private final Path workersDirectory;
+    
+    /**
+     * @param directory Shared directory, created if missing
+     * @throws IOException If the directory cannot be created
+     */
+    public FileLeaseBackend(Path directory) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.workersDirectory = this.directory.resolve("workers");
+        Files.createDirectories(workersDirectory);
+    }
+    
+    @Override
+    public Lease tryAcquire(int shard, String owner, Duration ttl) throws IOException {
+        checkWorkerId(owner);
+        return update(shard, current -> {
+            long now = System.currentTimeMillis();
+            if (current != null && !current.isExpired(now) && !current.getOwner().equals(owner)) {
+                return null;
+            }
+            long token;
+            if (current == null) {
+                token = 1;
+            } else if (current.getOwner().equals(owner) && !current.isExpired(now)) {
+                token = current.getToken();
+            } else {
+                token = current.getToken() + 1;
+            }
+            return new Lease(shard, owner, token, now + ttl.toMillis());
+        });
+    }
+    
+    @Override
+    public Lease renew(Lease lease, Duration ttl) throws IOException {
+        return update(lease.getShard(), current -> {
+            long now = System.currentTimeMillis();
+            if (!holds(current, lease, now)) {
+                return null;
+            }
+            return new Lease(lease.getShard(), lease.getOwner(), lease.getToken(), now + ttl.toMillis());
+        });
+    }
+    
+    @Override
+    public void release(Lease lease) throws IOException {
+        update(lease.getShard(), current -> {
+            if (!holds(current, lease, System.currentTimeMillis())) {
+                return null;
+            }
+            // Keep the token so the next owner's is still higher
+            return new Lease(lease.getShard(), lease.getOwner(), lease.getToken(), 0);
+        });
+    }
+    
+    @Override
+    public List<Lease> listLeases() throws IOException {
+        List<Lease> leases = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "shard-*.lease")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int shard = Integer.parseInt(name.substring("shard-".length(), name.length() - ".lease".length()));
+                Lease lease = read(shard);
+                if (lease != null && !lease.isExpired(now)) {
+                    leases.add(lease);
+                }
+            }
+        }
+        return leases;
+    }
+    
+    @Override
+    public void heartbeat(String owner, Duration ttl) throws IOException {
+        checkWorkerId(owner);
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        AtomicFiles.write(workersDirectory.resolve(owner + HEARTBEAT_SUFFIX),
+                Long.toString(expiresAt).getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    @Override
+    public void leave(String owner) throws IOException {
+        checkWorkerId(owner);
+        Files.deleteIfExists(workersDirectory.resolve(owner + HEARTBEAT_SUFFIX));
+    }
+    
+    @Override
+    public Set<String> liveWorkers() throws IOException {
+        Set<String> workers = new HashSet<>();
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(workersDirectory, "*" + HEARTBEAT_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    String content = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim();
+                    if (Long.parseLong(content) > now) {
+                        String name = file.getFileName().toString();
+                        workers.add(name.substring(0, name.length() - HEARTBEAT_SUFFIX.length()));
+                    }
+                } catch (NoSuchFileException | NumberFormatException e) {
+                    // Worker left or is mid-rewrite; it shows up again on the next heartbeat
+                }
+            }
+        }
+        return workers;
+    }
+    
+    private static boolean holds(Lease current, Lease lease, long now) {
+        return current != null && !current.isExpired(now)
+                && current.getOwner().equals(lease.getOwner()) && current.getToken() == lease.getToken();
+    }
+    
+    /**
+     * Read a shard's lease and optionally replace it, atomically across processes
+     * 
+     * @param shard Shard number
+     * @param change Receives the current lease (null if none or unreadable); returns the lease to
+     *               write, or null to leave the file unchanged
+     * @return The written lease, or null if nothing was written
+     */
+    private Lease update(int shard, LeaseChange change) throws IOException {
+        if (shard < 0) {
+            throw new IllegalArgumentException("Shard must not be negative: " + shard);
+        }
+        Path file = directory.resolve(String.format("shard-%04d.lease", shard));
+        Object localLock = LOCAL_LOCKS.computeIfAbsent(file, key -> new Object());
+        synchronized (localLock) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Lease current = read(channel, shard);
+                Lease next = change.apply(current);
+                if (next == null) {
+                    return null;
+                }
+                byte[] content = (next.getOwner() + "\n" + next.getToken() + "\n" + next.getExpiresAtMillis() + "\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                channel.truncate(0);
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, content.length - buffer.remaining());
+                }
+                channel.force(false);
+                return next;
+            }
+        }
+    }
+    
+    private Lease read(int shard) throws IOException {
+        Lease[] current = new Lease[1];
+        update(shard, lease -> {
+            current[0] = lease;
+            return null;
+        });
+        return current[0];
+    }
+    
+    private static Lease read(FileChannel channel, int shard) throws IOException {
+        long size = channel.size();
+        if (size == 0 || size > 4096) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // keep reading
+        }
+        String[] lines = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).split("\n");
+        if (lines.length < 3) {
+            return null;
+        }
+        try {
+            return new Lease(shard, lines[0], Long.parseLong(lines[1]), Long.parseLong(lines[2]));
+        } catch (NumberFormatException e) {
+            // Torn write from a crashed worker: treat the shard as free
+            return null;
+        }
+    }
+    
+    private static void checkWorkerId(String owner) {
+        if (owner == null || !WORKER_ID.matcher(owner).matches()) {
+            throw new IllegalArgumentException("Worker id must match " + WORKER_ID.pattern() + ": " + owner);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface LeaseChange {
+        Lease apply(Lease current);
+    }
+}
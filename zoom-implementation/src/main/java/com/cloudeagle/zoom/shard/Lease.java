@@ -0,0 +1,62 @@
+package com.cloudeagle.zoom.shard;
+
+/**
+ * Time-limited, exclusive claim of one tenant shard by one worker.
+ *
+ * The token increases every time the shard changes hands. Writers that must not be overtaken by a
+ * worker whose lease expired mid-sync can store it alongside their data and reject lower tokens.
+ */
+public final class Lease {
+    
+    private final int shard;
+    private final String owner;
+    private final long token;
+    private final long expiresAtMillis;
+    
+    public Lease(int shard, String owner, long token, long expiresAtMillis) {
+        this.shard = shard;
+        this.owner = owner;
+        this.token = token;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+    
+    public int getShard() {
+        return shard;
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+    
+    /**
+     * @return Fencing token, strictly increasing per shard across owners
+     */
+    public long getToken() {
+        return token;
+    }
+    
+    /**
+     * @return Expiry in epoch milliseconds
+     */
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+    
+    /**
+     * @param nowMillis Current time in epoch milliseconds
+     * @return Whether the lease has run out
+     */
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return "Lease{" +
+                "shard=" + shard +
+                ", owner='" + owner + '\'' +
+                ", token=" + token +
+                ", expiresAtMillis=" + expiresAtMillis +
+                '}';
+    }
+}
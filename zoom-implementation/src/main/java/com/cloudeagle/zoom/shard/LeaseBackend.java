@@ -0,0 +1,71 @@
+package com.cloudeagle.zoom.shard;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared store of shard leases and worker heartbeats. Implementations must make
+ * {@link #tryAcquire} and {@link #renew} atomic across every worker using the same store.
+ */
+public interface LeaseBackend {
+    
+    /**
+     * Claim a shard if it is free, expired or already held by the same owner
+     * 
+     * @param shard Shard number
+     * @param owner Worker id
+     * @param ttl Lease duration
+     * @return The new lease, or null if another worker holds the shard
+     * @throws IOException If the store is unavailable
+     */
+    Lease tryAcquire(int shard, String owner, Duration ttl) throws IOException;
+    
+    /**
+     * Extend a lease that is still held
+     * 
+     * @param lease Lease returned by an earlier acquire or renew
+     * @param ttl New duration from now
+     * @return The extended lease, or null if it expired and was taken over
+     * @throws IOException If the store is unavailable
+     */
+    Lease renew(Lease lease, Duration ttl) throws IOException;
+    
+    /**
+     * Give a shard up before its lease expires. Does nothing if the lease was already lost.
+     * 
+     * @param lease The lease
+     * @throws IOException If the store is unavailable
+     */
+    void release(Lease lease) throws IOException;
+    
+    /**
+     * @return Unexpired leases of all workers
+     * @throws IOException If the store is unavailable
+     */
+    List<Lease> listLeases() throws IOException;
+    
+    /**
+     * Announce a worker as alive, so others can compute their fair share of shards
+     * 
+     * @param owner Worker id
+     * @param ttl How long the announcement is valid
+     * @throws IOException If the store is unavailable
+     */
+    void heartbeat(String owner, Duration ttl) throws IOException;
+    
+    /**
+     * Withdraw a worker's heartbeat on shutdown
+     * 
+     * @param owner Worker id
+     * @throws IOException If the store is unavailable
+     */
+    void leave(String owner) throws IOException;
+    
+    /**
+     * @return Ids of workers with an unexpired heartbeat
+     * @throws IOException If the store is unavailable
+     */
+    Set<String> liveWorkers() throws IOException;
+}
@@ -0,0 +1,239 @@
+package com.cloudeagle.zoom.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Splits tenant syncs across worker processes.
+ *
+ * Tenants are hashed into a fixed number of shards. Each worker heartbeats into a shared
+ * {@link LeaseBackend}, claims up to its fair share of shards ({@code ceil(shards / live workers)}),
+ * sheds any excess when new workers join, and renews its leases every third of the lease duration.
+ * A tenant is only synced while its shard's lease is held, so no two workers sync it at once; when
+ * a worker dies its leases expire and the survivors pick its shards up.
+ *
+ * A sync that outlives the lease (renewal failed, e.g. the store was unreachable) can overlap with
+ * the next owner; pass {@link Lease#getToken()} to writes that need to be fenced against that.
+ */
+public class ShardedSyncWorker implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardedSyncWorker.class);
+    
+    private final String workerId;
+    private final LeaseBackend backend;
+    private final int shardCount;
+    private final Duration leaseTtl;
+    private final Map<Integer, Lease> owned = new ConcurrentHashMap<>();
+    private final Set<Integer> busy = new HashSet<>();
+    private ScheduledExecutorService scheduler;
+    
+    /**
+     * @param workerId Id unique among workers, e.g. host name plus pid ({@code [A-Za-z0-9._-]+})
+     * @param backend Shared lease store
+     * @param shardCount Number of shards; must be the same on every worker
+     * @param leaseTtl Lease duration; a dead worker's shards move after at most this long
+     */
+    public ShardedSyncWorker(String workerId, LeaseBackend backend, int shardCount, Duration leaseTtl) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        this.workerId = workerId;
+        this.backend = backend;
+        this.shardCount = shardCount;
+        this.leaseTtl = leaseTtl;
+    }
+    
+    /**
+     * Shard a tenant belongs to; stable across JVMs
+     * 
+     * @param tenantId Tenant id
+     * @param shardCount Number of shards
+     * @return Shard number in {@code [0, shardCount)}
+     */
+    public static int shardOf(String tenantId, int shardCount) {
+        // Spread String.hashCode, whose low bits are weak for ids that share a prefix
+        int hash = tenantId.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), shardCount);
+    }
+    
+    public String getWorkerId() {
+        return workerId;
+    }
+    
+    /**
+     * @return Shards this worker currently holds
+     */
+    public Set<Integer> getOwnedShards() {
+        return new TreeSet<>(owned.keySet());
+    }
+    
+    /**
+     * Heartbeat, renew held leases, then shed or claim shards to reach the fair share.
+     * Called periodically by {@link #start}; call it directly when driving the worker by hand.
+     * 
+     * @return Shards held afterwards
+     * @throws IOException If the lease store is unavailable
+     */
+    public synchronized Set<Integer> rebalance() throws IOException {
+        backend.heartbeat(workerId, leaseTtl);
+        for (Lease lease : owned.values()) {
+            Lease renewed = backend.renew(lease, leaseTtl);
+            if (renewed == null) {
+                owned.remove(lease.getShard());
+                logger.warn("Worker {} lost shard {}", workerId, lease.getShard());
+            } else {
+                owned.put(lease.getShard(), renewed);
+            }
+        }
+        
+        int workers = Math.max(1, backend.liveWorkers().size());
+        int target = (shardCount + workers - 1) / workers;
+        if (owned.size() > target) {
+            for (Integer shard : new TreeSet<>(owned.keySet()).descendingSet()) {
+                if (owned.size() <= target) {
+                    break;
+                }
+                Lease lease;
+                synchronized (busy) {
+                    // A shard with a tenant mid-sync is handed over on a later round
+                    if (busy.contains(shard)) {
+                        continue;
+                    }
+                    lease = owned.remove(shard);
+                }
+                backend.release(lease);
+                logger.info("Worker {} released shard {} ({} workers)", workerId, shard, workers);
+            }
+        } else if (owned.size() < target) {
+            // Start probing at a worker-specific offset so joining workers don't all race for shard 0
+            int start = Math.floorMod(workerId.hashCode(), shardCount);
+            for (int i = 0; i < shardCount && owned.size() < target; i++) {
+                int shard = (start + i) % shardCount;
+                if (owned.containsKey(shard)) {
+                    continue;
+                }
+                Lease lease = backend.tryAcquire(shard, workerId, leaseTtl);
+                if (lease != null) {
+                    owned.put(shard, lease);
+                    logger.info("Worker {} acquired shard {} (token {})", workerId, shard, lease.getToken());
+                }
+            }
+        }
+        return getOwnedShards();
+    }
+    
+    /**
+     * Sync every given tenant whose shard this worker holds
+     * 
+     * @param tenantIds All tenant ids; the worker picks its own
+     * @param task Syncs one tenant
+     * @return Number of tenants synced successfully
+     * @throws InterruptedException If interrupted
+     */
+    public int syncOwnedTenants(Collection<String> tenantIds, TenantSyncTask task) throws InterruptedException {
+        // Renewal runs every ttl / 3; don't start a tenant on a lease closer than that to expiry
+        long safetyMillis = leaseTtl.toMillis() / 3;
+        int synced = 0;
+        for (String tenantId : tenantIds) {
+            int shard = shardOf(tenantId, shardCount);
+            Lease lease;
+            synchronized (busy) {
+                lease = owned.get(shard);
+                if (lease == null || lease.isExpired(System.currentTimeMillis() + safetyMillis)) {
+                    continue;
+                }
+                busy.add(shard);
+            }
+            try {
+                task.sync(tenantId, lease);
+                synced++;
+            } catch (IOException e) {
+                logger.error("Worker {} failed to sync tenant {}", workerId, tenantId, e);
+            } finally {
+                synchronized (busy) {
+                    busy.remove(shard);
+                }
+            }
+        }
+        return synced;
+    }
+    
+    /**
+     * Keep leases balanced in the background and sync owned tenants in repeated passes
+     * 
+     * @param tenantIds Supplies the current tenant list before every pass
+     * @param task Syncs one tenant
+     * @param passInterval Delay between the end of one pass and the start of the next
+     */
+    public synchronized void start(Supplier<? extends Collection<String>> tenantIds, TenantSyncTask task,
+                                   Duration passInterval) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Worker already started");
+        }
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "shard-worker-" + workerId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long renewMillis = Math.max(1, leaseTtl.toMillis() / 3);
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rebalance();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Worker {} failed to rebalance leases", workerId, e);
+            }
+        }, 0, renewMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                int synced = syncOwnedTenants(tenantIds.get(), task);
+                logger.info("Worker {} synced {} tenants on shards {}", workerId, synced, getOwnedShards());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Worker {} sync pass failed", workerId, e);
+            }
+        }, renewMillis, passInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stop background work, release every lease and withdraw the heartbeat so other workers
+     * take over immediately instead of waiting for expiry
+     */
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = scheduler;
+            scheduler = null;
+        }
+        if (running != null) {
+            running.shutdownNow();
+            try {
+                // Let an in-flight tenant sync finish before its shard is handed over
+                running.awaitTermination(leaseTtl.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            for (Lease lease : owned.values()) {
+                backend.release(lease);
+            }
+            owned.clear();
+            backend.leave(workerId);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cloudeagle.zoom.shard;
+
+import java.io.IOException;
+
+/**
+ * Syncs one tenant on behalf of {@link ShardedSyncWorker}
+ */
+@FunctionalInterface
+public interface TenantSyncTask {
+    
+    /**
+     * Sync a single tenant
+     * 
+     * @param tenantId Tenant to sync
+     * @param lease Lease on the tenant's shard, e.g. for its fencing token
+     * @throws IOException If the sync fails; the worker logs it and moves on to the next tenant
+     * @throws InterruptedException If the worker is shutting down
+     */
+    void sync(String tenantId, Lease lease) throws IOException, InterruptedException;
+}
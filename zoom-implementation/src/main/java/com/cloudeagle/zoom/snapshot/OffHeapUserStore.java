@@ -0,0 +1,574 @@
+package com.cloudeagle.zoom.snapshot;
+
+import com.cloudeagle.zoom.model.LazyZoomUserList.Field;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Latest user list of many tenants, kept outside the Java heap.
+ *
+ * Records are written as UTF-8 into fixed-size direct {@link ByteBuffer} chunks: a table of
+ * per-field lengths followed by the field bytes, so any single field can be located without
+ * decoding the rest. Per tenant, the heap only holds an open-addressing table of id hashes and
+ * record addresses (about 24 bytes per user), so heap use and GC work stay flat as users grow.
+ *
+ * A snapshot is written with {@link #beginSnapshot} and swapped in atomically on commit; the chunks
+ * of the snapshot it replaces go back to a free pool for reuse. Direct memory is only returned to the
+ * OS after {@link #close()}, once the buffers are garbage collected; size
+ * {@code -XX:MaxDirectMemorySize} for the peak of all snapshots plus one in flight.
+ *
+ * Reads are thread-safe and may run while snapshots are being written.
+ */
+public class OffHeapUserStore implements AutoCloseable {
+    
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    
+    private static final Field[] FIELDS = Field.values();
+    private static final int HEADER_BYTES = FIELDS.length * 2;
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int MAX_FIELD_BYTES = NULL_LENGTH - 1;
+    
+    private final int chunkSize;
+    private final long maxBytes;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Deque<ByteBuffer> freeChunks = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long allocatedBytes;
+    private boolean closed;
+    
+    public OffHeapUserStore() {
+        this(DEFAULT_CHUNK_SIZE, Long.MAX_VALUE);
+    }
+    
+    /**
+     * @param chunkSize Size of each direct buffer; a single record must fit in one chunk
+     * @param maxBytes Direct memory the store may allocate in total
+     */
+    public OffHeapUserStore(int chunkSize, long maxBytes) {
+        if (chunkSize < 1024) {
+            throw new IllegalArgumentException("chunkSize must be at least 1024 bytes");
+        }
+        this.chunkSize = chunkSize;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Start writing a tenant's new snapshot. Readers keep seeing the previous one until
+     * {@link SnapshotWriter#commit()}.
+     * 
+     * @param tenantId Tenant id
+     * @return Single-use writer
+     */
+    public SnapshotWriter beginSnapshot(String tenantId) {
+        return new SnapshotWriter(tenantId);
+    }
+    
+    /**
+     * Replace a tenant's snapshot in one call. If a user cannot be stored the previous snapshot is
+     * kept and the memory written so far is recycled.
+     * 
+     * @param tenantId Tenant id
+     * @param users The tenant's users
+     */
+    public void replace(String tenantId, Iterable<ZoomUser> users) {
+        SnapshotWriter writer = beginSnapshot(tenantId);
+        try {
+            for (ZoomUser user : users) {
+                writer.add(user);
+            }
+        } catch (RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.commit();
+    }
+    
+    /**
+     * Drop a tenant's snapshot and recycle its memory
+     * 
+     * @param tenantId Tenant id
+     * @return Whether the tenant had a snapshot
+     */
+    public boolean remove(String tenantId) {
+        lock.writeLock().lock();
+        try {
+            Snapshot removed = snapshots.remove(tenantId);
+            if (removed == null) {
+                return false;
+            }
+            recycle(removed.chunks);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * @return Number of users in the tenant's snapshot
+     */
+    public int size(String tenantId) {
+        Snapshot snapshot = snapshots.get(tenantId);
+        return snapshot == null ? 0 : snapshot.count;
+    }
+    
+    /**
+     * @return Tenants with a snapshot
+     */
+    public Set<String> getTenantIds() {
+        return new TreeSet<>(snapshots.keySet());
+    }
+    
+    public boolean contains(String tenantId, String userId) {
+        lock.readLock().lock();
+        try {
+            return address(tenantId, userId) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Zero-copy view of one field's UTF-8 bytes. The view must not be used after the tenant's snapshot
+     * is replaced or removed, since its memory is then reused.
+     * 
+     * @param tenantId Tenant id
+     * @param userId User id
+     * @param field Field to read
+     * @return Read-only buffer over the field's bytes, or null if the user or value is absent
+     */
+    public ByteBuffer getFieldBytes(String tenantId, String userId, Field field) {
+        lock.readLock().lock();
+        try {
+            long address = address(tenantId, userId);
+            if (address == 0) {
+                return null;
+            }
+            Snapshot snapshot = snapshots.get(tenantId);
+            ByteBuffer chunk = snapshot.chunks.get(chunkOf(address));
+            int record = offsetOf(address);
+            int length = chunk.getShort(record + field.ordinal() * 2) & 0xFFFF;
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            int start = fieldStart(chunk, record, field);
+            ByteBuffer view = chunk.duplicate();
+            view.limit(start + length).position(start);
+            return view.slice().asReadOnlyBuffer();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Decode a single field without materializing the user
+     * 
+     * @param tenantId Tenant id
+     * @param userId User id
+     * @param field Field to read
+     * @return The value as text (numbers and booleans in JSON form), or null
+     */
+    public String getString(String tenantId, String userId, Field field) {
+        lock.readLock().lock();
+        try {
+            long address = address(tenantId, userId);
+            if (address == 0) {
+                return null;
+            }
+            ByteBuffer chunk = snapshots.get(tenantId).chunks.get(chunkOf(address));
+            return readField(chunk, offsetOf(address), field);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Materialize one user
+     * 
+     * @param tenantId Tenant id
+     * @param userId User id
+     * @return The user, or null if not in the snapshot
+     */
+    public ZoomUser getUser(String tenantId, String userId) {
+        lock.readLock().lock();
+        try {
+            long address = address(tenantId, userId);
+            if (address == 0) {
+                return null;
+            }
+            ByteBuffer chunk = snapshots.get(tenantId).chunks.get(chunkOf(address));
+            int record = offsetOf(address);
+            ZoomUser user = new ZoomUser();
+            for (Field field : FIELDS) {
+                set(user, field, readField(chunk, record, field));
+            }
+            return user;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @return Direct memory allocated, including recycled chunks
+     */
+    public long getAllocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return allocatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @return Direct memory holding committed snapshots
+     */
+    public long getUsedBytes() {
+        long used = 0;
+        for (Snapshot snapshot : snapshots.values()) {
+            used += (long) snapshot.chunks.size() * chunkSize;
+        }
+        return used;
+    }
+    
+    /**
+     * Drop every snapshot and every buffer reference
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            snapshots.clear();
+            freeChunks.clear();
+            allocatedBytes = 0;
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private long address(String tenantId, String userId) {
+        Snapshot snapshot = snapshots.get(tenantId);
+        return snapshot == null || userId == null ? 0 : snapshot.find(userId);
+    }
+    
+    private ByteBuffer allocate() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Store is closed");
+            }
+            ByteBuffer chunk = freeChunks.pollFirst();
+            if (chunk != null) {
+                return chunk;
+            }
+            if (allocatedBytes + chunkSize > maxBytes) {
+                throw new IllegalStateException("Off-heap user store is full (" + allocatedBytes + " bytes)");
+            }
+            allocatedBytes += chunkSize;
+            return ByteBuffer.allocateDirect(chunkSize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void recycle(List<ByteBuffer> chunks) {
+        if (!closed) {
+            freeChunks.addAll(chunks);
+        }
+    }
+    
+    private static int fieldStart(ByteBuffer chunk, int record, Field field) {
+        int start = record + HEADER_BYTES;
+        for (int i = 0; i < field.ordinal(); i++) {
+            int length = chunk.getShort(record + i * 2) & 0xFFFF;
+            if (length != NULL_LENGTH) {
+                start += length;
+            }
+        }
+        return start;
+    }
+    
+    private static String readField(ByteBuffer chunk, int record, Field field) {
+        int length = chunk.getShort(record + field.ordinal() * 2) & 0xFFFF;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        int start = fieldStart(chunk, record, field);
+        byte[] bytes = new byte[length];
+        ByteBuffer view = chunk.duplicate();
+        view.position(start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static int hash(String userId) {
+        int h = userId.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        // 0 marks an empty slot
+        return h == 0 ? 1 : h;
+    }
+    
+    private static int chunkOf(long address) {
+        return (int) ((address - 1) >>> 32);
+    }
+    
+    private static int offsetOf(long address) {
+        return (int) (address - 1);
+    }
+    
+    private static String get(ZoomUser user, Field field) {
+        Object value;
+        switch (field) {
+            case ID: value = user.getId(); break;
+            case FIRST_NAME: value = user.getFirstName(); break;
+            case LAST_NAME: value = user.getLastName(); break;
+            case EMAIL: value = user.getEmail(); break;
+            case TYPE: value = user.getType(); break;
+            case ROLE_NAME: value = user.getRoleName(); break;
+            case PMI: value = user.getPmi(); break;
+            case USE_PMI: value = user.getUsePmi(); break;
+            case PERSONAL_MEETING_URL: value = user.getPersonalMeetingUrl(); break;
+            case TIMEZONE: value = user.getTimezone(); break;
+            case VERIFIED: value = user.getVerified(); break;
+            case DEPT: value = user.getDept(); break;
+            case CREATED_AT: value = user.getCreatedAt(); break;
+            case LAST_LOGIN_TIME: value = user.getLastLoginTime(); break;
+            case LAST_CLIENT_VERSION: value = user.getLastClientVersion(); break;
+            case LANGUAGE: value = user.getLanguage(); break;
+            case STATUS: value = user.getStatus(); break;
+            case ROLE_ID: value = user.getRoleId(); break;
+            default: value = null; break;
+        }
+        return value == null ? null : value.toString();
+    }
+    
+    private static void set(ZoomUser user, Field field, String value) {
+        if (value == null) {
+            return;
+        }
+        switch (field) {
+            case ID: user.setId(value); break;
+            case FIRST_NAME: user.setFirstName(value); break;
+            case LAST_NAME: user.setLastName(value); break;
+            case EMAIL: user.setEmail(value); break;
+            case TYPE: user.setType(Integer.valueOf(value)); break;
+            case ROLE_NAME: user.setRoleName(value); break;
+            case PMI: user.setPmi(Long.valueOf(value)); break;
+            case USE_PMI: user.setUsePmi(Boolean.valueOf(value)); break;
+            case PERSONAL_MEETING_URL: user.setPersonalMeetingUrl(value); break;
+            case TIMEZONE: user.setTimezone(value); break;
+            case VERIFIED: user.setVerified(Integer.valueOf(value)); break;
+            case DEPT: user.setDept(value); break;
+            case CREATED_AT: user.setCreatedAt(value); break;
+            case LAST_LOGIN_TIME: user.setLastLoginTime(value); break;
+            case LAST_CLIENT_VERSION: user.setLastClientVersion(value); break;
+            case LANGUAGE: user.setLanguage(value); break;
+            case STATUS: user.setStatus(value); break;
+            case ROLE_ID: user.setRoleId(value); break;
+            default: break;
+        }
+    }
+    
+    /**
+     * Committed, immutable snapshot of one tenant
+     */
+    private static final class Snapshot {
+        
+        final List<ByteBuffer> chunks;
+        final int[] hashes;
+        final long[] addresses;
+        final int count;
+        
+        Snapshot(List<ByteBuffer> chunks, int[] hashes, long[] addresses, int count) {
+            this.chunks = chunks;
+            this.hashes = hashes;
+            this.addresses = addresses;
+            this.count = count;
+        }
+        
+        long find(String userId) {
+            int hash = hash(userId);
+            int mask = hashes.length - 1;
+            for (int slot = hash & mask; hashes[slot] != 0; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && idEquals(addresses[slot], userId)) {
+                    return addresses[slot];
+                }
+            }
+            return 0;
+        }
+        
+        boolean idEquals(long address, String userId) {
+            ByteBuffer chunk = chunks.get(chunkOf(address));
+            int record = offsetOf(address);
+            int length = chunk.getShort(record + Field.ID.ordinal() * 2) & 0xFFFF;
+            int start = fieldStart(chunk, record, Field.ID);
+            // Zoom ids are ASCII; compare in place and only decode otherwise
+            if (length == userId.length()) {
+                boolean ascii = true;
+                for (int i = 0; i < length; i++) {
+                    char c = userId.charAt(i);
+                    if (c >= 0x80) {
+                        ascii = false;
+                        break;
+                    }
+                    if (chunk.get(start + i) != c) {
+                        return false;
+                    }
+                }
+                if (ascii) {
+                    return true;
+                }
+            }
+            return userId.equals(readField(chunk, record, Field.ID));
+        }
+    }
+    
+    /**
+     * Writes one tenant's next snapshot
+     */
+    public class SnapshotWriter {
+        
+        private final String tenantId;
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private int[] hashes = new int[1024];
+        private long[] addresses = new long[1024];
+        private int count;
+        private ByteBuffer current;
+        private boolean done;
+        
+        private SnapshotWriter(String tenantId) {
+            this.tenantId = tenantId;
+        }
+        
+        /**
+         * Add every user on a page
+         */
+        public void addPage(ZoomUserList page) {
+            if (page.getUsers() != null) {
+                for (ZoomUser user : page.getUsers()) {
+                    add(user);
+                }
+            }
+        }
+        
+        /**
+         * Add one user; users without an id are skipped, and a repeated id replaces the earlier record
+         */
+        public void add(ZoomUser user) {
+            if (done) {
+                throw new IllegalStateException("Snapshot already committed");
+            }
+            if (user.getId() == null) {
+                return;
+            }
+            byte[][] values = new byte[FIELDS.length][];
+            int size = HEADER_BYTES;
+            for (Field field : FIELDS) {
+                String value = get(user, field);
+                if (value != null) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    if (bytes.length > MAX_FIELD_BYTES) {
+                        throw new IllegalArgumentException("Field " + field + " of user " + user.getId() + " is too long");
+                    }
+                    values[field.ordinal()] = bytes;
+                    size += bytes.length;
+                }
+            }
+            if (size > chunkSize) {
+                throw new IllegalArgumentException("User " + user.getId() + " needs " + size
+                        + " bytes, more than the chunk size " + chunkSize);
+            }
+            if (current == null || current.remaining() < size) {
+                current = allocate();
+                current.clear();
+                chunks.add(current);
+            }
+            int record = current.position();
+            for (byte[] value : values) {
+                current.putShort((short) (value == null ? NULL_LENGTH : value.length));
+            }
+            for (byte[] value : values) {
+                if (value != null) {
+                    current.put(value);
+                }
+            }
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, count * 2);
+                addresses = Arrays.copyOf(addresses, count * 2);
+            }
+            hashes[count] = hash(user.getId());
+            addresses[count] = ((long) (chunks.size() - 1) << 32 | record) + 1;
+            count++;
+        }
+        
+        /**
+         * Swap this snapshot in for the tenant and recycle the previous one
+         */
+        public void commit() {
+            if (done) {
+                throw new IllegalStateException("Snapshot already committed");
+            }
+            done = true;
+            int capacity = Integer.highestOneBit(Math.max(4, count * 2 - 1)) << 1;
+            Snapshot next = new Snapshot(chunks, new int[capacity], new long[capacity], 0);
+            int distinct = 0;
+            int mask = capacity - 1;
+            for (int i = 0; i < count; i++) {
+                int slot = hashes[i] & mask;
+                while (next.hashes[slot] != 0
+                        && !(next.hashes[slot] == hashes[i] && sameId(next, next.addresses[slot], addresses[i]))) {
+                    slot = (slot + 1) & mask;
+                }
+                if (next.hashes[slot] == 0) {
+                    distinct++;
+                }
+                next.hashes[slot] = hashes[i];
+                next.addresses[slot] = addresses[i];
+            }
+            Snapshot committed = new Snapshot(chunks, next.hashes, next.addresses, distinct);
+            lock.writeLock().lock();
+            try {
+                Snapshot previous = snapshots.put(tenantId, committed);
+                if (previous != null) {
+                    recycle(previous.chunks);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        /**
+         * Give up and recycle the memory written so far
+         */
+        public void abort() {
+            if (!done) {
+                done = true;
+                lock.writeLock().lock();
+                try {
+                    recycle(chunks);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+        
+        private boolean sameId(Snapshot snapshot, long a, long b) {
+            ByteBuffer chunk = snapshot.chunks.get(chunkOf(b));
+            return snapshot.idEquals(a, readField(chunk, offsetOf(b), Field.ID));
+        }
+    }
+}
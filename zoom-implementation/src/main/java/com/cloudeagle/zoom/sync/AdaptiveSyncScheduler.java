@@ -0,0 +1,426 @@
+package com.cloudeagle.zoom.sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-syncs each tenant as often as it actually changes, within a shared API call budget.
+ *
+ * After every sync the tenant's change rate is updated as an exponentially weighted average of
+ * changes per hour, and its next poll is set so that a sync is expected to find about
+ * {@link #setTargetChangesPerSync target} changes, clamped to {@code [minInterval, maxInterval]}.
+ * Quiet tenants back off toward the maximum; busy ones tighten toward the minimum.
+ *
+ * Due syncs run most-stale-first (by expected pending changes), and only while the token bucket
+ * of API calls per minute covers their expected cost; the rest slide to when the budget refills.
+ * A sync expected to cost more than a minute's budget runs whenever the bucket is full.
+ *
+ * Drive it with {@link #start()} or by calling {@link #runDue()} from an existing loop.
+ */
+public class AdaptiveSyncScheduler implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveSyncScheduler.class);
+    
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+    
+    private final SyncOperation operation;
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+    private final double callsPerMilli;
+    private final double burstCalls;
+    private final Clock clock;
+    private final Map<String, TenantSchedule> tenants = new HashMap<>();
+    private double targetChangesPerSync = 2;
+    private double smoothing = 0.3;
+    private double budget;
+    private long budgetRefilledAt;
+    private long totalApiCalls;
+    private Thread loop;
+    
+    /**
+     * @param operation Syncs one tenant and reports what it saw
+     * @param minInterval Shortest time between two syncs of a tenant
+     * @param maxInterval Longest time between two syncs of a tenant
+     * @param apiCallsPerMinute API calls all tenants' syncs may use per minute on average
+     */
+    public AdaptiveSyncScheduler(SyncOperation operation, Duration minInterval, Duration maxInterval,
+                                 double apiCallsPerMinute) {
+        this(operation, minInterval, maxInterval, apiCallsPerMinute, Clock.systemUTC());
+    }
+    
+    /**
+     * @param clock Time source, e.g. a fixed or offset clock for simulations
+     */
+    public AdaptiveSyncScheduler(SyncOperation operation, Duration minInterval, Duration maxInterval,
+                                 double apiCallsPerMinute, Clock clock) {
+        if (minInterval.isNegative() || minInterval.compareTo(maxInterval) > 0) {
+            throw new IllegalArgumentException("Need 0 <= minInterval <= maxInterval");
+        }
+        if (apiCallsPerMinute <= 0) {
+            throw new IllegalArgumentException("apiCallsPerMinute must be positive");
+        }
+        this.operation = operation;
+        this.minIntervalMillis = minInterval.toMillis();
+        this.maxIntervalMillis = maxInterval.toMillis();
+        this.callsPerMilli = apiCallsPerMinute / 60_000.0;
+        this.burstCalls = apiCallsPerMinute;
+        this.clock = clock;
+        this.budget = burstCalls;
+        this.budgetRefilledAt = clock.millis();
+    }
+    
+    /**
+     * @param targetChangesPerSync Changes a sync should find on average; lower means fresher and more calls
+     */
+    public synchronized void setTargetChangesPerSync(double targetChangesPerSync) {
+        if (targetChangesPerSync <= 0) {
+            throw new IllegalArgumentException("targetChangesPerSync must be positive");
+        }
+        this.targetChangesPerSync = targetChangesPerSync;
+    }
+    
+    /**
+     * @param smoothing Weight of the newest observation in the change-rate average, between 0 and 1
+     */
+    public synchronized void setSmoothing(double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be in (0, 1]");
+        }
+        this.smoothing = smoothing;
+    }
+    
+    /**
+     * Start scheduling a tenant; its first sync is due immediately
+     */
+    public synchronized void addTenant(String tenantId) {
+        if (!tenants.containsKey(tenantId)) {
+            tenants.put(tenantId, new TenantSchedule(tenantId, clock.millis(), minIntervalMillis));
+            notifyAll();
+        }
+    }
+    
+    public synchronized void addTenants(Collection<String> tenantIds) {
+        for (String tenantId : tenantIds) {
+            addTenant(tenantId);
+        }
+    }
+    
+    public synchronized boolean removeTenant(String tenantId) {
+        return tenants.remove(tenantId) != null;
+    }
+    
+    /**
+     * Run every sync that is due and fits in the budget, most stale first
+     * 
+     * @return Number of syncs run
+     * @throws InterruptedException If a sync is interrupted
+     */
+    public int runDue() throws InterruptedException {
+        int runs = 0;
+        TenantSchedule next;
+        while ((next = claimNext()) != null) {
+            long started = clock.millis();
+            SyncOutcome outcome;
+            boolean synced = false;
+            try {
+                outcome = operation.sync(next.tenantId);
+                synced = true;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Scheduled sync of tenant {} failed", next.tenantId, e);
+                synchronized (this) {
+                    next.nextDueAt = clock.millis() + minIntervalMillis;
+                }
+                continue;
+            } finally {
+                // Also on interrupt, so a caller's own loop can schedule the tenant again
+                if (!synced) {
+                    synchronized (this) {
+                        next.running = false;
+                    }
+                }
+            }
+            complete(next, started, outcome);
+            runs++;
+        }
+        return runs;
+    }
+    
+    /**
+     * @return Milliseconds until {@link #runDue()} has work, 0 if it has some now
+     */
+    public synchronized long millisUntilNextRun() {
+        long now = clock.millis();
+        refill(now);
+        long wait = Long.MAX_VALUE;
+        for (TenantSchedule schedule : tenants.values()) {
+            if (schedule.running) {
+                continue;
+            }
+            long due = Math.max(0, schedule.nextDueAt - now);
+            double shortfall = cost(schedule) - budget;
+            if (shortfall > 0) {
+                due = Math.max(due, (long) Math.ceil(shortfall / callsPerMilli));
+            }
+            wait = Math.min(wait, due);
+        }
+        return wait;
+    }
+    
+    /**
+     * Run syncs on a background thread until {@link #close()}
+     */
+    public synchronized void start() {
+        if (loop != null) {
+            throw new IllegalStateException("Scheduler already started");
+        }
+        loop = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    runDue();
+                    synchronized (this) {
+                        long wait = millisUntilNextRun();
+                        if (wait > 0) {
+                            wait(Math.min(wait, maxIntervalMillis));
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "adaptive-sync");
+        loop.setDaemon(true);
+        loop.start();
+    }
+    
+    @Override
+    public void close() throws InterruptedException {
+        Thread running;
+        synchronized (this) {
+            running = loop;
+            loop = null;
+        }
+        if (running != null) {
+            running.interrupt();
+            running.join();
+        }
+    }
+    
+    /**
+     * @return Current schedule of a tenant, or null if not scheduled
+     */
+    public synchronized TenantStats getStats(String tenantId) {
+        TenantSchedule schedule = tenants.get(tenantId);
+        return schedule == null ? null : schedule.stats();
+    }
+    
+    public synchronized List<TenantStats> getAllStats() {
+        List<TenantStats> stats = new ArrayList<>(tenants.size());
+        for (TenantSchedule schedule : tenants.values()) {
+            stats.add(schedule.stats());
+        }
+        return stats;
+    }
+    
+    /**
+     * @return API calls reported by all syncs so far
+     */
+    public synchronized long getTotalApiCalls() {
+        return totalApiCalls;
+    }
+    
+    private synchronized TenantSchedule claimNext() {
+        long now = clock.millis();
+        refill(now);
+        TenantSchedule best = null;
+        double bestScore = -1;
+        for (TenantSchedule schedule : tenants.values()) {
+            // A tenant that does not fit leaves the budget to cheaper due tenants
+            if (schedule.running || schedule.nextDueAt > now || cost(schedule) > budget) {
+                continue;
+            }
+            // Never-synced tenants first, then by changes expected to have piled up
+            double score = schedule.lastSyncAt < 0 ? Double.MAX_VALUE
+                    : schedule.changesPerHour * (now - schedule.lastSyncAt) / MILLIS_PER_HOUR
+                    + (now - schedule.nextDueAt) / MILLIS_PER_HOUR;
+            if (score > bestScore) {
+                best = schedule;
+                bestScore = score;
+            }
+        }
+        if (best != null) {
+            best.running = true;
+        }
+        return best;
+    }
+    
+    /**
+     * Budget a sync must find available: its expected calls, at most a full bucket
+     */
+    private double cost(TenantSchedule schedule) {
+        return Math.min(schedule.expectedCalls, burstCalls);
+    }
+    
+    private synchronized void complete(TenantSchedule schedule, long startedAt, SyncOutcome outcome) {
+        long now = clock.millis();
+        refill(now);
+        budget -= outcome.getApiCalls();
+        totalApiCalls += outcome.getApiCalls();
+        schedule.running = false;
+        schedule.syncCount++;
+        schedule.expectedCalls = schedule.syncCount == 1 ? outcome.getApiCalls()
+                : smoothing * outcome.getApiCalls() + (1 - smoothing) * schedule.expectedCalls;
+        if (schedule.lastSyncAt >= 0) {
+            double hours = Math.max(1, startedAt - schedule.lastSyncAt) / MILLIS_PER_HOUR;
+            double observed = outcome.getChanges() / hours;
+            schedule.changesPerHour = schedule.syncCount == 2 ? observed
+                    : smoothing * observed + (1 - smoothing) * schedule.changesPerHour;
+            double ideal = schedule.changesPerHour > 0
+                    ? targetChangesPerSync / schedule.changesPerHour * MILLIS_PER_HOUR
+                    : maxIntervalMillis;
+            schedule.intervalMillis = (long) Math.max(minIntervalMillis, Math.min(maxIntervalMillis, ideal));
+        }
+        schedule.lastSyncAt = startedAt;
+        schedule.nextDueAt = startedAt + schedule.intervalMillis;
+        logger.debug("Tenant {}: {} changes, {} calls, {}/h, next in {} ms", schedule.tenantId,
+                outcome.getChanges(), outcome.getApiCalls(), schedule.changesPerHour, schedule.intervalMillis);
+        notifyAll();
+    }
+    
+    private void refill(long now) {
+        budget = Math.min(burstCalls, budget + (now - budgetRefilledAt) * callsPerMilli);
+        budgetRefilledAt = now;
+    }
+    
+    /**
+     * Syncs one tenant for the scheduler
+     */
+    @FunctionalInterface
+    public interface SyncOperation {
+        
+        /**
+         * @param tenantId Tenant to sync
+         * @return Changes seen and API calls made
+         * @throws IOException If the sync fails; it is retried after the minimum interval
+         * @throws InterruptedException If the scheduler is shutting down
+         */
+        SyncOutcome sync(String tenantId) throws IOException, InterruptedException;
+    }
+    
+    /**
+     * What one sync observed
+     */
+    public static class SyncOutcome {
+        
+        private final long changes;
+        private final int apiCalls;
+        
+        /**
+         * @param changes Records added, updated or removed since the previous sync, plus new activity
+         * @param apiCalls Requests the sync made
+         */
+        public SyncOutcome(long changes, int apiCalls) {
+            this.changes = changes;
+            this.apiCalls = apiCalls;
+        }
+        
+        public long getChanges() {
+            return changes;
+        }
+        
+        public int getApiCalls() {
+            return apiCalls;
+        }
+    }
+    
+    /**
+     * Snapshot of one tenant's schedule
+     */
+    public static class TenantStats {
+        
+        private final String tenantId;
+        private final double changesPerHour;
+        private final Duration interval;
+        private final long lastSyncAt;
+        private final long nextDueAt;
+        private final int syncCount;
+        
+        TenantStats(String tenantId, double changesPerHour, Duration interval, long lastSyncAt,
+                    long nextDueAt, int syncCount) {
+            this.tenantId = tenantId;
+            this.changesPerHour = changesPerHour;
+            this.interval = interval;
+            this.lastSyncAt = lastSyncAt;
+            this.nextDueAt = nextDueAt;
+            this.syncCount = syncCount;
+        }
+        
+        public String getTenantId() {
+            return tenantId;
+        }
+        
+        public double getChangesPerHour() {
+            return changesPerHour;
+        }
+        
+        public Duration getInterval() {
+            return interval;
+        }
+        
+        /**
+         * @return Start of the last successful sync in epoch milliseconds, or -1
+         */
+        public long getLastSyncAt() {
+            return lastSyncAt;
+        }
+        
+        public long getNextDueAt() {
+            return nextDueAt;
+        }
+        
+        public int getSyncCount() {
+            return syncCount;
+        }
+        
+        @Override
+        public String toString() {
+            return "TenantStats{" +
+                    "tenantId='" + tenantId + '\'' +
+                    ", changesPerHour=" + changesPerHour +
+                    ", interval=" + interval +
+                    ", syncCount=" + syncCount +
+                    '}';
+        }
+    }
+    
+    private static final class TenantSchedule {
+        
+        final String tenantId;
+        long nextDueAt;
+        long lastSyncAt = -1;
+        long intervalMillis;
+        double changesPerHour;
+        double expectedCalls = 1;
+        int syncCount;
+        boolean running;
+        
+        TenantSchedule(String tenantId, long nextDueAt, long intervalMillis) {
+            this.tenantId = tenantId;
+            this.nextDueAt = nextDueAt;
+            this.intervalMillis = intervalMillis;
+        }
+        
+        TenantStats stats() {
+            return new TenantStats(tenantId, changesPerHour, Duration.ofMillis(intervalMillis), lastSyncAt,
+                    nextDueAt, syncCount);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.cloudeagle.zoom.sync;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.util.AtomicFiles;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Crash-resumable crawl of the paginated users list.
+ *
+ * Users are appended to {@code users.ndjson} in the sync directory, one JSON object per line.
+ * After each page the data file is fsynced and {@code checkpoint.json} is atomically replaced
+ * with the next page token, record count and committed file length. On restart (or retry) the
+ * data file is truncated back to the committed length and the crawl continues from the stored
+ * token, so a page is either fully present once or not at all.
+ *
+ * Zoom page tokens expire after about 15 minutes, so a checkpoint left for longer than that
+ * has to be {@link #reset()} and crawled again.
+ */
+public class ResumableUserSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableUserSync.class);
+
+    public static final String DATA_FILE = "users.ndjson";
+    public static final String CHECKPOINT_FILE = "checkpoint.json";
+
+    private final ZoomApiClient client;
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private int maxAttempts = 3;
+    private long retryBackoffMillis = 1000;
+    private long maxRetryBackoffMillis = 60_000;
+
+    public ResumableUserSync(ZoomApiClient client, Path directory) {
+        this.client = client;
+        this.directory = directory;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * @param maxAttempts Number of consecutive failures without a newly committed page before the
+     *                    crawl gives up; committing a page resets the count
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param retryBackoffMillis Base delay before resuming, doubled on each further attempt
+     */
+    public void setRetryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    /**
+     * @param maxRetryBackoffMillis Upper bound for the doubled delay
+     */
+    public void setMaxRetryBackoffMillis(long maxRetryBackoffMillis) {
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+
+    public Path getDataFile() {
+        return directory.resolve(DATA_FILE);
+    }
+
+    public Path getCheckpointFile() {
+        return directory.resolve(CHECKPOINT_FILE);
+    }
+
+    /**
+     * Crawl all users, resuming from the last committed page if a previous run was interrupted
+     *
+     * @param status User status filter
+     * @param pageSize Page size (max 300)
+     * @return Final checkpoint, marked complete
+     * @throws IOException If the crawl fails {@code maxAttempts} times in a row without committing a page
+     * @throws InterruptedException If the crawl is interrupted
+     * @throws IllegalStateException If an existing checkpoint was taken with different parameters
+     */
+    public SyncCheckpoint run(String status, Integer pageSize) throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        int attempt = 0;
+        while (true) {
+            SyncCheckpoint checkpoint = readCheckpoint();
+            if (checkpoint == null) {
+                checkpoint = new SyncCheckpoint(status, pageSize);
+            } else if (!Objects.equals(checkpoint.getStatus(), status)
+                    || !Objects.equals(checkpoint.getPageSize(), pageSize)) {
+                throw new IllegalStateException("Existing checkpoint was taken with status="
+                        + checkpoint.getStatus() + ", pageSize=" + checkpoint.getPageSize() + "; reset it first");
+            }
+            if (checkpoint.isComplete()) {
+                logger.info("User sync already complete: {}", checkpoint);
+                return checkpoint;
+            }
+            if (checkpoint.getPagesCommitted() > 0) {
+                logger.info("Resuming user sync after page {} ({} users already written)",
+                        checkpoint.getPagesCommitted(), checkpoint.getRecordsWritten());
+            }
+            int committedBefore = checkpoint.getPagesCommitted();
+            try {
+                crawl(checkpoint);
+                logger.info("User sync complete: {}", checkpoint);
+                return checkpoint;
+            } catch (IOException e) {
+                // Only pages whose checkpoint reached disk count as progress
+                SyncCheckpoint committed;
+                try {
+                    committed = readCheckpoint();
+                } catch (IOException readFailure) {
+                    e.addSuppressed(readFailure);
+                    throw e;
+                }
+                if (committed != null && committed.getPagesCommitted() > committedBefore) {
+                    attempt = 0;
+                }
+                attempt++;
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                long delay = retryDelayMillis(attempt);
+                logger.warn("User sync failed (attempt {}/{}), resuming from last checkpoint in {} ms: {}",
+                        attempt, maxAttempts, delay, e.getMessage());
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * Read the last committed checkpoint
+     *
+     * @return The checkpoint, or null if no crawl has been started
+     * @throws IOException If the checkpoint file cannot be read
+     */
+    public SyncCheckpoint readCheckpoint() throws IOException {
+        Path file = getCheckpointFile();
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return objectMapper.readValue(file.toFile(), SyncCheckpoint.class);
+    }
+
+    /**
+     * Discard the checkpoint and data file so the next run starts from page 1
+     *
+     * @throws IOException If the files cannot be deleted
+     */
+    public void reset() throws IOException {
+        Files.deleteIfExists(getCheckpointFile());
+        Files.deleteIfExists(getDataFile());
+    }
+
+    private void crawl(SyncCheckpoint checkpoint) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(getDataFile(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Drop anything written after the last commit (a page that was in flight when we died)
+            channel.truncate(checkpoint.getBytesWritten());
+            channel.position(checkpoint.getBytesWritten());
+
+            ByteArrayOutputStream pageBuffer = new ByteArrayOutputStream(64 * 1024);
+            do {
+                ZoomUserList page = client.getUsers(checkpoint.getStatus(), checkpoint.getPageSize(),
+                        checkpoint.getNextPageToken());
+
+                pageBuffer.reset();
+                int records = 0;
+                if (page.getUsers() != null) {
+                    for (ZoomUserList.ZoomUser user : page.getUsers()) {
+                        objectMapper.writeValue(pageBuffer, user);
+                        pageBuffer.write('\n');
+                        records++;
+                    }
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(pageBuffer.toByteArray());
+                int length = bytes.remaining();
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+
+                checkpoint.setBytesWritten(checkpoint.getBytesWritten() + length);
+                checkpoint.setRecordsWritten(checkpoint.getRecordsWritten() + records);
+                checkpoint.setPagesCommitted(checkpoint.getPagesCommitted() + 1);
+                checkpoint.setNextPageToken(page.getNextPageToken());
+                checkpoint.setComplete(!page.hasNextPage());
+                writeCheckpoint(checkpoint);
+                logger.debug("Committed users page {} ({} users total)",
+                        checkpoint.getPagesCommitted(), checkpoint.getRecordsWritten());
+            } while (!checkpoint.isComplete());
+        }
+    }
+
+    /**
+     * @param attempt Consecutive failures so far, starting at 1
+     * @return Base delay doubled per further attempt, capped at the maximum
+     */
+    long retryDelayMillis(int attempt) {
+        long delay = retryBackoffMillis;
+        for (int i = 1; i < attempt && delay < maxRetryBackoffMillis; i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, maxRetryBackoffMillis);
+    }
+
+    private void writeCheckpoint(SyncCheckpoint checkpoint) throws IOException {
+        checkpoint.setUpdatedAt(System.currentTimeMillis());
+        AtomicFiles.write(getCheckpointFile(), objectMapper.writeValueAsBytes(checkpoint));
+    }
+}
@@ -0,0 +1,124 @@
+package com.cloudeagle.zoom.sync;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Progress of a resumable user crawl, persisted after every committed page
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SyncCheckpoint {
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("page_size")
+    private Integer pageSize;
+
+    @JsonProperty("next_page_token")
+    private String nextPageToken;
+
+    @JsonProperty("pages_committed")
+    private int pagesCommitted;
+
+    @JsonProperty("records_written")
+    private long recordsWritten;
+
+    @JsonProperty("bytes_written")
+    private long bytesWritten;
+
+    @JsonProperty("complete")
+    private boolean complete;
+
+    @JsonProperty("updated_at")
+    private long updatedAt;
+
+    public SyncCheckpoint() {}
+
+    public SyncCheckpoint(String status, Integer pageSize) {
+        this.status = status;
+        this.pageSize = pageSize;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return Token of the first page not yet committed, or null when starting from page 1
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
+    public int getPagesCommitted() {
+        return pagesCommitted;
+    }
+
+    public void setPagesCommitted(int pagesCommitted) {
+        this.pagesCommitted = pagesCommitted;
+    }
+
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    public void setRecordsWritten(long recordsWritten) {
+        this.recordsWritten = recordsWritten;
+    }
+
+    /**
+     * @return Length of the data file at the last commit; anything past it is an uncommitted partial page
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncCheckpoint{" +
+                "status='" + status + '\'' +
+                ", pageSize=" + pageSize +
+                ", pagesCommitted=" + pagesCommitted +
+                ", recordsWritten=" + recordsWritten +
+                ", bytesWritten=" + bytesWritten +
+                ", complete=" + complete +
+                '}';
+    }
+}
@@ -0,0 +1,135 @@
+package com.cloudeagle.zoom.sync;
+
+import com.cloudeagle.zoom.client.PageHandler;
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.model.ZoomActivityReport;
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * {@link AdaptiveSyncScheduler.SyncOperation} that pulls a tenant's users and new sign-in activity.
+ *
+ * Users are diffed against a per-tenant {@link UserChangeTracker}; every added, updated or removed
+ * user counts as a change. Activity is pulled from the day of the newest event already seen, and
+ * every event newer than that counts as a change. Each page fetched counts as one API call.
+ */
+public class UserActivitySync implements AdaptiveSyncScheduler.SyncOperation {
+    
+    private static final int PAGE_SIZE = 300;
+    
+    private final Function<String, ZoomApiClient> clients;
+    private final Function<String, UserChangeListener> listeners;
+    private final Clock clock;
+    private final Map<String, TenantState> states = new ConcurrentHashMap<>();
+    private String userStatus = "active";
+    private int activityLookbackDays = 1;
+    
+    /**
+     * @param clients Authenticated client for a tenant
+     * @param listeners Receives a tenant's user changes
+     */
+    public UserActivitySync(Function<String, ZoomApiClient> clients, Function<String, UserChangeListener> listeners) {
+        this(clients, listeners, Clock.systemUTC());
+    }
+    
+    public UserActivitySync(Function<String, ZoomApiClient> clients, Function<String, UserChangeListener> listeners,
+                            Clock clock) {
+        this.clients = clients;
+        this.listeners = listeners;
+        this.clock = clock;
+    }
+    
+    /**
+     * @param userStatus User status filter for the users pull, or null for Zoom's default
+     */
+    public void setUserStatus(String userStatus) {
+        this.userStatus = userStatus;
+    }
+    
+    /**
+     * @param activityLookbackDays Days of activity pulled on a tenant's first sync, at least 1
+     */
+    public void setActivityLookbackDays(int activityLookbackDays) {
+        if (activityLookbackDays < 1) {
+            throw new IllegalArgumentException("activityLookbackDays must be at least 1");
+        }
+        this.activityLookbackDays = activityLookbackDays;
+    }
+    
+    /**
+     * @return The tenant's user snapshot, created empty on first use
+     */
+    public UserChangeTracker getTracker(String tenantId) {
+        return state(tenantId).tracker;
+    }
+    
+    @Override
+    public AdaptiveSyncScheduler.SyncOutcome sync(String tenantId) throws IOException, InterruptedException {
+        ZoomApiClient client = clients.apply(tenantId);
+        TenantState state = state(tenantId);
+        UserChangeTracker.Session session = state.tracker.beginSync(listeners.apply(tenantId));
+        int calls = client.forEachUserPage(userStatus, PAGE_SIZE, session::accept);
+        UserChangeTracker.SyncSummary summary = session.complete();
+        long changes = summary.getAdded() + summary.getUpdated() + summary.getRemoved();
+        
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        LocalDate from = state.lastActivityTime == null ? today.minusDays(activityLookbackDays - 1)
+                : LocalDate.parse(state.lastActivityTime.substring(0, 10));
+        ActivityCounter counter = new ActivityCounter(state.lastActivityTime);
+        calls += client.forEachActivityPage(from.toString(), today.toString(), PAGE_SIZE, counter);
+        state.lastActivityTime = counter.newest;
+        // The first pull only establishes where activity starts
+        if (state.activitySeeded) {
+            changes += counter.newer;
+        }
+        state.activitySeeded = true;
+        return new AdaptiveSyncScheduler.SyncOutcome(changes, calls);
+    }
+    
+    private TenantState state(String tenantId) {
+        return states.computeIfAbsent(tenantId, id -> new TenantState());
+    }
+    
+    private static final class TenantState {
+        final UserChangeTracker tracker = new UserChangeTracker();
+        String lastActivityTime;
+        boolean activitySeeded;
+    }
+    
+    private static final class ActivityCounter implements PageHandler<ZoomActivityReport> {
+        
+        private final String after;
+        String newest;
+        long newer;
+        
+        ActivityCounter(String after) {
+            this.after = after;
+            this.newest = after;
+        }
+        
+        @Override
+        public void onPage(ZoomActivityReport page) {
+            if (page.getActivityLogs() == null) {
+                return;
+            }
+            for (ActivityLog log : page.getActivityLogs()) {
+                String time = log.getTime();
+                // ISO-8601 UTC timestamps order lexicographically
+                if (time == null || (after != null && time.compareTo(after) <= 0)) {
+                    continue;
+                }
+                newer++;
+                if (newest == null || time.compareTo(newest) > 0) {
+                    newest = time;
+                }
+            }
+        }
+    }
+}
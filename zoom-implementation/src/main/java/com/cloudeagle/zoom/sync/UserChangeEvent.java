@@ -0,0 +1,64 @@
+package com.cloudeagle.zoom.sync;
+
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A single user change detected between two consecutive syncs
+ */
+public class UserChangeEvent {
+    
+    /**
+     * Kind of change
+     */
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED
+    }
+    
+    private final Type type;
+    private final String userId;
+    private final ZoomUser user;
+    private final Set<UserField> changedFields;
+    
+    public UserChangeEvent(Type type, String userId, ZoomUser user, Set<UserField> changedFields) {
+        this.type = type;
+        this.userId = userId;
+        this.user = user;
+        this.changedFields = changedFields != null ? Collections.unmodifiableSet(changedFields) : Collections.emptySet();
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    /**
+     * @return The current user record, or null for REMOVED events
+     */
+    public ZoomUser getUser() {
+        return user;
+    }
+    
+    /**
+     * @return Fields that differ from the previous sync; empty for ADDED and REMOVED events
+     */
+    public Set<UserField> getChangedFields() {
+        return changedFields;
+    }
+    
+    @Override
+    public String toString() {
+        return "UserChangeEvent{" +
+                "type=" + type +
+                ", userId='" + userId + '\'' +
+                ", changedFields=" + changedFields +
+                '}';
+    }
+}
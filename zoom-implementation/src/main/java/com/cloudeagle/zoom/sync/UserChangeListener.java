@@ -0,0 +1,18 @@
+package com.cloudeagle.zoom.sync;
+
+import java.io.IOException;
+
+/**
+ * Receives change events produced by {@link UserChangeTracker}
+ */
+@FunctionalInterface
+public interface UserChangeListener {
+    
+    /**
+     * Handle a single change event
+     * 
+     * @param event The change
+     * @throws IOException If the downstream write fails
+     */
+    void onChange(UserChangeEvent event) throws IOException;
+}
@@ -0,0 +1,402 @@
+package com.cloudeagle.zoom.sync;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cloudeagle.zoom.util.AtomicFiles;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Change-data-capture for the users list.
+ *
+ * Keeps one fingerprint per user from the previous sync (a 64-bit hash per tracked field) and
+ * compares each page of a new sync against it, emitting only ADDED, UPDATED and REMOVED
+ * events. Full user records are never retained, so memory is proportional to the number
+ * of users times the number of tracked fields, and downstream writes are proportional to churn.
+ *
+ * Not thread-safe; run one sync at a time.
+ */
+public class UserChangeTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeTracker.class);
+
+    private static final int FILE_MAGIC = 0x5A554332; // "ZUC2"
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Fields tracked by default: identity, licensing and organizational attributes.
+     * Volatile fields such as last login time are left out so they don't show up as churn.
+     */
+    public static final Set<UserField> DEFAULT_FIELDS = EnumSet.of(
+            UserField.EMAIL, UserField.FIRST_NAME, UserField.LAST_NAME, UserField.TYPE,
+            UserField.ROLE_NAME, UserField.ROLE_ID, UserField.STATUS, UserField.DEPT);
+
+    private final UserField[] fields;
+    private Map<String, long[]> snapshot = new HashMap<>();
+
+    public UserChangeTracker() {
+        this(DEFAULT_FIELDS);
+    }
+
+    public UserChangeTracker(Set<UserField> trackedFields) {
+        if (trackedFields == null || trackedFields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be tracked");
+        }
+        this.fields = EnumSet.copyOf(trackedFields).toArray(new UserField[0]);
+    }
+
+    /**
+     * Start a new sync. Feed it every page of the new user list, then call {@link Session#complete()}.
+     *
+     * @param listener Receives change events as pages are accepted
+     * @return A single-use sync session
+     */
+    public Session beginSync(UserChangeListener listener) {
+        return new Session(listener);
+    }
+
+    /**
+     * Crawl all user pages from the API and emit the changes since the previous sync
+     *
+     * @param client Authenticated API client
+     * @param status User status filter
+     * @param pageSize Page size (max 300)
+     * @param listener Receives change events
+     * @return Summary of the emitted changes
+     * @throws IOException If the crawl or the listener fails; the previous snapshot is kept
+     * @throws InterruptedException If the crawl is interrupted
+     */
+    public SyncSummary sync(ZoomApiClient client, String status, Integer pageSize, UserChangeListener listener)
+            throws IOException, InterruptedException {
+        Session session = beginSync(listener);
+        client.forEachUserPage(status, pageSize, session::accept);
+        return session.complete();
+    }
+
+    /**
+     * @return Number of users in the current snapshot
+     */
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * @param userId User id
+     * @return Whether the user is in the current snapshot
+     */
+    public boolean contains(String userId) {
+        return snapshot.containsKey(userId);
+    }
+
+    /**
+     * Persist the current snapshot so the next process can diff against it
+     *
+     * @param file Target file; replaced atomically via {@link AtomicFiles#write(Path, byte[])}
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + snapshot.size() * (40 + 8 * fields.length));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(fields.length);
+            for (UserField field : fields) {
+                out.writeUTF(field.name());
+            }
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, long[]> entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey());
+                for (long hash : entry.getValue()) {
+                    out.writeLong(hash);
+                }
+            }
+        }
+        AtomicFiles.write(file, bytes.toByteArray());
+    }
+
+    /**
+     * Replace the current snapshot with one written by {@link #save(Path)}
+     *
+     * @param file Snapshot file
+     * @throws IOException If the file is unreadable or was written with different tracked fields
+     */
+    public void load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int magic = in.readInt();
+            if (magic != FILE_MAGIC) {
+                throw new IOException("Not a user snapshot file: " + file);
+            }
+            int fieldCount = in.readInt();
+            UserField[] stored = new UserField[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                stored[i] = UserField.valueOf(in.readUTF());
+            }
+            if (!Arrays.equals(stored, fields)) {
+                throw new IOException("Snapshot tracks " + Arrays.toString(stored)
+                        + " but tracker is configured for " + Arrays.toString(fields));
+            }
+            int count = in.readInt();
+            Map<String, long[]> loaded = new HashMap<>(capacityFor(count));
+            for (int i = 0; i < count; i++) {
+                String id = in.readUTF();
+                long[] fingerprint = new long[fieldCount];
+                for (int f = 0; f < fieldCount; f++) {
+                    fingerprint[f] = in.readLong();
+                }
+                loaded.put(id, fingerprint);
+            }
+            this.snapshot = loaded;
+        }
+        logger.info("Loaded user snapshot with {} users", snapshot.size());
+    }
+
+    /**
+     * Apply a single user change received outside a crawl, e.g. from a webhook, to the snapshot.
+     * Only the given fields are compared and updated; the rest keep their previous fingerprint.
+     * A user not in the snapshot is reported as ADDED.
+     *
+     * Must not run concurrently with a sync. A change applied while a sync is in progress is
+     * overwritten when the sync completes and reported again by the next one.
+     *
+     * @param user User record, possibly partial
+     * @param presentFields Fields carried by the record
+     * @param listener Receives the resulting event, if any
+     * @return The emitted event, or null if no tracked field changed
+     * @throws IOException If the listener fails
+     */
+    public UserChangeEvent apply(ZoomUser user, Set<UserField> presentFields, UserChangeListener listener)
+            throws IOException {
+        String id = user.getId();
+        if (id == null) {
+            throw new IllegalArgumentException("User id is required");
+        }
+        long[] previous = snapshot.get(id);
+        UserChangeEvent event;
+        if (previous == null) {
+            snapshot.put(id, fingerprint(user));
+            event = new UserChangeEvent(UserChangeEvent.Type.ADDED, id, user, null);
+        } else {
+            long[] current = previous.clone();
+            Set<UserField> changed = EnumSet.noneOf(UserField.class);
+            for (int i = 0; i < fields.length; i++) {
+                if (presentFields.contains(fields[i])) {
+                    current[i] = hash(fields[i].get(user));
+                    if (current[i] != previous[i]) {
+                        changed.add(fields[i]);
+                    }
+                }
+            }
+            if (changed.isEmpty()) {
+                return null;
+            }
+            snapshot.put(id, current);
+            event = new UserChangeEvent(UserChangeEvent.Type.UPDATED, id, user, changed);
+        }
+        listener.onChange(event);
+        return event;
+    }
+
+    /**
+     * Remove a user from the snapshot outside a crawl. Same concurrency rules as
+     * {@link #apply(ZoomUser, Set, UserChangeListener)}.
+     *
+     * @param userId User id
+     * @param listener Receives the REMOVED event, if the user was known
+     * @return The emitted event, or null if the user wasn't in the snapshot
+     * @throws IOException If the listener fails
+     */
+    public UserChangeEvent remove(String userId, UserChangeListener listener) throws IOException {
+        if (snapshot.remove(userId) == null) {
+            return null;
+        }
+        UserChangeEvent event = new UserChangeEvent(UserChangeEvent.Type.REMOVED, userId, null, null);
+        listener.onChange(event);
+        return event;
+    }
+
+    private long[] fingerprint(ZoomUser user) {
+        long[] hashes = new long[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            hashes[i] = hash(fields[i].get(user));
+        }
+        return hashes;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes of the value. Unlike {@link String#hashCode()}, short
+     * strings such as "Aa" and "BB" don't collide, so a real change is not mistaken for no change.
+     */
+    static long hash(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        // Reserve 0 for null so "" and null don't collide
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static int capacityFor(int expected) {
+        return (int) (expected / 0.75f) + 1;
+    }
+
+    /**
+     * One pass over the new user list
+     */
+    public class Session {
+
+        private final UserChangeListener listener;
+        private final Map<String, long[]> next;
+        private int added;
+        private int updated;
+        private int unchanged;
+        private boolean completed;
+
+        private Session(UserChangeListener listener) {
+            this.listener = listener;
+            this.next = new HashMap<>(capacityFor(snapshot.size()));
+        }
+
+        /**
+         * Compare a page of users against the previous snapshot
+         *
+         * @param page Page returned by the users API
+         * @throws IOException If the listener fails
+         */
+        public void accept(ZoomUserList page) throws IOException {
+            if (page.getUsers() != null) {
+                accept(page.getUsers());
+            }
+        }
+
+        /**
+         * Compare a batch of users against the previous snapshot
+         *
+         * @param users Users from the new sync
+         * @throws IOException If the listener fails
+         */
+        public void accept(List<ZoomUser> users) throws IOException {
+            if (completed) {
+                throw new IllegalStateException("Sync session already completed");
+            }
+            for (ZoomUser user : users) {
+                String id = user.getId();
+                if (id == null) {
+                    continue;
+                }
+                long[] current = fingerprint(user);
+                if (next.put(id, current) != null) {
+                    // Same user on two pages (list shifted mid-crawl); first occurrence already handled
+                    continue;
+                }
+                long[] previous = snapshot.get(id);
+                if (previous == null) {
+                    added++;
+                    listener.onChange(new UserChangeEvent(UserChangeEvent.Type.ADDED, id, user, null));
+                } else if (!Arrays.equals(previous, current)) {
+                    Set<UserField> changed = EnumSet.noneOf(UserField.class);
+                    for (int i = 0; i < fields.length; i++) {
+                        if (previous[i] != current[i]) {
+                            changed.add(fields[i]);
+                        }
+                    }
+                    updated++;
+                    listener.onChange(new UserChangeEvent(UserChangeEvent.Type.UPDATED, id, user, changed));
+                } else {
+                    unchanged++;
+                }
+            }
+        }
+
+        /**
+         * Emit REMOVED events for users missing from this sync and make it the new baseline.
+         * Only call this after every page was accepted; an abandoned session leaves the
+         * previous snapshot untouched, so its changes are emitted again on the next sync.
+         *
+         * @return Summary of the emitted changes
+         * @throws IOException If the listener fails
+         */
+        public SyncSummary complete() throws IOException {
+            if (completed) {
+                throw new IllegalStateException("Sync session already completed");
+            }
+            completed = true;
+            int removed = 0;
+            for (String id : snapshot.keySet()) {
+                if (!next.containsKey(id)) {
+                    removed++;
+                    listener.onChange(new UserChangeEvent(UserChangeEvent.Type.REMOVED, id, null, null));
+                }
+            }
+            snapshot = next;
+            SyncSummary summary = new SyncSummary(added, updated, removed, unchanged);
+            logger.info("User sync diff complete: {}", summary);
+            return summary;
+        }
+    }
+
+    /**
+     * Counts of changes emitted by one sync
+     */
+    public static class SyncSummary {
+
+        private final int added;
+        private final int updated;
+        private final int removed;
+        private final int unchanged;
+
+        public SyncSummary(int added, int updated, int removed, int unchanged) {
+            this.added = added;
+            this.updated = updated;
+            this.removed = removed;
+            this.unchanged = unchanged;
+        }
+
+        public int getAdded() {
+            return added;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        @Override
+        public String toString() {
+            return "SyncSummary{" +
+                    "added=" + added +
+                    ", updated=" + updated +
+                    ", removed=" + removed +
+                    ", unchanged=" + unchanged +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.cloudeagle.zoom.sync;
+
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.util.function.Function;
+
+/**
+ * User attributes that can be tracked for changes between syncs
+ */
+public enum UserField {
+    
+    EMAIL("email", ZoomUser::getEmail),
+    FIRST_NAME("first_name", ZoomUser::getFirstName),
+    LAST_NAME("last_name", ZoomUser::getLastName),
+    TYPE("type", ZoomUser::getType),
+    ROLE_NAME("role_name", ZoomUser::getRoleName),
+    ROLE_ID("role_id", ZoomUser::getRoleId),
+    STATUS("status", ZoomUser::getStatus),
+    DEPT("dept", ZoomUser::getDept),
+    TIMEZONE("timezone", ZoomUser::getTimezone),
+    LANGUAGE("language", ZoomUser::getLanguage),
+    VERIFIED("verified", ZoomUser::getVerified),
+    PMI("pmi", ZoomUser::getPmi),
+    USE_PMI("use_pmi", ZoomUser::getUsePmi),
+    PERSONAL_MEETING_URL("personal_meeting_url", ZoomUser::getPersonalMeetingUrl),
+    CREATED_AT("created_at", ZoomUser::getCreatedAt),
+    LAST_LOGIN_TIME("last_login_time", ZoomUser::getLastLoginTime),
+    LAST_CLIENT_VERSION("last_client_version", ZoomUser::getLastClientVersion);
+    
+    private final String jsonName;
+    private final Function<ZoomUser, Object> accessor;
+    
+    UserField(String jsonName, Function<ZoomUser, Object> accessor) {
+        this.jsonName = jsonName;
+        this.accessor = accessor;
+    }
+    
+    /**
+     * @return Property name in Zoom's user JSON
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+    
+    /**
+     * Look up a field by its JSON property name
+     * 
+     * @param jsonName Property name, e.g. {@code first_name}
+     * @return The field, or null if it isn't trackable
+     */
+    public static UserField forJsonName(String jsonName) {
+        for (UserField field : values()) {
+            if (field.jsonName.equals(jsonName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Read this field from a user
+     * 
+     * @param user The user
+     * @return Field value, may be null
+     */
+    public Object get(ZoomUser user) {
+        return accessor.apply(user);
+    }
+}
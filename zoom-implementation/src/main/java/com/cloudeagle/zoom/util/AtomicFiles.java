@@ -0,0 +1,89 @@
+package com.cloudeagle.zoom.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Helpers for crash-safe file updates
+ */
+public final class AtomicFiles {
+    
+    private AtomicFiles() {}
+    
+    /**
+     * Replace a file's contents atomically: write and fsync a sibling temp file, rename it over the target,
+     * then fsync the directory so the rename itself survives a crash. Readers see either the old or the new
+     * contents, never a partial write.
+     * 
+     * @param target File to replace
+     * @param content New contents
+     * @throws IOException If the write or rename fails
+     */
+    public static void write(Path target, byte[] content) throws IOException {
+        write(target, content, null);
+    }
+    
+    /**
+     * Like {@link #write(Path, byte[])}, but the temp file is created with the given permissions, so the
+     * contents are never readable with wider permissions, not even briefly. Ignored on file systems
+     * without POSIX permissions.
+     * 
+     * @param target File to replace
+     * @param content New contents
+     * @param permissions Permissions of the new file, or null for the default
+     * @throws IOException If the write or rename fails
+     */
+    public static void write(Path target, byte[] content, Set<PosixFilePermission> permissions) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = openTemp(tmp, permissions)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+    
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories can't be opened or synced on some platforms, e.g. Windows; the rename still happened
+        }
+    }
+    
+    private static FileChannel openTemp(Path tmp, Set<PosixFilePermission> permissions) throws IOException {
+        if (permissions == null || !tmp.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        // A temp file left by a crash keeps its old permissions, so never reuse it
+        Files.deleteIfExists(tmp);
+        FileChannel channel = FileChannel.open(tmp, EnumSet.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+                PosixFilePermissions.asFileAttribute(permissions));
+        try {
+            // The umask can only narrow the creation mode; set it exactly before any content is written
+            Files.setPosixFilePermissions(tmp, permissions);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cloudeagle.zoom.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes a string property through {@link StringInternPool#shared()}. Put it on model fields whose
+ * values repeat across users: {@code @JsonDeserialize(using = InternedStringDeserializer.class)}.
+ */
+public class InternedStringDeserializer extends StdScalarDeserializer<String> {
+    
+    public InternedStringDeserializer() {
+        super(String.class);
+    }
+    
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return StringInternPool.shared().intern(parser.getValueAsString());
+    }
+}
@@ -0,0 +1,245 @@
+package com.cloudeagle.zoom.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Token-level helpers used by the generated streaming readers in {@code com.cloudeagle.zoom.model.generated}.
+ *
+ * Scalars are coerced the way Jackson's defaults coerce them into the model fields: numbers and
+ * booleans may arrive as strings, integral numbers may stand in for booleans, and a blank string or
+ * the text {@code "null"} counts as null for numbers and booleans (0 or false for primitives).
+ */
+public final class StreamingJson {
+    
+    private StreamingJson() {
+    }
+    
+    /**
+     * Reads one value from a parser positioned at, or just before, it
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        
+        T read(JsonParser parser) throws IOException;
+    }
+    
+    /**
+     * Parse a whole document
+     * 
+     * @param factory Parser factory, e.g. {@code objectMapper.getFactory()}
+     * @param json UTF-8 JSON
+     * @param reader Reads the root value
+     * @return The root value
+     * @throws IOException If the JSON is malformed or does not match the reader
+     */
+    public static <T> T parse(JsonFactory factory, byte[] json, Reader<T> reader) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            return reader.read(parser);
+        }
+    }
+    
+    /**
+     * Advance to the value if needed and check it opens an object
+     * 
+     * @return True at the start of an object, false at a JSON null
+     * @throws IOException If the value is anything else
+     */
+    public static boolean startObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        throw new JsonParseException(parser, "Expected an object but found " + token);
+    }
+    
+    /**
+     * Check that the field loop stopped at the end of the object rather than the end of input
+     */
+    public static void endObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Unterminated object");
+        }
+    }
+    
+    /**
+     * @return True at the start of an array, false at a JSON null
+     * @throws IOException If the value is anything else
+     */
+    public static boolean startArray(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_ARRAY) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        throw new JsonParseException(parser, "Expected an array but found " + token);
+    }
+    
+    /**
+     * Advance to the next array element
+     * 
+     * @return False at the end of the array
+     * @throws IOException At the end of input
+     */
+    public static boolean nextElement(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unterminated array");
+        }
+        return token != JsonToken.END_ARRAY;
+    }
+    
+    public static String string(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new JsonParseException(parser, "Expected a string but found " + token);
+        }
+        return parser.getText();
+    }
+    
+    /**
+     * Read a string through {@link StringInternPool#shared()} without allocating when it is cached
+     */
+    public static String internedString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_STRING) {
+            return StringInternPool.shared().intern(string(parser));
+        }
+        return StringInternPool.shared().intern(parser.getTextCharacters(), parser.getTextOffset(), 
+                parser.getTextLength());
+    }
+    
+    /**
+     * @return True at a JSON null, or at a string a number or boolean treats as null: blank or {@code "null"}
+     */
+    public static boolean isNull(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return true;
+        }
+        return token == JsonToken.VALUE_STRING && isNullText(parser.getText());
+    }
+    
+    /**
+     * @return Whether a string value counts as null for a number or boolean: blank or {@code "null"}
+     */
+    public static boolean isNullText(String text) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() || "null".equals(trimmed);
+    }
+    
+    /**
+     * Coerce a string value to a long
+     * 
+     * @return The value, or null for a blank or {@code "null"} string
+     * @throws NumberFormatException If the text is not an integer
+     */
+    public static Long longFromText(String text) {
+        return isNullText(text) ? null : Long.parseLong(text.trim());
+    }
+    
+    /**
+     * Coerce a string value to a boolean; case is ignored
+     * 
+     * @return The value, or null for a blank or {@code "null"} string
+     * @throws IllegalArgumentException If the text is not {@code true} or {@code false}
+     */
+    public static Boolean booleanFromText(String text) {
+        if (isNullText(text)) {
+            return null;
+        }
+        String trimmed = text.trim();
+        if ("true".equalsIgnoreCase(trimmed)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(trimmed)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + text);
+    }
+    
+    /**
+     * @return The value, or 0 for a blank or {@code "null"} string; the caller handles JSON null
+     */
+    public static int intValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getValueAsInt();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            if (isNull(parser)) {
+                return 0;
+            }
+            try {
+                return Integer.parseInt(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                throw new JsonParseException(parser, "Not an int: " + parser.getText(), e);
+            }
+        }
+        throw new JsonParseException(parser, "Expected an int but found " + token);
+    }
+    
+    /**
+     * @return The value, or 0 for a blank or {@code "null"} string; the caller handles JSON null
+     */
+    public static long longValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getValueAsLong();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                Long value = longFromText(parser.getText());
+                return value != null ? value : 0;
+            } catch (NumberFormatException e) {
+                throw new JsonParseException(parser, "Not a long: " + parser.getText(), e);
+            }
+        }
+        throw new JsonParseException(parser, "Expected a long but found " + token);
+    }
+    
+    /**
+     * @return The value, or false for a blank or {@code "null"} string; the caller handles JSON null
+     */
+    public static boolean booleanValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue() != 0;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Boolean.TRUE.equals(booleanFromText(parser.getText()));
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException(parser, "Not a boolean: " + parser.getText(), e);
+            }
+        }
+        throw new JsonParseException(parser, "Expected a boolean but found " + token);
+    }
+    
+    public static Integer integer(JsonParser parser) throws IOException {
+        return isNull(parser) ? null : intValue(parser);
+    }
+    
+    public static Long longObject(JsonParser parser) throws IOException {
+        return isNull(parser) ? null : longValue(parser);
+    }
+    
+    public static Boolean booleanObject(JsonParser parser) throws IOException {
+        return isNull(parser) ? null : booleanValue(parser);
+    }
+}
@@ -0,0 +1,137 @@
+package com.cloudeagle.zoom.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bounded cache of canonical instances for low-cardinality strings such as time zones, languages,
+ * client versions and role names, which otherwise repeat millions of times across tenants.
+ *
+ * Direct-mapped: each value hashes to one slot and replaces whatever was there, so memory is fixed
+ * and a high-cardinality field merely misses instead of growing the pool. Lock-free; racing
+ * threads may briefly produce two instances of a value, which is harmless.
+ *
+ * {@link #intern(byte[], int, int)} and {@link #intern(char[], int, int)} canonicalize text straight
+ * from a response or parser buffer and allocate nothing on a hit.
+ */
+public final class StringInternPool {
+    
+    private static final StringInternPool SHARED = new StringInternPool(1 << 14, 64);
+    
+    private final String[] strings;
+    private final Entry[] utf8Entries;
+    private final int mask;
+    private final int maxLength;
+    
+    /**
+     * @param slots Number of cached values per lookup path, rounded up to a power of two
+     * @param maxLength Longer values are returned as is
+     */
+    public StringInternPool(int slots, int maxLength) {
+        int size = Integer.highestOneBit(Math.max(16, slots - 1)) << 1;
+        this.strings = new String[size];
+        this.utf8Entries = new Entry[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+    
+    /**
+     * @return Pool used by the model deserializers
+     */
+    public static StringInternPool shared() {
+        return SHARED;
+    }
+    
+    /**
+     * @param value Any string, or null
+     * @return A canonical instance equal to the value
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int slot = spread(value.hashCode()) & mask;
+        String cached = strings[slot];
+        if (cached != null && cached.equals(value)) {
+            return cached;
+        }
+        strings[slot] = value;
+        return value;
+    }
+    
+    /**
+     * Canonicalize text straight from a parser's character buffer, e.g. {@code JsonParser.getTextCharacters()}
+     * 
+     * @param chars Buffer holding the value
+     * @param offset Start of the value
+     * @param length Length in chars
+     * @return A canonical string with the value; nothing is allocated on a hit
+     */
+    public String intern(char[] chars, int offset, int length) {
+        if (length > maxLength) {
+            return new String(chars, offset, length);
+        }
+        // Same hash as String.hashCode(), so both lookup paths share slots
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = spread(hash) & mask;
+        String cached = strings[slot];
+        if (cached != null && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == chars[offset + i]) {
+                i++;
+            }
+            if (i == length) {
+                return cached;
+            }
+        }
+        String value = new String(chars, offset, length);
+        strings[slot] = value;
+        return value;
+    }
+    
+    /**
+     * @param utf8 Buffer holding UTF-8 text
+     * @param offset Start of the value
+     * @param length Length in bytes
+     * @return A canonical string with the decoded value
+     */
+    public String intern(byte[] utf8, int offset, int length) {
+        if (length > maxLength) {
+            return new String(utf8, offset, length, StandardCharsets.UTF_8);
+        }
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + utf8[i];
+        }
+        int slot = spread(hash) & mask;
+        Entry cached = utf8Entries[slot];
+        if (cached != null && cached.hash == hash
+                && Arrays.equals(cached.bytes, 0, cached.bytes.length, utf8, offset, offset + length)) {
+            return cached.value;
+        }
+        String value = intern(new String(utf8, offset, length, StandardCharsets.UTF_8));
+        utf8Entries[slot] = new Entry(hash, Arrays.copyOfRange(utf8, offset, offset + length), value);
+        return value;
+    }
+    
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    
+    private static final class Entry {
+        
+        final int hash;
+        final byte[] bytes;
+        final String value;
+        
+        Entry(int hash, byte[] bytes, String value) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.cloudeagle.zoom.webhook;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+
+import java.io.IOException;
+
+/**
+ * Receives sign-in and sign-out events from {@link UserWebhookHandler} in the same shape as
+ * the activity report API returns them
+ */
+@FunctionalInterface
+public interface SignInListener {
+    
+    /**
+     * Handle a single sign-in or sign-out
+     * 
+     * @param activity The activity, with type {@code Sign in} or {@code Sign out}
+     * @throws IOException If the downstream write fails
+     */
+    void onActivity(ActivityLog activity) throws IOException;
+}
@@ -0,0 +1,140 @@
+package com.cloudeagle.zoom.webhook;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.cloudeagle.zoom.sync.UserChangeListener;
+import com.cloudeagle.zoom.sync.UserChangeTracker;
+import com.cloudeagle.zoom.sync.UserField;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies {@code user.*} webhook events to a {@link UserChangeTracker}, so the synced user state
+ * stays current between crawls and downstream sees the same ADDED, UPDATED and REMOVED events a
+ * crawl would produce. Sign-in and sign-out events go to an optional {@link SignInListener}.
+ *
+ * Events older than one already applied for the same user are skipped, since Zoom doesn't
+ * guarantee delivery order. Events are applied while holding the tracker's monitor; run
+ * reconciliation crawls under {@code synchronized (tracker)} as well.
+ */
+public class UserWebhookHandler implements WebhookEventHandler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserWebhookHandler.class);
+    
+    private final UserChangeTracker tracker;
+    private final UserChangeListener listener;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Long> lastEventTs = new HashMap<>();
+    private SignInListener signInListener;
+    
+    /**
+     * @param tracker Synced user state to update
+     * @param listener Receives the resulting change events
+     */
+    public UserWebhookHandler(UserChangeTracker tracker, UserChangeListener listener) {
+        this.tracker = tracker;
+        this.listener = listener;
+    }
+    
+    /**
+     * @param signInListener Receives {@code user.signed_in} and {@code user.signed_out} events
+     */
+    public void setSignInListener(SignInListener signInListener) {
+        this.signInListener = signInListener;
+    }
+    
+    @Override
+    public void handle(WebhookEvent event) throws IOException {
+        String userId = event.getObjectId();
+        if (userId == null || !event.getEvent().startsWith("user.")) {
+            logger.debug("Ignoring webhook {}", event);
+            return;
+        }
+        synchronized (tracker) {
+            Long last = lastEventTs.get(userId);
+            if (last != null && event.getEventTs() < last) {
+                logger.debug("Skipping out-of-order webhook {}", event);
+                return;
+            }
+            lastEventTs.put(userId, event.getEventTs());
+            
+            switch (event.getEvent()) {
+                case "user.created":
+                case "user.updated":
+                    upsert(event.getObject(), null);
+                    break;
+                case "user.activated":
+                case "user.invitation_accepted":
+                    upsert(event.getObject(), "active");
+                    break;
+                case "user.deactivated":
+                    upsert(event.getObject(), "inactive");
+                    break;
+                case "user.deleted":
+                case "user.disassociated":
+                    tracker.remove(userId, listener);
+                    break;
+                case "user.signed_in":
+                    signIn(event.getObject(), "Sign in");
+                    break;
+                case "user.signed_out":
+                    signIn(event.getObject(), "Sign out");
+                    break;
+                default:
+                    logger.debug("Ignoring webhook {}", event);
+            }
+        }
+    }
+    
+    private void upsert(JsonNode object, String status) throws IOException {
+        ZoomUser user = objectMapper.treeToValue(object, ZoomUser.class);
+        Set<UserField> present = presentFields(object);
+        if (status != null) {
+            user.setStatus(status);
+            present.add(UserField.STATUS);
+        }
+        tracker.apply(user, present, listener);
+    }
+    
+    private void signIn(JsonNode object, String type) throws IOException {
+        String time = object.path("date_time").asText(null);
+        String userId = object.path("id").asText();
+        if ("Sign in".equals(type) && time != null && tracker.contains(userId)) {
+            ZoomUser user = new ZoomUser();
+            user.setId(userId);
+            user.setLastLoginTime(time);
+            tracker.apply(user, EnumSet.of(UserField.LAST_LOGIN_TIME), listener);
+        }
+        if (signInListener != null) {
+            ActivityLog activity = new ActivityLog();
+            activity.setEmail(object.path("email").asText(null));
+            activity.setTime(time);
+            activity.setType(type);
+            activity.setClientType(object.path("client_type").asText(null));
+            activity.setVersion(object.path("version").asText(null));
+            activity.setIpAddress(object.path("ip_address").asText(null));
+            signInListener.onActivity(activity);
+        }
+    }
+    
+    private static Set<UserField> presentFields(JsonNode object) {
+        Set<UserField> fields = EnumSet.noneOf(UserField.class);
+        Iterator<String> names = object.fieldNames();
+        while (names.hasNext()) {
+            UserField field = UserField.forJsonName(names.next());
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,115 @@
+package com.cloudeagle.zoom.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * A single Zoom webhook notification.
+ *
+ * Zoom posts {@code {"event": "user.updated", "event_ts": 1700000000000, "payload": {"account_id": ...,
+ * "object": {...}, "old_object": {...}}}}. For update events {@code object} only carries the id and
+ * the properties that changed.
+ */
+public class WebhookEvent {
+    
+    private final String event;
+    private final long eventTs;
+    private final JsonNode payload;
+    
+    public WebhookEvent(String event, long eventTs, JsonNode payload) {
+        this.event = event;
+        this.eventTs = eventTs;
+        this.payload = payload != null ? payload : MissingNode.getInstance();
+    }
+    
+    /**
+     * Read an event from the request body's JSON tree
+     * 
+     * @param root Parsed request body
+     * @return The event
+     * @throws IllegalArgumentException If the body has no event name
+     */
+    public static WebhookEvent fromJson(JsonNode root) {
+        String event = root.path("event").asText(null);
+        if (event == null || event.isEmpty()) {
+            throw new IllegalArgumentException("Webhook body has no event name");
+        }
+        return new WebhookEvent(event, root.path("event_ts").asLong(), root.get("payload"));
+    }
+    
+    /**
+     * @return Event name, e.g. {@code user.updated}
+     */
+    public String getEvent() {
+        return event;
+    }
+    
+    /**
+     * @return When Zoom generated the event, in epoch milliseconds
+     */
+    public long getEventTs() {
+        return eventTs;
+    }
+    
+    public JsonNode getPayload() {
+        return payload;
+    }
+    
+    public String getAccountId() {
+        return payload.path("account_id").asText(null);
+    }
+    
+    /**
+     * @return The affected object, or a missing node
+     */
+    public JsonNode getObject() {
+        return payload.path("object");
+    }
+    
+    /**
+     * @return Previous values of changed properties (update events only), or a missing node
+     */
+    public JsonNode getOldObject() {
+        return payload.path("old_object");
+    }
+    
+    /**
+     * @return Id of the affected object, or null
+     */
+    public String getObjectId() {
+        return getObject().path("id").asText(null);
+    }
+    
+    /**
+     * Key identifying this notification across Zoom's redeliveries
+     */
+    String dedupeKey() {
+        // The object digest separates distinct changes to one user within the same millisecond;
+        // JsonNode.hashCode() collides for values as simple as "Aa" and "BB"
+        return event + '|' + eventTs + '|' + getAccountId() + '|' + getObjectId() + '|' + objectDigest();
+    }
+    
+    private String objectDigest() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(getObject().toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "WebhookEvent{" +
+                "event='" + event + '\'' +
+                ", eventTs=" + eventTs +
+                ", objectId='" + getObjectId() + '\'' +
+                '}';
+    }
+}
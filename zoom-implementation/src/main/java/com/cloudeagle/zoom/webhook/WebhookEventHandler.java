@@ -0,0 +1,18 @@
+package com.cloudeagle.zoom.webhook;
+
+import java.io.IOException;
+
+/**
+ * Processes webhook events dequeued by {@link WebhookReceiver}, one at a time and in arrival order
+ */
+@FunctionalInterface
+public interface WebhookEventHandler {
+    
+    /**
+     * Handle a single event
+     * 
+     * @param event The event
+     * @throws IOException If the downstream write fails; the event is logged and dropped
+     */
+    void handle(WebhookEvent event) throws IOException;
+}
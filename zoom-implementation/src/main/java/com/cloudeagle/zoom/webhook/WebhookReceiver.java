@@ -0,0 +1,308 @@
+package com.cloudeagle.zoom.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded HTTP endpoint for Zoom webhooks.
+ *
+ * Each {@code POST} is checked against the app's secret token (signature and timestamp), parsed,
+ * de-duplicated against recently seen events and queued; Zoom gets its 200 before the event is
+ * processed. A single dispatcher thread hands queued events to the {@link WebhookEventHandler} in
+ * arrival order. When the queue is full the receiver answers 503 so Zoom redelivers later.
+ * Zoom's {@code endpoint.url_validation} challenge is answered directly.
+ *
+ * Locally, post synthetic events with {@code MockWebhookSender} from the {@code mock} profile.
+ */
+public class WebhookReceiver implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WebhookReceiver.class);
+    
+    public static final String DEFAULT_PATH = "/webhooks/zoom";
+    
+    private static final String URL_VALIDATION_EVENT = "endpoint.url_validation";
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    
+    private final String secretToken;
+    private final WebhookEventHandler handler;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<WebhookEvent> queue;
+    private final Map<String, Boolean> recentEvents;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private long maxClockSkewSeconds = 300;
+    private HttpServer server;
+    private ExecutorService httpExecutor;
+    private Thread dispatcher;
+    
+    /**
+     * @param secretToken The app's webhook secret token
+     * @param handler Receives events after verification and de-duplication
+     */
+    public WebhookReceiver(String secretToken, WebhookEventHandler handler) {
+        this(secretToken, handler, 10_000, 100_000);
+    }
+    
+    /**
+     * @param secretToken The app's webhook secret token
+     * @param handler Receives events after verification and de-duplication
+     * @param queueCapacity Events buffered ahead of the handler
+     * @param dedupeWindow Number of recent event keys remembered for de-duplication
+     */
+    public WebhookReceiver(String secretToken, WebhookEventHandler handler, int queueCapacity, int dedupeWindow) {
+        if (secretToken == null || secretToken.isEmpty()) {
+            throw new IllegalArgumentException("Webhook secret token is required");
+        }
+        this.secretToken = secretToken;
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.recentEvents = new LinkedHashMap<String, Boolean>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupeWindow;
+            }
+        };
+    }
+    
+    /**
+     * @param maxClockSkewSeconds Oldest request timestamp accepted, to limit replays; 0 disables the check
+     */
+    public void setMaxClockSkewSeconds(long maxClockSkewSeconds) {
+        this.maxClockSkewSeconds = maxClockSkewSeconds;
+    }
+    
+    /**
+     * Start listening
+     * 
+     * @param host Interface to bind, e.g. {@code 0.0.0.0} behind a proxy or {@code 127.0.0.1} locally
+     * @param port Port, or 0 for an ephemeral port
+     * @throws IOException If the port cannot be bound
+     */
+    public void start(String host, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 256);
+        httpExecutor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "zoom-webhook-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(httpExecutor);
+        server.createContext(DEFAULT_PATH, this::handleRequest);
+        dispatcher = new Thread(this::dispatch, "zoom-webhook-dispatch");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        server.start();
+        logger.info("Webhook receiver listening on {}", getUrl());
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * @return URL to register as the event notification endpoint (or to post synthetic events to)
+     */
+    public String getUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + DEFAULT_PATH;
+    }
+    
+    /**
+     * Wait until every accepted event has been handled
+     * 
+     * @param timeoutMillis Maximum wait
+     * @return Whether the receiver went idle in time
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+    
+    /**
+     * @return Events queued or being handled
+     */
+    public int getPending() {
+        return inFlight.get();
+    }
+    
+    /**
+     * @return Events accepted for processing
+     */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+    
+    /**
+     * @return Redeliveries of already accepted events
+     */
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+    
+    /**
+     * @return Requests refused for a bad signature, stale timestamp, malformed body or full queue
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    /**
+     * @return Events the handler failed on
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+    
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            httpExecutor.shutdownNow();
+            dispatcher.interrupt();
+            server = null;
+        }
+    }
+    
+    private void handleRequest(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, null);
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readNBytes(MAX_BODY_BYTES + 1);
+            }
+            if (body.length > MAX_BODY_BYTES) {
+                reject(exchange, 413, "Body too large");
+                return;
+            }
+            String timestamp = exchange.getRequestHeaders().getFirst(WebhookSignature.TIMESTAMP_HEADER);
+            String signature = exchange.getRequestHeaders().getFirst(WebhookSignature.SIGNATURE_HEADER);
+            if (!WebhookSignature.verify(secretToken, timestamp, body, signature)) {
+                reject(exchange, 401, "Invalid signature");
+                return;
+            }
+            if (!isFresh(timestamp)) {
+                reject(exchange, 401, "Stale timestamp " + timestamp);
+                return;
+            }
+            
+            WebhookEvent event;
+            try {
+                event = WebhookEvent.fromJson(objectMapper.readTree(body));
+            } catch (IOException | IllegalArgumentException e) {
+                reject(exchange, 400, "Malformed body: " + e.getMessage());
+                return;
+            }
+            if (URL_VALIDATION_EVENT.equals(event.getEvent())) {
+                validateUrl(exchange, event);
+                return;
+            }
+            
+            String key = event.dedupeKey();
+            synchronized (recentEvents) {
+                if (recentEvents.containsKey(key)) {
+                    duplicates.increment();
+                    send(exchange, 200, null);
+                    return;
+                }
+                inFlight.incrementAndGet();
+                if (!queue.offer(event)) {
+                    inFlight.decrementAndGet();
+                    reject(exchange, 503, "Queue full");
+                    return;
+                }
+                recentEvents.put(key, Boolean.TRUE);
+            }
+            accepted.increment();
+            send(exchange, 200, null);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private boolean isFresh(String timestamp) {
+        if (maxClockSkewSeconds <= 0) {
+            return true;
+        }
+        try {
+            long seconds = Long.parseLong(timestamp);
+            return Math.abs(System.currentTimeMillis() / 1000 - seconds) <= maxClockSkewSeconds;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    private void validateUrl(HttpExchange exchange, WebhookEvent event) throws IOException {
+        String plainToken = event.getPayload().path("plainToken").asText("");
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("plainToken", plainToken);
+        response.put("encryptedToken", WebhookSignature.encryptToken(secretToken, plainToken));
+        send(exchange, 200, objectMapper.writeValueAsBytes(response));
+    }
+    
+    private void dispatch() {
+        while (true) {
+            WebhookEvent event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                handler.handle(event);
+            } catch (IOException | RuntimeException e) {
+                failed.increment();
+                logger.error("Failed to handle webhook {}", event, e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+    
+    private void reject(HttpExchange exchange, int status, String reason) throws IOException {
+        rejected.increment();
+        logger.warn("Rejected webhook request from {}: {}", exchange.getRemoteAddress(), reason);
+        send(exchange, status, null);
+    }
+    
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
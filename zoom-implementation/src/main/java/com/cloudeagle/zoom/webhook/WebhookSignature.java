@@ -0,0 +1,84 @@
+package com.cloudeagle.zoom.webhook;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * Zoom webhook signatures: {@code x-zm-signature: v0=hex(HMAC-SHA256(secretToken, "v0:" + timestamp + ":" + body))}
+ * where the timestamp is the {@code x-zm-request-timestamp} header in epoch seconds.
+ */
+public final class WebhookSignature {
+    
+    public static final String SIGNATURE_HEADER = "x-zm-signature";
+    public static final String TIMESTAMP_HEADER = "x-zm-request-timestamp";
+    
+    private static final String VERSION = "v0";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    private WebhookSignature() {
+    }
+    
+    /**
+     * Compute the signature header value for a request
+     * 
+     * @param secretToken The app's webhook secret token
+     * @param timestamp Request timestamp header value
+     * @param body Raw request body
+     * @return Value for the {@code x-zm-signature} header
+     */
+    public static String sign(String secretToken, String timestamp, byte[] body) {
+        Mac mac = mac(secretToken);
+        mac.update((VERSION + ":" + timestamp + ":").getBytes(StandardCharsets.UTF_8));
+        return VERSION + "=" + hex(mac.doFinal(body));
+    }
+    
+    /**
+     * Check a request's signature in constant time
+     * 
+     * @param secretToken The app's webhook secret token
+     * @param timestamp Request timestamp header value
+     * @param body Raw request body
+     * @param signature Received {@code x-zm-signature} header value
+     * @return Whether the signature matches
+     */
+    public static boolean verify(String secretToken, String timestamp, byte[] body, String signature) {
+        if (timestamp == null || signature == null) {
+            return false;
+        }
+        byte[] expected = sign(secretToken, timestamp, body).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    /**
+     * Answer to Zoom's {@code endpoint.url_validation} challenge
+     * 
+     * @param secretToken The app's webhook secret token
+     * @param plainToken Token from the challenge payload
+     * @return Hex HMAC-SHA256 of the plain token
+     */
+    public static String encryptToken(String secretToken, String plainToken) {
+        return hex(mac(secretToken).doFinal(plainToken.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private static Mac mac(String secretToken) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secretToken.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+    
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
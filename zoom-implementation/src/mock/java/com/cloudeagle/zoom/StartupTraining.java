@@ -0,0 +1,45 @@
+package com.cloudeagle.zoom;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.mock.MockZoomServer;
+import com.cloudeagle.zoom.mock.SyntheticTenant;
+import com.cloudeagle.zoom.model.LazyZoomUserList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Training run for the AppCDS archive: exercises the same classes a sync worker loads (HTTP client,
+ * Jackson, model classes, pagination) against an in-process mock server, then exits.
+ *
+ * Run by the {@code appcds} Maven profile with {@code -XX:ArchiveClassesAtExit}; see the README.
+ */
+public class StartupTraining {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StartupTraining.class);
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        try (MockZoomServer server = new MockZoomServer()) {
+            server.addTenant(new SyntheticTenant("TRAINING", 1_000));
+            server.start(0);
+            
+            ZoomApiClient client = new ZoomApiClient("training", "training",
+                    server.getOAuthBaseUrl(), server.getApiBaseUrl());
+            client.warmUp();
+            client.exchangeCodeForToken("TRAINING", "http://localhost/callback");
+            client.getAccountInfo();
+            client.getCurrentUser();
+            client.getAccountPlanDetails();
+            int[] users = new int[1];
+            client.forEachUserPage("active", 300, page -> users[0] += page.getUsers().size());
+            LazyZoomUserList lazy = client.getUsersLazy("active", 300, null, LazyZoomUserList.SUMMARY_FIELDS);
+            lazy.get(0).getEmail();
+            LocalDate today = LocalDate.now();
+            client.forEachActivityPage(today.minusDays(1).toString(), today.toString(), 300, page -> { });
+            client.getMeetings("me", null, 30, null);
+            logger.info("Startup training finished: {} users", users[0]);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cloudeagle.zoom.mock;
+
+import java.util.Random;
+
+/**
+ * Response delay injected by {@link MockZoomServer}
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    
+    /**
+     * @param random Source of randomness
+     * @return Delay in milliseconds
+     */
+    long sampleMillis(Random random);
+    
+    /**
+     * No injected delay
+     */
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+    
+    /**
+     * Constant delay
+     */
+    static LatencyDistribution fixed(long millis) {
+        return random -> millis;
+    }
+    
+    /**
+     * Delay uniformly distributed in [minMillis, maxMillis]
+     */
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("maxMillis must be >= minMillis");
+        }
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+    }
+    
+    /**
+     * Log-normal delay with the given median and 99th percentile, the usual shape of API latency
+     */
+    static LatencyDistribution logNormal(double medianMillis, double p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("Require 0 < median <= p99");
+        }
+        double mu = Math.log(medianMillis);
+        // z-score of the 99th percentile of a standard normal
+        double sigma = (Math.log(p99Millis) - mu) / 2.326348;
+        return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.cloudeagle.zoom.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fault and latency injection settings for {@link MockZoomServer}
+ */
+public class MockServerConfig {
+    
+    private LatencyDistribution latency = LatencyDistribution.none();
+    private final Map<String, LatencyDistribution> endpointLatency = new HashMap<>();
+    private double rateLimitProbability;
+    private int retryAfterSeconds = 1;
+    private int threads = 64;
+    
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+    
+    /**
+     * @param latency Delay applied to every endpoint without its own override
+     */
+    public void setLatency(LatencyDistribution latency) {
+        this.latency = latency;
+    }
+    
+    /**
+     * Override latency for one endpoint
+     * 
+     * @param endpoint Endpoint name as reported by {@link MockZoomServer#getRequestCounts()}, e.g. "users"
+     * @param latency Delay for that endpoint
+     */
+    public void setEndpointLatency(String endpoint, LatencyDistribution latency) {
+        endpointLatency.put(endpoint, latency);
+    }
+    
+    public LatencyDistribution getLatency(String endpoint) {
+        return endpointLatency.getOrDefault(endpoint, latency);
+    }
+    
+    public double getRateLimitProbability() {
+        return rateLimitProbability;
+    }
+    
+    /**
+     * @param rateLimitProbability Fraction of API requests answered with 429, between 0 and 1
+     */
+    public void setRateLimitProbability(double rateLimitProbability) {
+        if (rateLimitProbability < 0 || rateLimitProbability > 1) {
+            throw new IllegalArgumentException("rateLimitProbability must be between 0 and 1");
+        }
+        this.rateLimitProbability = rateLimitProbability;
+    }
+    
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    /**
+     * @param retryAfterSeconds Value of the Retry-After header on 429 responses
+     */
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    /**
+     * @param threads Handler threads; injected latency blocks a thread, so size this for the expected concurrency
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
@@ -0,0 +1,88 @@
+package com.cloudeagle.zoom.mock;
+
+import com.cloudeagle.zoom.webhook.WebhookSignature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Posts synthetic, correctly signed Zoom webhook events, for exercising a
+ * {@link com.cloudeagle.zoom.webhook.WebhookReceiver} locally without registering a Zoom app.
+ */
+public class MockWebhookSender {
+    
+    private final String url;
+    private final String secretToken;
+    private final String accountId;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    
+    /**
+     * @param url Receiver URL
+     * @param secretToken Secret token the receiver was created with
+     * @param accountId Account id put in every payload
+     */
+    public MockWebhookSender(String url, String secretToken, String accountId) {
+        this.url = url;
+        this.secretToken = secretToken;
+        this.accountId = accountId;
+    }
+    
+    /**
+     * Build an event body
+     * 
+     * @param event Event name, e.g. {@code user.updated}
+     * @param eventTs Event time in epoch milliseconds
+     * @param object Properties of the affected object, including its {@code id}
+     * @return The JSON body Zoom would send
+     */
+    public ObjectNode event(String event, long eventTs, Map<String, ?> object) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("event", event);
+        root.put("event_ts", eventTs);
+        ObjectNode payload = root.putObject("payload");
+        payload.put("account_id", accountId);
+        payload.set("object", objectMapper.valueToTree(object));
+        return root;
+    }
+    
+    /**
+     * Sign and post an event stamped with the current time
+     * 
+     * @param event Event name
+     * @param object Properties of the affected object, including its {@code id}
+     * @return HTTP status returned by the receiver
+     * @throws IOException If the request fails
+     * @throws InterruptedException If interrupted while waiting for the response
+     */
+    public int send(String event, Map<String, ?> object) throws IOException, InterruptedException {
+        return post(objectMapper.writeValueAsBytes(event(event, System.currentTimeMillis(), object)));
+    }
+    
+    /**
+     * Sign and post a raw body, e.g. to redeliver an event
+     * 
+     * @param body Request body
+     * @return HTTP status returned by the receiver
+     * @throws IOException If the request fails
+     * @throws InterruptedException If interrupted while waiting for the response
+     */
+    public int post(byte[] body) throws IOException, InterruptedException {
+        String timestamp = Long.toString(Instant.now().getEpochSecond());
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header(WebhookSignature.TIMESTAMP_HEADER, timestamp)
+                .header(WebhookSignature.SIGNATURE_HEADER, WebhookSignature.sign(secretToken, timestamp, body))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
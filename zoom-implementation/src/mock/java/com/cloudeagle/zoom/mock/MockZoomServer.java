@@ -0,0 +1,405 @@
+package com.cloudeagle.zoom.mock;
+
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.model.ZoomActivityReport;
+import com.cloudeagle.zoom.model.ZoomMeetingList;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded stand-in for the Zoom OAuth and REST APIs, for load tests without real tenants.
+ *
+ * Serves {@code POST /oauth/token} and, under {@code /v2}, {@code /accounts/me},
+ * {@code /accounts/me/plans}, {@code /users}, {@code /users/me}, {@code /users/{userId}/meetings} and
+ * {@code /report/activities} for any number of {@link SyntheticTenant}s. The authorization code for a tenant is its account id;
+ * the issued bearer token selects the tenant on later calls. Latency and 429 responses are injected
+ * according to the {@link MockServerConfig}.
+ *
+ * Point a client at it with
+ * {@code new ZoomApiClient(id, secret, server.getOAuthBaseUrl(), server.getApiBaseUrl())}.
+ */
+public class MockZoomServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockZoomServer.class);
+
+    private static final String TOKEN_PREFIX = "mock-token-";
+    private static final String REFRESH_PREFIX = "mock-refresh-";
+
+    private final MockServerConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, SyntheticTenant> tenantsByCode = new ConcurrentHashMap<>();
+    private final Map<String, SyntheticTenant> tenantsByToken = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final LongAdder rateLimitedCount = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MockZoomServer() {
+        this(new MockServerConfig());
+    }
+
+    public MockZoomServer(MockServerConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Register a tenant
+     *
+     * @param tenant The tenant
+     * @return Access token that selects this tenant, usable without the OAuth exchange
+     */
+    public String addTenant(SyntheticTenant tenant) {
+        String token = TOKEN_PREFIX + tenant.getAccountId();
+        tenantsByCode.put(tenant.getAccountId(), tenant);
+        tenantsByToken.put(token, tenant);
+        return token;
+    }
+
+    /**
+     * Start listening on localhost
+     *
+     * @param port Port, or 0 for an ephemeral port
+     * @throws IOException If the port cannot be bound
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        executor = Executors.newFixedThreadPool(config.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "mock-zoom");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/oauth/token", this::handleToken);
+        server.createContext("/v2/", this::handleApi);
+        server.start();
+        logger.info("Mock Zoom server listening on {} with {} tenants", getOAuthBaseUrl(), tenantsByCode.size());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getOAuthBaseUrl() {
+        return "http://127.0.0.1:" + getPort();
+    }
+
+    public String getApiBaseUrl() {
+        return getOAuthBaseUrl() + "/v2";
+    }
+
+    /**
+     * @return Requests served per endpoint, including rate-limited ones
+     */
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        requestCounts.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        return counts;
+    }
+
+    /**
+     * @return Number of 429 responses served
+     */
+    public long getRateLimitedCount() {
+        return rateLimitedCount.sum();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        try {
+            count("oauth_token");
+            delay("oauth_token");
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, 405, "Method not allowed");
+                return;
+            }
+            Map<String, String> form = parseQuery(readBody(exchange));
+            SyntheticTenant tenant;
+            if ("refresh_token".equals(form.get("grant_type"))) {
+                String refreshToken = form.getOrDefault("refresh_token", "");
+                tenant = refreshToken.startsWith(REFRESH_PREFIX)
+                        ? tenantsByCode.get(refreshToken.substring(REFRESH_PREFIX.length())) : null;
+                if (tenant == null) {
+                    sendError(exchange, 400, 4735, "Invalid Token!");
+                    return;
+                }
+            } else {
+                tenant = tenantsByCode.get(form.getOrDefault("code", ""));
+                if (tenant == null) {
+                    sendError(exchange, 400, 4700, "Invalid authorization code");
+                    return;
+                }
+            }
+            OAuth2TokenResponse token = new OAuth2TokenResponse();
+            token.setAccessToken(TOKEN_PREFIX + tenant.getAccountId());
+            token.setTokenType("bearer");
+            token.setExpiresIn(3599);
+            token.setRefreshToken(REFRESH_PREFIX + tenant.getAccountId());
+            token.setScope("user:read:admin account:read:admin report:read:admin");
+            sendJson(exchange, 200, objectMapper.writeValueAsBytes(token));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String endpoint = endpointName(path);
+        try {
+            count(endpoint);
+            delay(endpoint);
+
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            SyntheticTenant tenant = authorization != null && authorization.startsWith("Bearer ")
+                    ? tenantsByToken.get(authorization.substring(7)) : null;
+            if (tenant == null) {
+                sendError(exchange, 401, 124, "Invalid access token.");
+                return;
+            }
+            if (config.getRateLimitProbability() > 0
+                    && ThreadLocalRandom.current().nextDouble() < config.getRateLimitProbability()) {
+                rateLimitedCount.increment();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(config.getRetryAfterSeconds()));
+                exchange.getResponseHeaders().set("X-RateLimit-Type", "QPS");
+                sendError(exchange, 429, 429,
+                        "You have reached the maximum per-second rate limit for this API. Try again later.");
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            switch (endpoint) {
+                case "accounts_me":
+                    sendJson(exchange, 200, objectMapper.writeValueAsBytes(tenant.account()));
+                    break;
+                case "accounts_me_plans":
+                    sendJson(exchange, 200, plans(tenant));
+                    break;
+                case "users":
+                    sendJson(exchange, 200, usersPage(tenant, query));
+                    break;
+                case "users_me":
+                    sendJson(exchange, 200, currentUser(tenant));
+                    break;
+                case "report_activities":
+                    activities(exchange, tenant, query);
+                    break;
+                case "users_meetings":
+                    meetings(exchange, tenant, path, query);
+                    break;
+                default:
+                    sendError(exchange, 404, 404, "Not found: " + path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    private byte[] usersPage(SyntheticTenant tenant, Map<String, String> query) throws IOException {
+        int pageSize = pageSize(query, 30);
+        int offset = (int) decodeToken(query.get("next_page_token"));
+        ZoomUserList page = tenant.usersPage(offset, pageSize);
+        int next = offset + page.getUsers().size();
+        page.setNextPageToken(next < tenant.getUserCount() ? encodeToken(next) : "");
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private void activities(HttpExchange exchange, SyntheticTenant tenant, Map<String, String> query)
+            throws IOException {
+        LocalDate from;
+        LocalDate to;
+        try {
+            to = query.containsKey("to") ? LocalDate.parse(query.get("to")) : LocalDate.now();
+            from = query.containsKey("from") ? LocalDate.parse(query.get("from")) : to.minusDays(30);
+        } catch (DateTimeParseException e) {
+            sendError(exchange, 400, 300, "Invalid date: " + e.getParsedString());
+            return;
+        }
+        int pageSize = pageSize(query, 30);
+        long offset = decodeToken(query.get("next_page_token"));
+        ZoomActivityReport page = tenant.activityPage(from, to, offset, pageSize);
+        long next = offset + page.getActivityLogs().size();
+        page.setNextPageToken(next < tenant.activityCount(from, to) ? encodeToken(next) : "");
+        sendJson(exchange, 200, objectMapper.writeValueAsBytes(page));
+    }
+
+    private void meetings(HttpExchange exchange, SyntheticTenant tenant, String path, Map<String, String> query)
+            throws IOException {
+        String userId = URLDecoder.decode(
+                path.substring("/v2/users/".length(), path.lastIndexOf("/meetings")), StandardCharsets.UTF_8);
+        int userIndex = "me".equals(userId) ? 0 : tenant.userIndex(userId);
+        if (userIndex < 0) {
+            sendError(exchange, 404, 1001, "User does not exist: " + userId);
+            return;
+        }
+        int pageSize = pageSize(query, 30);
+        int offset = (int) decodeToken(query.get("next_page_token"));
+        ZoomMeetingList page = tenant.meetingsPage(userIndex, offset, pageSize);
+        int next = offset + page.getMeetings().size();
+        page.setNextPageToken(next < page.getTotalRecords() ? encodeToken(next) : "");
+        sendJson(exchange, 200, objectMapper.writeValueAsBytes(page));
+    }
+
+    private byte[] currentUser(SyntheticTenant tenant) throws IOException {
+        ZoomUser owner = tenant.user(0);
+        ObjectNode node = objectMapper.valueToTree(owner);
+        node.put("display_name", owner.getFirstName() + " " + owner.getLastName());
+        node.put("account_id", tenant.getAccountId());
+        return objectMapper.writeValueAsBytes(node);
+    }
+
+    private byte[] plans(SyntheticTenant tenant) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode base = root.putObject("plan_base");
+        base.put("type", "monthly");
+        base.put("plan_name", "Business");
+        base.put("hosts", tenant.getUserCount());
+        base.put("usage", Math.round(tenant.getUserCount() * 0.7));
+        base.put("status", "active");
+        root.put("plan_recording", "");
+        return objectMapper.writeValueAsBytes(root);
+    }
+
+    private void count(String endpoint) {
+        requestCounts.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+    }
+
+    private void delay(String endpoint) throws InterruptedException {
+        Random random = ThreadLocalRandom.current();
+        long millis = config.getLatency(endpoint).sampleMillis(random);
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, int code, String message) throws IOException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("code", code);
+        body.put("message", message);
+        sendJson(exchange, status, objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String endpointName(String path) {
+        String relative = path.substring("/v2/".length());
+        if (relative.matches("users/[^/]+/meetings/?")) {
+            return "users_meetings";
+        }
+        if (relative.endsWith("/")) {
+            relative = relative.substring(0, relative.length() - 1);
+        }
+        return relative.replace('/', '_');
+    }
+
+    private static int pageSize(Map<String, String> query, int defaultSize) {
+        try {
+            int size = Integer.parseInt(query.getOrDefault("page_size", String.valueOf(defaultSize)));
+            return Math.max(1, Math.min(300, size));
+        } catch (NumberFormatException e) {
+            return defaultSize;
+        }
+    }
+
+    private static String encodeToken(long offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return decoded.startsWith("o:") ? Long.parseLong(decoded.substring(2)) : 0;
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * Run the mock server standalone.
+     *
+     * Usage: {@code MockZoomServer [port] [tenants] [usersPerTenant] [medianLatencyMs] [p99LatencyMs] [rateLimitProbability]}
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        int tenants = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        MockServerConfig config = new MockServerConfig();
+        if (args.length > 4) {
+            config.setLatency(LatencyDistribution.logNormal(Double.parseDouble(args[3]), Double.parseDouble(args[4])));
+        }
+        if (args.length > 5) {
+            config.setRateLimitProbability(Double.parseDouble(args[5]));
+        }
+        MockZoomServer server = new MockZoomServer(config);
+        for (int i = 1; i <= tenants; i++) {
+            String token = server.addTenant(new SyntheticTenant(String.format("tenant%03d", i), users));
+            System.out.println("Tenant tenant" + String.format("%03d", i) + " access token: " + token);
+        }
+        server.start(port);
+        System.out.println("OAuth base URL: " + server.getOAuthBaseUrl());
+        System.out.println("API base URL:   " + server.getApiBaseUrl());
+    }
+}
@@ -0,0 +1,276 @@
+package com.cloudeagle.zoom.mock;
+
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.model.ZoomActivityReport;
+import com.cloudeagle.zoom.model.ZoomMeetingList;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministically generated Zoom account with N users and a daily sign-in history.
+ *
+ * Nothing is stored per user: every user and activity record is derived from the tenant seed and
+ * its index, so a server can host hundreds of 10k-user tenants and serve any page in O(page size).
+ */
+public class SyntheticTenant {
+
+    private static final String[] FIRST_NAMES = {"Ava", "Liam", "Noah", "Emma", "Mia", "Arjun", "Priya", "Chen", "Sofia", "Omar"};
+    private static final String[] LAST_NAMES = {"Smith", "Patel", "Garcia", "Kim", "Nguyen", "Müller", "Rossi", "Khan", "Silva", "Brown"};
+    private static final String[] TIMEZONES = {"America/Los_Angeles", "America/New_York", "Europe/London", "Asia/Kolkata", "Asia/Tokyo"};
+    private static final String[] DEPTS = {"Engineering", "Sales", "Marketing", "Finance", "Support", "HR", ""};
+    private static final String[] ROLES = {"Member", "Member", "Member", "Admin", "Owner"};
+    private static final String[] CLIENTS = {"Mac", "Windows", "Android", "iOS", "Browser"};
+    private static final String[] VERSIONS = {"5.16.10.26186", "5.17.0.28375", "5.16.5.24631", "5.17.5.31030"};
+    private static final String[] TOPICS = {"Standup", "1:1", "Sprint Review", "Customer Call", "All Hands", "Planning"};
+    private static final String[] LANGUAGES = {"en-US", "en-GB", "de-DE", "ja-JP", "hi-IN"};
+
+    private final String accountId;
+    private final String accountName;
+    private final int userCount;
+    private final long seed;
+    private final int signInsPerDay;
+    private final int userStride;
+
+    /**
+     * @param accountId Account identifier, also accepted as the OAuth authorization code
+     * @param userCount Number of users
+     * @param dailyActiveRatio Fraction of users signing in on any given day
+     * @param seed Seed for all generated values
+     */
+    public SyntheticTenant(String accountId, int userCount, double dailyActiveRatio, long seed) {
+        if (userCount < 1) {
+            throw new IllegalArgumentException("userCount must be at least 1");
+        }
+        this.accountId = accountId;
+        this.accountName = "Synthetic Tenant " + accountId;
+        this.userCount = userCount;
+        this.seed = seed;
+        this.signInsPerDay = (int) Math.round(userCount * Math.max(0, Math.min(1, dailyActiveRatio)));
+        this.userStride = coprimeStride(userCount);
+    }
+
+    public SyntheticTenant(String accountId, int userCount) {
+        this(accountId, userCount, 0.3, accountId.hashCode());
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    /**
+     * @return Number of sign-in events generated per calendar day
+     */
+    public int getSignInsPerDay() {
+        return signInsPerDay;
+    }
+
+    public ZoomAccount account() {
+        ZoomAccount account = new ZoomAccount();
+        account.setId(accountId);
+        account.setAccountName(accountName);
+        account.setAccountAlias(accountId.toLowerCase());
+        account.setAccountSupportName("Support");
+        account.setAccountSupportEmail("support@" + accountId.toLowerCase() + ".example.com");
+        account.setStatus("active");
+        account.setCreatedAt("2019-05-01T08:00:00Z");
+        ZoomAccount.AccountOptions options = new ZoomAccount.AccountOptions();
+        options.setShareRc(Boolean.FALSE);
+        options.setShareMc(Boolean.FALSE);
+        options.setPayMode("master");
+        account.setOptions(options);
+        return account;
+    }
+
+    /**
+     * @param index User index in [0, userCount)
+     * @return The generated user
+     */
+    public ZoomUser user(int index) {
+        Random random = new Random(seed * 1_000_003L + index);
+        ZoomUser user = new ZoomUser();
+        user.setId(String.format("%s-u%07d", accountId, index));
+        user.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        user.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        user.setEmail("user" + index + "@" + accountId.toLowerCase() + ".example.com");
+        user.setType(random.nextInt(10) < 7 ? 2 : 1);
+        String role = index == 0 ? "Owner" : ROLES[random.nextInt(ROLES.length)];
+        user.setRoleName(role);
+        user.setRoleId("Owner".equals(role) ? "0" : "Admin".equals(role) ? "1" : "2");
+        user.setPmi(1_000_000_000L + (random.nextInt() & 0x3FFFFFFF));
+        user.setUsePmi(random.nextBoolean());
+        user.setPersonalMeetingUrl("https://us05web.zoom.us/j/" + user.getPmi());
+        user.setTimezone(TIMEZONES[random.nextInt(TIMEZONES.length)]);
+        user.setVerified(1);
+        user.setDept(DEPTS[random.nextInt(DEPTS.length)]);
+        user.setCreatedAt(String.format("2022-%02d-%02dT09:00:00Z", 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        user.setLastLoginTime(String.format("2024-%02d-%02dT%02d:15:00Z",
+                1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24)));
+        user.setLastClientVersion(VERSIONS[random.nextInt(VERSIONS.length)]);
+        user.setLanguage(LANGUAGES[random.nextInt(LANGUAGES.length)]);
+        user.setStatus("active");
+        return user;
+    }
+
+    /**
+     * Build one page of the users list
+     *
+     * @param offset Index of the first user on the page
+     * @param pageSize Maximum users on the page
+     * @return The page, without a next page token
+     */
+    public ZoomUserList usersPage(int offset, int pageSize) {
+        int end = Math.min(userCount, offset + pageSize);
+        List<ZoomUser> users = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            users.add(user(i));
+        }
+        ZoomUserList page = new ZoomUserList();
+        page.setPageSize(pageSize);
+        page.setPageCount((userCount + pageSize - 1) / pageSize);
+        page.setPageNumber(offset / pageSize + 1);
+        page.setTotalRecords(userCount);
+        page.setUsers(users);
+        return page;
+    }
+
+    /**
+     * @param userId Generated user ID or email
+     * @return The user's index, or -1 if no such user
+     */
+    public int userIndex(String userId) {
+        String prefix = accountId + "-u";
+        String emailSuffix = "@" + accountId.toLowerCase() + ".example.com";
+        try {
+            int index = -1;
+            if (userId.startsWith(prefix)) {
+                index = Integer.parseInt(userId.substring(prefix.length()));
+            } else if (userId.startsWith("user") && userId.endsWith(emailSuffix)) {
+                index = Integer.parseInt(userId.substring(4, userId.length() - emailSuffix.length()));
+            }
+            return index >= 0 && index < userCount ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return Number of scheduled meetings hosted by the user, between 0 and 40
+     */
+    public int meetingCount(int userIndex) {
+        return new Random(seed * 31L + userIndex).nextInt(41);
+    }
+
+    /**
+     * Build one page of a user's scheduled meetings
+     *
+     * @param userIndex Host index in [0, userCount)
+     * @param offset Index of the first meeting on the page
+     * @param pageSize Maximum meetings on the page
+     * @return The page, without a next page token
+     */
+    public ZoomMeetingList meetingsPage(int userIndex, int offset, int pageSize) {
+        int total = meetingCount(userIndex);
+        int end = Math.min(total, offset + pageSize);
+        String hostId = String.format("%s-u%07d", accountId, userIndex);
+        List<ZoomMeetingList.Meeting> meetings = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            Random random = new Random(seed * 1_000_033L + userIndex * 64L + i);
+            ZoomMeetingList.Meeting meeting = new ZoomMeetingList.Meeting();
+            meeting.setId(80_000_000_000L + userIndex * 64L + i);
+            meeting.setUuid(Long.toHexString(random.nextLong()) + "==");
+            meeting.setHostId(hostId);
+            meeting.setTopic(TOPICS[random.nextInt(TOPICS.length)]);
+            meeting.setType(random.nextBoolean() ? 2 : 8);
+            meeting.setStartTime(String.format("2024-%02d-%02dT%02d:00:00Z",
+                    1 + random.nextInt(12), 1 + random.nextInt(28), 8 + random.nextInt(10)));
+            meeting.setDuration(15 * (1 + random.nextInt(6)));
+            meeting.setTimezone(TIMEZONES[random.nextInt(TIMEZONES.length)]);
+            meeting.setCreatedAt("2023-12-01T10:00:00Z");
+            meeting.setJoinUrl("https://us05web.zoom.us/j/" + meeting.getId());
+            meetings.add(meeting);
+        }
+        ZoomMeetingList page = new ZoomMeetingList();
+        page.setPageSize(pageSize);
+        page.setTotalRecords(total);
+        page.setMeetings(meetings);
+        return page;
+    }
+
+    /**
+     * @return Total sign-in events between the two dates, inclusive
+     */
+    public long activityCount(LocalDate from, LocalDate to) {
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        return Math.max(0, days) * signInsPerDay;
+    }
+
+    /**
+     * Build one page of the sign-in activity report. Each user signs in at most once per day.
+     *
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @param offset Index of the first event on the page
+     * @param pageSize Maximum events on the page
+     * @return The page, without a next page token
+     */
+    public ZoomActivityReport activityPage(LocalDate from, LocalDate to, long offset, int pageSize) {
+        long total = activityCount(from, to);
+        long end = Math.min(total, offset + pageSize);
+        List<ZoomActivityReport.ActivityLog> logs = new ArrayList<>((int) Math.max(0, end - offset));
+        for (long i = offset; i < end; i++) {
+            logs.add(activity(from, i));
+        }
+        ZoomActivityReport page = new ZoomActivityReport();
+        page.setFrom(from.toString());
+        page.setTo(to.toString());
+        page.setPageSize(pageSize);
+        page.setActivityLogs(logs);
+        return page;
+    }
+
+    private ZoomActivityReport.ActivityLog activity(LocalDate from, long index) {
+        LocalDate day = from.plusDays(index / signInsPerDay);
+        int k = (int) (index % signInsPerDay);
+        // Distinct users within a day, rotating across days
+        int userIndex = (int) ((k * (long) userStride + day.toEpochDay()) % userCount);
+        Random random = new Random(seed ^ (day.toEpochDay() * 7_919L + k));
+        ZoomActivityReport.ActivityLog log = new ZoomActivityReport.ActivityLog();
+        log.setEmail("user" + userIndex + "@" + accountId.toLowerCase() + ".example.com");
+        log.setTime(String.format("%sT%02d:%02d:%02dZ", day, random.nextInt(24), random.nextInt(60), random.nextInt(60)));
+        log.setType("Sign in");
+        log.setIpAddress("10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256));
+        log.setClientType(CLIENTS[random.nextInt(CLIENTS.length)]);
+        log.setVersion(VERSIONS[random.nextInt(VERSIONS.length)]);
+        return log;
+    }
+
+    private static int coprimeStride(int n) {
+        int stride = 7919;
+        while (gcd(stride, n) != 1) {
+            stride += 2;
+        }
+        return stride % n == 0 ? 1 : stride;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,97 @@
+package com.cloudeagle.zoom.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ActiveUserIndexTest {
+    
+    private static final LocalDate DAY1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate DAY2 = DAY1.plusDays(1);
+    private static final LocalDate DAY3 = DAY1.plusDays(2);
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void answersDailyRangeAndEveryDayQueries() {
+        ActiveUserIndex index = sampleIndex();
+        
+        assertEquals(2, index.dailyActive(DAY1));
+        assertEquals(0, index.dailyActive(DAY1.minusDays(1)));
+        assertEquals(3, index.countActive(DAY1, DAY3));
+        assertEquals(2, index.activeInLastDays(DAY3, 2));
+        assertEquals(Arrays.asList("a@example.com"), index.emails(index.activeEveryDay(DAY1, DAY3)));
+        assertEquals(DAY3, index.lastActive("A@Example.com"));
+        assertEquals(DAY1, index.lastActive("b@example.com"));
+        assertNull(index.lastActive("nobody@example.com"));
+    }
+    
+    @Test
+    void everyDayResultDoesNotAliasIndex() {
+        ActiveUserIndex index = sampleIndex();
+        
+        index.activeEveryDay(DAY1, DAY1).add(1000);
+        
+        assertEquals(2, index.dailyActive(DAY1));
+    }
+    
+    @Test
+    void skipsLogsWithoutEmailOrTime() {
+        ActiveUserIndex index = new ActiveUserIndex();
+        
+        assertFalse(index.add(log(null, "2024-03-01T10:00:00Z")));
+        assertFalse(index.add(log("a@example.com", "garbage-time")));
+        assertTrue(index.add(log("a@example.com", "2024-03-01T10:00:00Z")));
+        assertTrue(index.add(log("a@example.com", "2024-03-02T10:00:00Z")));
+        
+        assertEquals(2, index.dayCount());
+        assertEquals(1, index.userCount());
+    }
+    
+    @Test
+    void roundTripsThroughFile() throws Exception {
+        ActiveUserIndex index = sampleIndex();
+        Path file = dir.resolve("active.idx");
+        index.save(file);
+        
+        ActiveUserIndex loaded = ActiveUserIndex.load(file);
+        
+        assertEquals(index.userCount(), loaded.userCount());
+        assertEquals(DAY1, loaded.firstDay());
+        assertEquals(DAY3, loaded.lastDay());
+        assertEquals(new HashSet<>(index.emails(index.activeBetween(DAY1, DAY3))),
+                new HashSet<>(loaded.emails(loaded.activeBetween(DAY1, DAY3))));
+        assertEquals(index.userId("c@example.com"), loaded.userId("c@example.com"));
+    }
+    
+    private static ActiveUserIndex sampleIndex() {
+        ActiveUserIndex index = new ActiveUserIndex();
+        index.add("a@example.com", DAY1);
+        index.add("b@example.com", DAY1);
+        index.add("a@example.com", DAY2);
+        index.add("c@example.com", DAY2);
+        index.add("a@example.com", DAY3);
+        index.add("c@example.com", DAY3);
+        return index;
+    }
+    
+    private static ActivityLog log(String email, String time) {
+        ActivityLog log = new ActivityLog();
+        log.setEmail(email);
+        log.setTime(time);
+        log.setType("Sign in");
+        return log;
+    }
+}
@@ -0,0 +1,192 @@
+package com.cloudeagle.zoom.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport;
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ActivityAggregatorTest {
+    
+    private static final String[] TYPES = {"Sign in", "Sign out", "Reset password"};
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void aggregatesInMemoryWithoutSpilling() throws IOException {
+        try (ActivityAggregator aggregator = new ActivityAggregator(1 << 20, dir)) {
+            aggregator.add("B@example.com", "Sign in", "2024-03-02T10:00:00Z");
+            aggregator.add(" b@example.com ", "Sign in", "2024-03-01T10:00:00Z");
+            aggregator.add("b@example.com", "Sign in", "2024-03-03T10:00:00Z");
+            aggregator.add("a@example.com", "Sign out", null);
+            aggregator.add("a@example.com", "Sign in", "2024-03-01T09:00:00Z");
+            
+            List<ActivityAggregate> result = finish(aggregator);
+            
+            assertEquals(0, aggregator.getSpillCount());
+            assertEquals(5, aggregator.getEventCount());
+            assertEquals(3, result.size());
+            assertAggregate(result.get(0), "a@example.com", "Sign in", 1, "2024-03-01T09:00:00Z", "2024-03-01T09:00:00Z");
+            assertAggregate(result.get(1), "a@example.com", "Sign out", 1, null, null);
+            assertAggregate(result.get(2), "b@example.com", "Sign in", 3, "2024-03-01T10:00:00Z", "2024-03-03T10:00:00Z");
+            assertEquals(0, countEntries(dir));
+        }
+    }
+    
+    @Test
+    void spilledResultMatchesReference() throws IOException {
+        List<String[]> events = randomEvents(20_000, 500, 1);
+        
+        try (ActivityAggregator aggregator = new ActivityAggregator(20_000, dir)) {
+            for (String[] event : events) {
+                aggregator.add(event[0], event[1], event[2]);
+            }
+            List<ActivityAggregate> result = finish(aggregator);
+            
+            assertTrue(aggregator.getSpillCount() > 1, "expected several spills");
+            assertMatchesReference(events, result);
+        }
+    }
+    
+    @Test
+    void mergesInSeveralPassesWhenRunsExceedMergeFactor() throws IOException {
+        List<String[]> events = randomEvents(ActivityAggregator.MERGE_FACTOR * 5, 40, 2);
+        
+        try (ActivityAggregator aggregator = new ActivityAggregator(1, dir)) {
+            for (String[] event : events) {
+                aggregator.add(event[0], event[1], event[2]);
+            }
+            List<ActivityAggregate> result = finish(aggregator);
+            
+            assertTrue(aggregator.getSpillCount() > ActivityAggregator.MERGE_FACTOR);
+            assertMatchesReference(events, result);
+        }
+    }
+    
+    @Test
+    void addsReportPagesAndSkipsLogsWithoutEmail() throws IOException {
+        ZoomActivityReport page = new ZoomActivityReport();
+        page.setActivityLogs(Arrays.asList(
+                log("a@example.com", "Sign in", "2024-03-01T10:00:00Z"),
+                log(null, "Sign in", "2024-03-01T11:00:00Z"),
+                log("a@example.com", "Sign in", "2024-03-01T12:00:00Z")));
+        
+        try (ActivityAggregator aggregator = new ActivityAggregator(1 << 20, dir)) {
+            aggregator.addPage(page);
+            aggregator.addPage(new ZoomActivityReport());
+            List<ActivityAggregate> result = finish(aggregator);
+            
+            assertEquals(2, aggregator.getEventCount());
+            assertEquals(1, result.size());
+            assertAggregate(result.get(0), "a@example.com", "Sign in", 2, "2024-03-01T10:00:00Z", "2024-03-01T12:00:00Z");
+        }
+    }
+    
+    @Test
+    void closeDeletesRunFiles() throws IOException {
+        ActivityAggregator aggregator = new ActivityAggregator(1, dir);
+        for (String[] event : randomEvents(200, 20, 3)) {
+            aggregator.add(event[0], event[1], event[2]);
+        }
+        assertTrue(countEntries(dir) > 0);
+        
+        finish(aggregator);
+        aggregator.close();
+        
+        assertEquals(0, countEntries(dir));
+    }
+    
+    @Test
+    void rejectsUseAfterFinish() throws IOException {
+        try (ActivityAggregator aggregator = new ActivityAggregator(1 << 20, dir)) {
+            aggregator.add("a@example.com", "Sign in", null);
+            finish(aggregator);
+            
+            assertThrows(IllegalStateException.class, () -> aggregator.add("a@example.com", "Sign in", null));
+            assertThrows(IllegalStateException.class, () -> aggregator.finish(aggregate -> { }));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ActivityAggregator(0));
+    }
+    
+    private static List<ActivityAggregate> finish(ActivityAggregator aggregator) throws IOException {
+        List<ActivityAggregate> result = new ArrayList<>();
+        long emitted = aggregator.finish(result::add);
+        assertEquals(result.size(), emitted);
+        return result;
+    }
+    
+    /**
+     * Events as {email, type, time}; emails vary in case and times are sometimes missing
+     */
+    private static List<String[]> randomEvents(int count, int users, long seed) {
+        Random random = new Random(seed);
+        List<String[]> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int user = random.nextInt(users);
+            String email = (random.nextBoolean() ? "User" : "user") + user + "@example.com";
+            String type = TYPES[random.nextInt(TYPES.length)];
+            String time = random.nextInt(10) == 0 ? null
+                    : String.format("2024-03-%02dT%02d:%02d:00Z", 1 + random.nextInt(28), random.nextInt(24),
+                            random.nextInt(60));
+            events.add(new String[] {email, type, time});
+        }
+        return events;
+    }
+    
+    private static void assertMatchesReference(List<String[]> events, List<ActivityAggregate> result) {
+        Map<String, ActivityAggregate> reference = new TreeMap<>();
+        for (String[] event : events) {
+            String email = event[0].trim().toLowerCase(Locale.ROOT);
+            // Key sorts like ActivityAggregate.compare: email, then type
+            reference.computeIfAbsent(email + '\0' + event[1], k -> new ActivityAggregate(email, event[1], 0, null, null))
+                    .merge(1, event[2], event[2]);
+        }
+        assertEquals(reference.size(), result.size());
+        int i = 0;
+        for (ActivityAggregate expected : reference.values()) {
+            ActivityAggregate actual = result.get(i++);
+            assertAggregate(actual, expected.getEmail(), expected.getType(), expected.getCount(),
+                    expected.getFirstTime(), expected.getLastTime());
+        }
+    }
+    
+    private static void assertAggregate(ActivityAggregate actual, String email, String type, long count,
+            String firstTime, String lastTime) {
+        assertEquals(email, actual.getEmail());
+        assertEquals(type, actual.getType());
+        assertEquals(count, actual.getCount(), actual.toString());
+        assertEquals(firstTime, actual.getFirstTime());
+        assertEquals(lastTime, actual.getLastTime());
+    }
+    
+    private static long countEntries(Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.count();
+        }
+    }
+    
+    private static ActivityLog log(String email, String type, String time) {
+        ActivityLog log = new ActivityLog();
+        log.setEmail(email);
+        log.setType(type);
+        log.setTime(time);
+        return log;
+    }
+}
@@ -0,0 +1,158 @@
+package com.cloudeagle.zoom.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTest {
+    
+    // Densities below, around and above the 4096-value array container limit
+    private static final int[] COUNTS = {0, 1, 100, 4095, 4096, 4097, 20_000, 65_536};
+    private static final int RANGE = 3 * 65_536 + 1234;
+    
+    @Test
+    void matchesBitSetForAddAndContains() {
+        Random random = new Random(1);
+        for (int count : COUNTS) {
+            BitSet expected = new BitSet();
+            CompressedBitmap bitmap = randomBitmap(random, count, expected);
+            
+            assertSame(expected, bitmap);
+            for (int probe = 0; probe < 2000; probe++) {
+                int value = random.nextInt(RANGE);
+                assertEquals(expected.get(value), bitmap.contains(value));
+            }
+        }
+    }
+    
+    @Test
+    void orMatchesBitSetAcrossContainerTypes() {
+        Random random = new Random(2);
+        for (int left : COUNTS) {
+            for (int right : COUNTS) {
+                BitSet a = new BitSet();
+                BitSet b = new BitSet();
+                CompressedBitmap x = randomBitmap(random, left, a);
+                CompressedBitmap y = randomBitmap(random, right, b);
+                
+                BitSet union = (BitSet) a.clone();
+                union.or(b);
+                assertSame(union, x.or(y));
+                assertSame(a, x);
+                assertSame(b, y);
+            }
+        }
+    }
+    
+    @Test
+    void andMatchesBitSetAcrossContainerTypes() {
+        Random random = new Random(3);
+        for (int left : COUNTS) {
+            for (int right : COUNTS) {
+                BitSet a = new BitSet();
+                BitSet b = new BitSet();
+                CompressedBitmap x = randomBitmap(random, left, a);
+                CompressedBitmap y = randomBitmap(random, right, b);
+                
+                BitSet intersection = (BitSet) a.clone();
+                intersection.and(b);
+                assertSame(intersection, x.and(y));
+                assertSame(a, x);
+                assertSame(b, y);
+            }
+        }
+    }
+    
+    @Test
+    void andOfDisjointSetsIsEmpty() {
+        CompressedBitmap evens = new CompressedBitmap();
+        CompressedBitmap odds = new CompressedBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            evens.add(2 * i);
+            odds.add(2 * i + 1);
+        }
+        
+        assertTrue(evens.and(odds).isEmpty());
+        assertEquals(20_000, evens.or(odds).cardinality());
+    }
+    
+    @Test
+    void addingDuplicatesKeepsCardinality() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5000; i++) {
+                bitmap.add(i * 3);
+            }
+        }
+        
+        assertEquals(5000, bitmap.cardinality());
+    }
+    
+    @Test
+    void roundTripsThroughStream() throws IOException {
+        Random random = new Random(4);
+        for (int count : COUNTS) {
+            BitSet expected = new BitSet();
+            CompressedBitmap bitmap = randomBitmap(random, count, expected);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            bitmap.write(new DataOutputStream(bytes));
+            
+            CompressedBitmap read = CompressedBitmap.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            
+            assertSame(expected, read);
+            assertEquals(bitmap, read);
+            assertEquals(bitmap.hashCode(), read.hashCode());
+        }
+    }
+    
+    @Test
+    void rejectsNegativeValues() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+        assertFalse(bitmap.contains(-1));
+    }
+    
+    @Test
+    void denseContainerIsSmallerThanArray() {
+        CompressedBitmap dense = new CompressedBitmap();
+        for (int i = 0; i < 65_536; i++) {
+            dense.add(i);
+        }
+        
+        assertTrue(dense.sizeInBytes() <= 8192 + 64, "size " + dense.sizeInBytes());
+    }
+    
+    private static CompressedBitmap randomBitmap(Random random, int count, BitSet expected) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        // Concentrate most values in one container so it crosses the array/bitmap threshold
+        int base = random.nextInt(3) * 65_536;
+        for (int i = 0; i < count; i++) {
+            int value = random.nextInt(4) == 0 ? random.nextInt(RANGE) : base + random.nextInt(65_536);
+            bitmap.add(value);
+            expected.set(value);
+        }
+        return bitmap;
+    }
+    
+    private static void assertSame(BitSet expected, CompressedBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        int[] next = {expected.nextSetBit(0)};
+        actual.forEach(value -> {
+            assertEquals(next[0], value);
+            next[0] = expected.nextSetBit(value + 1);
+        });
+        assertEquals(-1, next[0]);
+    }
+}
@@ -0,0 +1,126 @@
+package com.cloudeagle.zoom.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.cloudeagle.zoom.cassette.Interaction;
+import com.cloudeagle.zoom.cassette.ReplayTransport;
+import com.cloudeagle.zoom.client.ZoomApiClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TokenStoreTest {
+    
+    private static final SecretKey KEY = TokenStore.aesKey(new byte[32]);
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void roundTripsTokensThroughEncryptedFile() throws Exception {
+        Path file = dir.resolve("tokens.bin");
+        TokenStore store = TokenStore.open(file, KEY);
+        store.putAll(Arrays.asList(token("t1", "a1", "r1", 3600), token("t2", "a2", "r2", 3600)));
+        
+        TokenStore reopened = TokenStore.open(file, KEY);
+        
+        assertEquals(2, reopened.size());
+        assertEquals("r2", reopened.get("t2").getRefreshToken());
+        assertFalse(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1).contains("a1"));
+        assertThrows(IOException.class, () -> TokenStore.open(file, TokenStore.aesKey(new byte[16])));
+    }
+    
+    @Test
+    void writesStoreOwnerOnlyEvenOverStaleTempFile() throws Exception {
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Path file = dir.resolve("tokens.bin");
+        Path tmp = dir.resolve("tokens.bin.tmp");
+        Files.write(tmp, new byte[] {1});
+        Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-r--r--"));
+        
+        TokenStore.open(file, KEY).put(token("t1", "a1", "r1", 3600));
+        
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        assertFalse(Files.exists(tmp));
+    }
+    
+    @Test
+    void concurrentAuthenticateRefreshesOnce() throws Exception {
+        TokenStore store = TokenStore.open(dir.resolve("tokens.bin"), KEY);
+        store.put(token("t1", "old-access", "old-refresh", -60));
+        
+        // One recorded refresh: a second use of the rotated refresh token would find no interaction
+        String body = "{\"access_token\":\"new-access\",\"token_type\":\"bearer\","
+                + "\"refresh_token\":\"new-refresh\",\"expires_in\":3600}";
+        Interaction refresh = new Interaction(ZoomApiClient.ENDPOINT_OAUTH_TOKEN, "POST", "/oauth/token", 0,
+                TimeUnit.MILLISECONDS.toNanos(200), 200,
+                Collections.singletonMap("content-type", Collections.singletonList("application/json")),
+                body.getBytes(StandardCharsets.UTF_8));
+        ReplayTransport replay = new ReplayTransport(Collections.singletonList(refresh), 1.0, false);
+        
+        int threads = 8;
+        List<ZoomApiClient> clients = new ArrayList<>();
+        List<Callable<Boolean>> calls = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            ZoomApiClient client = new ZoomApiClient("id", "secret", "http://localhost", "http://localhost/v2");
+            client.setTransport(replay);
+            clients.add(client);
+            calls.add(() -> store.authenticate(client, "t1", Duration.ofMinutes(5)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Boolean> result : executor.invokeAll(calls)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(0, replay.getRemaining());
+        assertEquals("new-refresh", store.get("t1").getRefreshToken());
+        for (ZoomApiClient client : clients) {
+            assertEquals("new-access", client.getAccessToken());
+        }
+    }
+    
+    @Test
+    void authenticateWithoutStoredTokenReturnsFalse() throws Exception {
+        TokenStore store = TokenStore.open(dir.resolve("tokens.bin"), KEY);
+        ZoomApiClient client = new ZoomApiClient("id", "secret", "http://localhost", "http://localhost/v2");
+        
+        assertFalse(store.authenticate(client, "missing", Duration.ZERO));
+    }
+    
+    private static StoredToken token(String tenantId, String access, String refresh, long expiresInSeconds) {
+        StoredToken token = new StoredToken();
+        token.setTenantId(tenantId);
+        token.setAccessToken(access);
+        token.setRefreshToken(refresh);
+        token.setTokenType("bearer");
+        token.setExpiresAt(Instant.now().getEpochSecond() + expiresInSeconds);
+        return token;
+    }
+}
@@ -0,0 +1,96 @@
+package com.cloudeagle.zoom.cassette;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.HttpTransport;
+import com.cloudeagle.zoom.client.ZoomApiException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CassetteTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void replaysTruncatedErrorBodiesLikeLiveOnes() throws Exception {
+        byte[] prefix = "{\"code\":300,\"message\":\"".getBytes(StandardCharsets.UTF_8);
+        ApiResponse live = new ApiResponse(503,
+                Collections.singletonMap("content-type", Collections.singletonList("application/json")),
+                prefix, 2_000_000, true);
+        HttpTransport delegate = (endpoint, request) -> live;
+        Path file = dir.resolve("errors.zcas");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost/v2/users?page_size=300")).GET().build();
+        
+        try (RecordingTransport recording = new RecordingTransport(delegate, file)) {
+            recording.send("users", request);
+        }
+        ApiResponse replayed = ReplayTransport.load(file, 0).send("users", request);
+        
+        assertEquals(503, replayed.statusCode());
+        assertArrayEquals(prefix, replayed.bodyBytes());
+        assertEquals(2_000_000, replayed.bodyLength());
+        assertTrue(replayed.isBodyTruncated());
+        ZoomApiException liveError = ZoomApiException.from("users", "list users", live);
+        ZoomApiException replayedError = ZoomApiException.from("users", "list users", replayed);
+        assertEquals(liveError.getMessage(), replayedError.getMessage());
+        assertEquals(liveError.getBodySnippet(), replayedError.getBodySnippet());
+        assertEquals(liveError.getBodyLength(), replayedError.getBodyLength());
+    }
+    
+    @Test
+    void readsVersionOneCassettes() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(0x5A434153);
+            out.writeInt(1);
+            out.writeBoolean(true);
+            out.writeUTF("users");
+            out.writeUTF("GET");
+            out.writeUTF("/v2/users");
+            out.writeLong(0);
+            out.writeLong(1000);
+            out.writeShort(200);
+            out.writeShort(0);
+            out.writeInt(2);
+            out.write(new byte[] {'{', '}'});
+            out.writeBoolean(false);
+        }
+        
+        List<Interaction> interactions = Cassette.read(new ByteArrayInputStream(bytes.toByteArray()));
+        
+        assertEquals(1, interactions.size());
+        assertEquals(2, interactions.get(0).getBodyLength());
+        assertFalse(interactions.get(0).isBodyTruncated());
+    }
+    
+    @Test
+    void keepsCompleteInteractionsOfCutRecording() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Cassette.Writer writer = new Cassette.Writer(bytes);
+        writer.write(new Interaction("users", "GET", "/v2/users", 0, 0, 200, Collections.emptyMap(), new byte[] {1}));
+        writer.write(new Interaction("users", "GET", "/v2/users", 0, 0, 200, Collections.emptyMap(), new byte[] {2}));
+        writer.flush();
+        
+        List<Interaction> interactions = Cassette.read(new ByteArrayInputStream(bytes.toByteArray()));
+        
+        assertEquals(2, interactions.size());
+        assertArrayEquals(new byte[] {2}, interactions.get(1).getBody());
+    }
+}
@@ -0,0 +1,231 @@
+package com.cloudeagle.zoom.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LoggingEventAware;
+
+class ApiLogPolicyTest {
+    
+    private static final String TOKEN = "secret-token";
+    private static final ApiCall CALL = ApiCall.get(ZoomApiClient.ENDPOINT_USERS,
+            "https://api.zoom.us/v2/users?next_page_token=private").withHeader("Authorization", "Bearer " + TOKEN);
+    
+    private final CapturingLogger logger = new CapturingLogger();
+    
+    @Test
+    void structuredCallEventHasOnlyItsFields() {
+        ApiLogPolicy policy = ApiLogPolicy.structured();
+        policy.setSampleRate(1.0);
+        
+        policy.logCall(logger, CALL, new ApiResponse(200, Collections.emptyMap(), new byte[42]), 7_000_000);
+        
+        assertEquals(1, logger.events.size());
+        Event event = logger.events.get(0);
+        assertEquals(Arrays.asList("event", "endpoint", "status", "bytes", "ms", "sample_rate"),
+                new ArrayList<>(event.fields.keySet()));
+        assertEquals("api_call", event.fields.get("event"));
+        assertEquals(42L, event.fields.get("bytes"));
+        assertEquals(7L, event.fields.get("ms"));
+        assertRedacted(event);
+    }
+    
+    @Test
+    void sampleRateIsPerEndpoint() {
+        ApiLogPolicy policy = ApiLogPolicy.structured();
+        policy.setSampleRate(1.0);
+        policy.setSampleRate(ZoomApiClient.ENDPOINT_USERS, 0.0);
+        ApiResponse ok = new ApiResponse(200, Collections.emptyMap(), new byte[0]);
+        
+        for (int i = 0; i < 100; i++) {
+            policy.logCall(logger, CALL, ok, 1);
+        }
+        assertTrue(logger.events.isEmpty());
+        
+        policy.logCall(logger, ApiCall.get(ZoomApiClient.ENDPOINT_ACCOUNT, "https://api.zoom.us/v2/accounts/me"), ok, 1);
+        assertEquals(1, logger.events.size());
+        
+        ApiLogPolicy.classic().logCall(logger, CALL, ok, 1);
+        assertEquals(1, logger.events.size());
+        assertThrows(IllegalArgumentException.class, () -> policy.setSampleRate(1.5));
+        assertThrows(IllegalArgumentException.class, () -> policy.setSampleRate("users", -0.1));
+    }
+    
+    @Test
+    void structuredFailureCarriesRateLimitFieldsAndCleanSnippet() {
+        ZoomApiException failure = ZoomApiException.from(ZoomApiClient.ENDPOINT_USERS, "fetch users list", response(429,
+                "{\"code\": 429, \"message\": \"Too many\"}\nforged=line", "Retry-After", "2",
+                "X-RateLimit-Type", "QPS", "X-RateLimit-Remaining", "0"));
+        
+        ApiLogPolicy.structured().logFailure(logger, "fetch users list", failure);
+        
+        Event event = logger.events.get(0);
+        assertEquals(Level.ERROR, event.level);
+        assertEquals("api_error", event.fields.get("event"));
+        assertEquals(429, event.fields.get("status"));
+        assertEquals(2000L, event.fields.get("retry_after_ms"));
+        assertEquals("QPS", event.fields.get("rate_limit_type"));
+        assertEquals(0L, event.fields.get("rate_limit_remaining"));
+        assertEquals(429, event.fields.get("code"));
+        assertFalse(event.fields.containsKey("suppressed"));
+        assertFalse(event.fields.get("body").toString().contains("\n"));
+        assertRedacted(event);
+    }
+    
+    @Test
+    void bodySnippetCanBeLeftOut() {
+        ZoomApiException failure = ZoomApiException.from(ZoomApiClient.ENDPOINT_USERS, "fetch users list",
+                response(500, "{\"code\": 5, \"message\": \"x\", \"email\": \"someone@example.com\"}"));
+        ApiLogPolicy structured = ApiLogPolicy.structured();
+        structured.setLogBodySnippet(false);
+        ApiLogPolicy classic = ApiLogPolicy.classic();
+        classic.setLogBodySnippet(false);
+        
+        structured.logFailure(logger, "fetch users list", failure);
+        classic.logFailure(logger, "fetch users list", failure);
+        
+        assertNull(logger.events.get(0).fields.get("body"));
+        assertEquals(5, logger.events.get(0).fields.get("code"));
+        assertEquals("Failed to fetch users list. Status: 500", logger.events.get(1).message);
+        for (Event event : logger.events) {
+            assertFalse(event.toString().contains("someone@example.com"), event.toString());
+        }
+        
+        ApiLogPolicy.classic().logFailure(logger, "fetch users list", failure);
+        assertTrue(logger.events.get(2).message.contains("someone@example.com"));
+    }
+    
+    @Test
+    void failuresBeyondBudgetAreCountedOnTheNextLoggedOne() throws InterruptedException {
+        ApiLogPolicy policy = ApiLogPolicy.structured();
+        // 20 per second, so the budget comes back within the sleep below
+        policy.setErrorLogsPerMinute(1200);
+        ZoomApiException failure = ZoomApiException.from(ZoomApiClient.ENDPOINT_USERS, "fetch users list",
+                response(503, ""));
+        
+        for (int i = 0; i < 1300; i++) {
+            policy.logFailure(logger, "fetch users list", failure);
+        }
+        int logged = logger.events.size();
+        assertTrue(logged >= 1200 && logged < 1300, "logged " + logged);
+        
+        Thread.sleep(100);
+        policy.logFailure(logger, "fetch users list", failure);
+        Event next = logger.events.get(logged);
+        assertEquals((long) (1300 - logged), next.fields.get("suppressed"));
+        
+        // Each endpoint has its own budget
+        policy.logFailure(logger, "fetch account", ZoomApiException.from(ZoomApiClient.ENDPOINT_ACCOUNT,
+                "fetch account", response(503, "")));
+        assertEquals(logged + 2, logger.events.size());
+        assertThrows(IllegalArgumentException.class, () -> policy.setErrorLogsPerMinute(0));
+    }
+    
+    /**
+     * Neither the token nor the query string ever reaches a log event
+     */
+    private static void assertRedacted(Event event) {
+        String text = event.toString();
+        assertFalse(text.contains(TOKEN), text);
+        assertFalse(text.contains("next_page_token"), text);
+    }
+    
+    private static ApiResponse response(int status, String body, String... headerPairs) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerPairs.length; i += 2) {
+            headers.put(headerPairs[i], Collections.singletonList(headerPairs[i + 1]));
+        }
+        return new ApiResponse(status, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static final class Event {
+        
+        final Level level;
+        final String message;
+        final Map<String, Object> fields = new LinkedHashMap<>();
+        
+        Event(Level level, String message) {
+            this.level = level;
+            this.message = message;
+        }
+        
+        @Override
+        public String toString() {
+            return level + " " + message + " " + fields;
+        }
+    }
+    
+    /**
+     * Keeps every event, with key-value pairs from the fluent API kept apart from the message
+     */
+    private static final class CapturingLogger extends LegacyAbstractLogger implements LoggingEventAware {
+        
+        final List<Event> events = new ArrayList<>();
+        
+        @Override
+        public void log(LoggingEvent loggingEvent) {
+            Event event = new Event(loggingEvent.getLevel(),
+                    MessageFormatter.basicArrayFormat(loggingEvent.getMessage(), loggingEvent.getArgumentArray()));
+            if (loggingEvent.getKeyValuePairs() != null) {
+                for (KeyValuePair pair : loggingEvent.getKeyValuePairs()) {
+                    event.fields.put(pair.key, pair.value);
+                }
+            }
+            events.add(event);
+        }
+        
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+                Object[] arguments, Throwable throwable) {
+            events.add(new Event(level, MessageFormatter.basicArrayFormat(messagePattern, arguments)));
+        }
+        
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+        
+        @Override
+        public boolean isTraceEnabled() {
+            return true;
+        }
+        
+        @Override
+        public boolean isDebugEnabled() {
+            return true;
+        }
+        
+        @Override
+        public boolean isInfoEnabled() {
+            return true;
+        }
+        
+        @Override
+        public boolean isWarnEnabled() {
+            return true;
+        }
+        
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.cloudeagle.zoom.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cloudeagle.zoom.metrics.ClientMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InterceptorChainTest {
+    
+    private final List<String> events = new ArrayList<>();
+    private final List<String> recorded = new ArrayList<>();
+    
+    private final ClientMetrics metrics = new ClientMetrics() {
+        @Override
+        public void recordRequest(String endpoint, int statusCode, long latencyNanos) {
+            recorded.add(endpoint + " " + statusCode);
+        }
+        
+        @Override
+        public void recordBytesReceived(String endpoint, long bytes) {
+            recorded.add(endpoint + " " + bytes + " bytes");
+        }
+    };
+    
+    private final HttpTransport transport = (endpoint, request) -> {
+        events.add("send " + request.headers().firstValue("X-Trace").orElse(""));
+        return new ApiResponse(200, Collections.emptyMap(), "body".getBytes(StandardCharsets.UTF_8));
+    };
+    
+    @Test
+    void runsInterceptorsOutermostFirst() throws Exception {
+        List<Interceptor> interceptors = Arrays.asList(tracing("a"), tracing("b"), tracing("c"));
+        ApiCall call = ApiCall.get(ZoomApiClient.ENDPOINT_USERS, "https://api.zoom.us/v2/users");
+        
+        ApiResponse response = new InterceptorChain(interceptors, 0, transport, metrics).proceed(call);
+        
+        assertEquals(Arrays.asList("a in", "b in", "c in", "send abc", "c out", "b out", "a out"), events);
+        assertEquals(200, response.statusCode());
+        assertEquals(Arrays.asList("users 200", "users 4 bytes"), recorded);
+    }
+    
+    @Test
+    void interceptorMayAnswerOrProceedTwice() throws Exception {
+        Interceptor twice = (call, chain) -> {
+            chain.proceed(call);
+            return chain.proceed(call.withHeader("X-Trace", "retry"));
+        };
+        Interceptor answering = (call, chain) -> new ApiResponse(304, Collections.emptyMap(), new byte[0]);
+        ApiCall call = ApiCall.get(ZoomApiClient.ENDPOINT_ACCOUNT, "https://api.zoom.us/v2/accounts/me");
+        
+        new InterceptorChain(Collections.singletonList(twice), 0, transport, metrics).proceed(call);
+        assertEquals(Arrays.asList("send ", "send retry"), events);
+        assertEquals(4, recorded.size());
+        
+        events.clear();
+        recorded.clear();
+        ApiResponse answered = new InterceptorChain(Arrays.asList(answering, twice), 0, transport, metrics)
+                .proceed(call);
+        assertEquals(304, answered.statusCode());
+        assertEquals(Collections.emptyList(), events);
+        assertEquals(Collections.emptyList(), recorded);
+    }
+    
+    @Test
+    void forEndpointsSkipsOtherEndpoints() throws Exception {
+        List<Interceptor> interceptors = Collections.singletonList(
+                Interceptor.forEndpoints(tracing("only"), ZoomApiClient.ENDPOINT_ACCOUNT));
+        
+        new InterceptorChain(interceptors, 0, transport, metrics)
+                .proceed(ApiCall.get(ZoomApiClient.ENDPOINT_USERS, "https://api.zoom.us/v2/users"));
+        new InterceptorChain(interceptors, 0, transport, metrics)
+                .proceed(ApiCall.get(ZoomApiClient.ENDPOINT_ACCOUNT, "https://api.zoom.us/v2/accounts/me"));
+        
+        assertEquals(Arrays.asList("send ", "only in", "send only", "only out"), events);
+    }
+    
+    @Test
+    void transportFailureIsRecordedWithoutStatus() {
+        HttpTransport failing = (endpoint, request) -> {
+            throw new IOException("connection reset");
+        };
+        ApiCall call = ApiCall.get(ZoomApiClient.ENDPOINT_USERS, "https://api.zoom.us/v2/users");
+        
+        assertThrows(IOException.class,
+                () -> new InterceptorChain(Collections.emptyList(), 0, failing, metrics).proceed(call));
+        assertEquals(Collections.singletonList("users 0"), recorded);
+    }
+    
+    /**
+     * Appends its name to the X-Trace header and logs entering and leaving
+     */
+    private Interceptor tracing(String name) {
+        return (call, chain) -> {
+            events.add(name + " in");
+            String trace = call.getHeader("X-Trace");
+            ApiResponse response = chain.proceed(call.withHeader("X-Trace", (trace != null ? trace : "") + name));
+            events.add(name + " out");
+            return response;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.cloudeagle.zoom.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JdkHttpTransportTest {
+    
+    private static final int BODY_BYTES = 100_000;
+    
+    private final byte[] body = new byte[BODY_BYTES];
+    private HttpServer server;
+    private JdkHttpTransport transport;
+    
+    @BeforeEach
+    void start() throws IOException {
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) ('a' + i % 26);
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            int status = Integer.parseInt(parts[1]);
+            int length = Integer.parseInt(parts[2]);
+            boolean chunked = parts.length > 3;
+            exchange.sendResponseHeaders(status, chunked ? 0 : length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int offset = 0; offset < length; offset += 4096) {
+                    out.write(body, offset, Math.min(4096, length - offset));
+                    out.flush();
+                }
+            }
+        });
+        server.start();
+        transport = new JdkHttpTransport(HttpClient.newHttpClient());
+    }
+    
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+    
+    @Test
+    void readsSuccessfulBodiesWhole() throws Exception {
+        transport.setMaxErrorBodyBytes(100);
+        
+        ApiResponse response = transport.send("users", request("/200/" + BODY_BYTES));
+        
+        assertEquals(200, response.statusCode());
+        assertArrayEquals(body, response.bodyBytes());
+        assertEquals(BODY_BYTES, response.bodyLength());
+        assertFalse(response.isBodyTruncated());
+    }
+    
+    @Test
+    void capsErrorBodiesAndCountsTheRest() throws Exception {
+        transport.setMaxErrorBodyBytes(1000);
+        
+        for (String path : new String[] {"/500/" + BODY_BYTES, "/502/" + BODY_BYTES + "/chunked"}) {
+            ApiResponse response = transport.send("users", request(path));
+            
+            assertArrayEquals(Arrays.copyOf(body, 1000), response.bodyBytes(), path);
+            assertEquals(BODY_BYTES, response.bodyLength(), path);
+            assertTrue(response.isBodyTruncated(), path);
+        }
+    }
+    
+    @Test
+    void errorBodyAtOrUnderCapIsNotTruncated() throws Exception {
+        transport.setMaxErrorBodyBytes(1000);
+        
+        ApiResponse exact = transport.send("users", request("/404/1000"));
+        assertEquals(1000, exact.bodyBytes().length);
+        assertFalse(exact.isBodyTruncated());
+        
+        ApiResponse empty = transport.send("users", request("/400/0"));
+        assertEquals(0, empty.bodyLength());
+        assertFalse(empty.isBodyTruncated());
+    }
+    
+    @Test
+    void zeroCapKeepsOnlyTheLength() throws Exception {
+        transport.setMaxErrorBodyBytes(0);
+        
+        ApiResponse response = transport.send("users", request("/503/5000/chunked"));
+        
+        assertEquals(0, response.bodyBytes().length);
+        assertEquals(5000, response.bodyLength());
+        assertTrue(response.isBodyTruncated());
+        assertThrows(IllegalArgumentException.class, () -> transport.setMaxErrorBodyBytes(-1));
+        assertEquals(0, transport.getMaxErrorBodyBytes());
+    }
+    
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path)).build();
+    }
+}
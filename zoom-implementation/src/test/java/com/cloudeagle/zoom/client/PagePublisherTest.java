@@ -0,0 +1,166 @@
+package com.cloudeagle.zoom.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Test;
+
+class PagePublisherTest {
+    
+    private static final Executor DIRECT = Runnable::run;
+    
+    private static final List<List<Integer>> PAGES = Arrays.asList(
+            Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5, 6));
+    
+    private final List<String> fetchedTokens = new ArrayList<>();
+    
+    private PagePublisher<Integer, Integer> publisher(List<List<Integer>> pages) {
+        return new PagePublisher<>(token -> {
+                    fetchedTokens.add(token);
+                    return token == null ? 0 : Integer.parseInt(token);
+                },
+                index -> pages.get(index),
+                index -> index + 1 < pages.size() ? String.valueOf(index + 1) : null,
+                DIRECT);
+    }
+    
+    @Test
+    void completesWhenExactlyAllRecordsAreRequested() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher(PAGES).subscribe(subscriber);
+        
+        subscriber.subscription.request(6);
+        
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+    
+    @Test
+    void completesWhenExactlyTheRemainingRecordsAreRequested() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher(PAGES).subscribe(subscriber);
+        
+        subscriber.subscription.request(4);
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(2);
+        
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+    
+    @Test
+    void completesEmptyLastPageWithoutFurtherDemand() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher(Arrays.asList(Arrays.asList(1, 2), new ArrayList<>())).subscribe(subscriber);
+        
+        subscriber.subscription.request(2);
+        subscriber.subscription.request(1);
+        
+        assertEquals(Arrays.asList(1, 2), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+    
+    @Test
+    void fetchesNextPageOnlyWhenDemandExceedsBuffer() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher(PAGES).subscribe(subscriber);
+        
+        assertTrue(fetchedTokens.isEmpty());
+        subscriber.subscription.request(1);
+        assertEquals(Arrays.asList(1), subscriber.received);
+        assertEquals(1, fetchedTokens.size());
+        
+        subscriber.subscription.request(1);
+        assertEquals(1, fetchedTokens.size());
+        
+        subscriber.subscription.request(1);
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.received);
+        assertEquals(Arrays.asList(null, "1"), fetchedTokens);
+        assertFalse(subscriber.completed);
+    }
+    
+    @Test
+    void cancelStopsDelivery() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        subscriber.cancelAfter = 3;
+        publisher(PAGES).subscribe(subscriber);
+        
+        subscriber.subscription.request(Long.MAX_VALUE);
+        
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.received);
+        assertFalse(subscriber.completed);
+        assertEquals(2, fetchedTokens.size());
+    }
+    
+    @Test
+    void nonPositiveRequestSignalsError() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher(PAGES).subscribe(subscriber);
+        
+        subscriber.subscription.request(0);
+        
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.received.isEmpty());
+    }
+    
+    @Test
+    void fetchFailureSignalsError() {
+        PagePublisher<Integer, Integer> failing = new PagePublisher<>(token -> {
+                    if (token != null) {
+                        throw new IOException("boom");
+                    }
+                    return 0;
+                },
+                index -> PAGES.get(index),
+                index -> "1",
+                DIRECT);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        failing.subscribe(subscriber);
+        
+        subscriber.subscription.request(5);
+        
+        assertEquals(Arrays.asList(1, 2), subscriber.received);
+        assertTrue(subscriber.error instanceof IOException);
+        assertFalse(subscriber.completed);
+    }
+    
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        
+        final List<Integer> received = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+        Throwable error;
+        int cancelAfter = -1;
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+        
+        @Override
+        public void onNext(Integer item) {
+            received.add(item);
+            if (received.size() == cancelAfter) {
+                subscription.cancel();
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+        
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
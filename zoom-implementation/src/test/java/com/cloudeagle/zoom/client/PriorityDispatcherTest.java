@@ -0,0 +1,218 @@
+package com.cloudeagle.zoom.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PriorityDispatcherTest {
+    
+    private static final HttpRequest REQUEST = HttpRequest.newBuilder(URI.create("http://localhost/")).build();
+    
+    private final LinkedBlockingQueue<String> started = new LinkedBlockingQueue<>();
+    private final Semaphore gate = new Semaphore(0);
+    private final ExecutorService senders = Executors.newCachedThreadPool();
+    
+    /** Records each request as it starts, then holds it until the gate lets it through */
+    private final HttpTransport blocking = (endpoint, request) -> {
+        started.add(endpoint);
+        gate.acquire();
+        return new ApiResponse(200, Collections.emptyMap(), new byte[0]);
+    };
+    
+    @AfterEach
+    void shutdown() {
+        PriorityDispatcher.setCurrentThreadPriority(null);
+        senders.shutdownNow();
+    }
+    
+    @Test
+    void higherPriorityIsServedFirst() throws Exception {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(blocking, 1);
+        Future<ApiResponse> holder = send(dispatcher, "holder");
+        assertEquals("holder", started.poll(5, TimeUnit.SECONDS));
+        
+        List<Future<ApiResponse>> queued = new ArrayList<>();
+        queued.add(send(dispatcher, ZoomApiClient.ENDPOINT_USERS));
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.BULK) == 1);
+        queued.add(send(dispatcher, "unclassified"));
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.NORMAL) == 1);
+        queued.add(send(dispatcher, ZoomApiClient.ENDPOINT_ACCOUNT));
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.INTERACTIVE) == 1);
+        
+        gate.release(4);
+        holder.get(5, TimeUnit.SECONDS);
+        for (Future<ApiResponse> future : queued) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(ZoomApiClient.ENDPOINT_ACCOUNT, "unclassified", ZoomApiClient.ENDPOINT_USERS),
+                List.copyOf(started));
+        assertEquals(0, dispatcher.getInFlightCount());
+    }
+    
+    @Test
+    void starvingRequestIsServedAheadOfHigherPriority() throws Exception {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(blocking, 1);
+        dispatcher.setStarvationThresholdMillis(100);
+        Future<ApiResponse> holder = send(dispatcher, "holder");
+        assertEquals("holder", started.poll(5, TimeUnit.SECONDS));
+        
+        Future<ApiResponse> bulk = send(dispatcher, ZoomApiClient.ENDPOINT_USERS);
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.BULK) == 1);
+        Thread.sleep(150);
+        Future<ApiResponse> interactive = send(dispatcher, ZoomApiClient.ENDPOINT_USER_ME);
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.INTERACTIVE) == 1);
+        
+        gate.release();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(ZoomApiClient.ENDPOINT_USERS, started.poll(5, TimeUnit.SECONDS));
+        gate.release(2);
+        bulk.get(5, TimeUnit.SECONDS);
+        interactive.get(5, TimeUnit.SECONDS);
+        assertEquals(ZoomApiClient.ENDPOINT_USER_ME, started.poll());
+    }
+    
+    @Test
+    void concurrencyLimitHolds() throws Exception {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(blocking, 3);
+        List<Future<ApiResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(send(dispatcher, i % 2 == 0 ? ZoomApiClient.ENDPOINT_USERS : ZoomApiClient.ENDPOINT_ACCOUNT));
+        }
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.BULK)
+                + dispatcher.getQueuedCount(RequestPriority.INTERACTIVE) == 7);
+        assertEquals(3, dispatcher.getInFlightCount());
+        assertEquals(3, started.size());
+        
+        gate.release(10);
+        for (Future<ApiResponse> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(10, started.size());
+        assertEquals(0, dispatcher.getInFlightCount());
+    }
+    
+    @Test
+    void rateLimitSpacesRequestStarts() throws Exception {
+        List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+        PriorityDispatcher dispatcher = new PriorityDispatcher((endpoint, request) -> {
+            starts.add(System.nanoTime());
+            return new ApiResponse(200, Collections.emptyMap(), new byte[0]);
+        }, 10);
+        dispatcher.setRequestsPerSecond(20);
+        
+        List<Future<ApiResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(send(dispatcher, ZoomApiClient.ENDPOINT_USERS));
+        }
+        for (Future<ApiResponse> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        
+        // Permits are 50 ms apart; allow for the first sender starting late after its grant
+        long spanMillis = TimeUnit.NANOSECONDS.toMillis(Collections.max(starts) - Collections.min(starts));
+        assertTrue(spanMillis >= 200, "6 requests started within " + spanMillis + " ms");
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.setRequestsPerSecond(-1));
+    }
+    
+    @Test
+    void interruptWhileQueuedLeavesTheQueue() throws Exception {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(blocking, 1);
+        Future<ApiResponse> holder = send(dispatcher, "holder");
+        assertEquals("holder", started.poll(5, TimeUnit.SECONDS));
+        
+        Future<ApiResponse> queued = send(dispatcher, ZoomApiClient.ENDPOINT_USERS);
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.BULK) == 1);
+        queued.cancel(true);
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.BULK) == 0);
+        assertEquals(1, dispatcher.getInFlightCount());
+        
+        gate.release(2);
+        holder.get(5, TimeUnit.SECONDS);
+        send(dispatcher, "after").get(5, TimeUnit.SECONDS);
+        // The cancelled request never reached the transport
+        assertEquals(List.of("after"), List.copyOf(started));
+        assertEquals(0, dispatcher.getInFlightCount());
+    }
+    
+    @Test
+    void interruptAfterGrantReleasesTheSlot() throws Exception {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(blocking, 1);
+        Future<ApiResponse> granted = send(dispatcher, "granted");
+        assertEquals("granted", started.poll(5, TimeUnit.SECONDS));
+        Future<ApiResponse> queued = send(dispatcher, ZoomApiClient.ENDPOINT_USERS);
+        awaitTrue(() -> dispatcher.getQueuedCount(RequestPriority.BULK) == 1);
+        
+        // The request holding the slot is interrupted inside the transport; its slot goes to the waiter
+        granted.cancel(true);
+        assertEquals(ZoomApiClient.ENDPOINT_USERS, started.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, dispatcher.getInFlightCount());
+        gate.release();
+        queued.get(5, TimeUnit.SECONDS);
+        assertEquals(0, dispatcher.getInFlightCount());
+        
+        // An already interrupted sender never takes a slot
+        Future<?> interrupted = senders.submit(() -> {
+            Thread.currentThread().interrupt();
+            assertThrows(InterruptedException.class, () -> dispatcher.send("late", REQUEST));
+            return null;
+        });
+        interrupted.get(5, TimeUnit.SECONDS);
+        assertEquals(0, dispatcher.getInFlightCount());
+        assertEquals(0, dispatcher.getQueuedCount(RequestPriority.NORMAL));
+    }
+    
+    @Test
+    void threadPriorityOverridesEndpointAndFollowsWrappedExecutor() throws Exception {
+        PriorityDispatcher dispatcher = new PriorityDispatcher(blocking, 1);
+        dispatcher.setPriority("custom", RequestPriority.INTERACTIVE);
+        assertEquals(RequestPriority.INTERACTIVE, dispatcher.priorityOf("custom"));
+        assertEquals(RequestPriority.NORMAL, dispatcher.priorityOf("unclassified"));
+        assertEquals(RequestPriority.BULK, dispatcher.priorityOf(ZoomApiClient.ENDPOINT_USERS));
+        
+        PriorityDispatcher.setCurrentThreadPriority(RequestPriority.INTERACTIVE);
+        assertEquals(RequestPriority.INTERACTIVE, dispatcher.priorityOf(ZoomApiClient.ENDPOINT_USERS));
+        // A plain executor runs on a thread without the priority; a wrapped one carries it over
+        assertEquals(RequestPriority.BULK, senders.submit(() -> dispatcher.priorityOf(ZoomApiClient.ENDPOINT_USERS))
+                .get(5, TimeUnit.SECONDS));
+        LinkedBlockingQueue<RequestPriority> seen = new LinkedBlockingQueue<>();
+        PriorityDispatcher.withCurrentThreadPriority(senders)
+                .execute(() -> seen.add(dispatcher.priorityOf(ZoomApiClient.ENDPOINT_USERS)));
+        assertEquals(RequestPriority.INTERACTIVE, seen.poll(5, TimeUnit.SECONDS));
+        
+        PriorityDispatcher.setCurrentThreadPriority(null);
+        assertEquals(RequestPriority.BULK, dispatcher.priorityOf(ZoomApiClient.ENDPOINT_USERS));
+        assertSame(senders, PriorityDispatcher.withCurrentThreadPriority(senders));
+    }
+    
+    private Future<ApiResponse> send(PriorityDispatcher dispatcher, String endpoint) {
+        return senders.submit(() -> dispatcher.send(endpoint, REQUEST));
+    }
+    
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
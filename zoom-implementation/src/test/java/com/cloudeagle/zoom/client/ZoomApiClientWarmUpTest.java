@@ -0,0 +1,35 @@
+package com.cloudeagle.zoom.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.cloudeagle.zoom.cassette.ReplayTransport;
+import com.cloudeagle.zoom.mock.MockServerConfig;
+import com.cloudeagle.zoom.mock.MockZoomServer;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class ZoomApiClientWarmUpTest {
+    
+    @Test
+    void connectsThroughJdkTransport() throws Exception {
+        try (MockZoomServer server = new MockZoomServer(new MockServerConfig())) {
+            server.start(0);
+            ZoomApiClient client = new ZoomApiClient("id", "secret", server.getOAuthBaseUrl(), server.getApiBaseUrl());
+            
+            assertEquals(2, client.warmUp());
+        }
+    }
+    
+    @Test
+    void skipsNetworkWithOtherTransports() throws Exception {
+        ReplayTransport replay = new ReplayTransport(new ArrayList<>(), 0, false);
+        ZoomApiClient client = new ZoomApiClient("id", "secret", "http://127.0.0.1:9", "http://127.0.0.1:9");
+        client.setTransport(replay);
+        
+        assertEquals(0, client.warmUp());
+        assertSame(replay, client.getTransport());
+    }
+}
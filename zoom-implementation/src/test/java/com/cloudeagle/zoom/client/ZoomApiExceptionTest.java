@@ -0,0 +1,125 @@
+package com.cloudeagle.zoom.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ZoomApiExceptionTest {
+    
+    @Test
+    void parsesZoomJsonError() {
+        ZoomApiException e = ZoomApiException.from("users", "fetch users list",
+                response(401, "{\"code\": 124, \"message\": \"Invalid access token.\"}"));
+        
+        assertFalse(e instanceof ZoomRateLimitException);
+        assertEquals("users", e.getEndpoint());
+        assertEquals(401, e.getStatusCode());
+        assertEquals(124, e.getErrorCode());
+        assertEquals("Invalid access token.", e.getErrorMessage());
+        assertEquals("Failed to fetch users list: HTTP 401, code 124: Invalid access token.", e.getMessage());
+        assertFalse(e.isServerError());
+        assertNull(e.getRetryAfterMillis());
+        assertNull(e.getRateLimitType());
+    }
+    
+    @Test
+    void rateLimitCarriesHeaders() {
+        ApiResponse response = response(429, "{\"code\": 429, \"message\": \"Too many requests\"}",
+                "Retry-After", "3", "X-RateLimit-Type", "QPS", "X-RateLimit-Category", "Heavy",
+                "X-RateLimit-Remaining", " 0 ");
+        
+        ZoomApiException e = ZoomApiException.from("report_activities", "fetch activity report", response);
+        
+        ZoomRateLimitException limited = assertInstanceOf(ZoomRateLimitException.class, e);
+        assertEquals(3000L, limited.getRetryAfterMillis());
+        assertEquals("QPS", limited.getRateLimitType());
+        assertEquals("Heavy", limited.getRateLimitCategory());
+        assertEquals(0L, limited.getRateLimitRemaining());
+        assertEquals(429, limited.getErrorCode());
+        
+        ZoomApiException daily = ZoomApiException.from("users", "fetch users list", response(429, "",
+                "Retry-After", "soon", "X-RateLimit-Type", "Daily-limit", "X-RateLimit-Remaining", "many"));
+        assertInstanceOf(ZoomRateLimitException.class, daily);
+        assertEquals("Daily-limit", daily.getRateLimitType());
+        assertNull(daily.getRetryAfterMillis());
+        assertNull(daily.getRateLimitRemaining());
+        assertEquals("Failed to fetch users list: HTTP 429", daily.getMessage());
+    }
+    
+    @Test
+    void toleratesMalformedErrorBodies() {
+        String[] bodies = {
+                "", "<html><body>Bad Gateway</body></html>", "{", "{\"code\": ", "{\"code\": \"abc\"}",
+                "{\"code\": 1.5, \"message\": 7}", "{\"message\": {\"nested\": \"x\"}}", "[1, 2]", "null",
+                "{\"code\": 300, \"message\": \"ok\"",
+        };
+        for (String body : bodies) {
+            ZoomApiException e = ZoomApiException.from("users", "fetch users list", response(502, body));
+            
+            assertEquals(502, e.getStatusCode(), body);
+            assertTrue(e.isServerError());
+            assertTrue(e.getMessage().startsWith("Failed to fetch users list: HTTP 502"), body);
+            assertEquals(body.length(), e.getBodyLength());
+        }
+        
+        // Unknown fields, nested or not, are skipped around the ones that matter
+        ZoomApiException nested = ZoomApiException.from("users", "fetch users list", response(400,
+                "{\"errors\": [{\"code\": 1, \"message\": \"inner\"}], \"extra\": {\"code\": 2}, \"code\": 300,"
+                        + " \"message\": \"Validation Failed.\"}"));
+        assertEquals(300, nested.getErrorCode());
+        assertEquals("Validation Failed.", nested.getErrorMessage());
+    }
+    
+    @Test
+    void truncatedBodyIsNotParsed() {
+        byte[] prefix = "{\"code\": 300, \"message\": \"Validation Failed.\"}".getBytes(StandardCharsets.UTF_8);
+        ApiResponse response = new ApiResponse(400, Collections.emptyMap(), prefix, 100_000, true);
+        
+        ZoomApiException e = ZoomApiException.from("users", "fetch users list", response);
+        
+        assertNull(e.getErrorCode());
+        assertNull(e.getErrorMessage());
+        assertEquals(100_000, e.getBodyLength());
+        assertTrue(e.getBodySnippet().startsWith("{\"code\": 300"));
+    }
+    
+    @Test
+    void snippetIsShortAndFreeOfControlCharacters() {
+        String body = "line one\nline two\r\n\tinjected=1\u0000" + "é".repeat(1000);
+        ZoomApiException e = ZoomApiException.from("users", "fetch users list", response(500, body));
+        
+        String snippet = e.getBodySnippet();
+        assertEquals(ZoomApiException.SNIPPET_CHARS, snippet.length());
+        assertTrue(snippet.startsWith("line one line two   injected=1 éé"), snippet);
+        assertTrue(snippet.chars().noneMatch(Character::isISOControl));
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length, e.getBodyLength());
+        
+        // A multi-byte character cut by the transport is replaced, not turned into garbage
+        byte[] cut = "abé".getBytes(StandardCharsets.UTF_8);
+        ApiResponse truncated = new ApiResponse(500, Collections.emptyMap(), Arrays.copyOf(cut, 3), 4, true);
+        assertEquals("ab�", ZoomApiException.from("users", "fetch users list", truncated).getBodySnippet());
+        
+        String longMessage = "{\"code\": 1, \"message\": \"" + "m".repeat(1000) + "\\n\"}";
+        ZoomApiException shortened = ZoomApiException.from("users", "fetch users list", response(400, longMessage));
+        assertEquals("m".repeat(ZoomApiException.SNIPPET_CHARS), shortened.getErrorMessage());
+    }
+    
+    private static ApiResponse response(int status, String body, String... headerPairs) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerPairs.length; i += 2) {
+            headers.put(headerPairs[i], Collections.singletonList(headerPairs[i + 1]));
+        }
+        return new ApiResponse(status, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
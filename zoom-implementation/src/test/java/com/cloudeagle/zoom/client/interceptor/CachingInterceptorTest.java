@@ -0,0 +1,95 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import static com.cloudeagle.zoom.client.interceptor.ScriptedChain.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.cloudeagle.zoom.client.ApiCall;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class CachingInterceptorTest {
+    
+    private static final ApiCall ACCOUNT = ApiCall.get("account", "https://api.zoom.us/v2/accounts/me")
+            .withHeader("Authorization", "Bearer a");
+    
+    @Test
+    void servesRepeatedGetFromCache() throws Exception {
+        CachingInterceptor cache = new CachingInterceptor(Duration.ofMinutes(1), 10);
+        ScriptedChain chain = new ScriptedChain(response(200, "first"), response(200, "second"));
+        
+        assertEquals("first", cache.intercept(ACCOUNT, chain).body());
+        assertEquals("first", cache.intercept(ACCOUNT, chain).body());
+        assertEquals(1, chain.calls.size());
+        
+        cache.invalidateAll();
+        assertEquals("second", cache.intercept(ACCOUNT, chain).body());
+    }
+    
+    @Test
+    void keysByUrlAndCredentials() throws Exception {
+        CachingInterceptor cache = new CachingInterceptor(Duration.ofMinutes(1), 10);
+        ScriptedChain chain = new ScriptedChain(response(200, "a"), response(200, "b"), response(200, "c"));
+        
+        assertEquals("a", cache.intercept(ACCOUNT, chain).body());
+        assertEquals("b", cache.intercept(ACCOUNT.withHeader("Authorization", "Bearer b"), chain).body());
+        assertEquals("c", cache.intercept(ApiCall.get("account", "https://api.zoom.us/v2/accounts/other")
+                .withHeader("Authorization", "Bearer a"), chain).body());
+        assertEquals("a", cache.intercept(ACCOUNT, chain).body());
+        assertEquals(3, chain.calls.size());
+    }
+    
+    @Test
+    void entriesExpireAfterTtl() throws Exception {
+        CachingInterceptor cache = new CachingInterceptor(Duration.ofMillis(50), 10);
+        ScriptedChain chain = new ScriptedChain(response(200, "old"), response(200, "new"));
+        
+        assertEquals("old", cache.intercept(ACCOUNT, chain).body());
+        Thread.sleep(80);
+        assertEquals("new", cache.intercept(ACCOUNT, chain).body());
+        assertEquals("new", cache.intercept(ACCOUNT, chain).body());
+        assertEquals(2, chain.calls.size());
+    }
+    
+    @Test
+    void cachesOnlySuccessfulGets() throws Exception {
+        CachingInterceptor cache = new CachingInterceptor(Duration.ofMinutes(1), 10);
+        ScriptedChain errors = new ScriptedChain(response(500, "error"), response(200, "ok"));
+        
+        assertEquals(500, cache.intercept(ACCOUNT, errors).statusCode());
+        assertEquals(200, cache.intercept(ACCOUNT, errors).statusCode());
+        assertEquals(2, errors.calls.size());
+        
+        ApiCall post = ApiCall.postForm("oauth_token", "https://zoom.us/oauth/token", "grant_type=x");
+        ScriptedChain posts = new ScriptedChain(response(200, "token"));
+        cache.intercept(post, posts);
+        cache.intercept(post, posts);
+        assertEquals(2, posts.calls.size());
+    }
+    
+    @Test
+    void evictsLeastRecentlyUsed() throws Exception {
+        CachingInterceptor cache = new CachingInterceptor(Duration.ofMinutes(1), 2);
+        ScriptedChain chain = new ScriptedChain(response(200, "x"));
+        ApiCall a = call("a");
+        ApiCall b = call("b");
+        ApiCall c = call("c");
+        
+        cache.intercept(a, chain);
+        cache.intercept(b, chain);
+        cache.intercept(a, chain);
+        cache.intercept(c, chain);
+        assertEquals(3, chain.calls.size());
+        
+        // b was least recently used when c arrived
+        cache.intercept(a, chain);
+        assertEquals(3, chain.calls.size());
+        cache.intercept(b, chain);
+        assertEquals(4, chain.calls.size());
+    }
+    
+    private static ApiCall call(String path) {
+        return ApiCall.get("account", "https://api.zoom.us/v2/" + path);
+    }
+}
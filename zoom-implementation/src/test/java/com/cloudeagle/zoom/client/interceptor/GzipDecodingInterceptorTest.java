@@ -0,0 +1,81 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import static com.cloudeagle.zoom.client.interceptor.ScriptedChain.headers;
+import static com.cloudeagle.zoom.client.interceptor.ScriptedChain.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.client.ApiCall;
+import com.cloudeagle.zoom.client.ApiResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class GzipDecodingInterceptorTest {
+    
+    private static final ApiCall USERS = ApiCall.get("users", "https://api.zoom.us/v2/users");
+    
+    @Test
+    void inflatesBodyAndDropsEncodingHeaders() throws Exception {
+        String json = "{\"users\": [" + "{\"id\": \"u\"}, ".repeat(500) + "{}]}";
+        byte[] gzip = gzip(json);
+        ScriptedChain chain = new ScriptedChain(new ApiResponse(200, headers("Content-Encoding", "gzip",
+                "Content-Length", String.valueOf(gzip.length), "Content-Type", "application/json"), gzip));
+        
+        ApiResponse response = new GzipDecodingInterceptor().intercept(USERS, chain);
+        
+        assertEquals("gzip", chain.calls.get(0).getHeader("Accept-Encoding"));
+        assertEquals(json, response.body());
+        assertFalse(response.headers().firstValue("Content-Encoding").isPresent());
+        assertFalse(response.headers().firstValue("Content-Length").isPresent());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(null));
+        // Byte metrics keep the size on the wire
+        assertEquals(gzip.length, response.bodyLength());
+        assertFalse(response.isBodyTruncated());
+    }
+    
+    @Test
+    void passesThroughUncompressedResponses() throws Exception {
+        ApiResponse plain = response(200, "{}", "Content-Type", "application/json");
+        ApiResponse identity = response(200, "{}", "Content-Encoding", "identity");
+        
+        assertSame(plain, new GzipDecodingInterceptor().intercept(USERS, new ScriptedChain(plain)));
+        assertSame(identity, new GzipDecodingInterceptor().intercept(USERS, new ScriptedChain(identity)));
+    }
+    
+    @Test
+    void inflatesPrefixOfTruncatedBody() throws Exception {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            message.append(i * 7919 % 10007).append(' ');
+        }
+        String error = "{\"code\": 300, \"message\": \"" + message + "\"}";
+        byte[] gzip = gzip(error);
+        byte[] prefix = Arrays.copyOf(gzip, gzip.length / 2);
+        ScriptedChain chain = new ScriptedChain(new ApiResponse(400, headers("Content-Encoding", "GZIP"), prefix,
+                10_000, true));
+        
+        ApiResponse response = new GzipDecodingInterceptor().intercept(USERS, chain);
+        
+        assertTrue(response.isBodyTruncated());
+        assertEquals(10_000, response.bodyLength());
+        assertTrue(response.body().startsWith("{\"code\": 300"), response.body());
+        assertTrue(error.startsWith(response.body()));
+        assertFalse(response.headers().firstValue("Content-Encoding").isPresent());
+    }
+    
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
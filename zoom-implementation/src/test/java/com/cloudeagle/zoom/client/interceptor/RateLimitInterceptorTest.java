@@ -0,0 +1,58 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import static com.cloudeagle.zoom.client.interceptor.ScriptedChain.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.client.ApiCall;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimitInterceptorTest {
+    
+    private static final ApiCall USERS = ApiCall.get("users", "https://api.zoom.us/v2/users");
+    
+    @Test
+    void burstPassesThenCallsWaitForTokens() throws Exception {
+        RateLimitInterceptor limiter = new RateLimitInterceptor(20, 2);
+        ScriptedChain chain = new ScriptedChain(response(200, ""));
+        
+        long start = System.nanoTime();
+        limiter.intercept(USERS, chain);
+        limiter.intercept(USERS, chain);
+        assertTrue(chain.rateLimitWaits.isEmpty());
+        
+        limiter.intercept(USERS, chain);
+        limiter.intercept(USERS, chain);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        // Two tokens at 20/s take 100 ms to come back
+        assertTrue(elapsedMillis >= 90, "took " + elapsedMillis + " ms");
+        assertEquals(2, chain.rateLimitWaits.size());
+        assertTrue(chain.rateLimitWaits.get(0) > 0);
+        assertEquals(4, chain.calls.size());
+    }
+    
+    @Test
+    void idleTimeRefillsOnlyUpToBurst() throws Exception {
+        RateLimitInterceptor limiter = new RateLimitInterceptor(50, 1);
+        ScriptedChain chain = new ScriptedChain(response(200, ""));
+        
+        limiter.intercept(USERS, chain);
+        Thread.sleep(100);
+        // Idle for five tokens' worth, but only one is banked
+        limiter.intercept(USERS, chain);
+        assertTrue(chain.rateLimitWaits.isEmpty());
+        limiter.intercept(USERS, chain);
+        assertEquals(1, chain.rateLimitWaits.size());
+    }
+    
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitInterceptor(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitInterceptor(1, 0));
+    }
+}
@@ -0,0 +1,124 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import static com.cloudeagle.zoom.client.interceptor.ScriptedChain.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.client.ApiCall;
+import com.cloudeagle.zoom.client.ApiResponse;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class RetryInterceptorTest {
+    
+    private static final ApiCall GET = ApiCall.get("users", "https://api.zoom.us/v2/users");
+    private static final ApiCall POST = ApiCall.postForm("oauth_token", "https://zoom.us/oauth/token", "grant_type=x");
+    
+    @Test
+    void retriesServerErrorsUntilSuccess() throws Exception {
+        ScriptedChain chain = new ScriptedChain(response(503, ""), response(502, ""), response(200, "ok"));
+        
+        ApiResponse response = new RetryInterceptor(5, 1, 10).intercept(GET, chain);
+        
+        assertEquals(200, response.statusCode());
+        assertEquals(3, chain.calls.size());
+        assertEquals(Arrays.asList("users", "users"), chain.retries);
+        assertTrue(chain.rateLimitWaits.isEmpty());
+    }
+    
+    @Test
+    void returnsLastResponseWhenAttemptsRunOut() throws Exception {
+        ApiResponse error = response(500, "down");
+        ScriptedChain chain = new ScriptedChain(error);
+        
+        assertSame(error, new RetryInterceptor(3, 1, 10).intercept(GET, chain));
+        assertEquals(3, chain.calls.size());
+        assertEquals(2, chain.retries.size());
+    }
+    
+    @Test
+    void backoffDoublesWithJitterOverUpperHalf() throws Exception {
+        ScriptedChain chain = new ScriptedChain(response(503, ""), response(503, ""), response(503, ""),
+                response(200, ""));
+        
+        long start = System.nanoTime();
+        new RetryInterceptor(4, 40, 1000).intercept(GET, chain);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        // At least 20 + 40 + 80 ms, at most 40 + 80 + 160 ms plus scheduling slack
+        assertTrue(elapsedMillis >= 140, "waited " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 1000, "waited " + elapsedMillis + " ms");
+        assertEquals(4, chain.calls.size());
+    }
+    
+    @Test
+    void rateLimitWaitsForRetryAfterCappedByMaxBackoff() throws Exception {
+        ScriptedChain chain = new ScriptedChain(response(429, "", "Retry-After", "30"), response(200, ""));
+        
+        long start = System.nanoTime();
+        ApiResponse response = new RetryInterceptor(3, 1, 60).intercept(GET, chain);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertEquals(200, response.statusCode());
+        assertTrue(elapsedMillis >= 60 && elapsedMillis < 5000, "waited " + elapsedMillis + " ms");
+        assertEquals(1, chain.retries.size());
+        assertEquals(1, chain.rateLimitWaits.size());
+        assertTrue(chain.rateLimitWaits.get(0) >= TimeUnit.MILLISECONDS.toNanos(60));
+    }
+    
+    @Test
+    void rateLimitWithoutRetryAfterBacksOff() throws Exception {
+        ScriptedChain chain = new ScriptedChain(response(429, ""), response(200, ""));
+        
+        long start = System.nanoTime();
+        new RetryInterceptor(3, 40, 1000).intercept(GET, chain);
+        
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(2, chain.calls.size());
+        assertEquals(1, chain.rateLimitWaits.size());
+    }
+    
+    @Test
+    void retriesIoFailuresOfIdempotentCallsOnly() throws Exception {
+        ScriptedChain get = new ScriptedChain(new IOException("reset"), response(200, ""));
+        assertEquals(200, new RetryInterceptor(3, 1, 10).intercept(GET, get).statusCode());
+        assertEquals(2, get.calls.size());
+        
+        ScriptedChain exhausted = new ScriptedChain(new IOException("reset"));
+        assertThrows(IOException.class, () -> new RetryInterceptor(3, 1, 10).intercept(GET, exhausted));
+        assertEquals(3, exhausted.calls.size());
+        
+        ScriptedChain post = new ScriptedChain(new IOException("reset"), response(200, ""));
+        assertThrows(IOException.class, () -> new RetryInterceptor(3, 1, 10).intercept(POST, post));
+        assertEquals(1, post.calls.size());
+        assertEquals(Collections.emptyList(), post.retries);
+    }
+    
+    @Test
+    void retriesRateLimitButNotServerErrorForPost() throws Exception {
+        ScriptedChain serverError = new ScriptedChain(response(500, ""), response(200, ""));
+        assertEquals(500, new RetryInterceptor(3, 1, 10).intercept(POST, serverError).statusCode());
+        assertEquals(1, serverError.calls.size());
+        
+        // A 429 was rejected before it did anything, so even a POST may repeat it
+        ScriptedChain rateLimited = new ScriptedChain(response(429, "", "Retry-After", "0"), response(200, ""));
+        assertEquals(200, new RetryInterceptor(3, 1, 10).intercept(POST, rateLimited).statusCode());
+        assertEquals(2, rateLimited.calls.size());
+    }
+    
+    @Test
+    void clientErrorsAreNotRetried() throws Exception {
+        ScriptedChain chain = new ScriptedChain(response(404, ""), response(200, ""));
+        
+        assertEquals(404, new RetryInterceptor(3, 1, 10).intercept(GET, chain).statusCode());
+        assertEquals(1, chain.calls.size());
+        assertThrows(IllegalArgumentException.class, () -> new RetryInterceptor(0, 1, 10));
+    }
+}
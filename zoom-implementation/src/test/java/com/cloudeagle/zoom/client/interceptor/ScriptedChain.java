@@ -0,0 +1,74 @@
+package com.cloudeagle.zoom.client.interceptor;
+
+import com.cloudeagle.zoom.client.ApiCall;
+import com.cloudeagle.zoom.client.ApiResponse;
+import com.cloudeagle.zoom.client.Interceptor;
+import com.cloudeagle.zoom.metrics.ClientMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chain that answers with queued responses or failures, repeating the last one, and records what
+ * reached it
+ */
+final class ScriptedChain implements Interceptor.Chain {
+    
+    final List<ApiCall> calls = new ArrayList<>();
+    final List<String> retries = new ArrayList<>();
+    final List<Long> rateLimitWaits = new ArrayList<>();
+    
+    private final ArrayDeque<Object> script = new ArrayDeque<>();
+    private final ClientMetrics metrics = new ClientMetrics() {
+        @Override
+        public void recordRetry(String endpoint) {
+            retries.add(endpoint);
+        }
+        
+        @Override
+        public void recordRateLimitWait(String endpoint, long waitNanos) {
+            rateLimitWaits.add(waitNanos);
+        }
+    };
+    
+    /**
+     * @param steps Each an {@link ApiResponse} to return or an {@link IOException} to throw
+     */
+    ScriptedChain(Object... steps) {
+        script.addAll(Arrays.asList(steps));
+    }
+    
+    static ApiResponse response(int status, String body, String... headerPairs) {
+        return new ApiResponse(status, headers(headerPairs), body.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static Map<String, List<String>> headers(String... pairs) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            headers.put(pairs[i], Collections.singletonList(pairs[i + 1]));
+        }
+        return headers;
+    }
+    
+    @Override
+    public ApiResponse proceed(ApiCall call) throws IOException {
+        calls.add(call);
+        Object step = script.size() > 1 ? script.poll() : script.peek();
+        if (step instanceof IOException) {
+            throw (IOException) step;
+        }
+        return (ApiResponse) step;
+    }
+    
+    @Override
+    public ClientMetrics metrics() {
+        return metrics;
+    }
+}
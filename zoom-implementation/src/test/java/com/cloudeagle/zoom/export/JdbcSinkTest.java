@@ -0,0 +1,203 @@
+package com.cloudeagle.zoom.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.ZoomActivityReport.ActivityLog;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JdbcSinkTest {
+    
+    private static int databaseCounter;
+    
+    private Connection connection;
+    private JdbcSink sink;
+    
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:sink" + (databaseCounter++) + ";DB_CLOSE_DELAY=-1");
+        sink = new JdbcSink(connection);
+        sink.setBatchSize(2);
+        sink.createTables();
+    }
+    
+    @AfterEach
+    void tearDown() throws SQLException, IOException {
+        sink.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+    
+    @Test
+    void detectsH2Dialect() {
+        assertEquals(SqlDialect.H2, sink.getDialect());
+    }
+    
+    @Test
+    void writesPageAcrossSeveralBatches() throws Exception {
+        List<ZoomUser> page = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            page.add(user("u" + i, "user" + i + "@example.com", 1));
+        }
+        
+        assertEquals(5, sink.writeUsers(page));
+        
+        assertEquals(5, count(JdbcSink.USERS_TABLE));
+        assertEquals("user3@example.com", queryString("SELECT email FROM zoom_users WHERE id = 'u3'"));
+    }
+    
+    @Test
+    void upsertsUsersOnId() throws Exception {
+        sink.writeUsers(Arrays.asList(user("u1", "old@example.com", 1), user("u2", "two@example.com", 1)));
+        
+        ZoomUser changed = user("u1", "new@example.com", 2);
+        changed.setPmi(null);
+        sink.writeUsers(Arrays.asList(changed, user("u3", "three@example.com", 1)));
+        
+        assertEquals(3, count(JdbcSink.USERS_TABLE));
+        assertEquals("new@example.com", queryString("SELECT email FROM zoom_users WHERE id = 'u1'"));
+        assertEquals("2", queryString("SELECT type FROM zoom_users WHERE id = 'u1'"));
+        assertEquals(null, queryString("SELECT pmi FROM zoom_users WHERE id = 'u1'"));
+    }
+    
+    @Test
+    void rollsBackWholePageOnFailure() throws Exception {
+        sink.writeUsers(Arrays.asList(user("u0", "kept@example.com", 1)));
+        
+        // The bad row lands in the second batch, after the first batch was already sent
+        List<ZoomUser> page = new ArrayList<>();
+        page.add(user("u1", "one@example.com", 1));
+        page.add(user("u2", "two@example.com", 1));
+        page.add(user(repeat('x', 100), "bad@example.com", 1));
+        page.add(user("u0", "overwritten@example.com", 1));
+        
+        assertThrows(IOException.class, () -> sink.writeUsers(page));
+        
+        assertEquals(1, count(JdbcSink.USERS_TABLE));
+        assertEquals("kept@example.com", queryString("SELECT email FROM zoom_users WHERE id = 'u0'"));
+        assertFalse(connection.getAutoCommit());
+        
+        // The sink stays usable after a failed page
+        assertEquals(1, sink.writeUsers(Arrays.asList(user("u1", "one@example.com", 1))));
+        assertEquals(2, count(JdbcSink.USERS_TABLE));
+    }
+    
+    @Test
+    void appendsActivities() throws Exception {
+        List<ActivityLog> page = Arrays.asList(activity("a@example.com", "Sign in"),
+                activity("a@example.com", "Sign out"), activity("b@example.com", "Sign in"));
+        
+        assertEquals(3, sink.writeActivities(page));
+        assertEquals(3, sink.writeActivities(page));
+        
+        assertEquals(6, count(JdbcSink.ACTIVITY_TABLE));
+    }
+    
+    @Test
+    void ignoresEmptyPages() throws Exception {
+        assertEquals(0, sink.writeUsers(null));
+        assertEquals(0, sink.writeUsers(new ArrayList<>()));
+        assertEquals(0, sink.writeActivities(null));
+        assertEquals(0, count(JdbcSink.USERS_TABLE));
+    }
+    
+    @Test
+    void columnSqlTypesMatchTables() throws Exception {
+        assertColumnTypes(JdbcSink.USERS_TABLE, ExportColumn.USER_COLUMNS);
+        assertColumnTypes(JdbcSink.ACTIVITY_TABLE, ExportColumn.ACTIVITY_COLUMNS);
+        
+        // Nulls in typed columns are bound with the column's own type
+        ZoomUser sparse = new ZoomUser();
+        sparse.setId("sparse");
+        assertEquals(1, sink.writeUsers(Arrays.asList(sparse)));
+        assertEquals("1", queryString("SELECT COUNT(*) FROM " + JdbcSink.USERS_TABLE
+                + " WHERE type IS NULL AND pmi IS NULL AND use_pmi IS NULL AND verified IS NULL"));
+    }
+    
+    @Test
+    void restoresAutoCommitOnClose() throws Exception {
+        Connection other = DriverManager.getConnection("jdbc:h2:mem:autocommit");
+        try {
+            assertTrue(other.getAutoCommit());
+            JdbcSink otherSink = new JdbcSink(other);
+            assertFalse(other.getAutoCommit());
+            otherSink.close();
+            assertTrue(other.getAutoCommit());
+        } finally {
+            other.close();
+        }
+    }
+    
+    private <T> void assertColumnTypes(String table, List<ExportColumn<T>> columns) throws SQLException {
+        Map<String, Integer> types = new HashMap<>();
+        try (ResultSet rs = connection.getMetaData().getColumns(null, null, table.toUpperCase(Locale.ROOT), null)) {
+            while (rs.next()) {
+                types.put(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT), rs.getInt("DATA_TYPE"));
+            }
+        }
+        assertEquals(columns.size(), types.size(), table);
+        for (ExportColumn<T> column : columns) {
+            assertEquals(types.get(column.getName()), column.getSqlType(), table + "." + column.getName());
+        }
+    }
+    
+    private int count(String table) throws SQLException {
+        return Integer.parseInt(queryString("SELECT COUNT(*) FROM " + table));
+    }
+    
+    private String queryString(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+    
+    private static ZoomUser user(String id, String email, int type) {
+        ZoomUser user = new ZoomUser();
+        user.setId(id);
+        user.setEmail(email);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setType(type);
+        user.setPmi(1234567890L);
+        user.setUsePmi(Boolean.FALSE);
+        user.setStatus("active");
+        return user;
+    }
+    
+    private static ActivityLog activity(String email, String type) {
+        ActivityLog log = new ActivityLog();
+        log.setEmail(email);
+        log.setTime("2024-01-01T00:00:00Z");
+        log.setType(type);
+        log.setIpAddress("10.0.0.1");
+        return log;
+    }
+    
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,193 @@
+package com.cloudeagle.zoom.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StreamingExporterTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String USER_HEADER = "id,first_name,last_name,email,type,role_name,pmi,use_pmi,"
+            + "personal_meeting_url,timezone,verified,dept,created_at,last_login_time,last_client_version,"
+            + "language,status,role_id\r\n";
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void csvQuotesCommasQuotesAndLineBreaks() throws IOException {
+        List<ExportColumn<ZoomUser>> columns = Arrays.asList(
+                new ExportColumn<>("id", ZoomUser::getId),
+                new ExportColumn<>("name, first", ZoomUser::getFirstName),
+                new ExportColumn<>("type", ZoomUser::getType),
+                new ExportColumn<>("dept", ZoomUser::getDept));
+        ZoomUser quoted = user(1);
+        quoted.setFirstName("say \"hi\"");
+        quoted.setDept("a\nb");
+        ZoomUser nulls = user(2);
+        nulls.setFirstName("plain");
+        nulls.setType(null);
+        nulls.setDept("x\r\ny,z");
+        ZoomUser unicode = user(3);
+        unicode.setFirstName("Zoë 👍");
+        unicode.setDept("");
+        
+        Path file = export(new ExportOptions(dir, "quoted", ExportFormat.CSV), columns, quoted, nulls, unicode).get(0);
+        assertEquals(dir.resolve("quoted.csv"), file);
+        assertEquals("id,\"name, first\",type,dept\r\n"
+                + "u1,\"say \"\"hi\"\"\",2,\"a\nb\"\r\n"
+                + "u2,plain,,\"x\r\ny,z\"\r\n"
+                + "u3,Zoë 👍,1,\r\n", read(file));
+    }
+    
+    @Test
+    void ndjsonWritesOneRecordPerLine() throws IOException {
+        ExportOptions options = new ExportOptions(dir, "users", ExportFormat.NDJSON);
+        // Smaller than a record, so every record drains the buffer part way through
+        options.setBufferSize(64);
+        ZoomUser[] users = {user(1), user(2), new ZoomUser()};
+        users[1].setFirstName("line\nbreak \"quoted\", é");
+        
+        Path file = export(options, ExportColumn.USER_COLUMNS, users).get(0);
+        assertEquals(dir.resolve("users.ndjson"), file);
+        String text = read(file);
+        assertTrue(text.endsWith("}\n"), text);
+        String[] lines = text.split("\n");
+        assertEquals(users.length, lines.length);
+        for (int i = 0; i < users.length; i++) {
+            assertEquals(MAPPER.valueToTree(users[i]), MAPPER.valueToTree(MAPPER.readValue(lines[i], ZoomUser.class)));
+        }
+    }
+    
+    @Test
+    void gzipOutputMatchesPlainOutput() throws IOException {
+        ZoomUser[] users = users(200);
+        for (ExportFormat format : ExportFormat.values()) {
+            ExportOptions gzipped = new ExportOptions(dir, "gz", format);
+            gzipped.setGzip(true);
+            Path file = export(gzipped, ExportColumn.USER_COLUMNS, users).get(0);
+            assertEquals(dir.resolve("gz" + format.getExtension() + ".gz"), file);
+            
+            Path plain = export(new ExportOptions(dir, "plain", format), ExportColumn.USER_COLUMNS, users).get(0);
+            assertEquals(Files.readString(plain), read(file));
+            assertTrue(Files.size(file) < Files.size(plain));
+        }
+    }
+    
+    @Test
+    void rotationSplitsAtRecordBoundaries() throws IOException {
+        ZoomUser[] users = users(40);
+        for (ExportFormat format : ExportFormat.values()) {
+            String whole = read(export(new ExportOptions(dir, "whole", format), ExportColumn.USER_COLUMNS, users).get(0));
+            for (boolean gzip : new boolean[] {false, true}) {
+                ExportOptions options = new ExportOptions(dir, "part" + gzip, format);
+                options.setGzip(gzip);
+                options.setMaxBytesPerFile(1_000);
+                List<Path> files = export(options, ExportColumn.USER_COLUMNS, users);
+                assertTrue(files.size() > 3, format + " gzip=" + gzip);
+                
+                StringBuilder joined = new StringBuilder(format == ExportFormat.CSV ? USER_HEADER : "");
+                for (int i = 0; i < files.size(); i++) {
+                    String name = String.format("part%s-%05d%s%s", gzip, i + 1, format.getExtension(), gzip ? ".gz" : "");
+                    assertEquals(dir.resolve(name), files.get(i));
+                    String text = read(files.get(i));
+                    int size = text.getBytes(StandardCharsets.UTF_8).length;
+                    String lastRecord = lastRecord(text);
+                    if (i < files.size() - 1) {
+                        // Uncompressed size, whether or not the file is gzipped, crosses the limit on its last record
+                        assertTrue(size >= 1_000, name + " " + size);
+                        assertTrue(size - lastRecord.getBytes(StandardCharsets.UTF_8).length < 1_000, name);
+                    }
+                    if (format == ExportFormat.CSV) {
+                        assertTrue(text.startsWith(USER_HEADER), name);
+                        text = text.substring(USER_HEADER.length());
+                    }
+                    joined.append(text);
+                }
+                assertEquals(whole, joined.toString(), format + " gzip=" + gzip);
+            }
+        }
+    }
+    
+    @Test
+    void emptyExportAndLifecycle() throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StreamingExporter<>(new ExportOptions(), ExportColumn.USER_COLUMNS));
+        
+        StreamingExporter<ZoomUser> csv = new StreamingExporter<>(new ExportOptions(dir, "empty", ExportFormat.CSV),
+                ExportColumn.USER_COLUMNS);
+        csv.writeAll(null);
+        csv.close();
+        csv.close();
+        assertEquals(1, csv.getFiles().size());
+        assertEquals(USER_HEADER, read(csv.getFiles().get(0)));
+        assertThrows(IllegalStateException.class, () -> csv.write(user(1)));
+        
+        List<Path> ndjson = export(new ExportOptions(dir.resolve("nested/dir"), "empty", ExportFormat.NDJSON),
+                ExportColumn.USER_COLUMNS);
+        assertEquals("", read(ndjson.get(0)));
+    }
+    
+    private static List<Path> export(ExportOptions options, List<ExportColumn<ZoomUser>> columns, ZoomUser... users)
+            throws IOException {
+        try (StreamingExporter<ZoomUser> exporter = new StreamingExporter<>(options, columns)) {
+            exporter.writeAll(Arrays.asList(users));
+            assertEquals(users.length, exporter.getRecordsWritten());
+            return exporter.getFiles();
+        }
+    }
+    
+    private static String read(Path file) throws IOException {
+        try (InputStream in = file.toString().endsWith(".gz")
+                ? new GZIPInputStream(Files.newInputStream(file)) : Files.newInputStream(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    /**
+     * Last line including its terminator; the test users have no embedded line breaks
+     */
+    private static String lastRecord(String text) {
+        int end = text.length() - 1;
+        return text.substring(text.lastIndexOf('\n', end - 1) + 1);
+    }
+    
+    private static ZoomUser[] users(int count) {
+        List<ZoomUser> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            users.add(user(i));
+        }
+        return users.toArray(new ZoomUser[0]);
+    }
+    
+    private static ZoomUser user(int i) {
+        ZoomUser user = new ZoomUser();
+        user.setId("u" + i);
+        user.setFirstName("First" + i);
+        user.setLastName("Last");
+        user.setEmail("u" + i + "@example.com");
+        user.setType(i % 3 + 1);
+        user.setPmi(1_000_000_000L + i);
+        user.setUsePmi(i % 2 == 0);
+        user.setTimezone("Europe/Berlin");
+        user.setCreatedAt("2024-01-01T00:00:00Z");
+        user.setStatus("active");
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+package com.cloudeagle.zoom.identity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+    
+    private static final int INSERTED = 100_000;
+    private static final int PROBES = 200_000;
+    
+    @Test
+    void neverMissesAnAddedValue() {
+        BloomFilter filter = new BloomFilter(INSERTED, 0.01);
+        for (int i = 0; i < INSERTED; i++) {
+            filter.put(email(i));
+        }
+        
+        for (int i = 0; i < INSERTED; i++) {
+            assertTrue(filter.mightContain(email(i)), email(i));
+        }
+        filter.put("");
+        assertTrue(filter.mightContain(""));
+    }
+    
+    @Test
+    void falsePositiveRateIsNearTarget() {
+        for (double target : new double[] {0.05, 0.01, 0.001}) {
+            BloomFilter filter = new BloomFilter(INSERTED, target);
+            for (int i = 0; i < INSERTED; i++) {
+                filter.put(email(i));
+            }
+            
+            int falsePositives = 0;
+            for (int i = INSERTED; i < INSERTED + PROBES; i++) {
+                if (filter.mightContain(email(i))) {
+                    falsePositives++;
+                }
+            }
+            double observed = (double) falsePositives / PROBES;
+            assertTrue(observed > target * 0.5 && observed < target * 1.5,
+                    "target " + target + ", observed " + observed);
+        }
+    }
+    
+    @Test
+    void emptyFilterContainsNothingAndSizeFollowsTarget() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.mightContain(email(i)));
+        }
+        // About 9.6 bits per value at 1%, rounded up to whole longs
+        assertEquals(1200, filter.sizeInBytes(), 8);
+        assertTrue(new BloomFilter(1000, 0.001).sizeInBytes() > filter.sizeInBytes());
+        
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+    }
+    
+    private static String email(int i) {
+        return "user" + i + "@tenant" + (i % 97) + ".example.com";
+    }
+}
@@ -0,0 +1,109 @@
+package com.cloudeagle.zoom.identity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class CrossTenantIdentityIndexTest {
+    
+    @Test
+    void matchesNormalizedEmailsAcrossTenants() {
+        CrossTenantIdentityIndex index = new CrossTenantIdentityIndex(10);
+        index.add("acme", user("Ada@Example.com", 2));
+        index.add("globex", user("  ada@example.COM ", 1));
+        index.add("initech", user("ada@example.com", null));
+        index.add("acme", user("bob@example.com", 2));
+        index.add("acme", user(null, 2));
+        
+        assertEquals(Arrays.asList("acme", "globex", "initech"), index.tenantsOf("ADA@example.com"));
+        assertEquals(Collections.singletonList("acme"), index.tenantsOf("bob@example.com"));
+        assertEquals(Collections.emptyList(), index.tenantsOf("carol@example.com"));
+        assertEquals(2, index.getIdentityCount());
+        assertEquals(1, index.getSharedCount());
+        
+        List<SharedIdentity> shared = index.sharedIdentities(2, 0);
+        assertEquals(1, shared.size());
+        Map<String, Integer> types = new TreeMap<>();
+        types.put("acme", 2);
+        types.put("globex", 1);
+        types.put("initech", null);
+        assertEquals("ada@example.com", shared.get(0).getEmail());
+        assertEquals(types, shared.get(0).getUserTypes());
+        assertEquals(1, shared.get(0).getLicenseCount());
+    }
+    
+    @Test
+    void sameTenantAgainUpdatesTheType() {
+        CrossTenantIdentityIndex index = new CrossTenantIdentityIndex(10);
+        ZoomUserList page = new ZoomUserList();
+        page.setUsers(Arrays.asList(user("a@x.com", 1), user("A@X.com", 2)));
+        index.addPage("acme", page);
+        index.add("globex", user("a@x.com", 2));
+        
+        assertEquals(Arrays.asList("acme", "globex"), index.tenantsOf("a@x.com"));
+        assertEquals(1, index.getSharedCount());
+        assertEquals(1, index.sharedIdentities(2, 2).size());
+        
+        index.add("acme", user("a@x.com", 1));
+        assertTrue(index.sharedIdentities(2, 2).isEmpty());
+        assertEquals(1, index.sharedIdentities(2, 1).size());
+        assertTrue(index.sharedIdentities(3, 0).isEmpty());
+    }
+    
+    @Test
+    void agreesWithReferenceMapAtScale() {
+        // Sized well below the real count so the Bloom filter lets false positives through
+        CrossTenantIdentityIndex index = new CrossTenantIdentityIndex(500);
+        Map<String, Map<String, Integer>> reference = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String email = "person" + random.nextInt(8000) + "@example.com";
+            String tenant = "tenant" + random.nextInt(40);
+            Integer type = random.nextInt(4) == 0 ? null : 1 + random.nextInt(2);
+            index.add(tenant, user(random.nextBoolean() ? email.toUpperCase() : email, type));
+            reference.computeIfAbsent(email, e -> new LinkedHashMap<>()).put(tenant, type);
+        }
+        
+        assertEquals(reference.size(), index.getIdentityCount());
+        List<String> expectedShared = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Integer>> entry : reference.entrySet()) {
+            assertEquals(new ArrayList<>(entry.getValue().keySet()), index.tenantsOf(entry.getKey()));
+            if (entry.getValue().size() >= 3 && Collections.frequency(entry.getValue().values(), 2) >= 2) {
+                expectedShared.add(entry.getKey());
+            }
+        }
+        Collections.sort(expectedShared);
+        List<String> actualShared = new ArrayList<>();
+        for (SharedIdentity identity : index.sharedIdentities(3, 2)) {
+            actualShared.add(identity.getEmail());
+            assertEquals(new TreeMap<>(reference.get(identity.getEmail())), identity.getUserTypes());
+        }
+        assertEquals(expectedShared, actualShared);
+        assertEquals(reference.values().stream().filter(tenants -> tenants.size() > 1).count(),
+                index.getSharedCount());
+        for (int i = 8000; i < 9000; i++) {
+            assertTrue(index.tenantsOf("person" + i + "@example.com").isEmpty());
+        }
+    }
+    
+    private static ZoomUser user(String email, Integer type) {
+        ZoomUser user = new ZoomUser();
+        user.setEmail(email);
+        user.setType(type);
+        return user;
+    }
+}
@@ -0,0 +1,167 @@
+package com.cloudeagle.zoom.license;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cloudeagle.zoom.model.ZoomAccountPlans;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class PlanCacheTest {
+    
+    private static final Duration TTL = Duration.ofMinutes(10);
+    
+    private final SimulatedClock clock = new SimulatedClock();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile boolean failing;
+    
+    private final PlanCache cache = new PlanCache(tenantId -> {
+        fetches.incrementAndGet();
+        if (failing) {
+            throw new IOException("unavailable");
+        }
+        return new ZoomAccountPlans();
+    }, TTL, clock);
+    
+    @Test
+    void servesCachedPlansUntilTheyExpire() throws Exception {
+        assertEquals(-1, cache.getFetchedAt("T"));
+        ZoomAccountPlans first = cache.get("T");
+        long fetchedAt = clock.millis();
+        
+        clock.advance(TTL.minusMillis(1));
+        assertSame(first, cache.get("T"));
+        assertEquals(1, fetches.get());
+        
+        clock.advance(Duration.ofMillis(1));
+        ZoomAccountPlans second = cache.get("T");
+        assertNotSame(first, second);
+        assertEquals(2, fetches.get());
+        assertEquals(fetchedAt + TTL.toMillis(), cache.getFetchedAt("T"));
+        
+        cache.get("other");
+        assertEquals(3, fetches.get());
+        cache.invalidate("T");
+        assertEquals(-1, cache.getFetchedAt("T"));
+        cache.get("T");
+        assertEquals(4, fetches.get());
+    }
+    
+    @Test
+    void failedRefreshServesStaleCopyAndRetriesOnNextLookup() throws Exception {
+        ZoomAccountPlans stale = cache.get("T");
+        long fetchedAt = cache.getFetchedAt("T");
+        clock.advance(TTL);
+        failing = true;
+        
+        assertSame(stale, cache.get("T"));
+        assertEquals(2, fetches.get());
+        assertEquals(fetchedAt, cache.getFetchedAt("T"));
+        // The stale copy is not treated as fresh again; every lookup retries
+        clock.advance(Duration.ofSeconds(1));
+        assertSame(stale, cache.get("T"));
+        assertEquals(3, fetches.get());
+        
+        failing = false;
+        ZoomAccountPlans fresh = cache.get("T");
+        assertEquals(4, fetches.get());
+        assertEquals(clock.millis(), cache.getFetchedAt("T"));
+        assertSame(fresh, cache.get("T"));
+        assertEquals(4, fetches.get());
+    }
+    
+    @Test
+    void failedFirstFetchThrowsAndIsRetried() throws Exception {
+        failing = true;
+        assertThrows(IOException.class, () -> cache.get("T"));
+        assertThrows(IOException.class, () -> cache.get("T"));
+        assertEquals(2, fetches.get());
+        assertEquals(-1, cache.getFetchedAt("T"));
+        
+        failing = false;
+        cache.get("T");
+        assertEquals(3, fetches.get());
+    }
+    
+    @Test
+    void concurrentLookupsShareOneFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowFetches = new AtomicInteger();
+        PlanCache slow = new PlanCache(tenantId -> {
+            slowFetches.incrementAndGet();
+            release.await();
+            return new ZoomAccountPlans();
+        }, TTL, clock);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ZoomAccountPlans>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> slow.get("T")));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            ZoomAccountPlans plans = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ZoomAccountPlans> result : results) {
+                assertSame(plans, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, slowFetches.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void rejectsNegativeTtl() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlanCache(tenantId -> null, Duration.ofSeconds(-1), clock));
+    }
+    
+    /**
+     * Clock that only moves when told to
+     */
+    private static final class SimulatedClock extends Clock {
+        
+        private long millis = 1_700_000_000_000L;
+        
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+        
+        @Override
+        public long millis() {
+            return millis;
+        }
+        
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
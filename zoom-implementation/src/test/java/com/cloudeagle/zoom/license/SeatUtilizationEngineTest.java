@@ -0,0 +1,237 @@
+package com.cloudeagle.zoom.license;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.ZoomAccountPlans;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.cloudeagle.zoom.sync.UserChangeEvent;
+import com.cloudeagle.zoom.sync.UserChangeListener;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class SeatUtilizationEngineTest {
+    
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC);
+    private static final Integer[] TYPES = {1, 2, 2, 2, 4, 99, null};
+    
+    private final PlanCache plans = new PlanCache(tenantId -> plans(10, 7), Duration.ofHours(1), CLOCK);
+    
+    @Test
+    void countersMatchFullRecomputeAfterMixedChanges() throws Exception {
+        SeatUtilizationEngine engine = new SeatUtilizationEngine(plans, CLOCK);
+        UserChangeListener listener = engine.listener("T");
+        Map<String, ZoomUser> reference = new HashMap<>();
+        Random random = new Random(42);
+        
+        for (int op = 1; op <= 5000; op++) {
+            String id = "u" + random.nextInt(300);
+            int kind = random.nextInt(10);
+            if (kind < 2) {
+                assertEquals(reference.remove(id) != null, engine.remove("T", id));
+            } else if (kind < 3) {
+                if (reference.remove(id) != null) {
+                    listener.onChange(new UserChangeEvent(UserChangeEvent.Type.REMOVED, id, null,
+                            Collections.emptySet()));
+                }
+            } else {
+                ZoomUser user = user(id, TYPES[random.nextInt(TYPES.length)], lastLogin(random));
+                UserChangeEvent.Type type = reference.put(id, user) == null
+                        ? UserChangeEvent.Type.ADDED : UserChangeEvent.Type.UPDATED;
+                if (kind < 6) {
+                    engine.add("T", user);
+                } else if (kind < 8) {
+                    listener.onChange(new UserChangeEvent(type, id, user, Collections.emptySet()));
+                } else {
+                    ZoomUserList page = new ZoomUserList();
+                    page.setUsers(Collections.singletonList(user));
+                    engine.addPage("T", page);
+                }
+            }
+            if (op % 250 == 0) {
+                assertMatchesRecompute(engine, reference, 30);
+            }
+        }
+        engine.setIdleAfter(Duration.ofDays(7));
+        assertMatchesRecompute(engine, reference, 7);
+        engine.setIdleAfter(Duration.ofDays(365));
+        assertMatchesRecompute(engine, reference, 365);
+    }
+    
+    @Test
+    void idleCutoffIsWholeDaysBeforeToday() throws Exception {
+        SeatUtilizationEngine engine = new SeatUtilizationEngine(plans, CLOCK);
+        engine.add("T", user("on-cutoff", 2, "2024-05-16T23:59:59Z"));
+        engine.add("T", user("day-before", 2, "2024-05-15T00:00:00Z"));
+        engine.add("T", user("today", 2, "2024-06-15T08:00:00Z"));
+        engine.add("T", user("basic-idle", 1, "2020-01-01T00:00:00Z"));
+        
+        SeatUtilization utilization = engine.utilization("T");
+        
+        assertEquals(3, utilization.getLicensedUsers());
+        assertEquals(1, utilization.getIdleLicensedUsers());
+        
+        // Signing in again moves the user out of the idle count
+        engine.add("T", user("day-before", 2, "2024-06-14T00:00:00Z"));
+        assertEquals(0, engine.utilization("T").getIdleLicensedUsers());
+        
+        assertThrows(IllegalArgumentException.class, () -> engine.setIdleAfter(Duration.ofHours(23)));
+    }
+    
+    @Test
+    void usersWhoNeverSignedInAreIdle() throws Exception {
+        SeatUtilizationEngine engine = new SeatUtilizationEngine(plans, CLOCK);
+        engine.add("T", user("null", 2, null));
+        engine.add("T", user("empty", 2, ""));
+        engine.add("T", user("garbage", 2, "not a date"));
+        engine.add("T", user("basic", 1, null));
+        engine.add("T", user("active", 2, "2024-06-01T00:00:00Z"));
+        
+        SeatUtilization utilization = engine.utilization("T");
+        
+        assertEquals(4, utilization.getLicensedUsers());
+        assertEquals(3, utilization.getIdleLicensedUsers());
+        assertEquals(6, utilization.getUnassignedSeats());
+        assertEquals(9, utilization.getReclaimableSeats());
+        
+        engine.add("T", user("null", 1, null));
+        assertTrue(engine.remove("T", "empty"));
+        assertFalse(engine.remove("T", "empty"));
+        assertEquals(1, engine.utilization("T").getIdleLicensedUsers());
+    }
+    
+    @Test
+    void joinsCountersWithPlans() throws Exception {
+        ZoomAccountPlans accountPlans = plans(5, 99);
+        ZoomAccountPlans.Plan webinar = plan("webinar500", 2, 1);
+        accountPlans.setPlanWebinar(Collections.singletonList(webinar));
+        SeatUtilizationEngine engine = new SeatUtilizationEngine(
+                new PlanCache(tenantId -> accountPlans, Duration.ofHours(1), CLOCK), CLOCK);
+        engine.add("T", user("a", 2, "2024-06-01T00:00:00Z"));
+        engine.add("T", user("b", 2, "2024-06-01T00:00:00Z"));
+        engine.add("T", user("c", 1, null));
+        
+        SeatUtilization utilization = engine.utilization("T");
+        
+        assertEquals(5, utilization.getPurchasedSeats());
+        assertEquals(Arrays.asList("plan_base", "plan_webinar:webinar500"), keys(utilization));
+        // Base plan usage comes from the counters, add-ons from Zoom's reported usage
+        assertEquals(2, utilization.getPlans().get(0).getUsed());
+        assertEquals(99, utilization.getPlans().get(0).getReportedUsage());
+        assertEquals(1, utilization.getPlans().get(1).getUsed());
+        assertEquals(3, utilization.getUnassignedSeats());
+        assertEquals(CLOCK.millis(), utilization.getPlansFetchedAt());
+        assertEquals(Map.of(1, 1, 2, 2), utilization.getUsersByType());
+    }
+    
+    @Test
+    void tenantsWithoutPlansAreSkipped() throws Exception {
+        PlanCache failing = new PlanCache(tenantId -> {
+            if (tenantId.equals("broken")) {
+                throw new IOException("forbidden");
+            }
+            return plans(1, 0);
+        }, Duration.ofHours(1), CLOCK);
+        SeatUtilizationEngine engine = new SeatUtilizationEngine(failing, CLOCK);
+        engine.add("ok", user("a", 2, null));
+        engine.add("broken", user("a", 2, null));
+        
+        assertThrows(IOException.class, () -> engine.utilization("broken"));
+        List<SeatUtilization> all = engine.utilizationOfAll();
+        assertEquals(1, all.size());
+        assertEquals("ok", all.get(0).getTenantId());
+        
+        engine.clear("ok");
+        assertEquals(0, engine.getUserCount("ok"));
+        assertEquals(0, engine.utilization("ok").getLicensedUsers());
+    }
+    
+    private static void assertMatchesRecompute(SeatUtilizationEngine engine, Map<String, ZoomUser> users,
+            int idleDays) throws Exception {
+        Map<Integer, Integer> byType = new TreeMap<>();
+        int licensed = 0;
+        int idle = 0;
+        for (ZoomUser user : users.values()) {
+            int type = user.getType() != null ? user.getType() : 0;
+            byType.merge(type, 1, Integer::sum);
+            if (type == SeatUtilizationEngine.LICENSED) {
+                licensed++;
+                LocalDate last = lastLoginDate(user.getLastLoginTime());
+                if (last == null || last.isBefore(TODAY.minusDays(idleDays))) {
+                    idle++;
+                }
+            }
+        }
+        SeatUtilization utilization = engine.utilization("T");
+        assertEquals(users.size(), engine.getUserCount("T"));
+        assertEquals(byType, utilization.getUsersByType());
+        assertEquals(licensed, utilization.getLicensedUsers());
+        assertEquals(idle, utilization.getIdleLicensedUsers());
+    }
+    
+    private static LocalDate lastLoginDate(String lastLoginTime) {
+        try {
+            return LocalDate.parse(lastLoginTime.substring(0, 10));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private static String lastLogin(Random random) {
+        switch (random.nextInt(8)) {
+            case 0: return null;
+            case 1: return "";
+            case 2: return "garbage";
+            default: return TODAY.minusDays(random.nextInt(60) - 5) + "T10:00:00Z";
+        }
+    }
+    
+    private static List<String> keys(SeatUtilization utilization) {
+        List<String> keys = new ArrayList<>();
+        for (SeatUtilization.PlanSeats plan : utilization.getPlans()) {
+            keys.add(plan.getKey());
+        }
+        return keys;
+    }
+    
+    private static ZoomAccountPlans plans(int hosts, int usage) {
+        ZoomAccountPlans plans = new ZoomAccountPlans();
+        plans.setPlanBase(plan("monthly", hosts, usage));
+        return plans;
+    }
+    
+    private static ZoomAccountPlans.Plan plan(String type, int hosts, int usage) {
+        ZoomAccountPlans.Plan plan = new ZoomAccountPlans.Plan();
+        plan.setType(type);
+        plan.setHosts(hosts);
+        plan.setUsage(usage);
+        return plan;
+    }
+    
+    private static ZoomUser user(String id, Integer type, String lastLoginTime) {
+        ZoomUser user = new ZoomUser();
+        user.setId(id);
+        user.setType(type);
+        user.setLastLoginTime(lastLoginTime);
+        return user;
+    }
+}
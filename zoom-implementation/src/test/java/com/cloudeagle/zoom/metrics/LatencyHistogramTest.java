@@ -0,0 +1,174 @@
+package com.cloudeagle.zoom.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    
+    private static final int BUCKETS = 1888;
+    private static final double[] QUANTILES = {0, 0.001, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+    
+    @Test
+    void bucketBoundariesAreContiguous() {
+        assertEquals(0, LatencyHistogram.lowerBound(0));
+        for (int i = 0; i < BUCKETS; i++) {
+            long low = LatencyHistogram.lowerBound(i);
+            long next = LatencyHistogram.lowerBound(i + 1);
+            assertTrue(next > low, "bucket " + i);
+            assertEquals(i, LatencyHistogram.indexOf(low), "lower bound of " + i);
+            assertEquals(i, LatencyHistogram.indexOf(next - 1), "upper bound of " + i);
+            // Sub-buckets are at most 1/32 of their lower bound wide
+            assertTrue(low < 64 ? next - low == 1 : next - low <= low / 32, "width of " + i);
+        }
+        assertEquals(BUCKETS - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.lowerBound(BUCKETS));
+    }
+    
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[64];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+            histogram.record(i);
+        }
+        for (double q : QUANTILES) {
+            assertEquals(reference(values, q), histogram.getValueAtQuantile(q), "q=" + q);
+        }
+    }
+    
+    @Test
+    void uniformValuesMatchSortedReference() {
+        Random random = new Random(33);
+        long[] values = new long[20_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + (long) (random.nextDouble() * 5_000_000_000L);
+        }
+        assertMatchesReference(values);
+    }
+    
+    @Test
+    void skewedValuesMatchSortedReference() {
+        // Log-normal latencies around 20 ms with a long tail
+        Random random = new Random(330);
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(Math.log(20_000_000) + 1.5 * random.nextGaussian());
+        }
+        assertMatchesReference(values);
+    }
+    
+    @Test
+    void valuesOnBucketBoundariesMatchSortedReference() {
+        List<Long> boundaries = new ArrayList<>();
+        for (int i = 1; i < BUCKETS; i += 7) {
+            long low = LatencyHistogram.lowerBound(i);
+            boundaries.add(low);
+            boundaries.add(low - 1);
+            boundaries.add(LatencyHistogram.lowerBound(i + 1) - 1);
+        }
+        for (int shift = 0; shift < 63; shift++) {
+            boundaries.add((1L << shift) - 1);
+            boundaries.add(1L << shift);
+            boundaries.add((1L << shift) + 1);
+        }
+        boundaries.add(Long.MAX_VALUE);
+        long[] values = boundaries.stream().mapToLong(Long::longValue).toArray();
+        assertMatchesReference(values);
+        
+        // Tiny samples, where a single value decides each quantile
+        for (int size = 1; size <= 5; size++) {
+            assertMatchesReference(Arrays.copyOfRange(values, 100, 100 + size));
+        }
+    }
+    
+    @Test
+    void countMaxMeanAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+        assertEquals(0, histogram.getMean(), 0);
+        
+        histogram.record(-5);
+        histogram.record(1_000);
+        histogram.record(2_950);
+        assertEquals(3, histogram.getCount());
+        assertEquals(2_950, histogram.getMax());
+        // Negative values are recorded as 0
+        assertEquals(3_950 / 3.0, histogram.getMean(), 1e-9);
+        assertEquals(0, histogram.getValueAtQuantile(0));
+        // 2950 lies in [2944, 3007]; the midpoint 2975 is capped at the largest recorded value
+        assertEquals(2_950, histogram.getValueAtQuantile(1));
+        assertEquals(LatencyHistogram.indexOf(1_000), LatencyHistogram.indexOf(histogram.getValueAtQuantile(0.5)));
+        
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+        histogram.record(7);
+        assertEquals(7, histogram.getValueAtQuantile(0.5));
+    }
+    
+    @Test
+    void concurrentRecordingLosesNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long offset = t;
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < 100_000; i++) {
+                        histogram.record(i * 4 + offset);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(400_000, histogram.getCount());
+        assertEquals(399_999, histogram.getMax());
+        assertEquals(399_999 / 2.0, histogram.getMean(), 1e-9);
+        long median = histogram.getValueAtQuantile(0.5);
+        assertEquals(LatencyHistogram.indexOf(199_999), LatencyHistogram.indexOf(median));
+    }
+    
+    private static void assertMatchesReference(long[] values) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : values) {
+            histogram.record(value);
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[sorted.length - 1], histogram.getMax());
+        for (double q : QUANTILES) {
+            long expected = reference(sorted, q);
+            long actual = histogram.getValueAtQuantile(q);
+            String message = "q=" + q + " expected " + expected + " got " + actual;
+            assertEquals(LatencyHistogram.indexOf(expected), LatencyHistogram.indexOf(actual), message);
+            assertTrue(actual <= histogram.getMax(), message);
+            assertTrue(Math.abs(actual - expected) <= Math.max(1, expected / 32), message);
+        }
+    }
+    
+    /**
+     * Nearest-rank quantile of sorted values, using the same rank as the histogram
+     */
+    private static long reference(long[] sorted, double quantile) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * sorted.length));
+        return sorted[(int) rank - 1];
+    }
+}
@@ -0,0 +1,71 @@
+package com.cloudeagle.zoom.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ZoomClientMetricsTest {
+    
+    private static final long MILLI = 1_000_000;
+    
+    @Test
+    void statusCodesAreClassified() {
+        ZoomClientMetrics metrics = new ZoomClientMetrics();
+        assertNull(metrics.getEndpoint("users"));
+        int[] statuses = {200, 204, 299, 300, 404, 429, 429, 500, 503, 0};
+        for (int status : statuses) {
+            metrics.recordRequest("users", status, MILLI);
+        }
+        
+        EndpointMetrics users = metrics.getEndpoint("users");
+        assertSame(users, metrics.getEndpoints().iterator().next());
+        assertEquals(10, users.getRequestCount());
+        assertEquals(3, users.getSuccessCount());
+        // 429 is both a client error and counted on its own
+        assertEquals(3, users.getClientErrorCount());
+        assertEquals(2, users.getRateLimitedCount());
+        assertEquals(2, users.getServerErrorCount());
+        assertEquals(1, users.getTransportErrorCount());
+        assertEquals(Map.of(0, 1L, 200, 1L, 204, 1L, 299, 1L, 300, 1L, 404, 1L, 429, 2L, 500, 1L, 503, 1L),
+                users.getStatusCodeCounts());
+        assertEquals("0=1, 200=1, 204=1, 299=1, 300=1, 404=1, 429=2, 500=1, 503=1", users.getStatusCodes());
+    }
+    
+    @Test
+    void nanosAreReportedInMillis() {
+        ZoomClientMetrics metrics = new ZoomClientMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordRequest("meetings", 200, i * MILLI);
+        }
+        metrics.recordDeserialization("meetings", 2 * MILLI);
+        metrics.recordBytesReceived("meetings", 512);
+        metrics.recordBytesReceived("meetings", 512);
+        metrics.recordRetry("meetings");
+        metrics.recordRateLimitWait("meetings", 1_500 * MILLI);
+        metrics.recordRateLimitWait("meetings", 500 * MILLI);
+        
+        EndpointMetrics meetings = metrics.getEndpoint("meetings");
+        assertEquals(50.5, meetings.getLatencyMeanMillis(), 1e-9);
+        assertEquals(100, meetings.getLatencyMaxMillis(), 1e-9);
+        // Percentiles are bucket midpoints, within 1/32 of the exact rank
+        assertEquals(50, meetings.getLatencyP50Millis(), 50 / 32.0);
+        assertEquals(99, meetings.getLatencyP99Millis(), 99 / 32.0);
+        assertEquals(100, meetings.getLatencyP999Millis(), 100 / 32.0);
+        assertEquals(2, meetings.getDeserializationMeanMillis(), 1e-9);
+        assertEquals(1024, meetings.getBytesReceived());
+        assertEquals(1, meetings.getRetryCount());
+        assertEquals(2, meetings.getRateLimitWaitCount());
+        assertEquals(2_000, meetings.getRateLimitWaitTotalMillis(), 1e-9);
+        
+        meetings.reset();
+        assertEquals(0, meetings.getRequestCount());
+        assertEquals(0, meetings.getLatencyP99Millis(), 0);
+        assertEquals(0, meetings.getBytesReceived());
+        assertEquals(Map.of(), meetings.getStatusCodeCounts());
+        assertSame(meetings, metrics.getEndpoint("meetings"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.cloudeagle.zoom.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.LazyZoomUserList.Field;
+import com.cloudeagle.zoom.model.LazyZoomUserList.LazyUser;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LazyZoomUserListTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    /**
+     * Scalars as Jackson coerces them by default: quoted numbers and booleans, blank and "null"
+     * strings, integers as booleans and floats as integers
+     */
+    private static final String[][] USER_VALUES = {
+            {"\"type\": 2", "\"pmi\": 1234567890", "\"use_pmi\": true", "\"verified\": 1"},
+            {"\"type\": \"2\"", "\"pmi\": \" 1234567890 \"", "\"use_pmi\": \"true\"", "\"verified\": \"-1\""},
+            {"\"type\": \" 3 \"", "\"pmi\": \"-7\"", "\"use_pmi\": \"TRUE\"", "\"verified\": \"+1\""},
+            {"\"type\": \"\"", "\"pmi\": \"\"", "\"use_pmi\": \"\"", "\"verified\": \"\""},
+            {"\"type\": \"  \"", "\"pmi\": \"null\"", "\"use_pmi\": \"null\"", "\"verified\": \" \""},
+            {"\"type\": null", "\"pmi\": null", "\"use_pmi\": null", "\"verified\": null"},
+            {"\"type\": 1.9", "\"pmi\": 1e3", "\"use_pmi\": 1", "\"verified\": 0"},
+            {"\"type\": -2", "\"pmi\": 0", "\"use_pmi\": 0", "\"verified\": 2"},
+            {"\"type\": 3", "\"pmi\": 12", "\"use_pmi\": \"false\"", "\"verified\": 1"},
+            {"\"type\": 3", "\"pmi\": 12", "\"use_pmi\": false", "\"verified\": 1"},
+    };
+    
+    @Test
+    void quotedAndNullScalarsMatchJackson() throws IOException {
+        for (String[] values : USER_VALUES) {
+            assertMatchesJackson(page(user("u1", values), user("u2", values)));
+        }
+    }
+    
+    @Test
+    void escapesAndUnicodeMatchJackson() throws IOException {
+        String user = "{\"id\": \"esc\\\"aped\\\\\", \"first_name\": \"Zo\\u00eb\\n\\t\", \"last_name\": \"O'Brien \\ud83d\\ude00\","
+                + " \"email\": \"\\/slash@example.com\", \"role_name\": \"R\\u00f4le\", \"timezone\": \"Europe/Z\u00fcrich\","
+                + " \"dept\": \"\u65e5\u672c \ud83d\udc4d\", \"language\": \"\\u0000\", \"status\": \"active\"}";
+        assertMatchesJackson(page(user));
+        
+        LazyUser lazy = LazyZoomUserList.parse(bytes(page(user))).get(0);
+        assertEquals("esc\"aped\\", lazy.getId());
+        assertEquals("Zo\u00eb\n\t", lazy.getFirstName());
+        assertEquals("O'Brien \ud83d\ude00", lazy.getLastName());
+        assertEquals("\u65e5\u672c \ud83d\udc4d", lazy.getDept());
+    }
+    
+    @Test
+    void unknownAndNestedFieldsAreSkipped() throws IOException {
+        String user = "{\"custom_attributes\": [{\"key\": \"k\", \"value\": \"}]\\\"{[\"}], \"id\": \"u1\","
+                + " \"group_ids\": [\"a\", \"b\"], \"meta\": {\"type\": 9, \"email\": \"wrong\", \"deep\": {\"x\": [1, [2]]}},"
+                + " \"email\": \"u1@example.com\", \"flag\": true, \"nothing\": null, \"num\": -1.5e-3, \"type\": 1}";
+        String json = "{\"extra\": {\"users\": [{\"id\": \"decoy\"}]}, \"page_count\": \"3\", \"page_number\": 1,"
+                + " \"page_size\": \"\", \"total_records\": null, \"next_page_token\": \"tok\","
+                + " \"users\": [" + user + "], \"trailer\": [\"}\", {\"users\": 1}]}";
+        assertMatchesJackson(json);
+        
+        LazyZoomUserList page = LazyZoomUserList.parse(bytes(json));
+        assertEquals(1, page.size());
+        assertEquals(1, page.get(0).getType());
+        assertEquals("u1@example.com", page.get(0).getEmail());
+    }
+    
+    @Test
+    void whitespaceEmptyAndMissingUsersMatchJackson() throws IOException {
+        assertMatchesJackson("{}");
+        assertMatchesJackson("{\"users\": []}");
+        assertMatchesJackson("{\"users\": null}");
+        assertMatchesJackson("{\"page_count\": 1}");
+        assertMatchesJackson("{\"users\": [{}, {\"id\": \"\"}]}");
+        assertMatchesJackson("\n{\n  \"page_size\" : 30 ,\n  \"users\" : [\n    {\n      \"id\" : \"u1\" ,\n"
+                + "      \"type\" : 1 ,\r\n\t\"use_pmi\" : false\n    } ,\n    { \"id\" : \"u2\" }\n  ]\n}\n");
+    }
+    
+    @Test
+    void projectionDecodesOnlyProjectedFields() throws IOException {
+        String json = page(user("u1", USER_VALUES[1]), user("u2", USER_VALUES[5]));
+        LazyZoomUserList page = LazyZoomUserList.parse(bytes(json), LazyZoomUserList.SUMMARY_FIELDS);
+        ZoomUserList expected = MAPPER.readValue(bytes(json), ZoomUserList.class);
+        
+        for (int i = 0; i < page.size(); i++) {
+            ZoomUser user = expected.getUsers().get(i);
+            LazyUser lazy = page.get(i);
+            assertEquals(user.getId(), lazy.getId());
+            assertEquals(user.getEmail(), lazy.getEmail());
+            assertEquals(user.getType(), lazy.getType());
+            assertEquals(user.getLastLoginTime(), lazy.getLastLoginTime());
+            assertThrows(IllegalStateException.class, lazy::getFirstName);
+            assertThrows(IllegalStateException.class, lazy::getUsePmi);
+            assertThrows(IllegalStateException.class, lazy::getPmi);
+            assertFalse(lazy.has(Field.FIRST_NAME));
+            assertNull(lazy.toZoomUser().getFirstName());
+        }
+        assertTrue(page.get(0).has(Field.TYPE));
+        // A JSON null is present in the response; a missing field is not
+        assertTrue(page.get(0).has(Field.LAST_LOGIN_TIME));
+        assertFalse(LazyZoomUserList.parse(bytes(page("{\"id\": \"u3\"}")), LazyZoomUserList.SUMMARY_FIELDS)
+                .get(0).has(Field.TYPE));
+    }
+    
+    @Test
+    void truncatedPagesAreRejected() {
+        String json = page(user("u1", USER_VALUES[1]), "{\"id\": \"e\\u00e9\\\"\", \"meta\": {\"a\": [1, 2]}}");
+        byte[] full = bytes(json);
+        for (int length = 0; length < full.length; length++) {
+            byte[] prefix = Arrays.copyOf(full, length);
+            assertThrows(IOException.class, () -> LazyZoomUserList.parse(prefix), json.substring(0, length));
+        }
+    }
+    
+    @Test
+    void rejectsValuesJacksonRejects() throws IOException {
+        String[] invalid = {"\"type\": \"abc\"", "\"type\": \"1.5\"", "\"type\": true", "\"pmi\": \"0x10\"",
+                "\"use_pmi\": \"1\"", "\"use_pmi\": \"yes\"", "\"use_pmi\": 1.5", "\"use_pmi\": 1e2"};
+        for (String value : invalid) {
+            byte[] bytes = bytes(page("{\"id\": \"u1\", " + value + "}"));
+            assertThrows(IOException.class, () -> MAPPER.readValue(bytes, ZoomUserList.class), value);
+            
+            LazyUser lazy = LazyZoomUserList.parse(bytes).get(0);
+            assertEquals("u1", lazy.getId());
+            assertThrows(IllegalStateException.class, lazy::toZoomUser, value);
+        }
+        assertThrows(IOException.class, () -> LazyZoomUserList.parse(bytes("{\"page_count\": \"many\"}")));
+    }
+    
+    private static void assertMatchesJackson(String json) throws IOException {
+        byte[] bytes = bytes(json);
+        ZoomUserList expected = MAPPER.readValue(bytes, ZoomUserList.class);
+        LazyZoomUserList actual = LazyZoomUserList.parse(bytes);
+        
+        assertEquals(expected.getPageCount(), actual.getPageCount(), json);
+        assertEquals(expected.getPageNumber(), actual.getPageNumber(), json);
+        assertEquals(expected.getPageSize(), actual.getPageSize(), json);
+        assertEquals(expected.getTotalRecords(), actual.getTotalRecords(), json);
+        assertEquals(expected.getNextPageToken(), actual.getNextPageToken(), json);
+        List<ZoomUser> users = expected.getUsers();
+        assertEquals(users == null ? 0 : users.size(), actual.size(), json);
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(MAPPER.valueToTree(users.get(i)), MAPPER.valueToTree(actual.get(i).toZoomUser()), json);
+        }
+    }
+    
+    private static String page(String... users) {
+        return "{\"page_count\": 1, \"page_number\": \"1\", \"page_size\": \" 30 \", \"total_records\": \"null\","
+                + " \"next_page_token\": \"\", \"users\": [" + String.join(", ", users) + "]}";
+    }
+    
+    private static String user(String id, String[] values) {
+        return "{\"id\": \"" + id + "\", \"first_name\": \"Zo\u00eb\", \"last_name\": \"O'Brien\","
+                + " \"email\": \"" + id + "@example.com\", " + String.join(", ", values) + ","
+                + " \"role_name\": \"Member\", \"personal_meeting_url\": \"https://zoom.us/j/1\","
+                + " \"timezone\": \"Europe/Berlin\", \"dept\": \"\", \"created_at\": \"2024-01-01T00:00:00Z\","
+                + " \"last_login_time\": null, \"last_client_version\": \"5.17.0\", \"language\": \"de-DE\","
+                + " \"status\": \"active\", \"role_id\": \"2\", \"custom_attributes\": [{\"key\": \"k\"}]}";
+    }
+    
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
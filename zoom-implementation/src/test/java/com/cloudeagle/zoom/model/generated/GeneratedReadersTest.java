@@ -0,0 +1,156 @@
+package com.cloudeagle.zoom.model.generated;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.OAuth2TokenResponse;
+import com.cloudeagle.zoom.model.ZoomAccount;
+import com.cloudeagle.zoom.model.ZoomUserList;
+import com.cloudeagle.zoom.util.StreamingJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class GeneratedReadersTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    /**
+     * Values Jackson coerces by default: numbers and booleans as strings, blank and "null" strings as
+     * null, floats truncated to integers and integers as booleans
+     */
+    private static final String[][] USER_VALUES = {
+            {"\"type\": 2", "\"pmi\": 1234567890", "\"use_pmi\": true", "\"verified\": 1"},
+            {"\"type\": \"2\"", "\"pmi\": \" 1234567890 \"", "\"use_pmi\": \"TRUE\"", "\"verified\": \"+1\""},
+            {"\"type\": \"\"", "\"pmi\": \"\"", "\"use_pmi\": \"\"", "\"verified\": \"\""},
+            {"\"type\": \"  \"", "\"pmi\": \"null\"", "\"use_pmi\": \"null\"", "\"verified\": \" \""},
+            {"\"type\": null", "\"pmi\": null", "\"use_pmi\": null", "\"verified\": null"},
+            {"\"type\": 1.9", "\"pmi\": 1e3", "\"use_pmi\": 0", "\"verified\": 0"},
+            {"\"type\": 3", "\"pmi\": 0", "\"use_pmi\": \"false\"", "\"verified\": 2"},
+    };
+    
+    @Test
+    void userListMatchesJackson() throws IOException {
+        for (String[] values : USER_VALUES) {
+            String json = "{\"page_count\": \"3\", \"page_number\": 1, \"page_size\": \"\", \"total_records\": null,"
+                    + " \"next_page_token\": \"tok\", \"extra\": {\"nested\": [1, {\"a\": 2}]},"
+                    + " \"users\": [" + user("u1", values) + ", " + user("u2", values) + "]}";
+            
+            assertUserListMatches(json);
+        }
+    }
+    
+    @Test
+    void emptyAndMissingUsersMatchJackson() throws IOException {
+        assertUserListMatches("{\"users\": []}");
+        assertUserListMatches("{\"users\": null}");
+        assertUserListMatches("{\"page_count\": 1}");
+        assertUserListMatches("{\"users\": [{}, {\"id\": \"\"}]}");
+        assertNull(StreamingJson.parse(MAPPER.getFactory(), bytes("null"), ZoomUserListReader::read));
+        assertNull(StreamingJson.parse(MAPPER.getFactory(), bytes("null"), ImmutableZoomUserList::read));
+    }
+    
+    @Test
+    void blankPrimitiveIsAbsentInImmutableModel() throws IOException {
+        ImmutableZoomUser blank = StreamingJson.parse(MAPPER.getFactory(),
+                bytes("{\"id\": \"u1\", \"type\": \"\", \"pmi\": \"null\", \"use_pmi\": \" \"}"), ImmutableZoomUser::read);
+        
+        assertFalse(blank.hasType());
+        assertFalse(blank.hasPmi());
+        assertFalse(blank.hasUsePmi());
+        assertEquals(0, blank.getType());
+        assertNull(blank.toModel().getType());
+        
+        ImmutableZoomUser zero = StreamingJson.parse(MAPPER.getFactory(), bytes("{\"type\": \"0\"}"),
+                ImmutableZoomUser::read);
+        assertTrue(zero.hasType());
+        assertEquals(0, zero.getType());
+    }
+    
+    @Test
+    void accountMatchesJackson() throws IOException {
+        String[] optionValues = {
+                "\"share_rc\": true, \"share_mc\": \"false\"",
+                "\"share_rc\": \"\", \"share_mc\": \"null\"",
+                "\"share_rc\": 1, \"share_mc\": null",
+        };
+        for (String options : optionValues) {
+            String json = "{\"id\": \"acc\", \"account_name\": \"Acme\", \"account_alias\": null,"
+                    + " \"account_support_name\": \"Support\", \"account_support_email\": \"help@acme.test\","
+                    + " \"status\": \"active\", \"created_at\": \"2024-01-01T00:00:00Z\","
+                    + " \"options\": {" + options + ", \"room_connector_token\": \"rc\", \"pay_mode\": \"master\"}}";
+            byte[] bytes = bytes(json);
+            ZoomAccount expected = MAPPER.readValue(bytes, ZoomAccount.class);
+            
+            assertSameJson(expected, StreamingJson.parse(MAPPER.getFactory(), bytes, ZoomAccountReader::read));
+            assertEquals(ImmutableZoomAccount.of(expected),
+                    StreamingJson.parse(MAPPER.getFactory(), bytes, ImmutableZoomAccount::read));
+            assertEquals(ImmutableAccountOptions.of(expected.getOptions()),
+                    ImmutableZoomAccount.of(expected).getOptions());
+        }
+    }
+    
+    @Test
+    void tokenResponseMatchesJackson() throws IOException {
+        String[] expiresValues = {"3599", "\"3599\"", "\"\"", "\"null\"", "null", "3599.5"};
+        for (String expiresIn : expiresValues) {
+            byte[] bytes = bytes("{\"access_token\": \"at\", \"token_type\": \"bearer\", \"expires_in\": " + expiresIn
+                    + ", \"refresh_token\": \"rt\", \"scope\": \"user:read\", \"api_url\": \"https://api.zoom.us\"}");
+            OAuth2TokenResponse expected = MAPPER.readValue(bytes, OAuth2TokenResponse.class);
+            
+            assertSameJson(expected, StreamingJson.parse(MAPPER.getFactory(), bytes, OAuth2TokenResponseReader::read));
+            assertEquals(ImmutableOAuth2TokenResponse.of(expected),
+                    StreamingJson.parse(MAPPER.getFactory(), bytes, ImmutableOAuth2TokenResponse::read));
+        }
+    }
+    
+    @Test
+    void rejectsValuesJacksonRejects() {
+        String[] invalid = {"\"type\": \"abc\"", "\"type\": \"1.5\"", "\"type\": true", "\"use_pmi\": \"1\"",
+                "\"use_pmi\": 1.5", "\"pmi\": \"0x10\""};
+        for (String value : invalid) {
+            byte[] bytes = bytes("{\"users\": [{\"id\": \"u1\", " + value + "}]}");
+            
+            assertThrows(IOException.class, () -> MAPPER.readValue(bytes, ZoomUserList.class), value);
+            assertThrows(IOException.class,
+                    () -> StreamingJson.parse(MAPPER.getFactory(), bytes, ZoomUserListReader::read), value);
+            assertThrows(IOException.class,
+                    () -> StreamingJson.parse(MAPPER.getFactory(), bytes, ImmutableZoomUserList::read), value);
+        }
+    }
+    
+    private static void assertUserListMatches(String json) throws IOException {
+        byte[] bytes = bytes(json);
+        ZoomUserList expected = MAPPER.readValue(bytes, ZoomUserList.class);
+        
+        assertSameJson(expected, StreamingJson.parse(MAPPER.getFactory(), bytes, ZoomUserListReader::read));
+        assertEquals(ImmutableZoomUserList.of(expected),
+                StreamingJson.parse(MAPPER.getFactory(), bytes, ImmutableZoomUserList::read), json);
+    }
+    
+    /**
+     * Compare two mutable models field by field through their Jackson tree form
+     */
+    private static void assertSameJson(Object expected, Object actual) {
+        assertEquals(MAPPER.valueToTree(expected), MAPPER.valueToTree(actual));
+    }
+    
+    private static String user(String id, String[] values) {
+        return "{\"id\": \"" + id + "\", \"first_name\": \"Zoë\", \"last_name\": \"O'Brien\","
+                + " \"email\": \"" + id + "@example.com\", " + String.join(", ", values) + ","
+                + " \"role_name\": \"Member\", \"personal_meeting_url\": \"https://zoom.us/j/1\","
+                + " \"timezone\": \"Europe/Berlin\", \"dept\": \"\", \"created_at\": \"2024-01-01T00:00:00Z\","
+                + " \"last_login_time\": null, \"last_client_version\": \"5.17.0\", \"language\": \"de-DE\","
+                + " \"status\": \"active\", \"role_id\": \"2\", \"custom_attributes\": [{\"key\": \"k\"}]}";
+    }
+    
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
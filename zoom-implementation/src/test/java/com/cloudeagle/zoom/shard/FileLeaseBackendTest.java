@@ -0,0 +1,133 @@
+package com.cloudeagle.zoom.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileLeaseBackendTest {
+    
+    private static final Duration LONG = Duration.ofMinutes(1);
+    private static final Duration SHORT = Duration.ofMillis(100);
+    
+    @TempDir
+    Path dir;
+    
+    private FileLeaseBackend backend;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        backend = new FileLeaseBackend(dir);
+    }
+    
+    @Test
+    void leaseIsExclusiveUntilItExpires() throws Exception {
+        Lease lease = backend.tryAcquire(0, "a", LONG);
+        
+        assertEquals(1, lease.getToken());
+        assertNull(backend.tryAcquire(0, "b", LONG));
+        assertEquals(1, backend.tryAcquire(0, "a", LONG).getToken());
+        assertNotNull(backend.tryAcquire(1, "b", LONG));
+    }
+    
+    @Test
+    void takeoverAfterExpiryFencesOutPreviousOwner() throws Exception {
+        Lease stale = backend.tryAcquire(0, "a", SHORT);
+        Thread.sleep(SHORT.toMillis() + 50);
+        
+        Lease takeover = backend.tryAcquire(0, "b", LONG);
+        
+        assertEquals(stale.getToken() + 1, takeover.getToken());
+        assertNull(backend.renew(stale, LONG));
+        backend.release(stale);
+        assertNull(backend.tryAcquire(0, "a", LONG));
+        assertEquals(takeover.getToken(), backend.renew(takeover, LONG).getToken());
+    }
+    
+    @Test
+    void expiredOwnerReacquiringGetsNewToken() throws Exception {
+        Lease first = backend.tryAcquire(0, "a", SHORT);
+        Thread.sleep(SHORT.toMillis() + 50);
+        
+        Lease second = backend.tryAcquire(0, "a", LONG);
+        
+        assertEquals(first.getToken() + 1, second.getToken());
+        assertNull(backend.renew(first, LONG));
+    }
+    
+    @Test
+    void releaseFreesShardAndKeepsTokenIncreasing() throws Exception {
+        Lease lease = backend.tryAcquire(3, "a", LONG);
+        backend.release(lease);
+        
+        assertTrue(backend.listLeases().isEmpty());
+        Lease next = backend.tryAcquire(3, "b", LONG);
+        assertEquals(lease.getToken() + 1, next.getToken());
+    }
+    
+    @Test
+    void concurrentAcquireHasSingleWinner() throws Exception {
+        int contenders = 8;
+        List<Callable<Lease>> calls = new ArrayList<>();
+        for (int i = 0; i < contenders; i++) {
+            String owner = "w" + i;
+            FileLeaseBackend own = new FileLeaseBackend(dir);
+            calls.add(() -> own.tryAcquire(7, owner, LONG));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(contenders);
+        int winners = 0;
+        try {
+            for (Future<Lease> result : executor.invokeAll(calls)) {
+                if (result.get() != null) {
+                    winners++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(1, winners);
+        assertEquals(1, backend.listLeases().size());
+    }
+    
+    @Test
+    void tornLeaseFileCountsAsFree() throws Exception {
+        Files.write(dir.resolve("shard-0002.lease"), "a\n12".getBytes(StandardCharsets.UTF_8));
+        
+        assertNotNull(backend.tryAcquire(2, "b", LONG));
+    }
+    
+    @Test
+    void tracksLiveWorkersByHeartbeat() throws Exception {
+        backend.heartbeat("a", LONG);
+        backend.heartbeat("b", SHORT);
+        backend.heartbeat("c", LONG);
+        backend.leave("c");
+        Thread.sleep(SHORT.toMillis() + 50);
+        
+        assertEquals(Collections.singleton("a"), backend.liveWorkers());
+    }
+    
+    @Test
+    void rejectsUnsafeWorkerIds() {
+        assertThrows(IllegalArgumentException.class, () -> backend.tryAcquire(0, "../x", LONG));
+        assertThrows(IllegalArgumentException.class, () -> backend.heartbeat("a/b", LONG));
+    }
+}
@@ -0,0 +1,162 @@
+package com.cloudeagle.zoom.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardedSyncWorkerTest {
+    
+    private static final int SHARDS = 8;
+    private static final Duration TTL = Duration.ofSeconds(30);
+    
+    @TempDir
+    Path dir;
+    
+    private FileLeaseBackend backend;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        backend = new FileLeaseBackend(dir);
+    }
+    
+    @Test
+    void shardOfIsStableAndInRange() {
+        for (int i = 0; i < 1000; i++) {
+            int shard = ShardedSyncWorker.shardOf("tenant-" + i, SHARDS);
+            assertTrue(shard >= 0 && shard < SHARDS);
+            assertEquals(shard, ShardedSyncWorker.shardOf("tenant-" + i, SHARDS));
+        }
+    }
+    
+    @Test
+    void joiningWorkerGetsFairShare() throws Exception {
+        ShardedSyncWorker first = new ShardedSyncWorker("w1", backend, SHARDS, TTL);
+        assertEquals(SHARDS, first.rebalance().size());
+        
+        ShardedSyncWorker second = new ShardedSyncWorker("w2", backend, SHARDS, TTL);
+        second.rebalance();
+        first.rebalance();
+        second.rebalance();
+        
+        assertEquals(SHARDS / 2, first.getOwnedShards().size());
+        assertEquals(SHARDS / 2, second.getOwnedShards().size());
+        Set<Integer> all = new TreeSet<>(first.getOwnedShards());
+        all.addAll(second.getOwnedShards());
+        assertEquals(SHARDS, all.size());
+        assertLeaseOwnersMatch(first, second);
+    }
+    
+    @Test
+    void eachTenantIsSyncedByExactlyOneWorker() throws Exception {
+        ShardedSyncWorker first = new ShardedSyncWorker("w1", backend, SHARDS, TTL);
+        ShardedSyncWorker second = new ShardedSyncWorker("w2", backend, SHARDS, TTL);
+        first.rebalance();
+        second.rebalance();
+        first.rebalance();
+        second.rebalance();
+        List<String> tenants = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tenants.add("tenant-" + i);
+        }
+        Map<String, String> syncedBy = new HashMap<>();
+        
+        int byFirst = first.syncOwnedTenants(tenants, (tenant, lease) -> syncedBy.merge(tenant, "w1", String::concat));
+        int bySecond = second.syncOwnedTenants(tenants, (tenant, lease) -> syncedBy.merge(tenant, "w2", String::concat));
+        
+        assertEquals(tenants.size(), byFirst + bySecond);
+        assertEquals(tenants.size(), syncedBy.size());
+        for (String owner : syncedBy.values()) {
+            assertTrue(owner.equals("w1") || owner.equals("w2"), owner);
+        }
+    }
+    
+    @Test
+    void shardMidSyncIsNotHandedOver() throws Exception {
+        ShardedSyncWorker first = new ShardedSyncWorker("w1", backend, SHARDS, TTL);
+        first.rebalance();
+        ShardedSyncWorker second = new ShardedSyncWorker("w2", backend, SHARDS, TTL);
+        second.rebalance();
+        // Excess shards are shed highest first, so a tenant on the last shard would go first
+        String tenant = null;
+        for (int i = 0; tenant == null; i++) {
+            if (ShardedSyncWorker.shardOf("tenant-" + i, SHARDS) == SHARDS - 1) {
+                tenant = "tenant-" + i;
+            }
+        }
+        Set<Integer> heldDuringSync = new HashSet<>();
+        
+        first.syncOwnedTenants(Collections.singletonList(tenant),
+                (id, lease) -> heldDuringSync.addAll(first.rebalance()));
+        
+        assertTrue(heldDuringSync.contains(SHARDS - 1));
+        assertEquals(SHARDS / 2, heldDuringSync.size());
+        assertLeaseOwnersMatch(first);
+    }
+    
+    @Test
+    void survivorTakesOverDeadWorkersShardsWithHigherTokens() throws Exception {
+        Duration shortTtl = Duration.ofMillis(300);
+        ShardedSyncWorker dying = new ShardedSyncWorker("dying", backend, SHARDS, shortTtl);
+        dying.rebalance();
+        Map<Integer, Long> oldTokens = new HashMap<>();
+        for (Lease lease : backend.listLeases()) {
+            oldTokens.put(lease.getShard(), lease.getToken());
+        }
+        ShardedSyncWorker survivor = new ShardedSyncWorker("survivor", backend, SHARDS, shortTtl);
+        assertTrue(survivor.rebalance().isEmpty());
+        
+        // The dying worker stops heartbeating and renewing
+        Thread.sleep(shortTtl.toMillis() + 100);
+        
+        assertEquals(SHARDS, survivor.rebalance().size());
+        for (Lease lease : backend.listLeases()) {
+            assertEquals("survivor", lease.getOwner());
+            assertEquals(oldTokens.get(lease.getShard()) + 1, lease.getToken());
+        }
+        assertTrue(dying.rebalance().isEmpty());
+    }
+    
+    @Test
+    void closeHandsShardsOverImmediately() throws Exception {
+        ShardedSyncWorker leaving = new ShardedSyncWorker("leaving", backend, SHARDS, TTL);
+        leaving.rebalance();
+        ShardedSyncWorker staying = new ShardedSyncWorker("staying", backend, SHARDS, TTL);
+        
+        leaving.close();
+        
+        assertEquals(Collections.emptySet(), leaving.getOwnedShards());
+        assertEquals(Collections.singleton("staying"), backendLiveWorkersAfter(staying));
+        assertEquals(SHARDS, staying.getOwnedShards().size());
+    }
+    
+    private Set<String> backendLiveWorkersAfter(ShardedSyncWorker worker) throws Exception {
+        worker.rebalance();
+        return backend.liveWorkers();
+    }
+    
+    private void assertLeaseOwnersMatch(ShardedSyncWorker... workers) throws Exception {
+        Map<Integer, String> owners = new HashMap<>();
+        for (Lease lease : backend.listLeases()) {
+            owners.put(lease.getShard(), lease.getOwner());
+        }
+        for (ShardedSyncWorker worker : workers) {
+            for (Integer shard : worker.getOwnedShards()) {
+                assertEquals(worker.getWorkerId(), owners.get(shard));
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.cloudeagle.zoom.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.LazyZoomUserList.Field;
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapUserStoreTest {
+    
+    private static final int CHUNK = 4096;
+    
+    @Test
+    void roundTripsEveryField() {
+        ZoomUser user = user("u1", "Ada");
+        user.setType(2);
+        user.setRoleName("Admin");
+        user.setPmi(1234567890L);
+        user.setUsePmi(true);
+        user.setPersonalMeetingUrl("https://zoom.us/j/1234567890");
+        user.setTimezone("Europe/London");
+        user.setVerified(1);
+        user.setDept("Engineering");
+        user.setCreatedAt("2024-01-01T00:00:00Z");
+        user.setLastLoginTime("2024-03-01T00:00:00Z");
+        user.setLastClientVersion("5.17.0");
+        user.setLanguage("en-US");
+        user.setStatus("active");
+        user.setRoleId("0");
+        
+        try (OffHeapUserStore store = new OffHeapUserStore(CHUNK, Long.MAX_VALUE)) {
+            store.replace("T", Arrays.asList(user, user("u2", "Ünïcødé")));
+            
+            ZoomUser read = store.getUser("T", "u1");
+            assertEquals(user.toString(), read.toString());
+            assertEquals(1234567890L, read.getPmi());
+            assertEquals(Boolean.TRUE, read.getUsePmi());
+            assertEquals("Ünïcødé", store.getString("T", "u2", Field.FIRST_NAME));
+            assertEquals("2", store.getString("T", "u1", Field.TYPE));
+            assertNull(store.getString("T", "u2", Field.DEPT));
+            assertNull(store.getFieldBytes("T", "u2", Field.DEPT));
+            
+            ByteBuffer email = store.getFieldBytes("T", "u1", Field.EMAIL);
+            assertTrue(email.isReadOnly());
+            byte[] bytes = new byte[email.remaining()];
+            email.get(bytes);
+            assertEquals("u1@example.com", new String(bytes, StandardCharsets.UTF_8));
+            
+            assertTrue(store.contains("T", "u2"));
+            assertFalse(store.contains("T", "u3"));
+            assertFalse(store.contains("other", "u1"));
+            assertNull(store.getUser("T", null));
+        }
+    }
+    
+    @Test
+    void findsManyUsersAcrossChunksAndKeepsLastDuplicate() {
+        try (OffHeapUserStore store = new OffHeapUserStore(CHUNK, Long.MAX_VALUE)) {
+            OffHeapUserStore.SnapshotWriter writer = store.beginSnapshot("T");
+            for (int i = 0; i < 5000; i++) {
+                writer.add(user("user-" + i, "first" + i));
+            }
+            writer.add(user("user-7", "replaced"));
+            writer.add(user(null, "skipped"));
+            writer.commit();
+            
+            assertEquals(5000, store.size("T"));
+            assertTrue(store.getUsedBytes() > CHUNK);
+            for (int i = 0; i < 5000; i++) {
+                String expected = i == 7 ? "replaced" : "first" + i;
+                assertEquals(expected, store.getString("T", "user-" + i, Field.FIRST_NAME));
+            }
+            assertFalse(store.contains("T", "user-5000"));
+        }
+    }
+    
+    @Test
+    void readersSeePreviousSnapshotUntilCommit() {
+        try (OffHeapUserStore store = new OffHeapUserStore(CHUNK, Long.MAX_VALUE)) {
+            store.replace("T", users(10, "old"));
+            
+            OffHeapUserStore.SnapshotWriter writer = store.beginSnapshot("T");
+            for (ZoomUser user : users(20, "new")) {
+                writer.add(user);
+            }
+            assertEquals(10, store.size("T"));
+            assertEquals("old", store.getString("T", "u3", Field.FIRST_NAME));
+            assertFalse(store.contains("T", "u15"));
+            
+            writer.commit();
+            
+            assertEquals(20, store.size("T"));
+            assertEquals("new", store.getString("T", "u3", Field.FIRST_NAME));
+            assertTrue(store.contains("T", "u15"));
+            assertThrows(IllegalStateException.class, writer::commit);
+            assertThrows(IllegalStateException.class, () -> writer.add(user("u99", "late")));
+        }
+    }
+    
+    @Test
+    void abortKeepsCurrentSnapshot() {
+        try (OffHeapUserStore store = new OffHeapUserStore(CHUNK, Long.MAX_VALUE)) {
+            store.replace("T", users(10, "old"));
+            long allocated = store.getAllocatedBytes();
+            
+            OffHeapUserStore.SnapshotWriter writer = store.beginSnapshot("T");
+            for (ZoomUser user : users(500, "new")) {
+                writer.add(user);
+            }
+            writer.abort();
+            
+            assertEquals(10, store.size("T"));
+            assertEquals("old", store.getString("T", "u3", Field.FIRST_NAME));
+            long afterAbort = store.getAllocatedBytes();
+            assertTrue(afterAbort > allocated);
+            
+            // The aborted chunks are reused rather than allocated again
+            store.replace("T", users(500, "new"));
+            assertEquals(afterAbort, store.getAllocatedBytes());
+        }
+    }
+    
+    @Test
+    void replacedAndRemovedSnapshotsRecycleChunks() {
+        try (OffHeapUserStore store = new OffHeapUserStore(CHUNK, Long.MAX_VALUE)) {
+            store.replace("T", users(500, "gen0"));
+            long used = store.getUsedBytes();
+            
+            // One snapshot in flight on top of the committed one; afterwards the two alternate
+            store.replace("T", users(500, "gen1"));
+            long allocated = store.getAllocatedBytes();
+            assertEquals(2 * used, allocated);
+            for (int generation = 2; generation < 20; generation++) {
+                store.replace("T", users(500, "gen" + generation));
+                assertEquals("gen" + generation, store.getString("T", "u499", Field.FIRST_NAME));
+            }
+            assertEquals(allocated, store.getAllocatedBytes());
+            assertEquals(used, store.getUsedBytes());
+            
+            assertTrue(store.remove("T"));
+            assertFalse(store.remove("T"));
+            assertEquals(0, store.getUsedBytes());
+            assertNull(store.getUser("T", "u1"));
+            
+            store.replace("other", users(500, "x"));
+            assertEquals(allocated, store.getAllocatedBytes());
+            assertEquals(Collections.singleton("other"), store.getTenantIds());
+        }
+    }
+    
+    @Test
+    void failedReplaceKeepsSnapshotAndRecyclesChunks() {
+        try (OffHeapUserStore store = new OffHeapUserStore(CHUNK, 4L * CHUNK)) {
+            store.replace("T", users(20, "old"));
+            
+            assertThrows(IllegalStateException.class, () -> store.replace("T", users(1000, "big")));
+            
+            assertEquals(20, store.size("T"));
+            assertEquals("old", store.getString("T", "u19", Field.FIRST_NAME));
+            assertEquals(4L * CHUNK, store.getAllocatedBytes());
+            // Every chunk the failed snapshot took is free again
+            store.replace("A", users(20, "a"));
+            store.replace("B", users(20, "b"));
+            store.replace("C", users(20, "c"));
+            assertEquals("c", store.getString("C", "u19", Field.FIRST_NAME));
+            assertEquals(4L * CHUNK, store.getUsedBytes());
+        }
+    }
+    
+    @Test
+    void rejectsOversizedInputAndUseAfterClose() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapUserStore(512, Long.MAX_VALUE));
+        
+        OffHeapUserStore store = new OffHeapUserStore(CHUNK, Long.MAX_VALUE);
+        char[] longName = new char[CHUNK];
+        Arrays.fill(longName, 'x');
+        OffHeapUserStore.SnapshotWriter writer = store.beginSnapshot("T");
+        assertThrows(IllegalArgumentException.class, () -> writer.add(user("u1", new String(longName))));
+        writer.abort();
+        
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.replace("T", users(1, "late")));
+        assertEquals(0, store.getAllocatedBytes());
+    }
+    
+    @Test
+    void concurrentReadersNeverSeeRecycledMemory() throws Exception {
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try (OffHeapUserStore store = new OffHeapUserStore(CHUNK, Long.MAX_VALUE)) {
+            store.replace("T", generation(0));
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                results.add(readers.submit(() -> {
+                    int reads = 0;
+                    while (running.get()) {
+                        ZoomUser user = store.getUser("T", "u" + (reads % 200));
+                        assertNotNull(user);
+                        // Names of differing length shift every later field; a torn read would split them
+                        assertEquals(user.getFirstName(), user.getLastName());
+                        assertEquals(user.getId() + "@example.com", user.getEmail());
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+            for (int generation = 1; generation <= 300; generation++) {
+                store.replace("T", generation(generation));
+            }
+            running.set(false);
+            for (Future<Integer> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            running.set(false);
+            readers.shutdownNow();
+        }
+    }
+    
+    private static List<ZoomUser> generation(int generation) {
+        List<ZoomUser> users = new ArrayList<>(200);
+        for (int i = 0; i < 200; i++) {
+            char[] name = new char[1 + (generation + i) % 40];
+            Arrays.fill(name, (char) ('a' + generation % 26));
+            ZoomUser user = user("u" + i, new String(name));
+            user.setLastName(user.getFirstName());
+            users.add(user);
+        }
+        return users;
+    }
+    
+    private static List<ZoomUser> users(int count, String firstName) {
+        List<ZoomUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user("u" + i, firstName));
+        }
+        return users;
+    }
+    
+    private static ZoomUser user(String id, String firstName) {
+        ZoomUser user = new ZoomUser();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName("Lovelace");
+        user.setEmail(id + "@example.com");
+        return user;
+    }
+}
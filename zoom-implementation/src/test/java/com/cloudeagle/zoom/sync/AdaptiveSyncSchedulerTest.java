@@ -0,0 +1,233 @@
+package com.cloudeagle.zoom.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.sync.AdaptiveSyncScheduler.SyncOutcome;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveSyncSchedulerTest {
+    
+    private static final Duration MIN = Duration.ofMinutes(1);
+    private static final Duration MAX = Duration.ofHours(1);
+    
+    private final SimulatedClock clock = new SimulatedClock();
+    private final Map<String, SyncOutcome> outcomes = new HashMap<>();
+    private final List<String> synced = new ArrayList<>();
+    
+    @Test
+    void intervalFollowsChangeRate() throws InterruptedException {
+        AdaptiveSyncScheduler scheduler = scheduler(1000);
+        outcomes.put("busy", new SyncOutcome(600, 1));
+        outcomes.put("medium", new SyncOutcome(1, 1));
+        outcomes.put("quiet", new SyncOutcome(0, 1));
+        scheduler.addTenants(Arrays.asList("busy", "medium", "quiet"));
+        
+        assertEquals(3, scheduler.runDue());
+        assertEquals(0, scheduler.runDue());
+        assertEquals(MIN.toMillis(), scheduler.millisUntilNextRun());
+        
+        clock.advance(MIN);
+        assertEquals(3, scheduler.runDue());
+        
+        // 600 changes a minute: as often as allowed
+        assertEquals(MIN, scheduler.getStats("busy").getInterval());
+        // One change a minute is 60/h; two changes per sync means every two minutes
+        assertEquals(60, scheduler.getStats("medium").getChangesPerHour(), 1e-9);
+        assertEquals(Duration.ofMinutes(2), scheduler.getStats("medium").getInterval());
+        // No changes: back off to the maximum
+        assertEquals(MAX, scheduler.getStats("quiet").getInterval());
+        assertEquals(2, scheduler.getStats("quiet").getSyncCount());
+        assertEquals(6, scheduler.getTotalApiCalls());
+        
+        clock.advance(MIN);
+        synced.clear();
+        assertEquals(1, scheduler.runDue());
+        assertEquals(Arrays.asList("busy"), synced);
+        clock.advance(MIN);
+        synced.clear();
+        scheduler.runDue();
+        assertEquals(Arrays.asList("busy", "medium"), synced);
+    }
+    
+    @Test
+    void changeRateIsSmoothed() throws InterruptedException {
+        AdaptiveSyncScheduler scheduler = scheduler(1000);
+        scheduler.setSmoothing(0.5);
+        scheduler.addTenant("t");
+        outcomes.put("t", new SyncOutcome(0, 1));
+        scheduler.runDue();
+        
+        clock.advance(MIN);
+        outcomes.put("t", new SyncOutcome(10, 1));
+        scheduler.runDue();
+        assertEquals(600, scheduler.getStats("t").getChangesPerHour(), 1e-9);
+        
+        clock.advance(MIN);
+        outcomes.put("t", new SyncOutcome(0, 1));
+        scheduler.runDue();
+        assertEquals(300, scheduler.getStats("t").getChangesPerHour(), 1e-9);
+    }
+    
+    @Test
+    void dueSyncsWaitForBudgetRefill() throws InterruptedException {
+        AdaptiveSyncScheduler scheduler = scheduler(10);
+        for (int i = 0; i < 3; i++) {
+            String tenant = "t" + i;
+            outcomes.put(tenant, new SyncOutcome(100, 4));
+            scheduler.addTenant(tenant);
+        }
+        // Unknown cost counts as one call, so first syncs start while any budget is left
+        assertEquals(3, scheduler.runDue());
+        assertEquals(12, scheduler.getTotalApiCalls());
+        
+        // 10 - 12 + 10 refilled covers two 4-call syncs; the third waits for 4 more calls
+        clock.advance(MIN);
+        assertEquals(2, scheduler.runDue());
+        assertEquals(0, scheduler.runDue());
+        assertEquals(24_000, scheduler.millisUntilNextRun(), 1);
+        
+        clock.advance(Duration.ofSeconds(25));
+        assertEquals(1, scheduler.runDue());
+        assertTrue(scheduler.millisUntilNextRun() > 0);
+        
+        // A full bucket runs two, never more than a minute's calls at once
+        clock.advance(Duration.ofMinutes(10));
+        assertEquals(2, scheduler.runDue());
+    }
+    
+    @Test
+    void tenantThatDoesNotFitDoesNotBlockOthers() throws InterruptedException {
+        AdaptiveSyncScheduler scheduler = scheduler(10);
+        outcomes.put("big", new SyncOutcome(0, 1));
+        scheduler.addTenant("big");
+        assertEquals(1, scheduler.runDue());
+        
+        // Big now changes fast and costs six minutes of budget: 10 - 60 = -50
+        clock.advance(MIN);
+        outcomes.put("big", new SyncOutcome(600, 60));
+        assertEquals(1, scheduler.runDue());
+        
+        outcomes.put("small", new SyncOutcome(0, 3));
+        scheduler.addTenant("small");
+        clock.advance(Duration.ofSeconds(310));
+        assertEquals(1, scheduler.runDue());
+        
+        // Budget 8.7: big is due and scores highest but needs a full bucket; small still runs
+        clock.advance(MIN);
+        synced.clear();
+        assertEquals(1, scheduler.runDue());
+        assertEquals(Arrays.asList("small"), synced);
+        
+        // Big costs more than the bucket holds, so it runs as soon as the bucket is full
+        long wait = scheduler.millisUntilNextRun();
+        assertEquals(26_000, wait, 1);
+        clock.advance(Duration.ofMillis(wait));
+        synced.clear();
+        assertEquals(1, scheduler.runDue());
+        assertEquals(Arrays.asList("big"), synced);
+        assertEquals(3, scheduler.getStats("big").getSyncCount());
+    }
+    
+    @Test
+    void failedSyncIsRetriedAfterMinimumInterval() throws InterruptedException {
+        List<String> attempts = new ArrayList<>();
+        AdaptiveSyncScheduler scheduler = new AdaptiveSyncScheduler(tenantId -> {
+            attempts.add(tenantId);
+            if (attempts.size() == 1) {
+                throw new IOException("boom");
+            }
+            return new SyncOutcome(0, 1);
+        }, MIN, MAX, 1000, clock);
+        scheduler.addTenant("t");
+        
+        assertEquals(0, scheduler.runDue());
+        assertEquals(0, scheduler.getStats("t").getSyncCount());
+        assertEquals(MIN.toMillis(), scheduler.millisUntilNextRun());
+        
+        clock.advance(MIN);
+        assertEquals(1, scheduler.runDue());
+        assertEquals(2, attempts.size());
+    }
+    
+    @Test
+    void interruptedSyncCanBeScheduledAgain() throws InterruptedException {
+        boolean[] interrupt = {true};
+        AdaptiveSyncScheduler scheduler = new AdaptiveSyncScheduler(tenantId -> {
+            if (interrupt[0]) {
+                throw new InterruptedException();
+            }
+            return new SyncOutcome(0, 1);
+        }, MIN, MAX, 1000, clock);
+        scheduler.addTenant("t");
+        
+        assertThrows(InterruptedException.class, scheduler::runDue);
+        assertEquals(0, scheduler.millisUntilNextRun());
+        
+        interrupt[0] = false;
+        assertEquals(1, scheduler.runDue());
+        assertEquals(1, scheduler.getStats("t").getSyncCount());
+    }
+    
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSyncScheduler(t -> null, MAX, MIN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSyncScheduler(t -> null, MIN, MAX, 0));
+        AdaptiveSyncScheduler scheduler = scheduler(1);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setSmoothing(0));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setTargetChangesPerSync(0));
+    }
+    
+    private AdaptiveSyncScheduler scheduler(double apiCallsPerMinute) {
+        return new AdaptiveSyncScheduler(tenantId -> {
+            synced.add(tenantId);
+            return outcomes.get(tenantId);
+        }, MIN, MAX, apiCallsPerMinute, clock);
+    }
+    
+    /**
+     * Clock that only moves when told to
+     */
+    private static final class SimulatedClock extends Clock {
+        
+        private long millis = 1_700_000_000_000L;
+        
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+        
+        @Override
+        public long millis() {
+            return millis;
+        }
+        
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.cloudeagle.zoom.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.client.ZoomApiClient;
+import com.cloudeagle.zoom.mock.MockServerConfig;
+import com.cloudeagle.zoom.mock.MockZoomServer;
+import com.cloudeagle.zoom.mock.SyntheticTenant;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResumableUserSyncTest {
+    
+    private static final int USERS = 950;
+    private static final int PAGE_SIZE = 100;
+    
+    @TempDir
+    Path dir;
+    
+    private MockZoomServer server;
+    private final AtomicInteger userCalls = new AtomicInteger();
+    private volatile int failEvery;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockZoomServer(new MockServerConfig());
+        server.addTenant(new SyntheticTenant("T", USERS));
+        server.start(0);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+    
+    @Test
+    void resumesAfterCrashAndDropsTornPage() throws Exception {
+        failEvery = 4;
+        ResumableUserSync crashing = new ResumableUserSync(client(), dir);
+        crashing.setMaxAttempts(1);
+        assertThrows(IOException.class, () -> crashing.run("active", PAGE_SIZE));
+        
+        SyncCheckpoint checkpoint = crashing.readCheckpoint();
+        assertEquals(3, checkpoint.getPagesCommitted());
+        assertFalse(checkpoint.isComplete());
+        assertEquals(checkpoint.getBytesWritten(), Files.size(crashing.getDataFile()));
+        // Half of the next page reached the data file before the process died
+        Files.write(crashing.getDataFile(), "{\"id\":\"torn\",\"email\":".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        
+        failEvery = 0;
+        ResumableUserSync resumed = new ResumableUserSync(client(), dir);
+        SyncCheckpoint done = resumed.run("active", PAGE_SIZE);
+        
+        assertTrue(done.isComplete());
+        assertEquals(USERS, done.getRecordsWritten());
+        assertEquals(10, done.getPagesCommitted());
+        assertUsersWrittenOnce(resumed.getDataFile());
+    }
+    
+    @Test
+    void completedCheckpointIsNotCrawledAgain() throws Exception {
+        ResumableUserSync sync = new ResumableUserSync(client(), dir);
+        sync.run("active", PAGE_SIZE);
+        int calls = userCalls.get();
+        
+        assertTrue(sync.run("active", PAGE_SIZE).isComplete());
+        assertEquals(calls, userCalls.get());
+    }
+    
+    @Test
+    void rejectsCheckpointWithDifferentParameters() throws Exception {
+        failEvery = 2;
+        ResumableUserSync sync = new ResumableUserSync(client(), dir);
+        sync.setMaxAttempts(1);
+        assertThrows(IOException.class, () -> sync.run("active", PAGE_SIZE));
+        
+        assertThrows(IllegalStateException.class, () -> sync.run("active", 50));
+    }
+    
+    @Test
+    void occasionalFailuresDoNotExhaustRetries() throws Exception {
+        // Fails every third request over ten pages: more failures in total than maxAttempts,
+        // but never two in a row without a committed page in between
+        failEvery = 3;
+        ResumableUserSync sync = new ResumableUserSync(client(), dir);
+        sync.setMaxAttempts(2);
+        sync.setRetryBackoffMillis(1);
+        
+        SyncCheckpoint done = sync.run("active", PAGE_SIZE);
+        
+        assertTrue(done.isComplete());
+        assertUsersWrittenOnce(sync.getDataFile());
+    }
+    
+    @Test
+    void givesUpAfterConsecutiveFailuresWithoutProgress() throws Exception {
+        failEvery = 1;
+        ResumableUserSync sync = new ResumableUserSync(client(), dir);
+        sync.setMaxAttempts(3);
+        sync.setRetryBackoffMillis(1);
+        
+        assertThrows(IOException.class, () -> sync.run("active", PAGE_SIZE));
+        assertEquals(3, userCalls.get());
+    }
+    
+    @Test
+    void capsRetryBackoff() {
+        ResumableUserSync sync = new ResumableUserSync(null, dir);
+        sync.setRetryBackoffMillis(1000);
+        sync.setMaxRetryBackoffMillis(30_000);
+        
+        assertEquals(1000, sync.retryDelayMillis(1));
+        assertEquals(2000, sync.retryDelayMillis(2));
+        assertEquals(16_000, sync.retryDelayMillis(5));
+        assertEquals(30_000, sync.retryDelayMillis(6));
+        assertEquals(30_000, sync.retryDelayMillis(64));
+        assertEquals(30_000, sync.retryDelayMillis(Integer.MAX_VALUE));
+    }
+    
+    private ZoomApiClient client() throws Exception {
+        ZoomApiClient client = new ZoomApiClient("id", "secret", server.getOAuthBaseUrl(), server.getApiBaseUrl());
+        client.exchangeCodeForToken("T", "http://localhost/cb");
+        client.addInterceptor((call, chain) -> {
+            if (ZoomApiClient.ENDPOINT_USERS.equals(call.getEndpoint())) {
+                int n = userCalls.incrementAndGet();
+                if (failEvery > 0 && n % failEvery == 0) {
+                    throw new IOException("Injected failure on request " + n);
+                }
+            }
+            return chain.proceed(call);
+        });
+        return client;
+    }
+    
+    private static void assertUsersWrittenOnce(Path dataFile) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> lines = Files.readAllLines(dataFile, StandardCharsets.UTF_8);
+        Set<String> ids = new HashSet<>();
+        for (String line : lines) {
+            assertTrue(ids.add(mapper.readTree(line).get("id").asText()), "duplicate user " + line);
+        }
+        assertEquals(USERS, ids.size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.cloudeagle.zoom.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.model.ZoomUserList.ZoomUser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UserChangeTrackerTest {
+    
+    @TempDir
+    Path dir;
+    
+    private final List<UserChangeEvent> events = new ArrayList<>();
+    
+    @Test
+    void detectsChangesBetweenStringsWithEqualHashCodes() throws IOException {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals("AaAa".hashCode(), "BBBB".hashCode());
+        UserChangeTracker tracker = new UserChangeTracker();
+        sync(tracker, user("u1", "Aa", "AaAa"));
+        events.clear();
+        
+        UserChangeTracker.SyncSummary summary = sync(tracker, user("u1", "BB", "BBBB"));
+        
+        assertEquals(1, summary.getUpdated());
+        assertEquals(EnumSet.of(UserField.FIRST_NAME, UserField.DEPT), events.get(0).getChangedFields());
+    }
+    
+    @Test
+    void distinguishesNullFromEmpty() {
+        assertNotEquals(UserChangeTracker.hash(null), UserChangeTracker.hash(""));
+        assertNotEquals(UserChangeTracker.hash(1), UserChangeTracker.hash(2));
+    }
+    
+    @Test
+    void emitsAddedUpdatedAndRemoved() throws IOException {
+        UserChangeTracker tracker = new UserChangeTracker();
+        sync(tracker, user("u1", "Ann", "Eng"), user("u2", "Bob", "Eng"));
+        events.clear();
+        
+        UserChangeTracker.SyncSummary summary = sync(tracker, user("u1", "Ann", "Sales"), user("u3", "Cy", "Eng"));
+        
+        assertEquals(1, summary.getAdded());
+        assertEquals(1, summary.getUpdated());
+        assertEquals(1, summary.getRemoved());
+        assertEquals(0, summary.getUnchanged());
+        assertTrue(tracker.contains("u3"));
+        assertFalse(tracker.contains("u2"));
+    }
+    
+    @Test
+    void roundTripsSnapshotThroughFile() throws IOException {
+        UserChangeTracker tracker = new UserChangeTracker();
+        sync(tracker, user("u1", "Aa", "Eng"), user("u2", "Bob", "Eng"));
+        Path file = dir.resolve("users.snapshot");
+        tracker.save(file);
+        assertFalse(Files.exists(dir.resolve("users.snapshot.tmp")));
+        
+        UserChangeTracker restored = new UserChangeTracker();
+        restored.load(file);
+        UserChangeTracker.SyncSummary summary = sync(restored, user("u1", "BB", "Eng"), user("u2", "Bob", "Eng"));
+        
+        assertEquals(2, restored.size());
+        assertEquals(1, summary.getUpdated());
+        assertEquals(1, summary.getUnchanged());
+    }
+    
+    @Test
+    void rejectsSnapshotWithDifferentFields() throws IOException {
+        UserChangeTracker tracker = new UserChangeTracker();
+        sync(tracker, user("u1", "Ann", "Eng"));
+        Path file = dir.resolve("users.snapshot");
+        tracker.save(file);
+        
+        UserChangeTracker other = new UserChangeTracker(EnumSet.of(UserField.EMAIL));
+        assertThrows(IOException.class, () -> other.load(file));
+    }
+    
+    @Test
+    void appliesPartialUpdatesToPresentFieldsOnly() throws IOException {
+        UserChangeTracker tracker = new UserChangeTracker();
+        sync(tracker, user("u1", "Aa", "Eng"));
+        
+        ZoomUser partial = new ZoomUser();
+        partial.setId("u1");
+        partial.setFirstName("BB");
+        UserChangeEvent event = tracker.apply(partial, EnumSet.of(UserField.FIRST_NAME), events::add);
+        
+        assertEquals(EnumSet.of(UserField.FIRST_NAME), event.getChangedFields());
+        assertNull(tracker.apply(partial, EnumSet.of(UserField.FIRST_NAME), events::add));
+    }
+    
+    private UserChangeTracker.SyncSummary sync(UserChangeTracker tracker, ZoomUser... users) throws IOException {
+        UserChangeTracker.Session session = tracker.beginSync(events::add);
+        session.accept(Arrays.asList(users));
+        return session.complete();
+    }
+    
+    private static ZoomUser user(String id, String firstName, String dept) {
+        ZoomUser user = new ZoomUser();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        user.setFirstName(firstName);
+        user.setLastName("Last");
+        user.setType(1);
+        user.setStatus("active");
+        user.setDept(dept);
+        return user;
+    }
+}
@@ -0,0 +1,98 @@
+package com.cloudeagle.zoom.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class StringInternPoolTest {
+    
+    @Test
+    void everyPathReturnsOneCanonicalInstance() {
+        StringInternPool pool = new StringInternPool(1024, 64);
+        for (String value : new String[] {"Europe/Berlin", "", "Zoë", "日本語", "😀 emoji"}) {
+            String first = pool.intern(new String(value));
+            
+            assertSame(first, pool.intern(new String(value)), value);
+            assertSame(first, internChars(pool, value), value);
+            assertSame(first, internBytes(pool, value), value);
+            assertSame(first, internBytes(pool, value), value);
+        }
+        assertNull(pool.intern(null));
+    }
+    
+    @Test
+    void readsOnlyTheGivenRangeOfABuffer() {
+        StringInternPool pool = new StringInternPool(1024, 64);
+        char[] chars = "xxen-USyy".toCharArray();
+        byte[] bytes = "{\"language\":\"en-US\"}".getBytes(StandardCharsets.UTF_8);
+        
+        String fromChars = pool.intern(chars, 2, 5);
+        assertEquals("en-US", fromChars);
+        assertSame(fromChars, pool.intern(bytes, 13, 5));
+        assertSame(fromChars, pool.intern("en-US"));
+    }
+    
+    @Test
+    void collidingValuesReplaceEachOtherButStayEqual() {
+        StringInternPool pool = new StringInternPool(16, 64);
+        // Same String.hashCode and same byte hash, so the same slot on every path
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        
+        String aa = pool.intern(new String("Aa"));
+        String bb = pool.intern(new String("BB"));
+        assertEquals("BB", bb);
+        assertEquals("Aa", internChars(pool, "Aa"));
+        assertNotSame(aa, pool.intern(new String("Aa")));
+        assertEquals("BB", internBytes(pool, "BB"));
+        assertEquals("Aa", internBytes(pool, "Aa"));
+        assertEquals("BB", internBytes(pool, "BB"));
+        
+        // Far more values than slots: every answer is still the value asked for
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            String value = "v" + random.nextInt(500);
+            assertEquals(value, pool.intern(new String(value)));
+            assertEquals(value, internChars(pool, value));
+            assertEquals(value, internBytes(pool, value));
+        }
+    }
+    
+    @Test
+    void valuesOverMaxLengthBypassThePool() {
+        StringInternPool pool = new StringInternPool(1024, 4);
+        
+        String fits = pool.intern(new String("abcd"));
+        assertSame(fits, internChars(pool, "abcd"));
+        assertSame(fits, internBytes(pool, "abcd"));
+        
+        String longer = new String("abcde");
+        assertSame(longer, pool.intern(longer));
+        assertSame(longer, pool.intern(longer));
+        assertNotSame(longer, pool.intern(new String("abcde")));
+        assertEquals("abcde", internChars(pool, "abcde"));
+        assertNotSame(internChars(pool, "abcde"), internChars(pool, "abcde"));
+        // The limit counts UTF-8 bytes on the byte path: two chars, four bytes
+        String accents = internBytes(pool, "éé");
+        assertSame(accents, internBytes(pool, "éé"));
+        assertEquals("ééé", internBytes(pool, "ééé"));
+        assertNotSame(internBytes(pool, "ééé"), internBytes(pool, "ééé"));
+    }
+    
+    private static String internChars(StringInternPool pool, String value) {
+        char[] buffer = ("<" + value + ">").toCharArray();
+        return pool.intern(buffer, 1, value.length());
+    }
+    
+    private static String internBytes(StringInternPool pool, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        byte[] buffer = new byte[utf8.length + 2];
+        System.arraycopy(utf8, 0, buffer, 1, utf8.length);
+        return pool.intern(buffer, 1, utf8.length);
+    }
+}
@@ -0,0 +1,172 @@
+package com.cloudeagle.zoom.webhook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudeagle.zoom.mock.MockWebhookSender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebhookReceiverTest {
+    
+    private static final String SECRET = "secret-token";
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<WebhookEvent> handled = Collections.synchronizedList(new ArrayList<>());
+    private WebhookReceiver receiver;
+    private MockWebhookSender sender;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        receiver = new WebhookReceiver(SECRET, handled::add);
+        receiver.start("127.0.0.1", 0);
+        sender = new MockWebhookSender(receiver.getUrl(), SECRET, "acct");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        receiver.close();
+    }
+    
+    @Test
+    void signatureMatchesZoomScheme() {
+        byte[] body = "{\"event\":\"user.updated\"}".getBytes(StandardCharsets.UTF_8);
+        String signature = WebhookSignature.sign(SECRET, "1700000000", body);
+        
+        assertTrue(signature.startsWith("v0="));
+        assertEquals(3 + 64, signature.length());
+        assertTrue(WebhookSignature.verify(SECRET, "1700000000", body, signature));
+        assertFalse(WebhookSignature.verify(SECRET, "1700000001", body, signature));
+        assertFalse(WebhookSignature.verify("other-secret", "1700000000", body, signature));
+        assertFalse(WebhookSignature.verify(SECRET, "1700000000", "{}".getBytes(StandardCharsets.UTF_8), signature));
+        assertFalse(WebhookSignature.verify(SECRET, null, body, signature));
+        assertFalse(WebhookSignature.verify(SECRET, "1700000000", body, null));
+    }
+    
+    @Test
+    void acceptsSignedEventsAndDropsRedeliveries() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(sender.event("user.updated", 1_700_000_000_000L, user("u1", "Ann")));
+        
+        assertEquals(200, sender.post(body));
+        assertEquals(200, sender.post(body));
+        assertTrue(receiver.awaitIdle(5000));
+        
+        assertEquals(1, handled.size());
+        assertEquals("u1", handled.get(0).getObjectId());
+        assertEquals(1, receiver.getAcceptedCount());
+        assertEquals(1, receiver.getDuplicateCount());
+    }
+    
+    @Test
+    void keepsDistinctChangesWithCollidingHashCodes() throws Exception {
+        long eventTs = 1_700_000_000_000L;
+        JsonNode first = sender.event("user.updated", eventTs, user("u1", "Aa"));
+        JsonNode second = sender.event("user.updated", eventTs, user("u1", "BB"));
+        assertEquals(first.path("payload").path("object").hashCode(), second.path("payload").path("object").hashCode());
+        assertNotEquals(WebhookEvent.fromJson(first).dedupeKey(), WebhookEvent.fromJson(second).dedupeKey());
+        
+        sender.post(objectMapper.writeValueAsBytes(first));
+        sender.post(objectMapper.writeValueAsBytes(second));
+        assertTrue(receiver.awaitIdle(5000));
+        
+        assertEquals(2, handled.size());
+        assertEquals(0, receiver.getDuplicateCount());
+    }
+    
+    @Test
+    void rejectsBadSignature() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(sender.event("user.updated", 1L, user("u1", "Ann")));
+        String timestamp = Long.toString(Instant.now().getEpochSecond());
+        
+        assertEquals(401, post(body, timestamp, WebhookSignature.sign("wrong", timestamp, body)));
+        assertEquals(401, post(body, timestamp, null));
+        assertEquals(2, receiver.getRejectedCount());
+        assertTrue(handled.isEmpty());
+    }
+    
+    @Test
+    void rejectsStaleAndFutureTimestamps() throws Exception {
+        receiver.setMaxClockSkewSeconds(300);
+        byte[] body = objectMapper.writeValueAsBytes(sender.event("user.updated", 1L, user("u1", "Ann")));
+        long now = Instant.now().getEpochSecond();
+        
+        assertEquals(401, postSigned(body, Long.toString(now - 600)));
+        assertEquals(401, postSigned(body, Long.toString(now + 600)));
+        assertEquals(401, postSigned(body, "not-a-number"));
+        assertEquals(200, postSigned(body, Long.toString(now - 60)));
+        
+        assertTrue(receiver.awaitIdle(5000));
+        assertEquals(1, handled.size());
+        assertEquals(3, receiver.getRejectedCount());
+    }
+    
+    @Test
+    void rejectsMalformedBodyAndWrongMethod() throws Exception {
+        byte[] body = "{\"payload\":{}}".getBytes(StandardCharsets.UTF_8);
+        
+        assertEquals(400, sender.post(body));
+        HttpResponse<Void> get = httpClient.send(HttpRequest.newBuilder(URI.create(receiver.getUrl())).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(405, get.statusCode());
+    }
+    
+    @Test
+    void answersUrlValidationChallenge() throws Exception {
+        byte[] body = "{\"event\":\"endpoint.url_validation\",\"payload\":{\"plainToken\":\"abc\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+        String timestamp = Long.toString(Instant.now().getEpochSecond());
+        HttpResponse<byte[]> response = httpClient.send(request(body, timestamp,
+                WebhookSignature.sign(SECRET, timestamp, body)), HttpResponse.BodyHandlers.ofByteArray());
+        
+        JsonNode json = objectMapper.readTree(response.body());
+        assertEquals(200, response.statusCode());
+        assertEquals("abc", json.path("plainToken").asText());
+        assertEquals(WebhookSignature.encryptToken(SECRET, "abc"), json.path("encryptedToken").asText());
+        assertTrue(handled.isEmpty());
+    }
+    
+    private int postSigned(byte[] body, String timestamp) throws Exception {
+        return post(body, timestamp, WebhookSignature.sign(SECRET, timestamp, body));
+    }
+    
+    private int post(byte[] body, String timestamp, String signature) throws Exception {
+        return httpClient.send(request(body, timestamp, signature), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+    
+    private HttpRequest request(byte[] body, String timestamp, String signature) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(receiver.getUrl()))
+                .header("Content-Type", "application/json")
+                .header(WebhookSignature.TIMESTAMP_HEADER, timestamp)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (signature != null) {
+            builder.header(WebhookSignature.SIGNATURE_HEADER, signature);
+        }
+        return builder.build();
+    }
+    
+    private static Map<String, Object> user(String id, String firstName) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", id);
+        user.put("first_name", firstName);
+        return user;
+    }
+}